@@ -0,0 +1,250 @@
+package com.example.niko;
+
+import android.os.Handler; // İş parçacıkları arası mesajlaşma
+import android.os.Looper; // Mesaj döngüsü yönetimi
+
+import java.util.ArrayList; // Dinamik dizi listesi
+import java.util.LinkedHashMap; // Ekleme sırasını koruyan harita
+import java.util.List; // Liste arayüzü
+import java.util.Locale; // Dil ve bölge ayarları
+import java.util.Map; // Harita arayüzü
+import java.util.concurrent.ExecutorService; // İş parçacığı havuzu yönetimi
+import java.util.concurrent.Executors; // İş parçacığı oluşturucu
+import java.util.concurrent.RejectedExecutionException; // Reddedilen görev
+import java.util.concurrent.atomic.AtomicInteger; // Güvenli tamsayı işlemleri
+import java.util.function.Consumer; // Tek parametreli geri çağırım
+
+/**
+ * Yerel komut eylem hattı.
+ *
+ * Eşleştirme ana thread'de yapılır (mikrosaniyeler); rehber sorguları,
+ * Settings.System okuma/yazmaları ve sistem servisi çağrıları gibi işler
+ * tek bir arka plan thread'inde sırayla çalışır, böylece büyük bir rehber
+ * veya yavaş bir sağlayıcı küre animasyonunu takıltmaz. speak ve arayüz
+ * etkileri ana thread'e döner.
+ *
+ * Her eylem için aşama süreleri ayrı ölçülür:
+ * - eşleştirme: Otomat + sınıflandırıcı (ana thread)
+ * - kuyruk: Eylemin yürütücüde başlamayı beklediği süre
+ * - yürütme: İşin kendisi
+ * - arayüz: İş bittikten sonra ana thread'e dönülene kadar geçen süre
+ * (işin gönderdiği arayüz etkileri bu süre içinde uygulanmış olur)
+ *
+ * Birleşik komutlar ({@link #submitCompound}) kaynak şeritlerine dağıtılır;
+ * eylemlerin onayları yakalanıp tek bir özet cümlesi olarak okunur.
+ */
+final class ActionPipeline {
+    private final ExecutorService executor = Executors.newSingleThreadExecutor(r -> {
+        Thread t = new Thread(r, "niko-actions");
+        t.setDaemon(true);
+        return t;
+    });
+    /** Birleşik komutta eşzamanlı çalışabilecek en fazla şerit */
+    private static final int MAX_LANES = 3;
+    private static final String FAILURE_MESSAGE = "Komut uygulanırken bir sorun oluştu.";
+
+    /**
+     * Birleşik komut eylemlerinin onay cümleleri: Eylemi çalıştıran thread'de
+     * doluysa speak seslendirmek yerine buraya ekler (bkz. {@link #capture})
+     */
+    private static final ThreadLocal<List<String>> CAPTURED_SPEECH = new ThreadLocal<>();
+
+    private final ExecutorService lanes = Executors.newFixedThreadPool(MAX_LANES, r -> {
+        Thread t = new Thread(r, "niko-actions-lane");
+        t.setDaemon(true);
+        return t;
+    });
+    private final Handler mainHandler = new Handler(Looper.getMainLooper());
+    private final AtomicInteger pending = new AtomicInteger();
+    private final Consumer<String> logger;
+    private final Consumer<String> speaker;
+
+    ActionPipeline(Consumer<String> logger, Consumer<String> speaker) {
+        this.logger = logger;
+        this.speaker = speaker;
+    }
+
+    /**
+     * Çağıran thread birleşik bir komutun eylemini çalıştırıyorsa onay
+     * cümlesini özet için saklar.
+     *
+     * @return Cümle saklandıysa true (seslendirilmez)
+     */
+    static boolean capture(String text) {
+        List<String> captured = CAPTURED_SPEECH.get();
+        if (captured == null)
+            return false;
+        captured.add(text);
+        return true;
+    }
+
+    /** Eylemi çalıştırır (ana thread); matchNanos eşleştirme aşamasının süresidir. */
+    void submit(LocalAction action, long matchNanos) {
+        long queuedAt = System.nanoTime();
+        pending.incrementAndGet();
+        if (action.mainThread) {
+            run(action, matchNanos, queuedAt);
+        } else {
+            try {
+                executor.execute(() -> run(action, matchNanos, queuedAt));
+            } catch (RejectedExecutionException e) {
+                pending.decrementAndGet(); // Kapatıldı (onDestroy)
+            }
+        }
+    }
+
+    /** Bekleyen veya çalışan eylem yok mu? */
+    boolean isIdle() {
+        return pending.get() == 0;
+    }
+
+    void shutdown() {
+        executor.shutdownNow();
+        lanes.shutdownNow();
+    }
+
+    /**
+     * Birleşik komutu tek turda çalıştırır (ana thread). Aynı kaynağa
+     * dokunan eylemler ({@link #resourceOf}) bir şeritte sırayla, farklı
+     * kaynaklar eşzamanlı çalışır; ana thread'e bağlı eylemler hemen
+     * burada çalışır. Onaylar tek bir kısa özet olarak seslendirilir.
+     */
+    void submitCompound(List<LocalAction> actions, long matchNanos) {
+        long queuedAt = System.nanoTime();
+        int count = actions.size();
+        String[] confirmations = new String[count];
+        long[] executeNanos = new long[count];
+        boolean[] failed = new boolean[count];
+
+        Map<String, List<Integer>> laneMap = new LinkedHashMap<>();
+        for (int i = 0; i < count; i++) {
+            LocalAction action = actions.get(i);
+            if (action.mainThread) {
+                runCaptured(action, i, confirmations, executeNanos, failed);
+            } else {
+                laneMap.computeIfAbsent(resourceOf(action.intent), k -> new ArrayList<>()).add(i);
+            }
+        }
+
+        pending.incrementAndGet();
+        Runnable finish = () -> {
+            pending.decrementAndGet();
+            speaker.accept(summarize(confirmations, failed));
+            StringBuilder stages = new StringBuilder();
+            for (int i = 0; i < count; i++) {
+                stages.append(i == 0 ? "" : ", ").append(actions.get(i).intent)
+                        .append(String.format(Locale.ROOT, " %.1f ms", executeNanos[i] / 1e6));
+            }
+            logger.accept(String.format(Locale.ROOT,
+                    "[CMD] Birleşik komut: %d eylem, %d şerit; eşleştirme %d µs, toplam %.1f ms (%s)", count,
+                    laneMap.size(), matchNanos / 1000, (System.nanoTime() - queuedAt) / 1e6, stages));
+        };
+        if (laneMap.isEmpty()) {
+            finish.run();
+            return;
+        }
+        AtomicInteger remaining = new AtomicInteger(laneMap.size());
+        for (List<Integer> lane : laneMap.values()) {
+            try {
+                lanes.execute(() -> {
+                    for (int i : lane)
+                        runCaptured(actions.get(i), i, confirmations, executeNanos, failed);
+                    // Son biten şerit özeti ana thread'e gönderir
+                    if (remaining.decrementAndGet() == 0)
+                        mainHandler.post(finish);
+                });
+            } catch (RejectedExecutionException e) {
+                pending.decrementAndGet(); // Kapatıldı (onDestroy)
+                return;
+            }
+        }
+    }
+
+    private void runCaptured(LocalAction action, int index, String[] confirmations, long[] executeNanos,
+            boolean[] failed) {
+        List<String> captured = new ArrayList<>();
+        CAPTURED_SPEECH.set(captured);
+        long startedAt = System.nanoTime();
+        try {
+            action.work.run();
+        } catch (RuntimeException e) {
+            logger.accept("[CMD] Eylem hatası (" + action.intent + "): " + e);
+            failed[index] = true;
+        } finally {
+            CAPTURED_SPEECH.remove();
+        }
+        executeNanos[index] = System.nanoTime() - startedAt;
+        confirmations[index] = String.join(" ", captured);
+    }
+
+    /**
+     * Eşzamanlı çalışması güvenli eylemlerin kaynağı; diğer her şey (başka
+     * uygulama veya ekran açan, erişilebilirlik eylemi yapan) tek bir ön
+     * plan şeridinde sırayla çalışır.
+     */
+    private static String resourceOf(String intent) {
+        int dot = intent.indexOf('.');
+        String group = dot < 0 ? intent : intent.substring(0, dot);
+        switch (group) {
+            case "volume":
+            case "music":
+            case "flashlight":
+            case "brightness":
+            case "bluetooth":
+            case "time":
+            case "date":
+            case "identity":
+                return group;
+            default:
+                return "foreground";
+        }
+    }
+
+    /** Onayları komut sırasıyla tek cümlede birleştirir: "Ses azaltılıyor, fener açıldı ve müzik durduruldu." */
+    private static String summarize(String[] confirmations, boolean[] failed) {
+        Locale tr = new Locale("tr", "TR");
+        List<String> parts = new ArrayList<>();
+        int failures = 0;
+        for (int i = 0; i < confirmations.length; i++) {
+            if (failed[i]) {
+                failures++;
+                continue;
+            }
+            String part = confirmations[i].trim();
+            while (part.endsWith(".") || part.endsWith("!"))
+                part = part.substring(0, part.length() - 1).trim();
+            if (part.isEmpty())
+                continue;
+            parts.add(parts.isEmpty() ? part : part.substring(0, 1).toLowerCase(tr) + part.substring(1));
+        }
+        if (failures > 0)
+            parts.add(failures == 1 ? "bir komut uygulanamadı" : failures + " komut uygulanamadı");
+        if (parts.isEmpty())
+            return "Tamam.";
+        StringBuilder sb = new StringBuilder(parts.get(0));
+        for (int i = 1; i < parts.size(); i++)
+            sb.append(i == parts.size() - 1 ? " ve " : ", ").append(parts.get(i));
+        String summary = sb.append('.').toString();
+        return summary.substring(0, 1).toUpperCase(tr) + summary.substring(1);
+    }
+
+    private void run(LocalAction action, long matchNanos, long queuedAt) {
+        long startedAt = System.nanoTime();
+        try {
+            action.work.run();
+        } catch (RuntimeException e) {
+            logger.accept("[CMD] Eylem hatası (" + action.intent + "): " + e);
+            speaker.accept(FAILURE_MESSAGE);
+        }
+        long finishedAt = System.nanoTime();
+        // Ana thread kuyruğu FIFO: Bu mesaj işlendiğinde işin gönderdiği etkiler uygulanmıştır
+        mainHandler.post(() -> {
+            pending.decrementAndGet();
+            logger.accept(String.format(Locale.ROOT,
+                    "[CMD] Eylem %s (%s): eşleştirme %d µs, kuyruk %.1f ms, yürütme %.1f ms, arayüz %.1f ms",
+                    action.intent, action.mainThread ? "ana" : "arka plan", matchNanos / 1000,
+                    (startedAt - queuedAt) / 1e6, (finishedAt - startedAt) / 1e6,
+                    (System.nanoTime() - finishedAt) / 1e6));
+        });
+    }
+}
@@ -0,0 +1,68 @@
+package com.example.niko;
+
+import java.net.HttpURLConnection; // HTTP bağlantı yönetimi
+import java.util.concurrent.ExecutorService; // İş parçacığı havuzu yönetimi
+import java.util.concurrent.Future; // Bekleyen görev sonucu
+
+/**
+ * Tek bir AI turunu temsil eden iptal edilebilir istek tanıtıcısı.
+ *
+ * Future.cancel(true) tek başına yetmez: getResponseCode() veya soket okuması
+ * kesmeyi (interrupt) dikkate almaz ve thread okuma zaman aşımına kadar bloklu
+ * kalır. abort() bu yüzden bağlı HTTP bağlantısını da kapatır; bloklu çağrı
+ * anında IOException ile döner.
+ */
+final class AiRequestHandle {
+    final long turnId;
+    final String key;
+
+    private volatile boolean aborted = false;
+    private volatile boolean finished = false;
+    private volatile Future<?> future;
+    private volatile HttpURLConnection connection;
+
+    AiRequestHandle(long turnId, String key) {
+        this.turnId = turnId;
+        this.key = key;
+    }
+
+    void attach(Future<?> task) {
+        future = task;
+        if (aborted)
+            task.cancel(true); // Görev atanmadan önce iptal edilmiş olabilir
+    }
+
+    void bindConnection(HttpURLConnection conn) {
+        connection = conn;
+        if (aborted)
+            conn.disconnect();
+    }
+
+    /**
+     * İsteği iptal eder. Soketin kapatılması ağ G/Ç'si içerebildiğinden
+     * verilen executor üzerinde yapılır (UI thread'inden güvenle çağrılabilir).
+     */
+    void abort(ExecutorService executor) {
+        aborted = true;
+        Future<?> task = future;
+        if (task != null)
+            task.cancel(true);
+        HttpURLConnection conn = connection;
+        if (conn != null) {
+            executor.execute(conn::disconnect);
+        }
+    }
+
+    void finish() {
+        finished = true;
+        connection = null;
+    }
+
+    boolean isAborted() {
+        return aborted;
+    }
+
+    boolean isFinished() {
+        return finished;
+    }
+}
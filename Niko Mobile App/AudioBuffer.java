@@ -0,0 +1,17 @@
+package com.example.niko;
+
+import java.io.ByteArrayOutputStream; // Bellek içi veri akışı
+
+/**
+ * Çözülmüş ses baytlarını tutan büyüyebilir tampon. İç diziyi kopyalamadan
+ * dışarı verir, böylece oynatıcıya ikinci bir kopya oluşturulmadan aktarılır.
+ */
+final class AudioBuffer extends ByteArrayOutputStream {
+    AudioBuffer() {
+        super(64 * 1024);
+    }
+
+    byte[] array() {
+        return buf;
+    }
+}
@@ -0,0 +1,156 @@
+package com.example.niko;
+
+import android.media.AudioAttributes; // Ses akışı özellikleri
+import android.media.MediaPlayer; // Ses/Video oynatma
+import android.os.Handler; // İş parçacıkları arası mesajlaşma
+import android.os.Looper; // Mesaj döngüsü yönetimi
+
+import java.util.ArrayDeque; // Çift uçlu kuyruk
+import java.util.function.Consumer; // Tek parametreli geri çağırım
+
+/**
+ * Sunucudan gelen sesleri çalan oynatma motoru.
+ *
+ * - Tek bir MediaPlayer oluşturulur ve her parça için reset() ile yeniden
+ * kullanılır
+ * - Veri bellekten {@link ByteArrayMediaDataSource} ile okunur (geçici dosya yok)
+ * - prepareAsync() kullanıldığı için UI thread'i hazırlık sırasında bloklanmaz
+ * - Parçalar kuyruğa alınır ve art arda, boşluksuz çalınır
+ *
+ * Tüm oynatıcı işlemleri ana thread üzerinde yürütülür; enqueue() ve stop()
+ * herhangi bir thread'den çağrılabilir.
+ */
+final class AudioPlaybackEngine {
+    /** Söz kesme adayı sırasında uygulanan ses seviyesi */
+    private static final float DUCK_VOLUME = 0.25f;
+
+    private final Handler mainHandler = new Handler(Looper.getMainLooper());
+    private final ArrayDeque<ByteArrayMediaDataSource> queue = new ArrayDeque<>();
+    private final Consumer<String> logger;
+
+    private MediaPlayer player;
+    private boolean busy = false;
+    private boolean released = false;
+    private float volume = 1f;
+    private Runnable activityListener;
+
+    AudioPlaybackEngine(Consumer<String> logger) {
+        this.logger = logger;
+    }
+
+    /** Oynatıcı boşta/meşgul durumuna her geçtiğinde çağrılır (ana thread). */
+    void setActivityListener(Runnable listener) {
+        this.activityListener = listener;
+    }
+
+    /** Çalan sesi kısar veya eski seviyesine döndürür (söz kesme adayı için). */
+    void duck(boolean ducked) {
+        mainHandler.post(() -> {
+            volume = ducked ? DUCK_VOLUME : 1f;
+            if (player != null && busy)
+                player.setVolume(volume, volume);
+        });
+    }
+
+    /**
+     * Ses parçasını kuyruğun sonuna ekler; oynatıcı boştaysa hemen başlatır.
+     */
+    void enqueue(byte[] data, int length) {
+        mainHandler.post(() -> {
+            if (released)
+                return;
+            queue.offer(new ByteArrayMediaDataSource(data, length));
+            playNext();
+            notifyActivity();
+        });
+    }
+
+    /**
+     * Çalan parçayı durdurur ve bekleyenleri atar.
+     */
+    void stop() {
+        mainHandler.post(() -> {
+            queue.clear();
+            if (player != null && busy) {
+                player.reset();
+            }
+            busy = false;
+            volume = 1f;
+            notifyActivity();
+        });
+    }
+
+    /**
+     * Oynatıcıyı serbest bırakır (onDestroy).
+     */
+    void release() {
+        mainHandler.post(() -> {
+            released = true;
+            queue.clear();
+            if (player != null) {
+                player.release();
+                player = null;
+            }
+            busy = false;
+        });
+    }
+
+    /** Çalan veya bekleyen parça yoksa true (ana thread). */
+    boolean isIdle() {
+        return !busy && queue.isEmpty();
+    }
+
+    private void notifyActivity() {
+        // Kısılmış ses bir sonraki yanıta taşınmasın: boşa düşünce tam seviyeye dön
+        if (isIdle())
+            volume = 1f;
+        if (activityListener != null)
+            activityListener.run();
+    }
+
+    private void playNext() {
+        if (busy || queue.isEmpty())
+            return;
+
+        ByteArrayMediaDataSource source = queue.poll();
+        try {
+            MediaPlayer mp = obtainPlayer();
+            mp.reset();
+            mp.setDataSource(source);
+            busy = true;
+            mp.prepareAsync();
+        } catch (Exception e) {
+            logger.accept("[SES] Oynatma başlatılamadı: " + e.getMessage());
+            busy = false;
+            playNext();
+        }
+    }
+
+    private MediaPlayer obtainPlayer() {
+        if (player == null) {
+            player = new MediaPlayer();
+            player.setAudioAttributes(new AudioAttributes.Builder()
+                    .setUsage(AudioAttributes.USAGE_ASSISTANT)
+                    .setContentType(AudioAttributes.CONTENT_TYPE_SPEECH)
+                    .build());
+            player.setOnPreparedListener(mp -> {
+                mp.setVolume(volume, volume);
+                mp.start();
+            });
+            player.setOnCompletionListener(mp -> {
+                busy = false;
+                playNext();
+                notifyActivity();
+            });
+            player.setOnErrorListener((mp, what, extra) -> {
+                logger.accept("[SES] Oynatıcı hatası: " + what + "/" + extra);
+                mp.reset();
+                busy = false;
+                playNext();
+                notifyActivity();
+                return true;
+            });
+        }
+        return player;
+    }
+}
@@ -0,0 +1,157 @@
+package com.example.niko;
+
+import android.media.AudioFormat; // Ses örnek biçimi
+import android.media.AudioRecord; // Ham mikrofon kaydı
+import android.media.MediaRecorder; // Kayıt kaynağı sabitleri
+import android.media.audiofx.AcousticEchoCanceler; // Donanım yankı giderici
+import android.os.Handler; // İş parçacıkları arası mesajlaşma
+import android.os.Looper; // Mesaj döngüsü yönetimi
+import android.os.Process; // İş parçacığı önceliği
+
+import java.util.function.Consumer; // Tek parametreli geri çağırım
+
+/**
+ * Söz kesme (barge-in): Asistan konuşurken mikrofonu dinler ve kullanıcı
+ * konuşmaya başlarsa bunu bildirir.
+ *
+ * - Kayıt VOICE_COMMUNICATION kaynağından ve varsa yankı giderici
+ * (AcousticEchoCanceler) ile yapılır; hoparlör sesinin çoğu bastırılır
+ * - İlk 400 ms'deki ses tamamen gürültü sayılır; kalan yankı seviyesi enerji
+ * kapısının tabanı olur
+ * - 60 ms'lik ses başlangıcı çıktıyı kısmak için, 240 ms'lik kesintisiz ses
+ * söz kesmeyi onaylamak için yeterlidir; ses sönerse aday atılır
+ */
+final class BargeInMonitor {
+    /** Ana thread'de çağrılan olaylar */
+    interface Callback {
+        void onSpeechOnset();
+
+        void onSpeechRejected();
+
+        void onBargeIn();
+    }
+
+    private static final int FRAME = WakeWordDetector.SAMPLE_RATE / 50; // 20 ms
+    private static final int CALIBRATION_FRAMES = 20; // 400 ms
+    private static final int ONSET_FRAMES = 3; // 60 ms
+    private static final int CONFIRM_FRAMES = 12; // 240 ms
+    /** Sesli kareler arasında bundan fazla sessiz kare olursa aday atılır */
+    private static final int MAX_GAP_FRAMES = 4;
+    /** Yankının üzerine çıkması gereken pay (uyandırma kapısından daha sıkı) */
+    private static final float MARGIN_DB = 15f;
+
+    private final Callback callback;
+    private final Consumer<String> logger;
+    private final Handler mainHandler = new Handler(Looper.getMainLooper());
+
+    private volatile boolean running = false;
+    private Thread worker;
+
+    BargeInMonitor(Callback callback, Consumer<String> logger) {
+        this.callback = callback;
+        this.logger = logger;
+    }
+
+    boolean isRunning() {
+        return running;
+    }
+
+    /** Dinlemeyi başlatır (ana thread). */
+    void start() {
+        if (running)
+            return;
+        running = true;
+        worker = new Thread(this::loop, "niko-bargein");
+        worker.start();
+    }
+
+    /** Dinlemeyi durdurur ve mikrofonu bırakır (ana thread). */
+    void stop() {
+        running = false;
+        Thread t = worker;
+        worker = null;
+        if (t != null) {
+            try {
+                t.join(200); // read() en fazla bir kare süresi bloklar
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    private void loop() {
+        Process.setThreadPriority(Process.THREAD_PRIORITY_AUDIO);
+        int minBuffer = AudioRecord.getMinBufferSize(WakeWordDetector.SAMPLE_RATE,
+                AudioFormat.CHANNEL_IN_MONO, AudioFormat.ENCODING_PCM_16BIT);
+        AudioRecord recorder;
+        try {
+            recorder = new AudioRecord(MediaRecorder.AudioSource.VOICE_COMMUNICATION,
+                    WakeWordDetector.SAMPLE_RATE, AudioFormat.CHANNEL_IN_MONO,
+                    AudioFormat.ENCODING_PCM_16BIT, Math.max(minBuffer, FRAME * 2 * 4));
+        } catch (SecurityException | IllegalArgumentException e) {
+            logger.accept("[BARGE] Mikrofon açılamadı: " + e.getMessage());
+            running = false;
+            return;
+        }
+        if (recorder.getState() != AudioRecord.STATE_INITIALIZED) {
+            recorder.release();
+            running = false;
+            return;
+        }
+
+        AcousticEchoCanceler echoCanceler = null;
+        if (AcousticEchoCanceler.isAvailable()) {
+            echoCanceler = AcousticEchoCanceler.create(recorder.getAudioSessionId());
+            if (echoCanceler != null)
+                echoCanceler.setEnabled(true);
+        }
+
+        WakeWordDetector.EnergyVad vad = new WakeWordDetector.EnergyVad(MARGIN_DB);
+        short[] buffer = new short[FRAME];
+        int frames = 0;
+        int voiced = 0;
+        int gap = 0;
+        try {
+            recorder.startRecording();
+            while (running) {
+                int read = recorder.read(buffer, 0, FRAME);
+                if (read <= 0)
+                    break;
+
+                float db = WakeWordDetector.EnergyVad.frameDb(buffer, 0, read);
+                if (++frames <= CALIBRATION_FRAMES) {
+                    vad.train(db);
+                    continue;
+                }
+
+                if (vad.isVoiced(db)) {
+                    voiced++;
+                    gap = 0;
+                    if (voiced == ONSET_FRAMES) {
+                        mainHandler.post(callback::onSpeechOnset);
+                    } else if (voiced >= CONFIRM_FRAMES) {
+                        // Mikrofon tanıyıcıya devredilecek: Döngüyü burada bitir
+                        running = false;
+                        logger.accept("[BARGE] Söz kesildi (taban " + Math.round(vad.noiseFloorDb()) + " dB)");
+                        mainHandler.post(callback::onBargeIn);
+                    }
+                } else if (voiced > 0 && ++gap > MAX_GAP_FRAMES) {
+                    if (voiced >= ONSET_FRAMES)
+                        mainHandler.post(callback::onSpeechRejected);
+                    voiced = 0;
+                    gap = 0;
+                }
+            }
+        } finally {
+            try {
+                recorder.stop();
+            } catch (IllegalStateException ignored) {
+                // Kayıt hiç başlamadıysa
+            }
+            recorder.release();
+            if (echoCanceler != null)
+                echoCanceler.release();
+            running = false;
+        }
+    }
+}
@@ -0,0 +1,85 @@
+package com.example.niko;
+
+import java.io.IOException; // Giriş/Çıkış hata yönetimi
+import java.io.OutputStream; // Veri yazma akışı
+import java.util.Arrays; // Dizi yardımcıları
+
+/**
+ * Karakter karakter beslenen Base64 metnini sabit boyutlu bir tampon
+ * üzerinden çözerek hedef akışa yazar. Standart ve URL güvenli alfabeyi
+ * kabul eder; boşluk, satır sonu ve dolgu (=) karakterleri yok sayılır.
+ */
+final class Base64StreamDecoder {
+    private static final int[] DECODE_TABLE = new int[128];
+
+    static {
+        Arrays.fill(DECODE_TABLE, -1);
+        String alphabet = "ABCDEFGHIJKLMNOPQRSTUVWXYZabcdefghijklmnopqrstuvwxyz0123456789+/";
+        for (int i = 0; i < alphabet.length(); i++) {
+            DECODE_TABLE[alphabet.charAt(i)] = i;
+        }
+        DECODE_TABLE['-'] = 62;
+        DECODE_TABLE['_'] = 63;
+    }
+
+    private final ChatResponseReader.SinkFactory sinkFactory;
+    private OutputStream sink;
+    private final byte[] out = new byte[3 * 2048];
+    private int outPos = 0;
+    private int bits = 0;
+    private int quantum = 0;
+    long bytesWritten = 0;
+
+    Base64StreamDecoder(ChatResponseReader.SinkFactory sinkFactory) {
+        this.sinkFactory = sinkFactory;
+    }
+
+    void accept(char c) throws IOException {
+        int value = c < 128 ? DECODE_TABLE[c] : -1;
+        if (value < 0)
+            return;
+
+        bits = (bits << 6) | value;
+        if (++quantum == 4) {
+            put(bits >> 16);
+            put(bits >> 8);
+            put(bits);
+            bits = 0;
+            quantum = 0;
+        }
+    }
+
+    /** Dolgusuz biten son grubu çözer ve tamponu boşaltır */
+    void finish() throws IOException {
+        if (quantum == 2) {
+            put(bits >> 4);
+        } else if (quantum == 3) {
+            put(bits >> 10);
+            put(bits >> 2);
+        }
+        bits = 0;
+        quantum = 0;
+        flush();
+    }
+
+    void close() throws IOException {
+        if (sink != null)
+            sink.close();
+    }
+
+    private void put(int b) throws IOException {
+        if (outPos == out.length)
+            flush();
+        out[outPos++] = (byte) b;
+    }
+
+    private void flush() throws IOException {
+        if (outPos == 0)
+            return;
+        if (sink == null)
+            sink = sinkFactory.open();
+        sink.write(out, 0, outPos);
+        bytesWritten += outPos;
+        outPos = 0;
+    }
+}
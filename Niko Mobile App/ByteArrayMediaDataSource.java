@@ -0,0 +1,34 @@
+package com.example.niko;
+
+import android.media.MediaDataSource; // Bellekten medya okuma
+
+/**
+ * Bellekteki bir bayt dizisini MediaPlayer'a veri kaynağı olarak sunar.
+ */
+final class ByteArrayMediaDataSource extends MediaDataSource {
+    private final byte[] data;
+    private final int length;
+
+    ByteArrayMediaDataSource(byte[] data, int length) {
+        this.data = data;
+        this.length = length;
+    }
+
+    @Override
+    public int readAt(long position, byte[] buffer, int offset, int size) {
+        if (position >= length)
+            return -1;
+        int count = (int) Math.min(size, length - position);
+        System.arraycopy(data, (int) position, buffer, offset, count);
+        return count;
+    }
+
+    @Override
+    public long getSize() {
+        return length;
+    }
+
+    @Override
+    public void close() {
+    }
+}
@@ -0,0 +1,218 @@
+package com.example.niko;
+
+import java.io.EOFException; // Beklenmeyen akış sonu
+import java.io.IOException; // Giriş/Çıkış hata yönetimi
+import java.io.InterruptedIOException; // Kesilen giriş/çıkış
+import java.io.OutputStream; // Veri yazma akışı
+import java.io.Reader; // Karakter okuyucu
+
+/**
+ * /chat uç noktasının akışsız JSON yanıtı için akış tabanlı (token düzeyinde)
+ * okuyucu. Gövde hiçbir zaman tek parça halinde belleğe alınmaz:
+ * - "reply" ve "id" küçük metinler olarak toplanır
+ * - "audio" değeri karakter karakter Base64 çözülerek doğrudan hedef akışa
+ * yazılır; Base64 metni hiçbir zaman bütün halinde tutulmaz
+ * - Diğer alanlar (thought vb.) okunmadan atlanır
+ */
+final class ChatResponseReader {
+
+    /** Ses verisinin yazılacağı akışı ilk Base64 karakteri geldiğinde açar */
+    interface SinkFactory {
+        OutputStream open() throws IOException;
+    }
+
+    /** Çözülmüş metin karakterlerini alan hedef */
+    private interface CharSink {
+        void accept(char c) throws IOException;
+    }
+
+    private final Reader in;
+    private final char[] buffer = new char[8192];
+    private int pos = 0;
+    private int limit = 0;
+
+    String reply = "";
+    String sessionId = null;
+    long audioBytes = 0;
+
+    ChatResponseReader(Reader in) {
+        this.in = in;
+    }
+
+    /**
+     * Kök JSON nesnesini sonuna kadar okur.
+     *
+     * @param audioSinkFactory "audio" alanı boş değilse açılacak hedef
+     */
+    void parse(SinkFactory audioSinkFactory) throws IOException {
+        expect('{');
+        if (peekNonSpace() == '}') {
+            read();
+            return;
+        }
+
+        while (true) {
+            expect('"');
+            StringBuilder key = new StringBuilder();
+            readString(key::append);
+            expect(':');
+
+            int c = peekNonSpace();
+            if (c == '"') {
+                read();
+                String name = key.toString();
+                if ("audio".equals(name)) {
+                    readAudio(audioSinkFactory);
+                } else if ("reply".equals(name) || "id".equals(name)) {
+                    StringBuilder value = new StringBuilder();
+                    readString(value::append);
+                    if ("reply".equals(name))
+                        reply = value.toString();
+                    else
+                        sessionId = value.toString();
+                } else {
+                    readString(ch -> {
+                    });
+                }
+            } else {
+                skipValue();
+            }
+
+            int separator = nextNonSpace();
+            if (separator == '}')
+                return;
+            if (separator != ',')
+                throw new IOException("JSON ayrıştırma hatası: beklenmeyen karakter " + (char) separator);
+        }
+    }
+
+    private void readAudio(SinkFactory sinkFactory) throws IOException {
+        Base64StreamDecoder decoder = new Base64StreamDecoder(sinkFactory);
+        try {
+            readString(decoder::accept);
+            decoder.finish();
+        } finally {
+            decoder.close();
+        }
+        audioBytes = decoder.bytesWritten;
+    }
+
+    /**
+     * Açılış tırnağından sonraki string içeriğini kaçış dizilerini çözerek hedefe
+     * aktarır ve kapanış tırnağını tüketir.
+     */
+    private void readString(CharSink sink) throws IOException {
+        while (true) {
+            int c = read();
+            if (c == -1)
+                throw new EOFException("JSON metni tamamlanmadı");
+            if (c == '"')
+                return;
+            if (c != '\\') {
+                sink.accept((char) c);
+                continue;
+            }
+
+            int esc = read();
+            switch (esc) {
+                case 'n':
+                    sink.accept('\n');
+                    break;
+                case 't':
+                    sink.accept('\t');
+                    break;
+                case 'r':
+                    sink.accept('\r');
+                    break;
+                case 'b':
+                    sink.accept('\b');
+                    break;
+                case 'f':
+                    sink.accept('\f');
+                    break;
+                case 'u': {
+                    int code = 0;
+                    for (int i = 0; i < 4; i++) {
+                        int h = Character.digit(read(), 16);
+                        if (h < 0)
+                            throw new IOException("JSON ayrıştırma hatası: geçersiz \\u dizisi");
+                        code = (code << 4) | h;
+                    }
+                    sink.accept((char) code);
+                    break;
+                }
+                case -1:
+                    throw new EOFException("JSON metni tamamlanmadı");
+                default:
+                    sink.accept((char) esc); // \" \\ \/
+            }
+        }
+    }
+
+    /**
+     * String dışındaki bir değeri (sayı, literal, nesne, dizi) içeriğine
+     * bakmadan atlar.
+     */
+    private void skipValue() throws IOException {
+        int c = peekNonSpace();
+        if (c == '{' || c == '[') {
+            int depth = 0;
+            do {
+                c = read();
+                if (c == -1)
+                    throw new EOFException("JSON değeri tamamlanmadı");
+                if (c == '"')
+                    readString(ch -> {
+                    });
+                else if (c == '{' || c == '[')
+                    depth++;
+                else if (c == '}' || c == ']')
+                    depth--;
+            } while (depth > 0);
+        } else {
+            // Sayı veya literal (true/false/null): Ayırıcıya kadar tüket
+            while ((c = peekNonSpace()) != -1 && c != ',' && c != '}') {
+                pos++;
+            }
+        }
+    }
+
+    private void expect(char expected) throws IOException {
+        int c = nextNonSpace();
+        if (c != expected)
+            throw new IOException("JSON ayrıştırma hatası: '" + expected + "' bekleniyordu");
+    }
+
+    private int nextNonSpace() throws IOException {
+        int c = peekNonSpace();
+        if (c != -1)
+            pos++;
+        return c;
+    }
+
+    private int peekNonSpace() throws IOException {
+        while (true) {
+            if (pos >= limit && !fill())
+                return -1;
+            char c = buffer[pos];
+            if (c != ' ' && c != '\n' && c != '\r' && c != '\t')
+                return c;
+            pos++;
+        }
+    }
+
+    private int read() throws IOException {
+        if (pos >= limit && !fill())
+            return -1;
+        return buffer[pos++];
+    }
+
+    private boolean fill() throws IOException {
+        // İptal kontrolü (Okuma sırasında)
+        if (Thread.currentThread().isInterrupted())
+            throw new InterruptedIOException("AI isteği iptal edildi");
+        limit = in.read(buffer, 0, buffer.length);
+        pos = 0;
+        return limit > 0;
+    }
+}
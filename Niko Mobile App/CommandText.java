@@ -0,0 +1,451 @@
+package com.example.niko;
+
+import java.util.ArrayList; // Dinamik dizi listesi
+import java.util.HashMap; // Anahtar-değer eşleşmeleri
+import java.util.HashSet; // Tekil eleman kümesi
+import java.util.List; // Liste arayüzü
+import java.util.Locale; // Dil ve bölge ayarları
+import java.util.Map; // Harita arayüzü
+import java.util.Set; // Küme arayüzü
+
+/**
+ * Bir komutun bir kez normalize edilip kelimelere ayrılmış hali.
+ *
+ * Tanıyıcıdan gelen her cümle için {@link #of(String)} bir kez çağrılır ve
+ * sonuç tüm ayrıştırıcılara (niyet otomatı, WhatsApp, alarm, hatırlatıcı)
+ * olduğu gibi verilir; hiçbir ayrıştırıcı metni yeniden küçültmez veya bölmez.
+ *
+ * Uygulanan adımlar:
+ * - Türkçe kurallarıyla küçük harf (I -> ı, İ -> i; varsayılan dil ayarından
+ * bağımsız)
+ * - Harf, rakam ve kesme işareti dışındaki karakterler ayırıcıdır; tek
+ * ondalık basamaklı sayılar ("1.5", "2,5") bölünmez ve "1.5" olarak yazılır
+ * - Kesme işaretli ekler ayrılır: "ahmet'e" -> kök "ahmet", ek "e"
+ * - Sayı sözcükleri rakama çevrilir: "on beşte" -> "15'te", "saat yediye" ->
+ * "saat 7'ye"
+ * - İsteğe bağlı olarak {@link #folded()} ile Türkçe harfler ASCII
+ * karşılıklarına indirgenir (ç -> c, ı -> i ...); uzunluk değişmez
+ *
+ * Android bağımlılığı yoktur; nesne oluşturulduktan sonra değişmez.
+ */
+public final class CommandText {
+
+    private static final Locale TR = new Locale("tr", "TR");
+
+    private static final Map<String, Integer> NUMBER_WORDS = new HashMap<>();
+    static {
+        String[] units = { "sıfır", "bir", "iki", "üç", "dört", "beş", "altı", "yedi", "sekiz", "dokuz" };
+        for (int i = 0; i < units.length; i++)
+            NUMBER_WORDS.put(units[i], i);
+        String[] tens = { "on", "yirmi", "otuz", "kırk", "elli", "altmış", "yetmiş", "seksen", "doksan" };
+        for (int i = 0; i < tens.length; i++)
+            NUMBER_WORDS.put(tens[i], (i + 1) * 10);
+        NUMBER_WORDS.put("yüz", 100);
+        NUMBER_WORDS.put("bin", 1000);
+    }
+
+    /**
+     * Tek başına geçtiğinde sayı olmayabilecek sözcükler ("bir şarkı", "ona
+     * yaz", "otobüse bin"): Yalnızca başka bir sayıyla, bir zaman sözcüğünden
+     * sonra veya bir birimden önce geçerlerse çevrilir.
+     */
+    private static final Set<String> AMBIGUOUS_NUMBERS = new HashSet<>(
+            java.util.Arrays.asList("bir", "on", "yüz", "bin"));
+
+    /** Önüne geldiği tek sözcüğü sayı olarak kesinleştiren zaman sözcükleri */
+    private static final Set<String> TIME_WORDS = new HashSet<>(
+            java.util.Arrays.asList("saat", "sabah", "akşam", "gece", "öğlen", "öğle"));
+
+    /** Sayıdan sonra gelince sayıyı kesinleştiren birimler */
+    private static final Set<String> UNIT_WORDS = new HashSet<>(java.util.Arrays.asList("dakika", "dk", "saat",
+            "saniye", "gün", "hafta", "ay", "yıl", "buçuk", "çeyrek", "kez", "kere", "defa", "kişi", "geçe", "kala"));
+
+    /** Sayı sözcüklerine kesme işaretsiz eklenebilen hal ekleri ("yediye", "beşte") */
+    private static final Set<String> NUMBER_SUFFIXES = new HashSet<>(java.util.Arrays.asList(
+            "de", "da", "te", "ta", "e", "a", "ye", "ya", "i", "ı", "u", "ü", "yi", "yı", "yu", "yü", "den", "dan",
+            "ten", "tan", "in", "ın", "un", "ün", "nin", "nın", "nun", "nün", "le", "la", "yle", "yla"));
+
+    /** Yuvalardan (isim, mesaj) atılan soru ekleri ve nezaket sözcükleri */
+    private static final Set<String> FILLERS = new HashSet<>(java.util.Arrays.asList("mı", "mi", "mu", "mü",
+            "mısın", "misin", "musun", "müsün", "mısınız", "misiniz", "musunuz", "müsünüz", "lütfen", "hemen",
+            "şimdi", "acaba"));
+
+    /** Bir cümledeki ayrı komutları bağlayan sözcükler ("sesi kıs ve feneri aç") */
+    private static final Set<String> CONJUNCTIONS = new HashSet<>(
+            java.util.Arrays.asList("ve", "ayrıca", "ardından", "sonrasında"));
+
+    /** split() kelimelerindeki üçüncü alan: Öncesinde yan cümle bitiren noktalama varsa "." */
+    private static final int BREAK = 2;
+
+    private final String raw;
+    private final String[] tokens; // Yüzey hali: "ahmet'e", "15'te"
+    private final String[] stems; // Kök: "ahmet", "15"
+    private final String[] suffixes; // Kesme ile ayrılan ek: "e", "te" (yoksa boş)
+    private final boolean[] breaks; // Kelimeden önce yan cümle bitiren noktalama var mı
+    private final int[] offsets; // Kelimenin text içindeki başlangıcı
+    private final String text;
+    private String folded;
+
+    private CommandText(String raw, String[] stems, String[] suffixes, boolean[] breaks) {
+        this.raw = raw;
+        this.stems = stems;
+        this.suffixes = suffixes;
+        this.breaks = breaks;
+        int n = stems.length;
+        tokens = new String[n];
+        offsets = new int[n];
+        StringBuilder sb = new StringBuilder(raw.length());
+        for (int i = 0; i < n; i++) {
+            tokens[i] = suffixes[i].isEmpty() ? stems[i] : stems[i] + "'" + suffixes[i];
+            if (i > 0)
+                sb.append(' ');
+            offsets[i] = sb.length();
+            sb.append(tokens[i]);
+        }
+        text = sb.toString();
+    }
+
+    /** Ham komutu normalize eder (cümle başına bir kez). */
+    public static CommandText of(String raw) {
+        List<String[]> words = convertNumbers(split(raw.toLowerCase(TR)));
+        int n = words.size();
+        String[] stems = new String[n];
+        String[] suffixes = new String[n];
+        boolean[] breaks = new boolean[n];
+        for (int i = 0; i < n; i++) {
+            String[] w = words.get(i);
+            stems[i] = w[0];
+            suffixes[i] = w[1];
+            breaks[i] = !w[BREAK].isEmpty();
+        }
+        return new CommandText(raw, stems, suffixes, breaks);
+    }
+
+    /**
+     * Cümleyi bağlaç ve noktalamadan yan cümlelere böler ("sesi kıs ve feneri
+     * aç, müziği durdur" -> 3 komut). Rakamlar arasındaki nokta ("14.20")
+     * bölmez; boş yan cümleler atılır. Parçalar bu nesnenin kelimelerinden
+     * kurulur, metin yeniden normalize edilmez; parçanın {@link #raw()} değeri
+     * normalize metnidir.
+     *
+     * @return Yan cümleler; bölünecek yer yoksa yalnızca bu nesne
+     */
+    public List<CommandText> clauses() {
+        List<CommandText> out = new ArrayList<>(2);
+        int from = 0;
+        for (int i = 0; i < stems.length; i++) {
+            if (suffixes[i].isEmpty() && CONJUNCTIONS.contains(stems[i])) {
+                addClause(out, from, i);
+                from = i + 1;
+            } else if (breaks[i]) {
+                addClause(out, from, i);
+                from = i;
+            }
+        }
+        if (from == 0)
+            return java.util.Collections.singletonList(this);
+        addClause(out, from, stems.length);
+        return out;
+    }
+
+    private static boolean isClauseBreak(String s, int i) {
+        char c = s.charAt(i);
+        if (c == ';' || c == '!' || c == '?')
+            return true;
+        if (c != '.' && c != ',')
+            return false;
+        boolean digitBefore = i > 0 && Character.isDigit(s.charAt(i - 1));
+        boolean digitAfter = i + 1 < s.length() && Character.isDigit(s.charAt(i + 1));
+        return !(digitBefore && digitAfter);
+    }
+
+    /** "1.5" veya "2,5": Rakamlardan sonra tek basamaklı ondalık kısım (saat 14.20 değil) */
+    private static boolean isDecimalPoint(String s, int start, int i) {
+        char c = s.charAt(i);
+        if ((c != '.' && c != ',') || start < 0 || !isDigits(s.substring(start, i)))
+            return false;
+        if (i + 1 >= s.length() || !Character.isDigit(s.charAt(i + 1)))
+            return false;
+        return i + 2 >= s.length() || !Character.isLetterOrDigit(s.charAt(i + 2));
+    }
+
+    private void addClause(List<CommandText> out, int from, int to) {
+        if (from >= to)
+            return;
+        StringBuilder text = new StringBuilder();
+        for (int i = from; i < to; i++) {
+            if (i > from)
+                text.append(' ');
+            text.append(tokens[i]);
+        }
+        out.add(new CommandText(text.toString(), java.util.Arrays.copyOfRange(stems, from, to),
+                java.util.Arrays.copyOfRange(suffixes, from, to), new boolean[to - from]));
+    }
+
+    /**
+     * Kelimelere ayırır ve kesme işaretli ekleri kökten ayırır. Yan cümle
+     * bitiren noktalama bir sonraki kelimeye işaret olarak taşınır.
+     */
+    private static List<String[]> split(String lower) {
+        List<String[]> words = new ArrayList<>();
+        boolean pendingBreak = false;
+        int start = -1;
+        int apostrophe = -1;
+        int decimal = -1;
+        for (int i = 0; i <= lower.length(); i++) {
+            char c = i < lower.length() ? lower.charAt(i) : ' ';
+            boolean apostropheChar = c == '\'' || c == '’';
+            if (i < lower.length() && isDecimalPoint(lower, start, i)) {
+                decimal = i;
+                continue;
+            }
+            if (Character.isLetterOrDigit(c) || (apostropheChar && start >= 0)) {
+                if (start < 0)
+                    start = i;
+                if (apostropheChar && apostrophe < 0)
+                    apostrophe = i;
+                continue;
+            }
+            if (start >= 0) {
+                int end = apostrophe >= 0 ? apostrophe : digitSuffixStart(lower, start, i);
+                String stem = lower.substring(start, end);
+                if (decimal >= 0)
+                    stem = stem.replace(',', '.');
+                String suffix = end < i ? lower.substring(end, i).replace("'", "").replace("’", "") : "";
+                if (!stem.isEmpty()) {
+                    words.add(new String[] { stem, suffix, pendingBreak ? "." : "" });
+                    pendingBreak = false;
+                }
+                start = -1;
+                apostrophe = -1;
+                decimal = -1;
+            }
+            if (i < lower.length() && !words.isEmpty() && isClauseBreak(lower, i))
+                pendingBreak = true;
+        }
+        return words;
+    }
+
+    /** Kesme işaretsiz rakam eki: "10da" -> 10 + "da" (yoksa kelime sonu) */
+    private static int digitSuffixStart(String lower, int start, int end) {
+        int i = start;
+        while (i < end && lower.charAt(i) >= '0' && lower.charAt(i) <= '9')
+            i++;
+        if (i == start || i == end)
+            return end;
+        for (int j = i; j < end; j++) {
+            if (!Character.isLetter(lower.charAt(j)))
+                return end;
+        }
+        return i;
+    }
+
+    /** Ardışık sayı sözcüklerini tek bir rakam kelimesine çevirir. */
+    private static List<String[]> convertNumbers(List<String[]> words) {
+        List<String[]> out = new ArrayList<>(words.size());
+        int i = 0;
+        while (i < words.size()) {
+            int total = 0;
+            int current = 0;
+            int last = -1; // Gruptaki son sözcüğün değeri
+            int count = 0;
+            String suffix = "";
+            int j = i;
+            while (j < words.size()) {
+                String[] w = words.get(j);
+                String[] number = numberWord(w);
+                if (number == null || (j > i && !w[BREAK].isEmpty()))
+                    break; // Noktalamadan sonraki sözcük aynı sayıya katılmaz
+                int value = Integer.parseInt(number[0]);
+                boolean multiplier = value == 100 || value == 1000;
+                // "iki üç" veya "beş on" gibi diziler tek sayı değildir
+                if (count > 0 && !(multiplier ? last < value : value < last))
+                    break;
+                if (value == 1000) {
+                    total += (current == 0 ? 1 : current) * 1000;
+                    current = 0;
+                } else if (value == 100) {
+                    current = (current == 0 ? 1 : current) * 100;
+                } else {
+                    current += value;
+                }
+                last = value;
+                count++;
+                j++;
+                if (!number[1].isEmpty()) {
+                    suffix = number[1]; // Ekli sözcük sayıyı bitirir
+                    break;
+                }
+            }
+
+            if (count == 0 || (count == 1 && !isConfirmedNumber(words, i))) {
+                out.add(words.get(i));
+                i++;
+                continue;
+            }
+            out.add(new String[] { String.valueOf(total + current), suffix, words.get(i)[BREAK] });
+            i = j;
+        }
+        return out;
+    }
+
+    /** @return [değer, ek, sayı kökü] veya sayı sözcüğü değilse null */
+    private static String[] numberWord(String[] word) {
+        String stem = word[0];
+        if (isDigits(stem))
+            return null; // Zaten rakam: Yazılı sayılarla birleştirilmez
+        Integer value = NUMBER_WORDS.get(stem);
+        if (value != null)
+            return new String[] { String.valueOf(value), word[1], stem };
+        if (!word[1].isEmpty())
+            return null;
+        // Kesme işaretsiz ek: En uzun sayı kökünü bul ("sekizde" -> "sekiz" + "de")
+        for (int cut = stem.length() - 1; cut >= 2; cut--) {
+            String root = stem.substring(0, cut);
+            value = NUMBER_WORDS.get(root);
+            if (value != null && NUMBER_SUFFIXES.contains(stem.substring(cut)))
+                return new String[] { String.valueOf(value), stem.substring(cut), root };
+        }
+        return null;
+    }
+
+    /** Tek başına kalan sayı sözcüğü gerçekten sayı mı? */
+    private static boolean isConfirmedNumber(List<String[]> words, int index) {
+        String[] number = numberWord(words.get(index));
+        if (!AMBIGUOUS_NUMBERS.contains(number[2]))
+            return true;
+        if (index > 0 && TIME_WORDS.contains(words.get(index - 1)[0]))
+            return true;
+        return number[1].isEmpty() && index + 1 < words.size() && UNIT_WORDS.contains(words.get(index + 1)[0]);
+    }
+
+    private static boolean isDigits(String s) {
+        for (int i = 0; i < s.length(); i++) {
+            if (s.charAt(i) < '0' || s.charAt(i) > '9')
+                return false;
+        }
+        return !s.isEmpty();
+    }
+
+    // ================= ERİŞİM =================
+
+    /** Tanıyıcıdan gelen özgün metin (AI'ya bu gönderilir) */
+    public String raw() {
+        return raw;
+    }
+
+    /** Normalize metin: Kelimeler tek boşlukla birleştirilmiş ("saat 7'de alarm kur") */
+    public String text() {
+        return text;
+    }
+
+    /**
+     * Türkçe harfleri ASCII karşılıklarına indirgenmiş metin. Uzunluk ve
+     * kelime konumları {@link #text()} ile aynıdır.
+     */
+    public String folded() {
+        if (folded == null)
+            folded = fold(text);
+        return folded;
+    }
+
+    public int size() {
+        return tokens.length;
+    }
+
+    public String token(int i) {
+        return tokens[i];
+    }
+
+    public String stem(int i) {
+        return stems[i];
+    }
+
+    public String suffix(int i) {
+        return suffixes[i];
+    }
+
+    /** Kelimenin {@link #text()} içindeki başlangıç konumu */
+    public int offset(int i) {
+        return offsets[i];
+    }
+
+    /** Kelime bir soru eki veya nezaket sözcüğü mü? (Yuvalara alınmaz) */
+    public boolean isFiller(int i) {
+        return FILLERS.contains(stems[i]);
+    }
+
+    /** Kelime rakamlardan mı oluşuyor? (Sayı sözcükleri dahil, çevrildikleri için) */
+    public boolean isNumber(int i) {
+        return isDigits(stems[i]);
+    }
+
+    /** Metinde bu kök geçiyor mu? */
+    public boolean hasStem(String stem) {
+        for (String s : stems) {
+            if (s.equals(stem))
+                return true;
+        }
+        return false;
+    }
+
+    /**
+     * Kesme işaretiyle yönelme eki almış ilk kelime ("ahmet'e", "ayşe'ye").
+     *
+     * @param skipStemPrefix Bu önekle başlayan kökler atlanır (örn. "whatsapp'a")
+     * @return Kelime indeksi; yoksa -1
+     */
+    public int dativeIndex(String skipStemPrefix) {
+        for (int i = 0; i < stems.length; i++) {
+            String suffix = suffixes[i];
+            if (!stems[i].startsWith(skipStemPrefix) && (suffix.equals("e") || suffix.equals("a")
+                    || suffix.equals("ye") || suffix.equals("ya")))
+                return i;
+        }
+        return -1;
+    }
+
+    /** Türkçe harfleri birebir ASCII karşılıklarına indirger. */
+    public static String fold(String lower) {
+        char[] chars = lower.toCharArray();
+        for (int i = 0; i < chars.length; i++) {
+            switch (chars[i]) {
+                case 'ç':
+                    chars[i] = 'c';
+                    break;
+                case 'ğ':
+                    chars[i] = 'g';
+                    break;
+                case 'ı':
+                    chars[i] = 'i';
+                    break;
+                case 'ö':
+                    chars[i] = 'o';
+                    break;
+                case 'ş':
+                    chars[i] = 's';
+                    break;
+                case 'ü':
+                    chars[i] = 'u';
+                    break;
+                case 'â':
+                    chars[i] = 'a';
+                    break;
+                case 'î':
+                    chars[i] = 'i';
+                    break;
+                case 'û':
+                    chars[i] = 'u';
+                    break;
+                default:
+                    break;
+            }
+        }
+        return new String(chars);
+    }
+
+    @Override
+    public String toString() {
+        return text;
+    }
+}
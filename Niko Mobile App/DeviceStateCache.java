@@ -0,0 +1,238 @@
+package com.example.niko;
+
+import android.content.ComponentName; // Bileşen adı
+import android.content.Context; // Uygulama bağlamı
+import android.database.ContentObserver; // İçerik değişikliği gözlemcisi
+import android.hardware.camera2.CameraCharacteristics; // Kamera özellikleri
+import android.hardware.camera2.CameraManager; // Kamera servisi
+import android.media.AudioManager; // Sistem ses kontrolleri
+import android.net.ConnectivityManager; // İnternet bağlantı kontrolü
+import android.net.Network; // Ağ nesnesi
+import android.net.NetworkCapabilities; // Ağ yetenekleri
+import android.net.NetworkInfo; // Ağ detayları
+import android.os.Build; // Cihaz donanım ve sürüm bilgisi
+import android.os.Handler; // İş parçacıkları arası mesajlaşma
+import android.os.Looper; // Mesaj döngüsü yönetimi
+import android.provider.Settings; // Sistem ayarları erişimi
+import android.text.TextUtils; // Metin yardımcıları
+
+import java.util.concurrent.ExecutorService; // İş parçacığı havuzu yönetimi
+
+/**
+ * Komut yolunun sorduğu cihaz durumunun önbelleği.
+ *
+ * Erişilebilirlik servisi, internet bağlantısı ve fener durumu her komutta
+ * binder çağrısıyla sorgulanmaz; sistem bildirimleriyle güncel tutulur:
+ * - ContentObserver: Settings.Secure.ENABLED_ACCESSIBILITY_SERVICES
+ * - NetworkCallback: Varsayılan ağın varlığı, ölçülü olup olmadığı ve bant
+ * genişliği
+ * - TorchCallback: Fenerin açık/kapalı durumu
+ * Fenerli kamera kimliği (arka kamera öncelikli) ve sistem servisleri bir
+ * kez çözülür; kamera arka planda aranır, o bitmeden sorulursa çağıran
+ * thread'de aranır. Okuyucular yalnızca volatile alanlara bakar; herhangi bir
+ * thread'den çağrılabilir.
+ */
+final class DeviceStateCache {
+    private final Context context;
+    private final Handler mainHandler = new Handler(Looper.getMainLooper());
+    private final ComponentName accessibilityComponent;
+
+    final AudioManager audio;
+    final CameraManager camera;
+    final ConnectivityManager connectivity;
+
+    private volatile boolean accessibilityEnabled = false;
+    private volatile boolean networkAvailable = true;
+    private volatile boolean metered = false;
+    private volatile int downstreamKbps = 0;
+    /** Fener birimi olan kamera; yoksa null (torchResolved true olduktan sonra geçerli) */
+    private volatile String torchCameraId;
+    private volatile boolean torchResolved = false;
+    private volatile boolean torchOn = false;
+
+    /** stop() çağrıldıktan sonra geç kalan kayıtlar yapılmaz */
+    private volatile boolean stopped = false;
+
+    private ContentObserver accessibilityObserver;
+    private ConnectivityManager.NetworkCallback networkCallback;
+    private volatile CameraManager.TorchCallback torchCallback;
+
+    DeviceStateCache(Context context, Class<?> accessibilityService) {
+        this.context = context.getApplicationContext();
+        accessibilityComponent = new ComponentName(context, accessibilityService);
+        audio = (AudioManager) context.getSystemService(Context.AUDIO_SERVICE);
+        camera = (CameraManager) context.getSystemService(Context.CAMERA_SERVICE);
+        connectivity = (ConnectivityManager) context.getSystemService(Context.CONNECTIVITY_SERVICE);
+    }
+
+    /** İlk durumu okur ve gözlemcileri kaydeder (ana thread). */
+    void start(ExecutorService executor) {
+        refreshAccessibility();
+        accessibilityObserver = new ContentObserver(mainHandler) {
+            @Override
+            public void onChange(boolean selfChange) {
+                refreshAccessibility();
+            }
+        };
+        context.getContentResolver().registerContentObserver(
+                Settings.Secure.getUriFor(Settings.Secure.ENABLED_ACCESSIBILITY_SERVICES), false,
+                accessibilityObserver);
+
+        if (connectivity != null) {
+            refreshNetwork();
+            if (Build.VERSION.SDK_INT >= Build.VERSION_CODES.N) {
+                networkCallback = new ConnectivityManager.NetworkCallback() {
+                    @Override
+                    public void onAvailable(Network network) {
+                        networkAvailable = true;
+                    }
+
+                    @Override
+                    public void onLost(Network network) {
+                        networkAvailable = false;
+                    }
+
+                    @Override
+                    public void onCapabilitiesChanged(Network network,
+                            NetworkCapabilities caps) {
+                        networkAvailable = caps.hasCapability(NetworkCapabilities.NET_CAPABILITY_INTERNET);
+                        metered = !caps.hasCapability(NetworkCapabilities.NET_CAPABILITY_NOT_METERED);
+                        downstreamKbps = caps.getLinkDownstreamBandwidthKbps();
+                    }
+                };
+                try {
+                    connectivity.registerDefaultNetworkCallback(networkCallback);
+                } catch (RuntimeException e) {
+                    networkCallback = null; // İzin yoksa tek seferlik okuma ile kalınır
+                }
+            }
+        }
+
+        if (camera != null) {
+            // Kamera özellikleri binder çağrısıdır: Açılışı bekletmeden arka planda.
+            // Kayıt ve silme aynı (ana) thread'de kalsın diye geri çağırma oraya gönderilir
+            executor.execute(() -> {
+                resolveTorchCamera();
+                mainHandler.post(this::registerTorchCallback);
+            });
+        }
+    }
+
+    /** Fener geri çağırmasını kaydeder (ana thread); stop() sonrasında kaydetmez. */
+    private void registerTorchCallback() {
+        if (stopped || torchCameraId == null || torchCallback != null)
+            return;
+        torchCallback = new CameraManager.TorchCallback() {
+            @Override
+            public void onTorchModeChanged(String cameraId, boolean enabled) {
+                if (cameraId.equals(torchCameraId))
+                    torchOn = enabled;
+            }
+        };
+        camera.registerTorchCallback(torchCallback, mainHandler);
+    }
+
+    /** Gözlemcilerin kaydını siler (onDestroy, ana thread). */
+    void stop() {
+        stopped = true;
+        if (accessibilityObserver != null)
+            context.getContentResolver().unregisterContentObserver(accessibilityObserver);
+        if (networkCallback != null) {
+            try {
+                connectivity.unregisterNetworkCallback(networkCallback);
+            } catch (RuntimeException ignored) {
+            }
+        }
+        if (torchCallback != null) {
+            camera.unregisterTorchCallback(torchCallback);
+            torchCallback = null;
+        }
+    }
+
+    boolean isAccessibilityEnabled() {
+        return accessibilityEnabled;
+    }
+
+    boolean isNetworkAvailable() {
+        return networkAvailable;
+    }
+
+    boolean isMetered() {
+        return metered;
+    }
+
+    /** Sistemin bildirdiği indirme bant genişliği (kbps), bilinmiyorsa 0 */
+    int downstreamKbps() {
+        return downstreamKbps;
+    }
+
+    /**
+     * Fener birimi olan kamera; yoksa null. Arka plan araması henüz bitmediyse
+     * kamera burada aranır (binder çağrısı: ana thread dışından çağrılmalı).
+     */
+    String torchCameraId() {
+        if (!torchResolved)
+            resolveTorchCamera();
+        return torchCameraId;
+    }
+
+    boolean isTorchOn() {
+        return torchOn;
+    }
+
+    private void refreshAccessibility() {
+        String enabledServicesSetting = Settings.Secure.getString(context.getContentResolver(),
+                Settings.Secure.ENABLED_ACCESSIBILITY_SERVICES);
+        boolean enabled = false;
+        if (enabledServicesSetting != null) {
+            TextUtils.SimpleStringSplitter colonSplitter = new TextUtils.SimpleStringSplitter(
+                    ':');
+            colonSplitter.setString(enabledServicesSetting);
+            while (colonSplitter.hasNext() && !enabled) {
+                ComponentName enabledService = ComponentName
+                        .unflattenFromString(colonSplitter.next());
+                enabled = enabledService != null && enabledService.equals(accessibilityComponent);
+            }
+        }
+        accessibilityEnabled = enabled;
+    }
+
+    private void refreshNetwork() {
+        try {
+            NetworkInfo activeNetwork = connectivity.getActiveNetworkInfo();
+            networkAvailable = activeNetwork != null && activeNetwork.isConnectedOrConnecting();
+            metered = connectivity.isActiveNetworkMetered();
+        } catch (Exception e) {
+            // İzin hatası vs olursa varsayılan olarak true kalır, askAI hata versin
+            networkAvailable = true;
+        }
+    }
+
+    private synchronized void resolveTorchCamera() {
+        if (torchResolved)
+            return;
+        torchCameraId = camera != null ? findTorchCamera() : null;
+        torchResolved = true;
+    }
+
+    /** Fener birimi olan ilk arka kamera, yoksa fenerli herhangi bir kamera */
+    private String findTorchCamera() {
+        String fallback = null;
+        try {
+            for (String id : camera.getCameraIdList()) {
+                CameraCharacteristics chars = camera.getCameraCharacteristics(id);
+                Boolean flash = chars.get(CameraCharacteristics.FLASH_INFO_AVAILABLE);
+                if (flash == null || !flash)
+                    continue;
+                Integer facing = chars.get(CameraCharacteristics.LENS_FACING);
+                if (facing != null && facing == CameraCharacteristics.LENS_FACING_BACK)
+                    return id;
+                if (fallback == null)
+                    fallback = id;
+            }
+        } catch (Exception e) {
+            // Kamera servisi erişilemezse fener yok sayılır
+        }
+        return fallback;
+    }
+}
@@ -0,0 +1,322 @@
+package com.example.niko;
+
+import java.io.IOException; // Giriş/Çıkış hata yönetimi
+import java.io.InputStream; // Veri okuma akışı
+import java.net.ConnectException; // Bağlantı reddi
+import java.net.HttpURLConnection; // HTTP bağlantı yönetimi
+import java.net.SocketTimeoutException; // Soket zaman aşımı
+import java.net.UnknownHostException; // Çözülemeyen sunucu adı
+import java.util.ArrayList; // Dinamik dizi listesi
+import java.util.HashMap; // Anahtar-değer eşleşmeleri
+import java.util.HashSet; // Tekil eleman kümesi
+import java.util.LinkedHashSet; // Sıralı küme
+import java.util.List; // Liste arayüzü
+import java.util.Map; // Harita arayüzü
+import java.util.Set; // Küme arayüzü
+import java.util.concurrent.CountDownLatch; // Geri sayım kilidi
+import java.util.concurrent.ExecutionException; // Görev hatası
+import java.util.concurrent.ExecutorCompletionService; // İlk biten görevi alma
+import java.util.concurrent.ExecutorService; // İş parçacığı havuzu yönetimi
+import java.util.concurrent.Executors; // İş parçacığı oluşturucu
+import java.util.concurrent.Future; // Bekleyen görev sonucu
+import java.util.concurrent.ScheduledExecutorService; // Zamanlanmış iş parçacığı havuzu
+import java.util.concurrent.TimeUnit; // Zaman birimleri dönüşümü
+import java.util.concurrent.atomic.AtomicBoolean; // Güvenli bayrak işlemleri
+import java.util.function.Consumer; // Tek parametreli geri çağırım
+
+/**
+ * API sunucusu için aday adresleri yöneten uç nokta yöneticisi.
+ *
+ * Adaylar öncelik sırasıyla tutulur: Önbellekteki son adres, README'deki tüm
+ * eşleşmeler (en yenisi önce) ve yapılandırılmış varsayılan adres. /health
+ * yoklaması tüm adaylara paralel gönderilir; ilk yanıt veren etkin adres
+ * olur, diğerlerinin gecikmesi sıralama için kaydedilir. Bağlantı hatasında
+ * istek sessizce sıradaki canlı adaya aktarılır ve arka planda yeniden
+ * yoklama başlatılır. Böylece ölü bir tünel her istekte 15 sn'lik bağlantı
+ * zaman aşımına değil, tek bir yoklamaya mal olur.
+ */
+final class EndpointManager {
+    /** Arka planda periyodik yeniden yoklama aralığı */
+    private static final long REPROBE_INTERVAL_MS = 5 * 60 * 1000;
+    /** Hata kaynaklı yeniden yoklamalar arasındaki en kısa süre */
+    private static final long MIN_REPROBE_GAP_MS = 15000;
+    /** İlk yarış sürerken bir isteğin kazananı en fazla bekleyeceği süre */
+    private static final long READY_WAIT_MS = 3000;
+    /** Erişilemeyen adayın gecikme değeri */
+    private static final long DEAD = Long.MAX_VALUE;
+
+    /** Etkin adres değiştiğinde bildirim alır */
+    interface Listener {
+        void onActiveEndpointChanged(String baseUrl);
+
+        /** Başarılı bir yoklamanın süresi (ağ kalitesi tahmini için) */
+        default void onProbeTiming(long elapsedMs) {
+        }
+    }
+
+    /** Bağlantı kurulmadan önce başlık ve gövde ayarlarını yapar */
+    interface Preparer {
+        void prepare(HttpURLConnection conn) throws IOException;
+    }
+
+    private final NikoHttpClient client;
+    private final ExecutorService executor;
+    private final Consumer<String> log;
+    private final ScheduledExecutorService scheduler = Executors
+            .newSingleThreadScheduledExecutor();
+
+    // Aşağıdaki iki yapı "this" kilidi ile korunur
+    private final List<String> candidates = new ArrayList<>();
+    private final Map<String, Long> latencies = new HashMap<>();
+
+    private volatile String active;
+    private volatile Listener listener;
+    private final CountDownLatch firstResult = new CountDownLatch(1);
+    private final AtomicBoolean probing = new AtomicBoolean(false);
+    private final AtomicBoolean reprobeRequested = new AtomicBoolean(false);
+    private volatile long lastProbeAt = 0;
+
+    EndpointManager(NikoHttpClient client, ExecutorService executor, Consumer<String> log) {
+        this.client = client;
+        this.executor = executor;
+        this.log = log;
+    }
+
+    void setListener(Listener listener) {
+        this.listener = listener;
+    }
+
+    /**
+     * Aday listesini öncelik sırasıyla yeniden kurar. Önceki yoklama
+     * sonuçları, listede kalan adaylar için korunur.
+     *
+     * @param cached     En son başarılı adres (yoksa null)
+     * @param discovered README'den bulunan adresler (en yenisi önce)
+     * @param fallback   Yapılandırılmış varsayılan adres
+     */
+    synchronized void setCandidates(String cached, List<String> discovered, String fallback) {
+        LinkedHashSet<String> ranked = new LinkedHashSet<>();
+        addCandidate(ranked, cached);
+        for (String url : discovered)
+            addCandidate(ranked, url);
+        addCandidate(ranked, fallback);
+
+        candidates.clear();
+        candidates.addAll(ranked);
+        latencies.keySet().retainAll(ranked);
+        if (active == null && !candidates.isEmpty())
+            setActive(candidates.get(0), "öncelikli aday");
+    }
+
+    private static void addCandidate(Set<String> ranked, String url) {
+        if (url == null)
+            return;
+        url = url.trim();
+        while (url.endsWith("/"))
+            url = url.substring(0, url.length() - 1);
+        if (url.startsWith("http"))
+            ranked.add(url);
+    }
+
+    /** Trafiğin yönlendirildiği güncel adres (henüz bilinmiyorsa null) */
+    String active() {
+        return active;
+    }
+
+    /** Yoklama yarışını arka planda başlatır; biri sürüyorsa bitince tekrarlanır. */
+    void probeAsync() {
+        reprobeRequested.set(true);
+        if (probing.compareAndSet(false, true)) {
+            executor.execute(this::probeLoop);
+        }
+    }
+
+    /** Periyodik arka plan yoklamasını başlatır. */
+    void start() {
+        scheduler.scheduleWithFixedDelay(this::probeAsync, REPROBE_INTERVAL_MS, REPROBE_INTERVAL_MS,
+                TimeUnit.MILLISECONDS);
+    }
+
+    void shutdown() {
+        scheduler.shutdownNow();
+    }
+
+    private void probeLoop() {
+        try {
+            while (reprobeRequested.getAndSet(false)) {
+                raceProbes();
+            }
+        } finally {
+            probing.set(false);
+            firstResult.countDown();
+        }
+    }
+
+    /**
+     * /health yoklamasını tüm adaylara paralel gönderir. İlk başarılı yanıt
+     * anında etkin adres olur; bekleyen istekler bu an serbest kalır.
+     */
+    private void raceProbes() {
+        List<String> snapshot;
+        synchronized (this) {
+            snapshot = new ArrayList<>(candidates);
+        }
+        if (snapshot.isEmpty())
+            return;
+
+        lastProbeAt = System.currentTimeMillis();
+        ExecutorCompletionService<String> race = new ExecutorCompletionService<>(
+                executor);
+        for (String url : snapshot) {
+            race.submit(() -> probe(url) ? url : null);
+        }
+
+        String winner = null;
+        long deadline = System.currentTimeMillis() + NikoHttpClient.Profile.PROBE.connectTimeoutMs
+                + NikoHttpClient.Profile.PROBE.readTimeoutMs;
+        for (int i = 0; i < snapshot.size(); i++) {
+            try {
+                Future<String> done = race.poll(
+                        Math.max(0, deadline - System.currentTimeMillis()), TimeUnit.MILLISECONDS);
+                if (done == null)
+                    break; // Kalan yoklamalar kendi zaman aşımlarıyla sonlanır
+                String url = done.get();
+                if (url != null && winner == null) {
+                    winner = url;
+                    setActive(url, "en hızlı yanıt");
+                    firstResult.countDown();
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (ExecutionException e) {
+                // probe() hataları kendisi ele alır
+            }
+        }
+
+        if (winner == null) {
+            log.accept("[AĞ] Hiçbir API adresi yanıt vermedi (" + snapshot.size() + " aday)");
+        }
+    }
+
+    /** Tek bir adayı yoklar ve gecikmesini kaydeder. */
+    private boolean probe(String baseUrl) {
+        long start = System.currentTimeMillis();
+        boolean alive = false;
+        try {
+            HttpURLConnection conn = client.open(baseUrl + "/health", "GET", NikoHttpClient.Profile.PROBE,
+                    NikoHttpClient.Auth.NONE);
+            int code = conn.getResponseCode();
+            try (InputStream in = code < 400 ? conn.getInputStream() : conn.getErrorStream()) {
+                if (in != null) {
+                    byte[] buffer = new byte[256];
+                    while (in.read(buffer) != -1) {
+                        // Gövdeyi sonuna kadar tüket ki bağlantı havuza dönsün
+                    }
+                }
+            }
+            // Kapanmış Cloudflare tünelleri 530 döndürür; yalnızca 200 canlı sayılır
+            alive = code == 200;
+        } catch (IOException e) {
+            alive = false;
+        }
+
+        long elapsed = System.currentTimeMillis() - start;
+        synchronized (this) {
+            latencies.put(baseUrl, alive ? elapsed : DEAD);
+        }
+        Listener l = listener;
+        if (alive && l != null)
+            l.onProbeTiming(elapsed);
+        return alive;
+    }
+
+    /**
+     * Etkin adrese bağlanır; bağlantı kurulamazsa sıradaki canlı adaya geçer.
+     * Başlıklar connect() öncesinde ayarlanmak zorunda olduğundan her deneme
+     * için preparer yeniden çağrılır.
+     */
+    HttpURLConnection connect(String path, String method, NikoHttpClient.Profile profile,
+            NikoHttpClient.Auth auth, Preparer preparer) throws IOException {
+        awaitFirstResult();
+
+        Set<String> tried = new HashSet<>();
+        IOException lastError = null;
+        String base = active;
+        while (base != null && tried.add(base)) {
+            HttpURLConnection conn = client.open(base + path, method, profile, auth);
+            preparer.prepare(conn);
+            try {
+                conn.connect();
+                return conn;
+            } catch (ConnectException | UnknownHostException
+                    | SocketTimeoutException e) {
+                if (Thread.currentThread().isInterrupted())
+                    throw e;
+                lastError = e;
+                base = markDown(base);
+            }
+        }
+        throw lastError != null ? lastError : new IOException("Kullanılabilir API adresi yok");
+    }
+
+    /**
+     * Adresi erişilemez olarak işaretler ve trafiği en iyi canlı adaya taşır.
+     *
+     * @param url Hata veren adres veya o adrese ait tam istek URL'si
+     * @return Yeni etkin adres (canlı aday kalmadıysa null)
+     */
+    String markDown(String url) {
+        String next = null;
+        synchronized (this) {
+            String failed = null;
+            for (String candidate : candidates) {
+                if (url.startsWith(candidate)) {
+                    failed = candidate;
+                    latencies.put(candidate, DEAD);
+                    break;
+                }
+            }
+            if (failed == null)
+                return active;
+
+            // Ölçülmüş en düşük gecikme; ölçülmemiş adaylar öncelik sırasıyla sonra gelir
+            long best = DEAD;
+            for (String candidate : candidates) {
+                Long latency = latencies.get(candidate);
+                long score = latency == null ? DEAD - 1 : latency;
+                if (score < best) {
+                    best = score;
+                    next = candidate;
+                }
+            }
+        }
+
+        if (next != null) {
+            setActive(next, "yedek adrese geçildi");
+        }
+        if (System.currentTimeMillis() - lastProbeAt > MIN_REPROBE_GAP_MS) {
+            probeAsync();
+        }
+        return next;
+    }
+
+    private void awaitFirstResult() {
+        try {
+            firstResult.await(READY_WAIT_MS, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void setActive(String url, String reason) {
+        String previous = active;
+        active = url;
+        if (!url.equals(previous)) {
+            log.accept("[AĞ] Etkin API adresi: " + url + " (" + reason + ")");
+            Listener l = listener;
+            if (l != null)
+                l.onActiveEndpointChanged(url);
+        }
+    }
+}
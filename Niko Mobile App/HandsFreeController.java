@@ -0,0 +1,191 @@
+package com.example.niko;
+
+import android.media.AudioFormat; // Ses örnek biçimi
+import android.media.AudioRecord; // Ham mikrofon kaydı
+import android.media.MediaRecorder; // Kayıt kaynağı sabitleri
+import android.os.Handler; // İş parçacıkları arası mesajlaşma
+import android.os.Looper; // Mesaj döngüsü yönetimi
+import android.os.Process; // İş parçacığı önceliği
+
+import java.io.BufferedInputStream; // Tamponlu okuma akışı
+import java.io.BufferedOutputStream; // Tamponlu yazma akışı
+import java.io.DataInputStream; // Ham veri okuma akışı
+import java.io.DataOutputStream; // Ham veri yazma akışı
+import java.io.File; // Dosya nesnesi
+import java.io.FileInputStream; // Dosya okuma akışı
+import java.io.FileOutputStream; // Dosya yazma akışı
+import java.io.IOException; // Giriş/Çıkış hata yönetimi
+import java.util.function.Consumer; // Tek parametreli geri çağırım
+
+/**
+ * Eller serbest mod: AudioRecord ile mikrofonu düşük güçte dinler ve
+ * WakeWordDetector "Niko" dediğini algıladığında tanıyıcıyı başlatır.
+ *
+ * Güç tüketimi iki yolla sınırlanır:
+ * - Algılayıcı sessizlikte yalnızca enerji kapısını çalıştırır (MFCC ve DTW
+ * yalnızca ses varken)
+ * - Uzun süre ses olmazsa okuma parçası 40 ms'den 200 ms'ye çıkar; thread
+ * saniyede 25 yerine 5 kez uyanır
+ * Tanıyıcı çalışırken, TTS konuşurken ve uygulama arka plandayken mikrofon
+ * tamamen bırakılır (stop()).
+ */
+final class HandsFreeController {
+    /** Ana thread'de çağrılan olaylar */
+    interface Callback {
+        void onWakeWord(float distance);
+
+        void onTemplateEnrolled(int count);
+    }
+
+    private static final int ACTIVE_CHUNK = WakeWordDetector.HOP_SIZE * 4; // 40 ms
+    private static final int IDLE_CHUNK = WakeWordDetector.HOP_SIZE * 20; // 200 ms
+    /** Bu süre boyunca ses yoksa seyrek okuma moduna geçilir */
+    private static final long IDLE_AFTER_MS = 5000;
+
+    private final WakeWordDetector detector = new WakeWordDetector();
+    private final File modelFile;
+    private final Callback callback;
+    private final Consumer<String> logger;
+    private final Handler mainHandler = new Handler(Looper.getMainLooper());
+
+    private volatile boolean running = false;
+    private Thread worker;
+
+    HandsFreeController(File modelFile, Callback callback, Consumer<String> logger) {
+        this.modelFile = modelFile;
+        this.callback = callback;
+        this.logger = logger;
+        loadModel();
+    }
+
+    /** Yeterli şablon kaydedildi mi? (Değilse önce kayıt gerekir) */
+    boolean isTrained() {
+        return detector.isReady();
+    }
+
+    int templateCount() {
+        return detector.templateCount();
+    }
+
+    /**
+     * Dinleme döngüsünü başlatır (ana thread).
+     *
+     * @param enroll true ise söylenişler şablon olarak kaydedilir
+     */
+    void start(boolean enroll) {
+        if (running)
+            return;
+        detector.setEnrolling(enroll);
+        running = true;
+        worker = new Thread(this::loop, "niko-wakeword");
+        worker.start();
+    }
+
+    /** Döngüyü durdurur ve mikrofonu bırakır (ana thread). */
+    void stop() {
+        running = false;
+        Thread t = worker;
+        worker = null;
+        if (t != null) {
+            try {
+                t.join(300); // read() en fazla bir parça süresi bloklar
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    boolean isRunning() {
+        return running;
+    }
+
+    /** Eski şablonları atar (döngü durmuşken çağrılmalı). */
+    void beginEnrollment() {
+        detector.clearTemplates();
+    }
+
+    /** Kayıt modunu bitirip şablonları kaydeder (döngü durmuşken çağrılmalı). */
+    void finishEnrollment() {
+        detector.setEnrolling(false);
+        saveModel();
+    }
+
+    private void loop() {
+        Process.setThreadPriority(Process.THREAD_PRIORITY_AUDIO);
+        int minBuffer = AudioRecord.getMinBufferSize(WakeWordDetector.SAMPLE_RATE,
+                AudioFormat.CHANNEL_IN_MONO, AudioFormat.ENCODING_PCM_16BIT);
+        AudioRecord recorder;
+        try {
+            recorder = new AudioRecord(MediaRecorder.AudioSource.VOICE_RECOGNITION,
+                    WakeWordDetector.SAMPLE_RATE, AudioFormat.CHANNEL_IN_MONO,
+                    AudioFormat.ENCODING_PCM_16BIT, Math.max(minBuffer, IDLE_CHUNK * 2 * 2));
+        } catch (SecurityException | IllegalArgumentException e) {
+            logger.accept("[WAKE] Mikrofon açılamadı: " + e.getMessage());
+            running = false;
+            return;
+        }
+        if (recorder.getState() != AudioRecord.STATE_INITIALIZED) {
+            logger.accept("[WAKE] AudioRecord başlatılamadı");
+            recorder.release();
+            running = false;
+            return;
+        }
+
+        short[] buffer = new short[IDLE_CHUNK];
+        long lastActivity = System.currentTimeMillis();
+        try {
+            recorder.startRecording();
+            while (running) {
+                boolean idle = System.currentTimeMillis() - lastActivity > IDLE_AFTER_MS;
+                int read = recorder.read(buffer, 0, idle ? IDLE_CHUNK : ACTIVE_CHUNK);
+                if (read <= 0) {
+                    logger.accept("[WAKE] Okuma hatası: " + read);
+                    break;
+                }
+
+                int result = detector.process(buffer, 0, read);
+                if (detector.isInSegment())
+                    lastActivity = System.currentTimeMillis();
+
+                if (result == WakeWordDetector.RESULT_DETECTED) {
+                    // Mikrofon tanıyıcıya devredilecek: Döngüyü burada bitir
+                    running = false;
+                    final float distance = detector.lastDistance();
+                    mainHandler.post(() -> callback.onWakeWord(distance));
+                } else if (result == WakeWordDetector.RESULT_ENROLLED) {
+                    final int count = detector.templateCount();
+                    mainHandler.post(() -> callback.onTemplateEnrolled(count));
+                }
+            }
+        } finally {
+            try {
+                recorder.stop();
+            } catch (IllegalStateException ignored) {
+                // Kayıt hiç başlamadıysa
+            }
+            recorder.release();
+            running = false;
+        }
+    }
+
+    private void loadModel() {
+        if (!modelFile.exists())
+            return;
+        try (DataInputStream in = new DataInputStream(
+                new BufferedInputStream(new FileInputStream(modelFile)))) {
+            detector.readModel(in);
+        } catch (IOException e) {
+            logger.accept("[WAKE] Model okunamadı: " + e.getMessage());
+            detector.clearTemplates();
+        }
+    }
+
+    private void saveModel() {
+        try (DataOutputStream out = new DataOutputStream(
+                new BufferedOutputStream(new FileOutputStream(modelFile)))) {
+            detector.writeModel(out);
+        } catch (IOException e) {
+            logger.accept("[WAKE] Model kaydedilemedi: " + e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,179 @@
+package com.example.niko;
+
+import java.io.DataInputStream; // İkili model okuyucu
+import java.io.IOException; // Giriş/çıkış hataları
+import java.io.InputStream; // Veri akışı girişi
+
+/**
+ * Niyet otomatının kaçırdığı yeniden ifadeleri ("biraz daha sessiz olsun",
+ * "ortalığı aydınlat") yakalayan küçük, yalnızca CPU kullanan sınıflandırıcı.
+ *
+ * Model: Karakter n-gramları (3-5) ve kelimeler üzerinde özellik karmalı
+ * (feature hashing) çok sınıflı lojistik regresyon. Ağırlıklar tek bir ölçekle
+ * byte'a nicemlenir ve [kova * sınıf] düzeninde tek bir dizide tutulur; bir
+ * tahmin yalnızca dizi okuması ve toplama işlemidir (birkaç mikrosaniye).
+ *
+ * "-" etiketi yerel komut olmayan cümleleri (sohbet, genel sorular) temsil
+ * eder; bu sınıf veya düşük güven, komutun AI'ya gitmesi gerektiği anlamına
+ * gelir.
+ *
+ * Model çevrimdışı eğitilir (training/IntentClassifierTrainer.java) ve
+ * res/raw/intent_model.bin olarak gömülür; uygulama yalnızca okur ve tahmin
+ * eder.
+ *
+ * Android bağımlılığı yoktur; yüklenen model değişmezdir ve thread-safe'dir.
+ */
+public final class IntentClassifier {
+
+    /** Yerel komut olmayan cümlelerin etiketi */
+    public static final String OTHER = "-";
+
+    /** Model dosyası başlığı (IntentClassifierTrainer aynı biçimde yazar) */
+    static final int MAGIC = 0x4E4B4943; // "NKIC"
+    static final int VERSION = 1;
+
+    private final String[] labels;
+    private final int bucketMask;
+    private final float scale;
+    private final float[] bias;
+    private final byte[] weights; // [kova * labels.length + sınıf]
+
+    /** Tahmin sonucu */
+    public static final class Prediction {
+        public final String intent;
+        public final float probability;
+
+        Prediction(String intent, float probability) {
+            this.intent = intent;
+            this.probability = probability;
+        }
+
+        /** Yerel bir komut mu? ("-" değilse) */
+        public boolean isLocal() {
+            return !OTHER.equals(intent);
+        }
+
+        @Override
+        public String toString() {
+            return intent + String.format(java.util.Locale.ROOT, " (%.2f)", probability);
+        }
+    }
+
+    private IntentClassifier(String[] labels, int bucketBits, float scale, float[] bias, byte[] weights) {
+        this.labels = labels;
+        this.bucketMask = (1 << bucketBits) - 1;
+        this.scale = scale;
+        this.bias = bias;
+        this.weights = weights;
+    }
+
+    // ================= TAHMİN =================
+
+    /** Komut için en olası niyeti ve olasılığını döndürür. */
+    public Prediction predict(CommandText command) {
+        int[] features = features(content(command), bucketMask);
+        int classes = labels.length;
+        float value = (float) (1.0 / Math.sqrt(features.length));
+
+        float[] logits = new float[classes];
+        for (int feature : features) {
+            int base = feature * classes;
+            for (int c = 0; c < classes; c++)
+                logits[c] += weights[base + c];
+        }
+        int best = 0;
+        for (int c = 0; c < classes; c++) {
+            logits[c] = bias[c] + logits[c] * scale * value;
+            if (logits[c] > logits[best])
+                best = c;
+        }
+        double sum = 0;
+        for (int c = 0; c < classes; c++)
+            sum += Math.exp(logits[c] - logits[best]);
+        return new Prediction(labels[best], (float) (1.0 / sum));
+    }
+
+    public int labelCount() {
+        return labels.length;
+    }
+
+    /** Ağırlık dizisinin bellekteki boyutu (byte) */
+    public int sizeBytes() {
+        return weights.length + bias.length * 4;
+    }
+
+    /** Soru ekleri ve nezaket sözcükleri atılmış, ASCII'ye indirgenmiş metin */
+    static String content(CommandText command) {
+        StringBuilder sb = new StringBuilder(command.text().length());
+        for (int i = 0; i < command.size(); i++) {
+            if (command.isFiller(i))
+                continue;
+            if (sb.length() > 0)
+                sb.append(' ');
+            sb.append(command.token(i));
+        }
+        return CommandText.fold(sb.toString());
+    }
+
+    /**
+     * Özellik kovaları: Kelime sınırları boşlukla işaretlenmiş metnin 3, 4 ve
+     * 5 karakterlik parçaları ile tam kelimeler. Tekrar eden parçalar ayrı
+     * sayılır (sık geçen parça daha ağır basar).
+     */
+    static int[] features(String folded, int mask) {
+        String padded = " " + folded + " ";
+        int n = padded.length();
+        int count = 0;
+        for (int len = 3; len <= 5; len++)
+            count += Math.max(0, n - len + 1);
+        int words = 0;
+        for (int i = 0; i < folded.length(); i++) {
+            if (folded.charAt(i) == ' ')
+                words++;
+        }
+        int[] out = new int[count + (folded.isEmpty() ? 0 : words + 1)];
+        int k = 0;
+        for (int len = 3; len <= 5; len++) {
+            for (int i = 0; i + len <= n; i++)
+                out[k++] = hash(padded, i, i + len, len) & mask;
+        }
+        int start = 0;
+        for (int i = 0; i <= folded.length() && !folded.isEmpty(); i++) {
+            if (i == folded.length() || folded.charAt(i) == ' ') {
+                out[k++] = hash(folded, start, i, 0x5157) & mask;
+                start = i + 1;
+            }
+        }
+        return out;
+    }
+
+    /** FNV-1a; tohum aynı karakterlerin n-gram ve kelime kovalarını ayırır */
+    private static int hash(String s, int from, int to, int seed) {
+        int h = 0x811C9DC5 ^ seed;
+        for (int i = from; i < to; i++) {
+            h ^= s.charAt(i);
+            h *= 0x01000193;
+        }
+        return h ^ (h >>> 15);
+    }
+
+    // ================= MODEL DOSYASI =================
+
+    /** res/raw/intent_model.bin biçimindeki modeli okur. */
+    public static IntentClassifier read(InputStream in) throws IOException {
+        DataInputStream data = new DataInputStream(new java.io.BufferedInputStream(in));
+        if (data.readInt() != MAGIC || data.readInt() != VERSION)
+            throw new IOException("Geçersiz niyet modeli");
+        int bucketBits = data.readInt();
+        String[] labels = new String[data.readInt()];
+        for (int i = 0; i < labels.length; i++)
+            labels[i] = data.readUTF();
+        float scale = data.readFloat();
+        float[] bias = new float[labels.length];
+        for (int i = 0; i < bias.length; i++)
+            bias[i] = data.readFloat();
+        byte[] weights = new byte[(1 << bucketBits) * labels.length];
+        data.readFully(weights);
+        return new IntentClassifier(labels, bucketBits, scale, bias, weights);
+    }
+}
@@ -0,0 +1,418 @@
+package com.example.niko;
+
+import java.util.ArrayDeque; // Otomat kurulumunda genişlik öncelikli gezinme
+import java.util.ArrayList; // Dinamik dizi listesi
+import java.util.Arrays; // Dizi yardımcıları
+import java.util.Collections; // Sıralama yardımcıları
+import java.util.HashMap; // Anahtar-değer eşleşmeleri
+import java.util.List; // Liste arayüzü
+import java.util.Map; // Harita arayüzü
+
+/**
+ * Yerel komutlar için tablo tabanlı niyet (intent) eşleştirici.
+ *
+ * Niyetler metin bir tablodan bir kez derlenir; her kuralın satırı şöyledir:
+ *
+ * <pre>
+ * music.play: müzi* | şarkı* | spotify* ; başlat* | oynat* | aç* ; !kapat*
+ * </pre>
+ *
+ * - ";" ile ayrılan grupların her birinden en az bir ipucu geçmelidir
+ * - "|" aynı grubun alternatifleridir; "*" ile biten ipucu kelime kökü olarak
+ * (ekli halleriyle) eşleşir, diğerleri yalnızca tam kelime olarak
+ * - "!" ile başlayan grup dışlayıcıdır: Biri geçerse kural elenir
+ * - "~" ile başlayan grup yalnızca isim veya soru ipuçları içerir ("~saat*").
+ * Tüm zorunlu grupları böyle olan kural bir eylem fiili taşımaz
+ * ({@link Candidate#action}); birleşik komutta tek başına yan cümle sayılmaz
+ *
+ * Tüm ipuçları kelime sınırlarına bağlanarak tek bir Aho-Corasick otomatında
+ * birleştirilir. İpuçları ve komutlar aynı {@link CommandText} aşamasından
+ * geçer; istenirse Türkçe harfler katlanarak ("muzigi ac") eşleştirilir.
+ * Komut metni bir kez taranır ("ara" artık "paragraf" içinde
+ * eşleşmez), tablo büyüdükçe eşleştirme süresi değişmez. Sonuç, eşleşen
+ * ipuçlarının uzunluğuna göre puanlanmış aday listesidir; eşit puanda tablodaki
+ * sıra öne geçer.
+ *
+ * Android bağımlılığı yoktur; derlendikten sonra değişmez ve thread-safe'tir.
+ */
+public final class IntentEngine {
+
+    /** Kuralın derlenmiş hali */
+    private static final class Rule {
+        final String intent;
+        final int firstGroup; // Genel grup dizisindeki ilk grubun indeksi
+        final int groupCount;
+        final int excludeGroup; // Dışlayıcı grup indeksi, yoksa -1
+        final boolean action; // En az bir zorunlu grup "~" ile işaretli değil
+
+        Rule(String intent, int firstGroup, int groupCount, int excludeGroup, boolean action) {
+            this.intent = intent;
+            this.firstGroup = firstGroup;
+            this.groupCount = groupCount;
+            this.excludeGroup = excludeGroup;
+            this.action = action;
+        }
+    }
+
+    /** Puanlanmış niyet adayı */
+    public static final class Candidate {
+        public final String intent;
+        public final int score;
+        /**
+         * Eşleşmede bir eylem fiili var mı? Yalnızca isim veya soru ipucuyla
+         * ("saat 8'de ilaç" -> time.now) eşleşen adaylar için false.
+         */
+        public final boolean action;
+        /** Eşleştirilen komut */
+        public final CommandText command;
+        private final int[] spans; // Eşleşen ipuçlarının [başlangıç, bitiş) aralıkları
+        private final int order;
+
+        Candidate(String intent, int score, boolean action, CommandText command, int[] spans, int order) {
+            this.intent = intent;
+            this.score = score;
+            this.action = action;
+            this.command = command;
+            this.spans = spans;
+            this.order = order;
+        }
+
+        /**
+         * Otomat dışından (niyet sınıflandırıcısı) gelen aday: Eşleşen ipucu
+         * yoktur, tüm kelimeler kalan kısımdır.
+         */
+        public static Candidate unanchored(String intent, CommandText command) {
+            return new Candidate(intent, 0, true, command, new int[0], Integer.MAX_VALUE);
+        }
+
+        /**
+         * İpuçları, soru ekleri ve nezaket sözcükleri çıkarıldıktan sonra kalan
+         * kelimeler (ör. "ahmet'i arar mısın" için "ahmet'i").
+         */
+        public String remainder() {
+            return join(false);
+        }
+
+        /** {@link #remainder()} ile aynı, ancak kelimelerin kökleriyle ("ahmet") */
+        public String remainderStems() {
+            return join(true);
+        }
+
+        private String join(boolean stems) {
+            StringBuilder sb = new StringBuilder();
+            for (int i = 0; i < command.size(); i++) {
+                if (isCovered(command.offset(i)) || command.isFiller(i))
+                    continue;
+                if (sb.length() > 0)
+                    sb.append(' ');
+                sb.append(stems ? command.stem(i) : command.token(i));
+            }
+            return sb.toString();
+        }
+
+        private boolean isCovered(int offset) {
+            for (int i = 0; i < spans.length; i += 2) {
+                if (offset >= spans[i] && offset < spans[i + 1])
+                    return true;
+            }
+            return false;
+        }
+
+        @Override
+        public String toString() {
+            return intent + "(" + score + ")";
+        }
+    }
+
+    // --- Kurallar ---
+    private final boolean foldDiacritics;
+    private final Rule[] rules;
+    private final int[] groupRule; // Grup -> kural
+
+    // --- Otomat (tam DFA: her durum x alfabe harfi için geçiş) ---
+    private final int[] charClass; // Karakter -> alfabe indeksi (-1: alfabede yok)
+    private final int alphabetSize;
+    private final int[] delta;
+    /** Durum -> o durumda biten ipuçlarının (grup, uzunluk) çiftleri */
+    private final int[][] outputs;
+
+    private IntentEngine(boolean foldDiacritics, Rule[] rules, int[] groupRule, List<String> cues,
+            List<int[]> cueGroups) {
+        this.foldDiacritics = foldDiacritics;
+        this.rules = rules;
+        this.groupRule = groupRule;
+
+        // Alfabe: Yalnızca ipuçlarında geçen karakterler
+        int maxChar = ' ';
+        for (String cue : cues) {
+            for (int i = 0; i < cue.length(); i++)
+                maxChar = Math.max(maxChar, cue.charAt(i));
+        }
+        charClass = new int[maxChar + 1];
+        Arrays.fill(charClass, -1);
+        int size = 0;
+        for (String cue : cues) {
+            for (int i = 0; i < cue.length(); i++) {
+                char c = cue.charAt(i);
+                if (charClass[c] < 0)
+                    charClass[c] = size++;
+            }
+        }
+        alphabetSize = size;
+
+        // 1. Trie
+        List<int[]> gotoTable = new ArrayList<>();
+        List<List<int[]>> out = new ArrayList<>();
+        gotoTable.add(newRow());
+        out.add(new ArrayList<>());
+        for (int p = 0; p < cues.size(); p++) {
+            String cue = cues.get(p);
+            int state = 0;
+            for (int i = 0; i < cue.length(); i++) {
+                int c = charClass[cue.charAt(i)];
+                if (gotoTable.get(state)[c] < 0) {
+                    gotoTable.get(state)[c] = gotoTable.size();
+                    gotoTable.add(newRow());
+                    out.add(new ArrayList<>());
+                }
+                state = gotoTable.get(state)[c];
+            }
+            for (int group : cueGroups.get(p))
+                out.get(state).add(new int[] { group, cue.length() });
+        }
+
+        // 2. Hata bağlantıları ve tam geçiş tablosu (genişlik öncelikli)
+        int states = gotoTable.size();
+        delta = new int[states * alphabetSize];
+        int[] fail = new int[states];
+        ArrayDeque<Integer> queue = new ArrayDeque<>();
+        for (int c = 0; c < alphabetSize; c++) {
+            int next = gotoTable.get(0)[c];
+            if (next < 0) {
+                delta[c] = 0;
+            } else {
+                delta[c] = next;
+                fail[next] = 0;
+                queue.add(next);
+            }
+        }
+        while (!queue.isEmpty()) {
+            int state = queue.poll();
+            out.get(state).addAll(out.get(fail[state]));
+            for (int c = 0; c < alphabetSize; c++) {
+                int next = gotoTable.get(state)[c];
+                if (next < 0) {
+                    delta[state * alphabetSize + c] = delta[fail[state] * alphabetSize + c];
+                } else {
+                    delta[state * alphabetSize + c] = next;
+                    fail[next] = delta[fail[state] * alphabetSize + c];
+                    queue.add(next);
+                }
+            }
+        }
+
+        outputs = new int[states][];
+        for (int s = 0; s < states; s++) {
+            List<int[]> list = out.get(s);
+            int[] flat = new int[list.size() * 2];
+            for (int i = 0; i < list.size(); i++) {
+                flat[i * 2] = list.get(i)[0];
+                flat[i * 2 + 1] = list.get(i)[1];
+            }
+            outputs[s] = flat;
+        }
+    }
+
+    private int[] newRow() {
+        int[] row = new int[alphabetSize];
+        Arrays.fill(row, -1);
+        return row;
+    }
+
+    /**
+     * Niyet tablosunu derler.
+     *
+     * @param foldDiacritics true ise ipuçları ve komutlar Türkçe harfleri
+     *                       katlanmış halleriyle eşleştirilir ("muzigi ac")
+     * @param table          Her elemanı "niyet: grup ; grup ; !dışlayıcı"
+     *                       biçiminde bir kural
+     * @throws IllegalArgumentException Satır biçimi hatalıysa
+     */
+    public static IntentEngine compile(boolean foldDiacritics, String... table) {
+        List<Rule> rules = new ArrayList<>();
+        List<Integer> groupRule = new ArrayList<>();
+        Map<String, Integer> cueIndex = new HashMap<>();
+        List<String> cues = new ArrayList<>();
+        List<List<Integer>> cueGroups = new ArrayList<>();
+
+        for (String line : table) {
+            int colon = line.indexOf(':');
+            if (colon <= 0)
+                throw new IllegalArgumentException("Niyet adı yok: " + line);
+            String intent = line.substring(0, colon).trim();
+            int first = groupRule.size();
+            int exclude = -1;
+            int required = 0;
+            boolean action = false;
+            for (String groupText : line.substring(colon + 1).split(";")) {
+                String g = groupText.trim();
+                boolean excluding = g.startsWith("!");
+                boolean noun = g.startsWith("~");
+                if (excluding || noun)
+                    g = g.substring(1);
+                int group = groupRule.size();
+                groupRule.add(rules.size());
+                if (excluding) {
+                    exclude = group;
+                } else {
+                    required++;
+                    action |= !noun;
+                }
+                for (String alternative : g.split("\\|")) {
+                    String cue = encodeCue(alternative, foldDiacritics);
+                    if (cue.length() < 2)
+                        throw new IllegalArgumentException("Boş ipucu: " + line);
+                    Integer p = cueIndex.get(cue);
+                    if (p == null) {
+                        p = cues.size();
+                        cueIndex.put(cue, p);
+                        cues.add(cue);
+                        cueGroups.add(new ArrayList<>());
+                    }
+                    cueGroups.get(p).add(group);
+                }
+            }
+            if (required == 0)
+                throw new IllegalArgumentException("Zorunlu grup yok: " + line);
+            // Dışlayıcı grup sona alınmış gibi sayılır: Zorunlu gruplar ardışık kalmalı
+            if (exclude >= 0 && exclude != groupRule.size() - 1)
+                throw new IllegalArgumentException("Dışlayıcı grup en sonda olmalı: " + line);
+            rules.add(new Rule(intent, first, required, exclude, action));
+        }
+
+        int[] groupRuleArray = new int[groupRule.size()];
+        for (int i = 0; i < groupRuleArray.length; i++)
+            groupRuleArray[i] = groupRule.get(i);
+        List<int[]> cueGroupArrays = new ArrayList<>(cueGroups.size());
+        for (List<Integer> groups : cueGroups) {
+            int[] arr = new int[groups.size()];
+            for (int i = 0; i < arr.length; i++)
+                arr[i] = groups.get(i);
+            cueGroupArrays.add(arr);
+        }
+        return new IntentEngine(foldDiacritics, rules.toArray(new Rule[0]), groupRuleArray, cues, cueGroupArrays);
+    }
+
+    /** İpucunu kelime sınırlarına bağlar: " ara " (tam kelime) veya " müzi" (kök). */
+    private static String encodeCue(String alternative, boolean fold) {
+        CommandText cue = CommandText.of(alternative.replace("*", ""));
+        String text = fold ? cue.folded() : cue.text();
+        return alternative.trim().endsWith("*") ? " " + text : " " + text + " ";
+    }
+
+    /**
+     * Komutu tek geçişte tarar ve yalnızca ipucu bulunan kuralları puanlar;
+     * böylece eşleştirme süresi tablo büyüklüğüne değil komuta bağlıdır.
+     *
+     * @param command Normalize edilmiş komut
+     * @return Puana göre azalan aday listesi (eşleşme yoksa boş)
+     */
+    public List<Candidate> match(CommandText command) {
+        String text = foldDiacritics ? command.folded() : command.text();
+        // Bulunan gruplar (grup, en uzun ipucu, bitiş); bir komutta birkaç tane olur
+        int[] hitGroup = new int[8];
+        int[] hitLength = new int[8];
+        int[] hitEnd = new int[8];
+        int hitCount = 0;
+
+        // Metin " metin " olarak taranır; konumlar text'e göre bir kaydırılmıştır
+        int state = 0;
+        int length = text.length() + 2;
+        for (int i = 0; i < length; i++) {
+            char ch = i == 0 || i == length - 1 ? ' ' : text.charAt(i - 1);
+            int c = ch < charClass.length ? charClass[ch] : -1;
+            if (c < 0) {
+                state = 0;
+                continue;
+            }
+            state = delta[state * alphabetSize + c];
+            int[] hits = outputs[state];
+            for (int k = 0; k < hits.length; k += 2) {
+                int slot = indexOf(hitGroup, hitCount, hits[k]);
+                if (slot < 0) {
+                    if (hitCount == hitGroup.length) {
+                        hitGroup = Arrays.copyOf(hitGroup, hitCount * 2);
+                        hitLength = Arrays.copyOf(hitLength, hitCount * 2);
+                        hitEnd = Arrays.copyOf(hitEnd, hitCount * 2);
+                    }
+                    slot = hitCount++;
+                    hitGroup[slot] = hits[k];
+                }
+                if (hits[k + 1] > hitLength[slot]) {
+                    hitLength[slot] = hits[k + 1];
+                    hitEnd[slot] = i + 1;
+                }
+            }
+        }
+
+        // Yalnızca en az bir grubu bulunan kurallar aday olabilir
+        int[] touched = new int[hitCount];
+        int ruleCount = 0;
+        for (int h = 0; h < hitCount; h++) {
+            int r = groupRule[hitGroup[h]];
+            if (indexOf(touched, ruleCount, r) < 0)
+                touched[ruleCount++] = r;
+        }
+
+        List<Candidate> candidates = new ArrayList<>(2);
+        for (int t = 0; t < ruleCount; t++) {
+            int r = touched[t];
+            Rule rule = rules[r];
+            if (rule.excludeGroup >= 0 && indexOf(hitGroup, hitCount, rule.excludeGroup) >= 0)
+                continue;
+            int score = 0;
+            int[] spans = new int[rule.groupCount * 2];
+            boolean complete = true;
+            for (int g = 0; g < rule.groupCount; g++) {
+                int slot = indexOf(hitGroup, hitCount, rule.firstGroup + g);
+                if (slot < 0) {
+                    complete = false;
+                    break;
+                }
+                // Kodlamadaki sınır boşlukları puana dahil edilmez; kökle eşleşen
+                // kelime ise ekleriyle birlikte (kelime sonuna kadar) kapsanır
+                int start = hitEnd[slot] - hitLength[slot];
+                int end = Math.min(hitEnd[slot] - 1, text.length());
+                if (end > start && text.charAt(end - 1) == ' ')
+                    end--;
+                score += end - start;
+                while (end < text.length() && text.charAt(end) != ' ')
+                    end++;
+                spans[g * 2] = start;
+                spans[g * 2 + 1] = end;
+            }
+            if (complete)
+                candidates.add(new Candidate(rule.intent, score, rule.action, command, spans, r));
+        }
+        Collections.sort(candidates, (a, b) -> a.score != b.score ? b.score - a.score : a.order - b.order);
+        return candidates;
+    }
+
+    private static int indexOf(int[] values, int count, int value) {
+        for (int i = 0; i < count; i++) {
+            if (values[i] == value)
+                return i;
+        }
+        return -1;
+    }
+
+    /** Tablodaki kural sayısı (log için) */
+    public int ruleCount() {
+        return rules.length;
+    }
+
+    /** Otomattaki durum sayısı (log için) */
+    public int stateCount() {
+        return outputs.length;
+    }
+}
@@ -0,0 +1,15 @@
+package com.example.niko;
+
+/** Eşleşen bir niyetin çalıştırılacak işi */
+final class LocalAction {
+    final String intent;
+    /** true: İş arayüze veya ana thread'e bağlı duruma dokunur */
+    final boolean mainThread;
+    final Runnable work;
+
+    LocalAction(String intent, boolean mainThread, Runnable work) {
+        this.intent = intent;
+        this.mainThread = mainThread;
+        this.work = work;
+    }
+}
@@ -0,0 +1,109 @@
+package com.example.niko;
+
+import java.util.ArrayList; // Dinamik dizi listesi
+import java.util.List; // Liste arayüzü
+
+/**
+ * Yerel komut niyet tablosu (sözdizimi için bkz. {@link IntentEngine}) ve
+ * uygulama açılışında bir kez derlenen otomatı.
+ *
+ * Her satırın niyeti MainActivity.planIntent içinde bir işleyiciye bağlanır.
+ * Yeni komut eklemek için satır ve işleyici eklemek yeterlidir; eşleştirme
+ * hızı tablo büyüklüğünden bağımsızdır. Davranış değişikliklerinde
+ * test/resources/intent_corpus.tsv derlemi güncellenmelidir (LocalIntentsTest).
+ *
+ * Android bağımlılığı yoktur.
+ */
+public final class LocalIntents {
+
+    /** Niyet satırları (IntentEngineBenchmark yapay satırlarla büyütmek için okur) */
+    static final String[] TABLE = {
+            "identity: ~adın ne | adın neydi | kimsin | kendini tanıt*",
+            "wakeword.enroll: uyandırma* ; öğren* | kaydet*",
+            "handsfree.off: eller serbest* ; kapat* | durdur*",
+            "handsfree.on: ~eller serbest* ; !kapat* | durdur*",
+            "cache.on: önbellek* | önbelleğ* ; aç* | etkinleştir* | kullan*",
+            "cache.off: önbellek* | önbelleğ* ; kapat* | durdur*",
+            "stream.on: akışlı* | akış modu* ; aç* | etkinleştir*",
+            "stream.off: akışlı* | akış modu* ; kapat* | durdur*",
+            "bargein.on: söz kes* | sözümü kes* | sözünü kes* | araya gir* ; aç* | etkinleştir*",
+            "bargein.off: söz kes* | sözümü kes* | sözünü kes* | araya gir* ; kapat* | durdur*",
+            "whatsapp.send: whatsapp* | vatsap* ; mesaj* | yaz* | yolla* | gönder* | at",
+            "call.last_incoming: ~son gelen*",
+            "call.last_outgoing: ~son aranan* | son aradığım*",
+            "call.name: ara | arar | arasana | arayın | arayabilir* | aramak | arama yap* | telefon aç*",
+            "time.now: ~saat* ; !kur* | alarm* | hatırlat* | anımsat*",
+            "date.today: ~tarih* | bugün günlerden ne | günlerden ne* | hangi gündeyiz | bugün ayın kaçı",
+            "camera.open: kamera* | fotoğraf* ; aç* | çek*",
+            "music.play: müzi* | şarkı* | spotify* | parça* ; başlat* | oynat* | devam* | çal | çalsana | çalar | çalabilir* | aç*",
+            "music.pause: müzi* | şarkı* | spotify* | parça* ; durdur* | duraklat* | kapat*",
+            "music.next: müzi* | şarkı* | spotify* | parça* ; sonraki* | geç* | değiştir* | atla* | sıradaki*",
+            "music.previous: müzi* | şarkı* | spotify* | parça* ; önceki* | başa | geri*",
+            "volume.up: ses | sesi* ; artır* | arttır* | yükselt* | aç*",
+            "volume.down: ses | sesi* ; azalt* | kıs* | düşür*",
+            "volume.mute: ses | sesi* ; kapat* | sessize al*",
+            "volume.mute: sessize al*",
+            "brightness.up: parlaklı* | ekran ışığı* ; artır* | arttır* | yükselt* | aç*",
+            "brightness.down: parlaklı* | ekran ışığı* ; azalt* | kıs* | düşür*",
+            "flashlight.on: fener* | ışığı* | flaş* ; aç* | yak*",
+            "flashlight.off: fener* | ışığı* | flaş* ; kapat* | söndür*",
+            "settings.open: ayarlar* ; aç* | göster*",
+            "wifi.on: wifi* | wi fi* | kablosuz* | internet* ; aç*",
+            "wifi.off: wifi* | wi fi* | kablosuz* | internet* ; kapat*",
+            "bluetooth.on: bluetooth* | blutut* ; aç*",
+            "bluetooth.off: bluetooth* | blutut* ; kapat*",
+            "update.check: güncelleme* | sürüm* ; kontrol* | var mı | bak*",
+            "alarm.set: alarm* ; kur* | ayarla* | koy*",
+            "alarm.set: ~alarm*",
+            "alarm.set: uyandır",
+            "reminder.set: hatırlat* | anımsat*",
+            "history.show: geçmiş* ; göster* | aç* | oku*",
+            "history.clear: geçmiş* ; temizle* | sil* | kapat*",
+            "screen.lock: ekranı kilitle* | telefonu kilitle*",
+            "screen.capture: ekran görüntüsü* | ekran resmi* ; al*",
+            "screen.capture: ~ekran görüntüsü* | ekran resmi*",
+            "nav.back: geri git* | geri dön*",
+            "nav.back: ~bir önceki* ; ~ekran*",
+            "nav.home: ana ekran* | ana sayfa* | ev ekran* ; dön* | git*",
+            "nav.home: ~ana ekran* | ana sayfa* | ev ekran*",
+            "nav.recents: ~son uygulamalar* | arka plandaki uygulamalar*",
+            "nav.notifications: bildirim* ; göster* | aç*"
+    };
+
+    /** Derlenmiş niyet otomatı */
+    public static final IntentEngine ENGINE = IntentEngine.compile(true, TABLE);
+
+    /** Sınıflandırıcının bu olasılığın altındaki tahminleri AI'ya bırakılır */
+    public static final float CLASSIFIER_CONFIDENCE_MIN = 0.5f;
+
+    private LocalIntents() {
+    }
+
+    /**
+     * Bağlaç veya noktalamayla birleştirilmiş komutu ("sesi kıs ve feneri aç")
+     * ayrı eylemlere böler. Her yan cümlede kendi eylem fiili eşleşmelidir;
+     * yalnızca isim ipucuyla eşleşen bir parça ("saat 8'de ilaç" -> time.now)
+     * yan cümle sayılmaz ve cümle bütün olarak işlenir: "saat 8'de ilaç ve
+     * vitamin hatırlat" tek bir hatırlatıcıdır.
+     *
+     * @return Yan cümle başına puan sırasıyla eylem adayları; komut tek yan
+     *         cümleyse veya bir yan cümlede eylem yoksa null
+     */
+    public static List<List<IntentEngine.Candidate>> compoundActions(CommandText command) {
+        List<CommandText> clauses = command.clauses();
+        if (clauses.size() < 2)
+            return null;
+        List<List<IntentEngine.Candidate>> out = new ArrayList<>(clauses.size());
+        for (CommandText clause : clauses) {
+            List<IntentEngine.Candidate> actions = new ArrayList<>(2);
+            for (IntentEngine.Candidate candidate : ENGINE.match(clause)) {
+                if (candidate.action)
+                    actions.add(candidate);
+            }
+            if (actions.isEmpty())
+                return null;
+            out.add(actions);
+        }
+        return out;
+    }
+}
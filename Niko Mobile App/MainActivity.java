@@ -24,7 +24,6 @@ import android.speech.RecognitionListener; // Konuşma tanıma dinleyicisi
 import android.speech.RecognizerIntent; // Ses tanıma başlatma niyeti
 import android.speech.SpeechRecognizer; // Ses tanıma motoru
 import android.speech.tts.TextToSpeech; // Metni sese dönüştürme motoru
-import android.speech.tts.UtteranceProgressListener; // Okuma süreci takibi
 
 // --- Kullanıcı Arayüzü (UI) Temel Bileşenleri ---
 import android.view.View; // Temel görsel yapı taşı
@@ -37,7 +36,6 @@ import android.widget.LinearLayout; // Sıralı yerleşim düzeni
 import android.widget.Button; // Standart tıklanabilir buton
 import android.widget.EditText; // Metin giriş alanı
 
-import android.media.MediaPlayer; // Ses/Video oynatma
 import android.media.AudioManager; // Sistem ses kontrolleri
 import android.view.KeyEvent; // Tuş olaylarını yakalama
 import android.util.Base64; // Veri şifreleme/çözme (Base64)
@@ -62,15 +60,11 @@ import java.io.IOException; // Giriş/Çıkış hata yönetimi
 import org.json.JSONArray; // JSON dizi yapısı
 import org.json.JSONObject; // JSON nesne yapısı
 import java.util.ArrayList; // Dinamik dizi listesi
-import java.util.LinkedList; // Bağlı liste yapısı
-import java.util.Queue; // Kuyruk veri yapısı
 import java.util.UUID; // Benzersiz kimlik oluşturucu
 
 import java.net.HttpURLConnection; // HTTP bağlantı yönetimi
 import java.net.URL; // Web adresi nesnesi
 import java.net.URLEncoder; // URL karakter kodlama
-import android.net.ConnectivityManager; // İnternet bağlantı kontrolü
-import android.net.NetworkInfo; // Ağ detayları
 
 import java.util.Date; // Tarih nesnesi
 import java.text.SimpleDateFormat; // Tarih formatlama
@@ -79,6 +73,8 @@ import android.provider.AlarmClock; // Alarm sistemi erişimi
 import java.util.concurrent.ExecutorService; // İş parçacığı havuzu yönetimi
 import java.util.concurrent.Executors; // İş parçacığı oluşturucu
 import java.util.concurrent.atomic.AtomicInteger; // Güvenli tamsayı işlemleri
+import java.util.concurrent.atomic.AtomicBoolean; // Güvenli bayrak işlemleri
+import java.util.concurrent.atomic.AtomicReference; // Güvenli nesne referansı
 import java.util.concurrent.TimeUnit; // Zaman birimleri dönüşümü
 import android.os.AsyncTask; // Arka plan görevleri
 import java.util.Locale; // Dil ve bölge ayarları
@@ -111,7 +107,6 @@ import android.content.ClipData; // Pano veri yapısı
 import android.view.WindowInsets; // Ekran içi boşluklar (çentik vb.)
 import android.view.inputmethod.InputMethodManager; // Klavye yönetimi
 import androidx.core.content.FileProvider; // Dosya paylaşım sağlayıcısı
-import android.hardware.camera2.CameraManager; // Kamera servisi
 import android.hardware.camera2.CameraCharacteristics; // Kamera teknik özellikleri
 import java.util.regex.Matcher; // Düzenli ifade eşleştirici (Regex)
 import java.util.regex.Pattern; // Düzenli ifade kalıbı (Regex)
@@ -145,8 +140,76 @@ public class MainActivity extends Activity {
     /** Paralel işlemler ve performans yönetimi için Thread Havuzu */
     private final ExecutorService executorService = Executors.newCachedThreadPool();
 
-    /** İptal edilebilir aktif AI görevi referansı */
-    private java.util.concurrent.Future<?> currentAiTask;
+    /** İptal edilebilir aktif AI isteği (tur kimliği, görev ve soket) */
+    private final AtomicReference<AiRequestHandle> currentAiRequest = new AtomicReference<>();
+
+    /** Her AI turuna verilen, sürekli artan kimlik sayacı */
+    private final java.util.concurrent.atomic.AtomicLong aiTurnCounter = new java.util.concurrent.atomic.AtomicLong();
+
+    /** Tüm ağ çağrılarının paylaştığı keep-alive HTTP istemcisi */
+    private final NikoHttpClient httpClient = new NikoHttpClient(() -> API_BASE_URL, () -> this.authToken);
+
+    /** İstek zamanlamalarından beslenen ağ kalitesi tahmini (ses ve zaman aşımı kararları) */
+    private final NetworkQualityEstimator networkQuality = new NetworkQualityEstimator();
+    /** Erişilebilirlik, ağ ve fener durumu ile sistem servisleri (onCreate'te başlar) */
+    private DeviceStateCache deviceState;
+    /** Yerel komutların işini ana thread dışında çalıştıran hat */
+    private final ActionPipeline actionPipeline = new ActionPipeline(this::addLog, this::speak);
+
+    /** Otomatın kaçırdığı yeniden ifadeler için niyet modeli (arka planda yüklenir) */
+    private volatile IntentClassifier intentClassifier;
+
+    /** Aday API adreslerini yoklayıp trafiği en hızlı canlı adrese yönlendiren yönetici */
+    private final EndpointManager endpointManager = new EndpointManager(httpClient, executorService, this::addLog);
+
+    /** Kısmi konuşma sonuçlarından kişi ve bağlantı ön hazırlığı yapan hat */
+    private final SpeculativePipeline speculativePipeline = new SpeculativePipeline(executorService,
+            this::queryContactNumber, this::preWarmAiConnection, this::addLog);
+
+    /** Konuşma başlarken açılan spekülatif ön ısıtma görevi ve bağlantısı */
+    private java.util.concurrent.Future<?> warmUpTask;
+    private final AtomicReference<HttpURLConnection> warmUpConnection = new AtomicReference<>();
+
+    /** Son başarılı ön ısıtma zamanı (havuzdaki soket hâlâ sıcakken tekrar etmemek için) */
+    private volatile long lastWarmUpAt = 0;
+
+    /** Bu süre içinde ısıtılmış bağlantı keep-alive havuzunda hazır kabul edilir */
+    private static final long WARM_UP_TTL_MS = 30000;
+
+    /** AI yanıtlarının SSE ile parça parça (akışlı) alınıp alınmayacağı ("akışlı yanıtı aç/kapat") */
+    private boolean isChatStreamEnabled = true;
+
+    /**
+     * Tekrarlanan sorular için yerel yanıt önbelleği (isteğe bağlı, varsayılan
+     * kapalı; "yanıt önbelleğini aç/kapat" komutuyla değiştirilir)
+     */
+    private ResponseCache responseCache;
+    private boolean isResponseCacheEnabled = false;
+
+    /** "Niko" uyandırma kelimesini dinleyen eller serbest mod (isteğe bağlı, varsayılan kapalı) */
+    private HandsFreeController handsFree;
+    private boolean isHandsFreeEnabled = false;
+    private boolean isEnrollingWakeWord = false;
+    private final Handler handsFreeHandler = new Handler(Looper.getMainLooper());
+
+    /** Tanıyıcı kapandıktan sonra uyandırma dinleyicisinin yeniden açılma gecikmesi */
+    private static final long HANDS_FREE_RESUME_MS = 800;
+    /** Konuşma veya AI isteği sürerken yeniden deneme aralığı */
+    private static final long HANDS_FREE_POLL_MS = 500;
+
+    /**
+     * Asistan konuşurken kullanıcının sözü kesmesini algılayan dinleyici
+     * (isteğe bağlı, varsayılan kapalı; "söz kesmeyi aç/kapat" komutuyla
+     * değiştirilir). Açıkken mikrofon konuşma boyunca açık kalır.
+     */
+    private BargeInMonitor bargeInMonitor;
+    private boolean isBargeInEnabled = false;
+
+    /** Bundan kısa sistem onayları ve uyarılar için söz kesme dinlenmez */
+    private static final int BARGE_IN_MIN_CHARS = 60;
+
+    /** Akış sırasında modelin ürettiği düşünce (<think>) bloklarını ayıklayan kalıp */
+    private static final Pattern THINK_BLOCK_PATTERN = Pattern.compile("(?s)<think>.*?(</think>|$)");
 
     // --- Sabitler ---
 
@@ -156,23 +219,29 @@ public class MainActivity extends Activity {
     // --- UI Bileşenleri: Çekirdek ---
 
     private View voiceOrb; // Ses aktivitesini simgeleyen görsel element
+    private OrbVisualizer orbVisualizer; // Küreyi ses şiddetine göre kare kare ölçekler
     private ImageButton btnMic; // Birincil etkileşim (mikrofon) butonu
     private TextView txtAIResponse; // AI yanıtlarının görüntülendiği metin alanı
     private View aiResponseContainer; // Yanıt metni için sarmalayıcı (ScrollView)
 
     // --- Ses ve TTS (Metin Okuma) Motoru ---
 
-    private SpeechRecognizer speechRecognizer;
-    private Intent speechIntent;
+    private RecognizerManager recognizerManager; // Mod seçimi, sıcak bekleme ve yeniden deneme
     private TextToSpeech tts;
 
+    /** Sunucu seslerini bellekten çalan, tek MediaPlayer'lı oynatma motoru */
+    private AudioPlaybackEngine audioEngine;
+
     // --- Durum ve Kontrol Akışı ---
 
     /** Mikrofonun aktif dinleme durumunu takip eder */
     private boolean isListening = false;
 
-    /** Metin okuma sırasını yöneten kuyruk yapısı */
-    private final Queue<String> ttsQueue = new LinkedList<>();
+    /** Metin okuma sırasını ve önceliklerini yöneten zamanlayıcı */
+    private UtteranceScheduler ttsScheduler;
+
+    /** Sabit onay cümlelerinin önceden sentezlenmiş kayıtları */
+    private PhraseAudioCache phraseCache;
 
     // --- UI Bileşenleri: Geçmiş Paneli ---
 
@@ -302,9 +371,18 @@ public class MainActivity extends Activity {
 
     // --- Ağ ve Güncellemeler ---
 
-    /** Merkezi API sunucu adresi */
+    /** Merkezi API sunucu adresi (etkin uç nokta; EndpointManager tarafından güncellenir) */
     private static String API_BASE_URL = "";
 
+    /**
+     * README'de adres bulunamazsa denenecek sabit sunucu adresi. Geçici tünel adresleri
+     * burada tutulmaz; boş bırakıldığında yalnızca önbellekteki ve README'den bulunan
+     * adresler denenir.
+     */
+    private static final String DEFAULT_API_BASE_URL = "";
+
+    private static final String GITHUB_README_URL = "https://raw.githubusercontent.com/Memati8383/Niko-AI/main/README.md";
+
     private static final String GITHUB_VERSION_URL = "https://raw.githubusercontent.com/Memati8383/Niko-AI/refs/heads/main/version.json";
     private static final String GITHUB_APK_URL = "https://github.com/Memati8383/Niko-AI/releases/latest/download/niko.apk";
 
@@ -323,10 +401,70 @@ public class MainActivity extends Activity {
         // Statik instance ataması
         instance = this;
 
+        // Cihaz durumu önbelleği: Komut yolu erişilebilirlik, ağ ve fener durumunu buradan okur
+        deviceState = new DeviceStateCache(this, NikoAccessibilityService.class);
+        deviceState.start(executorService);
+
         // En son başarılı olan URL'yi tercihlerden yükle
         SharedPreferences appPrefs = getSharedPreferences("app_settings", MODE_PRIVATE);
         API_BASE_URL = appPrefs.getString("api_url", API_BASE_URL);
 
+        // Uç nokta yarışı: Önbellekteki ve README'den bilinen adaylar hemen yoklanır
+        endpointManager.setListener(new EndpointManager.Listener() {
+            @Override
+            public void onActiveEndpointChanged(String url) {
+                API_BASE_URL = url;
+                appPrefs.edit().putString("api_url", url).apply();
+            }
+
+            @Override
+            public void onProbeTiming(long elapsedMs) {
+                networkQuality.recordRtt(elapsedMs);
+            }
+        });
+        endpointManager.setCandidates(API_BASE_URL, splitUrlList(appPrefs.getString("api_url_candidates", "")),
+                DEFAULT_API_BASE_URL);
+        endpointManager.probeAsync();
+        endpointManager.start();
+        isChatStreamEnabled = appPrefs.getBoolean("stream_chat", true);
+        isResponseCacheEnabled = appPrefs.getBoolean("response_cache", false);
+        responseCache = new ResponseCache(new File(getCacheDir(), "ai_responses"));
+        isHandsFreeEnabled = appPrefs.getBoolean("hands_free", false);
+        handsFree = new HandsFreeController(new File(getFilesDir(), "wakeword.model"),
+                new HandsFreeController.Callback() {
+                    @Override
+                    public void onWakeWord(float distance) {
+                        addLog("[WAKE] Uyandırma kelimesi algılandı (uzaklık " + distance + ")");
+                        voiceOrb.performHapticFeedback(android.view.HapticFeedbackConstants.VIRTUAL_KEY);
+                        startListening();
+                    }
+
+                    @Override
+                    public void onTemplateEnrolled(int count) {
+                        onWakeWordTemplateEnrolled(count);
+                    }
+                }, this::addLog);
+        isBargeInEnabled = appPrefs.getBoolean("barge_in", false);
+        bargeInMonitor = new BargeInMonitor(new BargeInMonitor.Callback() {
+            @Override
+            public void onSpeechOnset() {
+                // Aday: Kullanıcı gerçekten konuşuyorsa daha iyi duyulsun diye sesi kıs
+                if (audioEngine != null)
+                    audioEngine.duck(true);
+            }
+
+            @Override
+            public void onSpeechRejected() {
+                if (audioEngine != null)
+                    audioEngine.duck(false);
+            }
+
+            @Override
+            public void onBargeIn() {
+                handleBargeIn();
+            }
+        }, this::addLog);
+
         // GitHub'dan güncel URL'yi çek (Arka planda)
         updateApiUrlFromGithub();
 
@@ -335,6 +473,7 @@ public class MainActivity extends Activity {
 
         // Arayüz elemanlarını bağla
         voiceOrb = findViewById(R.id.voiceOrb);
+        orbVisualizer = new OrbVisualizer(voiceOrb, findViewById(R.id.orbHalo));
         btnMic = findViewById(R.id.btnMic);
         txtAIResponse = findViewById(R.id.txtAIResponse);
         aiResponseContainer = findViewById(R.id.aiResponseContainer);
@@ -506,6 +645,8 @@ public class MainActivity extends Activity {
         requestPermissions(); // İzinleri iste
         initSpeech(); // Konuşma tanıma servisini başlat
         initTTS(); // Metin okuma servisini başlat
+        audioEngine = new AudioPlaybackEngine(this::addLog); // Sunucu sesleri için oynatıcı
+        audioEngine.setActivityListener(this::updateBargeInMonitor);
 
         btnMic.setOnClickListener(v -> {
             hapticFeedback(HapticType.MEDIUM);
@@ -582,23 +723,14 @@ public class MainActivity extends Activity {
         btnStop.setOnClickListener(v -> {
             hapticFeedback(HapticType.MEDIUM);
 
-            // 1. Konuşmayı durdur
-            if (tts != null && tts.isSpeaking()) {
-                tts.stop();
-                ttsQueue.clear();
-            }
+            // 1. Konuşmayı durdur ve AI isteğini iptal et
+            interruptAssistant("kullanıcı tarafından");
             // 2. Dinlemeyi durdur
-            if (isListening && speechRecognizer != null) {
-                speechRecognizer.cancel();
+            if (isListening && recognizerManager != null) {
+                recognizerManager.cancel();
                 isListening = false;
             }
-            // 3. AI İsteğini İptal Et (Vazgeçme)
-            if (currentAiTask != null && !currentAiTask.isDone()) {
-                currentAiTask.cancel(true); // true = interrupt if running
-                addLog("[AI] İstek kullanıcı tarafından iptal edildi.");
-                currentAiTask = null;
-            }
-            // 4. UI Temizle
+            // 3. UI Temizle
             runOnUiThread(() -> {
                 aiResponseContainer.setVisibility(View.GONE);
                 txtAIResponse.setText("");
@@ -644,6 +776,9 @@ public class MainActivity extends Activity {
         // Otomatik güncelleme kontrolü (Arka planda)
         checkForUpdates();
 
+        // Niyet modeli (arka planda)
+        loadIntentClassifier();
+
         // Erişilebilirlik Servisi Kontrolü (Tam Otomatik WhatsApp için)
         if (!isAccessibilityServiceEnabled()) {
             showAccessibilityAccessDialog();
@@ -805,20 +940,19 @@ public class MainActivity extends Activity {
      * Android Speech Recognition motorunu başlatır ve dil ayarlarını yapılandırır.
      */
     private void initSpeech() {
-        // Android'in yerleşik konuşma tanıyıcısını oluştur
-        speechRecognizer = SpeechRecognizer.createSpeechRecognizer(this);
-
-        // Tanıma parametrelerini ayarla
-        speechIntent = new Intent(RecognizerIntent.ACTION_RECOGNIZE_SPEECH);
+        // Tanıma parametrelerini ayarla (çevrimdışı tercihi moda göre yönetici ekler)
+        Intent speechIntent = new Intent(RecognizerIntent.ACTION_RECOGNIZE_SPEECH);
         speechIntent.putExtra(RecognizerIntent.EXTRA_LANGUAGE_MODEL, RecognizerIntent.LANGUAGE_MODEL_FREE_FORM);
         speechIntent.putExtra(RecognizerIntent.EXTRA_LANGUAGE, "tr-TR"); // Türkçe dili
-        speechIntent.putExtra(RecognizerIntent.EXTRA_PREFER_OFFLINE, true); // Mümkünse çevrimdışı çalışmayı tercih et
+        speechIntent.putExtra(RecognizerIntent.EXTRA_PARTIAL_RESULTS, true); // Ara hipotezler (spekülatif hazırlık)
 
-        speechRecognizer.setRecognitionListener(new RecognitionListener() {
+        // Cihaz üzerindeki veya varsayılan tanıyıcıyı seçip hazır tutan yönetici
+        recognizerManager = new RecognizerManager(this, speechIntent, new RecognitionListener() {
 
             @Override
             public void onResults(Bundle results) {
                 isListening = false;
+                resumeHandsFree(HANDS_FREE_RESUME_MS);
                 ArrayList<String> list = results.getStringArrayList(SpeechRecognizer.RESULTS_RECOGNITION);
                 if (list == null || list.isEmpty()) {
                     addLog("[STT] Sonuç boş.");
@@ -828,11 +962,16 @@ public class MainActivity extends Activity {
                 // Kullanıcının söylediği ilk (en olası) cümleyi al
                 String cmd = list.get(0);
                 addLog("[STT] Algılanan: " + cmd);
-                String cmdLower = cmd.toLowerCase();
+                // Cümle bir kez normalize edilir; tüm yerel ayrıştırıcılar bu sonucu kullanır
+                CommandText command = CommandText.of(cmd);
+                speculativePipeline.onFinal(command);
                 saveToHistory("Ben", cmd); // Orijinal haliyle kaydet
 
                 // 1. Önce yerel komut mu diye kontrol et (alarm, arama, müzik vb.)
-                if (!processLocalCommand(cmdLower)) {
+                if (processLocalCommand(command)) {
+                    // Yerel komutta AI'ya gidilmeyecek, süren ön ısıtmayı bırak
+                    cancelAiConnectionWarmUp();
+                } else {
                     // 2. Eğer yerel bir komut değilse interneti kontrol et
                     if (isNetworkAvailable()) {
                         // İnternet varsa Yapay Zeka'ya sor
@@ -849,9 +988,12 @@ public class MainActivity extends Activity {
                 // Hata durumunda dinlemeyi bırak
                 isListening = false;
                 addLog("[STT] Hata Kodu: " + e);
+                resumeHandsFree(HANDS_FREE_RESUME_MS);
             }
 
             public void onReadyForSpeech(Bundle b) {
+                // Kullanıcı konuşurken AI bağlantısını arka planda hazırla
+                preWarmAiConnection();
             }
 
             public void onBeginningOfSpeech() {
@@ -863,21 +1005,9 @@ public class MainActivity extends Activity {
             }
 
             public void onRmsChanged(float rmsdB) {
-                // Ses şiddetine göre ekrandaki yuvarlağın boyutunu değiştir (görsel efekt)
-                // Daha pürüzsüz bir ölçeklendirme için değerleri sınırlıyoruz ve maks ölçek 1.4
-                // koyuyoruz
-                float rawScale = 1.0f + (Math.max(0, rmsdB) / 20.0f);
-                float scale = Math.min(rawScale, 1.4f);
-
-                voiceOrb.animate().scaleX(scale).scaleY(scale).setDuration(50).start();
-
-                // Halo efektini de ölçeklendir (limitli büyüme)
-                View orbHalo = findViewById(R.id.orbHalo);
-                if (orbHalo != null) {
-                    float haloScale = Math.min(1.0f + (Math.max(0, rmsdB) / 12.0f), 1.6f);
-                    orbHalo.animate().scaleX(haloScale).scaleY(haloScale).alpha(0.2f + (rmsdB / 25.0f)).setDuration(120)
-                            .start();
-                }
+                // Ses şiddetine göre küre ve haleyi büyüt (görsel efekt): Örnek yalnızca
+                // tampona yazılır, çizim bir sonraki karede tek seferde yapılır
+                orbVisualizer.push(rmsdB);
             }
 
             public void onBufferReceived(byte[] b) {
@@ -887,11 +1017,16 @@ public class MainActivity extends Activity {
             }
 
             public void onPartialResults(Bundle b) {
+                // Kullanıcı konuşmayı bitirmeden komutu tahmin et ve hazırlığa başla
+                ArrayList<String> partial = b.getStringArrayList(SpeechRecognizer.RESULTS_RECOGNITION);
+                if (partial != null && !partial.isEmpty() && partial.get(0) != null) {
+                    speculativePipeline.onPartial(partial.get(0));
+                }
             }
 
             public void onEvent(int t, Bundle b) {
             }
-        });
+        }, this::addLog);
     }
 
     /**
@@ -900,285 +1035,504 @@ public class MainActivity extends Activity {
     private void startListening() {
         if (!isListening) {
             isListening = true;
+            // Mikrofonu tanıyıcıya bırak
+            pauseHandsFree();
+            if (bargeInMonitor != null)
+                bargeInMonitor.stop();
+            if (audioEngine != null)
+                audioEngine.duck(false);
+            speculativePipeline.reset();
             addLog("[STT] Dinleme başlatıldı...");
-            speechRecognizer.startListening(speechIntent);
+            recognizerManager.start();
         }
     }
 
     /*
      * *****************************************************************************
      * ****
-     * KOMUT İŞLEYİCİ
+     * SÖZ KESME (BARGE-IN)
      *********************************************************************************/
 
     /**
-     * Sesli veya yazılı komutları yerel olarak analiz eder.
-     * Cihaz kontrolleri, ayarlar ve sistem komutlarını önceliklendirir.
-     * 
-     * @param cmd İşlenecek komut metni
-     * @return Komut yerel olarak işlendiyse true, AI'ya devredilecekse false
+     * Konuşmayı ve sunucu sesini keser, bekleyen ifadeleri atar ve süren AI
+     * isteğini iptal eder (soket anında kapatılır).
      */
-    private boolean processLocalCommand(String cmd) {
-        addLog("[CMD] Yerel komut işleniyor: " + cmd);
-
-        // ==========================================
-        // 1. NIKO KİMLİK VE TANITIM
-        // ==========================================
-        if (cmd.contains("adın ne") || cmd.contains("kimsin") || cmd.contains("kendini tanıt")) {
-            addLog("[CMD] Kimlik sorgusu yanıtlanıyor.");
-            speak("Benim adım Niko. Senin kişisel yapay zeka asistanınım.");
-            return true;
+    private void interruptAssistant(String reason) {
+        if (ttsScheduler != null) {
+            ttsScheduler.stop();
+        }
+        if (audioEngine != null) {
+            audioEngine.stop();
+        }
+        AiRequestHandle activeRequest = currentAiRequest.getAndSet(null);
+        if (activeRequest != null && !activeRequest.isFinished()) {
+            activeRequest.abort(executorService);
+            addLog("[AI] İstek #" + activeRequest.turnId + " " + reason + " iptal edildi.");
         }
+    }
 
-        // ==========================================
-        // 2. İLETİŞİM (WHATSAPP VE ARAMALAR)
-        // ==========================================
+    /** Kullanıcı asistanın sözünü kesti: Çıktıyı durdur ve hemen dinlemeye geç. */
+    private void handleBargeIn() {
+        if (isListening || isFinishing())
+            return;
+        interruptAssistant("söz kesme ile");
+        hapticFeedback(HapticType.LIGHT);
+        startListening();
+    }
 
-        // WhatsApp Mesaj Gönderme
-        if (cmd.contains("whatsapp")
-                && (cmd.contains("mesaj") || cmd.contains("yaz") || cmd.contains("yolla") || cmd.contains("gönder"))) {
-            addLog("[CMD] WhatsApp mesaj gönderme tetiklendi.");
-            handleWhatsAppCommand(cmd);
-            return true;
-        }
+    /** Söz kesme dinleyicisini açar/kapatır ve tercihi kaydeder. */
+    private void setBargeInEnabled(boolean enabled) {
+        isBargeInEnabled = enabled;
+        getSharedPreferences("app_settings", MODE_PRIVATE).edit().putBoolean("barge_in", enabled).apply();
+        addLog("[BARGE] Söz kesme " + (enabled ? "açıldı" : "kapatıldı"));
+        updateBargeInMonitor();
+        speak(enabled ? "Söz kesme açıldı. Ben konuşurken araya girebilirsin."
+                : "Söz kesme kapatıldı.");
+    }
 
-        // Son Aramalar (Gelen/Giden)
-        if (cmd.contains("son gelen")) {
-            callLast(CallLog.Calls.INCOMING_TYPE);
-            return true;
+    /**
+     * Asistan konuşurken söz kesme dinleyicisini açar, susunca kapatır. TTS
+     * kuyruğu ve ses oynatıcısı durum değiştirdikçe çağrılır (ana thread).
+     * Yalnızca kısa onaylar okunuyorsa mikrofon açılmaz; sunucu sesi her zaman
+     * bir AI yanıtıdır.
+     */
+    private void updateBargeInMonitor() {
+        if (bargeInMonitor == null)
+            return;
+        boolean speaking = (ttsScheduler != null && ttsScheduler.hasLongSpeech(BARGE_IN_MIN_CHARS))
+                || (audioEngine != null && !audioEngine.isIdle());
+        boolean allowed = isBargeInEnabled && speaking && !isListening && !isEnrollingWakeWord
+                && checkSelfPermission(Manifest.permission.RECORD_AUDIO) == PackageManager.PERMISSION_GRANTED;
+        if (allowed) {
+            bargeInMonitor.start();
+        } else if (bargeInMonitor.isRunning()) {
+            bargeInMonitor.stop();
+            // Başlangıçta kısılan ses, aday reddedilmeden izleme bittiyse geri açılır
+            if (audioEngine != null)
+                audioEngine.duck(false);
         }
+    }
 
-        if (cmd.contains("son aranan")) {
-            callLast(CallLog.Calls.OUTGOING_TYPE);
-            return true;
-        }
+    /*
+     * *****************************************************************************
+     * ****
+     * ELLER SERBEST MOD (UYANDIRMA KELİMESİ)
+     *********************************************************************************/
 
-        // İsimle Arama Başlatma
-        if (cmd.contains("ara")) {
-            String target = cmd.replace("ara", "").trim();
-            addLog("[CMD] Arama başlatılıyor: " + target);
-            callByName(target);
-            return true;
+    /**
+     * Eller serbest modu açar/kapatır ve tercihi kaydeder. Henüz uyandırma
+     * kelimesi öğretilmemişse önce kayıt başlatılır.
+     */
+    private void setHandsFreeEnabled(boolean enabled) {
+        isHandsFreeEnabled = enabled;
+        getSharedPreferences("app_settings", MODE_PRIVATE).edit().putBoolean("hands_free", enabled).apply();
+        addLog("[WAKE] Eller serbest mod " + (enabled ? "açıldı" : "kapatıldı"));
+
+        if (!enabled) {
+            pauseHandsFree();
+            speak("Eller serbest mod kapatıldı.");
+        } else if (!handsFree.isTrained()) {
+            startWakeWordEnrollment();
+        } else {
+            speak("Eller serbest mod açık. Bana seslenmek için Niko demen yeterli.");
         }
+    }
 
-        // ==========================================
-        // 3. ZAMAN VE BİLGİ (SAAT, TARİH)
-        // ==========================================
-        if (cmd.contains("saat") && !cmd.contains("kur") && !cmd.contains("alarm")) {
-            SimpleDateFormat sdf = new SimpleDateFormat("HH:mm", Locale.getDefault());
-            speak("Saat şu an " + sdf.format(new Date()));
-            return true;
-        }
+    /**
+     * Kullanıcının sesinden uyandırma kelimesi şablonlarını toplar. Yönerge
+     * okunurken mikrofon kapalıdır; dinleme konuşma bitince başlar.
+     */
+    private void startWakeWordEnrollment() {
+        pauseHandsFree();
+        handsFree.beginEnrollment();
+        isEnrollingWakeWord = true;
+        addLog("[WAKE] Uyandırma kelimesi kaydı başladı");
+        speak("Sesini öğreniyorum. Aralarda kısa bir ara vererek " + WakeWordDetector.MIN_TEMPLATES
+                + " kez Niko de.");
+        resumeHandsFree(HANDS_FREE_RESUME_MS);
+    }
 
-        if (cmd.contains("tarih") || cmd.contains("bugün günlerden ne") || cmd.contains("hangi gündeyiz")) {
-            SimpleDateFormat sdf = new SimpleDateFormat("dd MMMM yyyy EEEE", new Locale("tr", "TR"));
-            speak("Bugün " + sdf.format(new Date()));
-            return true;
-        }
+    private void onWakeWordTemplateEnrolled(int count) {
+        addLog("[WAKE] Şablon kaydedildi: " + count + "/" + WakeWordDetector.MIN_TEMPLATES);
+        if (count < WakeWordDetector.MIN_TEMPLATES)
+            return;
 
-        // ==========================================
-        // 4. MEDYA VE CİHAZ KONTROLLERİ
-        // ==========================================
+        pauseHandsFree();
+        handsFree.finishEnrollment();
+        isEnrollingWakeWord = false;
+        isHandsFreeEnabled = true;
+        getSharedPreferences("app_settings", MODE_PRIVATE).edit().putBoolean("hands_free", true).apply();
+        speak("Tamam, öğrendim. Artık Niko dediğinde dinlemeye başlayacağım.");
+        resumeHandsFree(HANDS_FREE_RESUME_MS);
+    }
 
-        // Kamera ve Fotoğraf
-        if (cmd.contains("kamera aç") || cmd.contains("fotoğraf çek")) {
-            try {
-                Intent intent = new Intent(android.provider.MediaStore.ACTION_IMAGE_CAPTURE);
-                startActivity(intent);
-                speak("Kamera açılıyor");
-            } catch (Exception e) {
-                speak("Kamera uygulaması bulunamadı.");
-            }
-            return true;
-        }
+    /** Uyandırma dinleyicisini durdurur ve bekleyen yeniden başlatmayı iptal eder. */
+    private void pauseHandsFree() {
+        handsFreeHandler.removeCallbacksAndMessages(null);
+        if (handsFree != null)
+            handsFree.stop();
+    }
 
-        // Müzik Kontrolleri (Spotify vb. Medya Çalarlar)
-        if (cmd.contains("müzik") || cmd.contains("müzi") || cmd.contains("şarkı") || cmd.contains("spotify")
-                || cmd.contains("parça")) {
-            if (cmd.contains("başlat") || cmd.contains("oynat") || cmd.contains("devam") || cmd.contains("çal")
-                    || cmd.contains("aç")) {
-                controlMusic(KeyEvent.KEYCODE_MEDIA_PLAY);
-                speak("Müzik başlatılıyor");
-                return true;
-            }
-            if (cmd.contains("durdur") || cmd.contains("duraklat") || cmd.contains("kapat")) {
-                controlMusic(KeyEvent.KEYCODE_MEDIA_PAUSE);
-                speak("Müzik durduruldu");
-                return true;
-            }
-            if (cmd.contains("sonraki") || cmd.contains("geç") || cmd.contains("değiştir") || cmd.contains("atla")
-                    || cmd.contains("sıradaki")) {
-                controlMusic(KeyEvent.KEYCODE_MEDIA_NEXT);
-                speak("Sonraki şarkı");
-                return true;
-            }
-            if (cmd.contains("önceki") || cmd.contains("başa") || cmd.contains("geri")) {
-                controlMusic(KeyEvent.KEYCODE_MEDIA_PREVIOUS);
-                speak("Önceki şarkı");
-                return true;
-            }
-        }
+    /** Uyandırma dinleyicisini gecikmeyle yeniden açar (mod kapalıysa etkisizdir). */
+    private void resumeHandsFree(long delayMs) {
+        handsFreeHandler.removeCallbacksAndMessages(null);
+        handsFreeHandler.postDelayed(this::tryStartHandsFree, delayMs);
+    }
 
-        // Ses Seviyesi Kontrolü
-        if (cmd.contains("sesi")) {
-            if (cmd.contains("artır") || cmd.contains("arttır") || cmd.contains("yükselt") || cmd.contains("aç")) {
-                adjustVolume(true);
-                return true;
-            }
-            if (cmd.contains("azalt") || cmd.contains("kıs") || cmd.contains("düşür")) {
-                adjustVolume(false);
-                return true;
-            }
-            if (cmd.contains("kapat") || cmd.contains("sessize al")) {
-                setVolumeLevel(0);
-                return true;
-            }
-        }
+    /**
+     * Mikrofon boştaysa dinleyiciyi başlatır. Asistan konuşurken veya yanıt
+     * beklenirken başlatılmaz; kendi sesini uyandırma kelimesi sanmaması için
+     * bu durumlar bitene kadar periyodik olarak tekrar denenir.
+     */
+    private void tryStartHandsFree() {
+        if (handsFree == null || handsFree.isRunning() || isListening || isFinishing())
+            return;
+        if (!isEnrollingWakeWord && (!isHandsFreeEnabled || !handsFree.isTrained()))
+            return;
+        if (checkSelfPermission(Manifest.permission.RECORD_AUDIO) != PackageManager.PERMISSION_GRANTED)
+            return;
 
-        // Ekran Parlaklığı
-        if (cmd.contains("parlaklık") || cmd.contains("ışık")) {
-            if (cmd.contains("artır") || cmd.contains("arttır") || cmd.contains("yükselt") || cmd.contains("aç")) {
-                adjustBrightness(true);
-                return true;
-            }
-            if (cmd.contains("azalt") || cmd.contains("kıs") || cmd.contains("düşür")) {
-                adjustBrightness(false);
-                return true;
-            }
+        boolean busy = (ttsScheduler != null && !ttsScheduler.isIdle())
+                || (audioEngine != null && !audioEngine.isIdle())
+                || currentAiRequest.get() != null || !actionPipeline.isIdle();
+        if (busy) {
+            handsFreeHandler.postDelayed(this::tryStartHandsFree, HANDS_FREE_POLL_MS);
+            return;
         }
+        handsFree.start(isEnrollingWakeWord);
+    }
 
-        // Fener (Flashlight)
-        if (cmd.contains("fener") || cmd.contains("ışığı aç") || cmd.contains("flaşı aç")) {
-            if (cmd.contains("aç") || cmd.contains("yak")) {
-                toggleFlashlight(true);
-                return true;
+    /*
+     * *****************************************************************************
+     * ****
+     * KOMUT İŞLEYİCİ
+     *********************************************************************************/
+
+    /**
+     * Sesli veya yazılı komutları yerel olarak analiz eder.
+     * Komut niyet otomatında tek geçişte taranır; adaylar puan sırasıyla
+     * denenir ve işleyicisi çalışabilen ilk adayın eylemi eylem hattına verilir.
+     * Dönüş, eylemin bitmesini beklemez.
+     *
+     * Önce cümlenin tamamı eşleştirilir. Bağlaç veya noktalamayla
+     * birleştirilmiş komutlar ("sesi kıs ve feneri aç") yalnızca her yan
+     * cümlede kendi eylem fiili varsa ve hepsi uygulanabiliyorsa tek turda
+     * birlikte çalıştırılır (bkz. {@link LocalIntents#compoundActions}); aksi
+     * halde cümle bütün olarak işlenir ("saat 8'de ilaç ve vitamin hatırlat").
+     * 
+     * @param command Normalize edilmiş komut
+     * @return Komut yerel olarak işlendiyse true, AI'ya devredilecekse false
+     */
+    private boolean processLocalCommand(CommandText command) {
+        addLog("[CMD] Yerel komut işleniyor: " + command);
+
+        long startedAt = System.nanoTime();
+        List<IntentEngine.Candidate> candidates = LocalIntents.ENGINE.match(command);
+        List<List<IntentEngine.Candidate>> compound = LocalIntents.compoundActions(command);
+        addLog("[CMD] Adaylar: " + candidates + (compound != null ? ", yan cümleler: " + compound : "") + " ("
+                + (System.nanoTime() - startedAt) / 1000 + " µs)");
+
+        if (compound != null) {
+            List<LocalAction> actions = new ArrayList<>(compound.size());
+            for (List<IntentEngine.Candidate> clause : compound) {
+                LocalAction action = planFirst(clause);
+                if (action == null) {
+                    actions = null;
+                    break;
+                }
+                actions.add(action);
             }
-            if (cmd.contains("kapat") || cmd.contains("söndür")) {
-                toggleFlashlight(false);
+            if (actions != null) {
+                actionPipeline.submitCompound(actions, System.nanoTime() - startedAt);
                 return true;
             }
         }
 
-        // ==========================================
-        // 5. AYARLAR VE SİSTEM (WIFI, BT, GÜNCELLEME)
-        // ==========================================
-
-        // Ayarlar Ekranı
-        if (cmd.contains("ayarları aç")) {
-            startActivity(new Intent(Settings.ACTION_SETTINGS));
-            speak("Ayarlar açılıyor");
-            return true;
+        LocalAction action = planFirst(candidates);
+        // Otomat hiçbir ipucu bulamadıysa: Yeniden ifade edilmiş bir cihaz komutu olabilir
+        if (action == null && candidates.isEmpty()) {
+            IntentEngine.Candidate classified = classifyLocalCommand(command);
+            if (classified != null)
+                action = planIntent(classified);
         }
+        if (action == null)
+            return false; // Hiçbir yerel komut eşleşmediyse, soruyu Yapay Zeka'ya (AI) devret
+        actionPipeline.submit(action, System.nanoTime() - startedAt);
+        return true;
+    }
 
-        // Kablosuz Bağlantılar (Wi-Fi ve Bluetooth)
-        if (cmd.contains("wifi") || cmd.contains("wi-fi") || cmd.contains("internet")) {
-            if (cmd.contains("aç")) {
-                controlWifi(true);
-                return true;
-            }
-            if (cmd.contains("kapat")) {
-                controlWifi(false);
-                return true;
-            }
+    /**
+     * Adayları puan sırasıyla dener.
+     *
+     * @return İşleyicisi uygulanabilen ilk adayın eylemi; yoksa null
+     */
+    private LocalAction planFirst(List<IntentEngine.Candidate> candidates) {
+        for (IntentEngine.Candidate candidate : candidates) {
+            LocalAction action = planIntent(candidate);
+            if (action != null)
+                return action;
         }
+        return null;
+    }
 
-        if (cmd.contains("bluetooth")) {
-            if (cmd.contains("aç")) {
-                controlBluetooth(true);
-                return true;
-            }
-            if (cmd.contains("kapat")) {
-                controlBluetooth(false);
-                return true;
+    /**
+     * Niyet sınıflandırıcısına sorar ("biraz daha sessiz olsun" -> volume.down).
+     *
+     * @return Güven eşiğini geçen yerel niyet; model henüz yüklenmediyse,
+     *         sonuç "-" ise veya güven düşükse null (komut AI'ya gider)
+     */
+    private IntentEngine.Candidate classifyLocalCommand(CommandText command) {
+        IntentClassifier classifier = intentClassifier;
+        if (classifier == null || command.size() == 0)
+            return null;
+        long startedAt = System.nanoTime();
+        IntentClassifier.Prediction prediction = classifier.predict(command);
+        addLog("[CMD] Sınıflandırıcı: " + prediction + " (" + (System.nanoTime() - startedAt) / 1000 + " µs)");
+        if (!prediction.isLocal() || prediction.probability < LocalIntents.CLASSIFIER_CONFIDENCE_MIN)
+            return null;
+        return IntentEngine.Candidate.unanchored(prediction.intent, command);
+    }
+
+    /**
+     * res/raw/intent_model.bin niyet modelini arka planda yükler. Yüklenene
+     * kadar (veya yükleme başarısız olursa) yalnızca niyet otomatı kullanılır.
+     */
+    private void loadIntentClassifier() {
+        executorService.execute(() -> {
+            try (InputStream in = getResources().openRawResource(R.raw.intent_model)) {
+                IntentClassifier classifier = IntentClassifier.read(in);
+                intentClassifier = classifier;
+                addLog("[CMD] Niyet modeli yüklendi: " + classifier.labelCount() + " sınıf, "
+                        + classifier.sizeBytes() / 1024 + " KB");
+            } catch (IOException | RuntimeException e) {
+                addLog("[CMD] Niyet modeli yüklenemedi: " + e.getMessage());
             }
-        }
+        });
+    }
 
-        // Sistem Güncelleme Kontrolü
-        if (cmd.contains("güncelleme") || cmd.contains("sürüm")) {
-            if (cmd.contains("kontrol") || cmd.contains("var mı") || cmd.contains("bak")) {
-                speak("Güncelleme kontrol ediliyor...", false);
-                manualUpdateCheck();
-                return true;
+    /**
+     * Eşleşen niyeti çalıştırılacak bir eyleme çevirir. Yalnızca ön koşullar
+     * (önbellekten okunan erişilebilirlik durumu gibi) burada denetlenir;
+     * işin kendisi eylem hattında çalışır.
+     *
+     * @return Eylem; işleyici bu durumda uygulanamıyorsa (ör. erişilebilirlik
+     *         servisi kapalı) null ve sıradaki aday denenir
+     */
+    private LocalAction planIntent(IntentEngine.Candidate intent) {
+        CommandText cmd = intent.command;
+        switch (intent.intent) {
+            // ==========================================
+            // 1. NIKO KİMLİK VE TANITIM
+            // ==========================================
+            case "identity":
+                return inBackground(intent, () -> {
+                    addLog("[CMD] Kimlik sorgusu yanıtlanıyor.");
+                    speak("Benim adım Niko. Senin kişisel yapay zeka asistanınım.");
+                });
+
+            // Uyandırma kelimesi kaydı ve eller serbest mod (ana thread'e bağlı durum)
+            case "wakeword.enroll":
+                return onMainThread(intent, this::startWakeWordEnrollment);
+            case "handsfree.on":
+            case "handsfree.off":
+                return onMainThread(intent, () -> setHandsFreeEnabled(intent.intent.equals("handsfree.on")));
+
+            // AI yanıt tercihleri
+            case "cache.on":
+            case "cache.off":
+                return onMainThread(intent, () -> setResponseCacheEnabled(intent.intent.equals("cache.on")));
+            case "stream.on":
+            case "stream.off":
+                return onMainThread(intent, () -> setChatStreamEnabled(intent.intent.equals("stream.on")));
+            case "bargein.on":
+            case "bargein.off":
+                return onMainThread(intent, () -> setBargeInEnabled(intent.intent.equals("bargein.on")));
+
+            // ==========================================
+            // 2. İLETİŞİM (WHATSAPP VE ARAMALAR)
+            // ==========================================
+            case "whatsapp.send":
+                return inBackground(intent, () -> {
+                    addLog("[CMD] WhatsApp mesaj gönderme tetiklendi.");
+                    handleWhatsAppCommand(cmd);
+                });
+            case "call.last_incoming":
+                return inBackground(intent, () -> callLast(CallLog.Calls.INCOMING_TYPE));
+            case "call.last_outgoing":
+                return inBackground(intent, () -> callLast(CallLog.Calls.OUTGOING_TYPE));
+            case "call.name": {
+                String target = intent.remainderStems();
+                return inBackground(intent, () -> {
+                    addLog("[CMD] Arama başlatılıyor: " + target);
+                    callByName(target);
+                });
             }
-        }
 
-        // ==========================================
-        // 6. PLANLAMA VE HATIRLATICILAR (ALARM, NOT)
-        // ==========================================
-        if (cmd.contains("alarm")) {
-            setAlarm(cmd);
-            return true;
-        }
+            // ==========================================
+            // 3. ZAMAN VE BİLGİ (SAAT, TARİH)
+            // ==========================================
+            case "time.now":
+                return inBackground(intent, () -> {
+                    SimpleDateFormat sdf = new SimpleDateFormat("HH:mm", Locale.getDefault());
+                    speak("Saat şu an " + sdf.format(new Date()));
+                });
+            case "date.today":
+                return inBackground(intent, () -> {
+                    SimpleDateFormat sdf = new SimpleDateFormat("dd MMMM yyyy EEEE", new Locale("tr", "TR"));
+                    speak("Bugün " + sdf.format(new Date()));
+                });
 
-        if (cmd.contains("hatırlat") || cmd.contains("anımsat")) {
-            setReminder(cmd);
-            return true;
-        }
+            // ==========================================
+            // 4. MEDYA VE CİHAZ KONTROLLERİ
+            // ==========================================
+            case "camera.open":
+                return inBackground(intent, () -> {
+                    try {
+                        Intent cameraIntent = new Intent(android.provider.MediaStore.ACTION_IMAGE_CAPTURE);
+                        startActivity(cameraIntent);
+                        speak("Kamera açılıyor");
+                    } catch (Exception e) {
+                        speak("Kamera uygulaması bulunamadı.");
+                    }
+                });
+            case "music.play":
+                return inBackground(intent, () -> {
+                    controlMusic(KeyEvent.KEYCODE_MEDIA_PLAY);
+                    speak("Müzik başlatılıyor");
+                });
+            case "music.pause":
+                return inBackground(intent, () -> {
+                    controlMusic(KeyEvent.KEYCODE_MEDIA_PAUSE);
+                    speak("Müzik durduruldu");
+                });
+            case "music.next":
+                return inBackground(intent, () -> {
+                    controlMusic(KeyEvent.KEYCODE_MEDIA_NEXT);
+                    speak("Sonraki şarkı");
+                });
+            case "music.previous":
+                return inBackground(intent, () -> {
+                    controlMusic(KeyEvent.KEYCODE_MEDIA_PREVIOUS);
+                    speak("Önceki şarkı");
+                });
+            case "volume.up":
+                return inBackground(intent, () -> adjustVolume(true));
+            case "volume.down":
+                return inBackground(intent, () -> adjustVolume(false));
+            case "volume.mute":
+                return inBackground(intent, () -> setVolumeLevel(0));
+            case "brightness.up":
+                return inBackground(intent, () -> adjustBrightness(true));
+            case "brightness.down":
+                return inBackground(intent, () -> adjustBrightness(false));
+            case "flashlight.on":
+                return inBackground(intent, () -> toggleFlashlight(true));
+            case "flashlight.off":
+                return inBackground(intent, () -> toggleFlashlight(false));
+
+            // ==========================================
+            // 5. AYARLAR VE SİSTEM (WIFI, BT, GÜNCELLEME)
+            // ==========================================
+            case "settings.open":
+                return inBackground(intent, () -> {
+                    startActivity(new Intent(Settings.ACTION_SETTINGS));
+                    speak("Ayarlar açılıyor");
+                });
+            case "wifi.on":
+                return inBackground(intent, () -> controlWifi(true));
+            case "wifi.off":
+                return inBackground(intent, () -> controlWifi(false));
+            case "bluetooth.on":
+                return inBackground(intent, () -> controlBluetooth(true));
+            case "bluetooth.off":
+                return inBackground(intent, () -> controlBluetooth(false));
+            case "update.check":
+                return onMainThread(intent, () -> {
+                    speak("Güncelleme kontrol ediliyor...", false, UtteranceScheduler.Priority.SYSTEM);
+                    manualUpdateCheck();
+                });
 
-        // ==========================================
-        // 7. SOHBET GEÇMİŞİ VE ARŞİV
-        // ==========================================
-        if (cmd.contains("geçmişi") || cmd.contains("sohbet geçmişini")) {
-            if (cmd.contains("göster") || cmd.contains("aç") || cmd.contains("oku")) {
-                int count = getHistoryCount();
-                showHistory("");
-                speak("Sohbet geçmişi açılıyor. Toplam " + count + " mesaj bulundu.", false);
-                return true;
-            }
-            if (cmd.contains("temizle") || cmd.contains("sil") || cmd.contains("kapat")) {
-                clearHistory();
-                return true;
-            }
+            // ==========================================
+            // 6. PLANLAMA VE HATIRLATICILAR (ALARM, NOT)
+            // ==========================================
+            case "alarm.set":
+                return inBackground(intent, () -> setAlarm(cmd));
+            case "reminder.set":
+                return inBackground(intent, () -> setReminder(cmd));
+
+            // ==========================================
+            // 7. SOHBET GEÇMİŞİ VE ARŞİV (arayüz)
+            // ==========================================
+            case "history.show":
+                return onMainThread(intent, () -> {
+                    int count = getHistoryCount();
+                    showHistory("");
+                    speak("Sohbet geçmişi açılıyor. Toplam " + count + " mesaj bulundu.", false,
+                            UtteranceScheduler.Priority.SYSTEM);
+                });
+            case "history.clear":
+                return onMainThread(intent, this::clearHistory);
+
+            // ==========================================
+            // 8. NAVİGASYON VE ERİŞİLEBİLİRLİK SİSTEMİ
+            // ==========================================
+            case "screen.lock":
+                if (!isAccessibilityServiceEnabled())
+                    return null;
+                return inBackground(intent, () -> {
+                    if (Build.VERSION.SDK_INT >= Build.VERSION_CODES.P) {
+                        performGlobalAccessibilityAction(AccessibilityService.GLOBAL_ACTION_LOCK_SCREEN);
+                        speak("Ekran kilitleniyor.");
+                    } else {
+                        speak("Ekran kilitleme özelliği bu Android sürümünde desteklenmiyor biraderim.");
+                    }
+                });
+            case "screen.capture":
+                if (!isAccessibilityServiceEnabled())
+                    return null;
+                return inBackground(intent, () -> {
+                    if (Build.VERSION.SDK_INT >= Build.VERSION_CODES.P) {
+                        performGlobalAccessibilityAction(AccessibilityService.GLOBAL_ACTION_TAKE_SCREENSHOT);
+                        speak("Ekran görüntüsü alınıyor.");
+                    } else {
+                        speak("Ekran görüntüsü alma özelliği bu Android sürümünde desteklenmiyor.");
+                    }
+                });
+            case "nav.back":
+                return navigationAction(intent, AccessibilityService.GLOBAL_ACTION_BACK, "Geri gidiliyor.");
+            case "nav.home":
+                return navigationAction(intent, AccessibilityService.GLOBAL_ACTION_HOME, "Ana ekrana dönülüyor.");
+            case "nav.recents":
+                return navigationAction(intent, AccessibilityService.GLOBAL_ACTION_RECENTS,
+                        "Son uygulamalar açılıyor.");
+            case "nav.notifications":
+                return navigationAction(intent, AccessibilityService.GLOBAL_ACTION_NOTIFICATIONS,
+                        "Bildirimler açılıyor.");
+
+            default:
+                addLog("[CMD] İşleyicisi olmayan niyet: " + intent.intent);
+                return null;
         }
+    }
 
-        // ==========================================
-        // 8. NAVİGASYON VE ERİŞİLEBİLİRLİK SİSTEMİ
-        // ==========================================
-        if (isAccessibilityServiceEnabled()) {
-            // Ekran Kilitleme
-            if (cmd.contains("ekranı kilitle") || cmd.contains("telefonu kilitle")) {
-                if (Build.VERSION.SDK_INT >= Build.VERSION_CODES.P) {
-                    performGlobalAccessibilityAction(AccessibilityService.GLOBAL_ACTION_LOCK_SCREEN);
-                    speak("Ekran kilitleniyor.");
-                } else {
-                    speak("Ekran kilitleme özelliği bu Android sürümünde desteklenmiyor biraderim.");
-                }
-                return true;
-            }
-            // Ekran Görüntüsü
-            if (cmd.contains("ekran görüntüsü") || cmd.contains("ekran resmi")) {
-                if (Build.VERSION.SDK_INT >= Build.VERSION_CODES.P) {
-                    performGlobalAccessibilityAction(AccessibilityService.GLOBAL_ACTION_TAKE_SCREENSHOT);
-                    speak("Ekran görüntüsü alınıyor.");
-                } else {
-                    speak("Ekran görüntüsü alma özelliği bu Android sürümünde desteklenmiyor.");
-                }
-                return true;
-            }
-            // Sistem Navigasyonu (Geri / Ana Ekran / Son Uygulamalar / Bildirimler)
-            if (cmd.contains("geri git") || (cmd.contains("bir önceki") && cmd.contains("ekran"))) {
-                performGlobalAccessibilityAction(AccessibilityService.GLOBAL_ACTION_BACK);
-                speak("Geri gidiliyor.");
-                return true;
-            }
-            if (cmd.contains("ana ekrana") || cmd.contains("ana sayfaya") || cmd.contains("ev ekranına")) {
-                performGlobalAccessibilityAction(AccessibilityService.GLOBAL_ACTION_HOME);
-                speak("Ana ekrana dönülüyor.");
-                return true;
-            }
-            if (cmd.contains("son uygulamalar") || cmd.contains("arka plandaki uygulamalar")) {
-                performGlobalAccessibilityAction(AccessibilityService.GLOBAL_ACTION_RECENTS);
-                speak("Son uygulamalar açılıyor.");
-                return true;
-            }
-            if (cmd.contains("bildirimleri göster") || cmd.contains("bildirim panelini aç")) {
-                performGlobalAccessibilityAction(AccessibilityService.GLOBAL_ACTION_NOTIFICATIONS);
-                speak("Bildirimler açılıyor.");
-                return true;
-            }
-        }
+    /** Sistem navigasyon eylemi (erişilebilirlik servisi kapalıysa uygulanamaz). */
+    private LocalAction navigationAction(IntentEngine.Candidate intent, int action, String confirmation) {
+        if (!isAccessibilityServiceEnabled())
+            return null;
+        return inBackground(intent, () -> {
+            performGlobalAccessibilityAction(action);
+            speak(confirmation);
+        });
+    }
+
+    /** Rehber, ayar veya sistem servisi çağıran iş: Eylem hattının thread'inde çalışır */
+    private static LocalAction inBackground(IntentEngine.Candidate intent, Runnable work) {
+        return new LocalAction(intent.intent, false, work);
+    }
 
-        return false; // Hiçbir yerel komut eşleşmediyse, soruyu Yapay Zeka'ya (AI) devret
+    /** Arayüze veya ana thread'e bağlı duruma dokunan iş: Hemen, ana thread'de çalışır */
+    private static LocalAction onMainThread(IntentEngine.Candidate intent, Runnable work) {
+        return new LocalAction(intent.intent, true, work);
     }
 
     /*
@@ -1210,13 +1564,9 @@ public class MainActivity extends Activity {
      * Rehberde isim arayarak arama başlatır.
      */
     private void callByName(String name) {
-        try (Cursor c = getContentResolver().query(ContactsContract.CommonDataKinds.Phone.CONTENT_URI, null,
-                ContactsContract.CommonDataKinds.Phone.DISPLAY_NAME + " LIKE ?", new String[] { "%" + name + "%" },
-                null)) {
-
-            if (c != null && c.moveToFirst()) {
-                startCall(c.getString(c.getColumnIndex(ContactsContract.CommonDataKinds.Phone.NUMBER)));
-            }
+        String phone = findContactNumber(name);
+        if (phone != null) {
+            startCall(phone);
         }
     }
 
@@ -1240,7 +1590,7 @@ public class MainActivity extends Activity {
      * Sistem medya olaylarını (Play/Pause/Next/Prev) simüle eder.
      */
     private void controlMusic(int keyCode) {
-        AudioManager audioManager = (AudioManager) getSystemService(Context.AUDIO_SERVICE);
+        AudioManager audioManager = deviceState.audio;
         if (audioManager != null) {
             long eventTime = android.os.SystemClock.uptimeMillis();
             // Medya tuşuna basıldı (DOWN) ve bırakıldı (UP) olaylarını simüle et
@@ -1259,7 +1609,7 @@ public class MainActivity extends Activity {
      *********************************************************************************/
 
     private void adjustVolume(boolean increase) {
-        AudioManager am = (AudioManager) getSystemService(Context.AUDIO_SERVICE);
+        AudioManager am = deviceState.audio;
         if (am != null) {
             am.adjustStreamVolume(AudioManager.STREAM_MUSIC,
                     increase ? AudioManager.ADJUST_RAISE : AudioManager.ADJUST_LOWER,
@@ -1269,7 +1619,7 @@ public class MainActivity extends Activity {
     }
 
     private void setVolumeLevel(int level) {
-        AudioManager am = (AudioManager) getSystemService(Context.AUDIO_SERVICE);
+        AudioManager am = deviceState.audio;
         if (am != null) {
             am.setStreamVolume(AudioManager.STREAM_MUSIC, level, AudioManager.FLAG_SHOW_UI);
             speak("Ses kapatıldı");
@@ -1286,10 +1636,12 @@ public class MainActivity extends Activity {
             int next = increase ? Math.min(255, current + 50) : Math.max(0, current - 50);
             Settings.System.putInt(getContentResolver(), Settings.System.SCREEN_BRIGHTNESS, next);
 
-            // Ekranı anında güncellemek için pencere ayarlarını kullan
-            WindowManager.LayoutParams lp = getWindow().getAttributes();
-            lp.screenBrightness = next / 255f;
-            getWindow().setAttributes(lp);
+            // Ekranı anında güncellemek için pencere ayarlarını kullan (ana thread)
+            runOnUiThread(() -> {
+                WindowManager.LayoutParams lp = getWindow().getAttributes();
+                lp.screenBrightness = next / 255f;
+                getWindow().setAttributes(lp);
+            });
 
             speak(increase ? "Parlaklık artırıldı" : "Parlaklık azaltıldı");
         } catch (Exception e) {
@@ -1298,10 +1650,18 @@ public class MainActivity extends Activity {
     }
 
     private void toggleFlashlight(boolean open) {
-        CameraManager cm = (CameraManager) getSystemService(Context.CAMERA_SERVICE);
+        // Açılıştaki arka plan araması bitmediyse kamera burada (eylem hattında) aranır
+        String cameraId = deviceState.torchCameraId();
+        if (cameraId == null) {
+            speak("Bu cihazda fener bulunamadı.");
+            return;
+        }
+        if (deviceState.isTorchOn() == open) {
+            speak(open ? "Fener zaten açık" : "Fener zaten kapalı");
+            return;
+        }
         try {
-            String cameraId = cm.getCameraIdList()[0];
-            cm.setTorchMode(cameraId, open);
+            deviceState.camera.setTorchMode(cameraId, open);
             speak(open ? "Fener açıldı" : "Fener kapatıldı");
         } catch (Exception e) {
             speak("Fener kontrol edilemedi.");
@@ -1314,6 +1674,34 @@ public class MainActivity extends Activity {
      * YAPAY ZEKA MOTORU (LLM)
      *********************************************************************************/
 
+    /**
+     * Yanıt önbelleğini açar/kapatır ve tercihi kaydeder. Kapatıldığında
+     * kayıtlı yanıtlar da (disk dahil) silinir.
+     */
+    private void setResponseCacheEnabled(boolean enabled) {
+        isResponseCacheEnabled = enabled;
+        getSharedPreferences("app_settings", MODE_PRIVATE).edit().putBoolean("response_cache", enabled).apply();
+        addLog("[AI] Yanıt önbelleği " + (enabled ? "açıldı" : "kapatıldı"));
+
+        if (enabled) {
+            speak("Yanıt önbelleği açıldı. Tekrarlanan soruları hemen yanıtlayacağım.");
+        } else {
+            executorService.execute(responseCache::clear);
+            speak("Yanıt önbelleği kapatıldı ve kayıtlı yanıtlar silindi.");
+        }
+    }
+
+    /**
+     * Akışlı (SSE) yanıt modunu açar/kapatır ve tercihi kaydeder. Kapalıyken
+     * yanıt tek parça JSON olarak alınır ve ağ uygunsa sunucu sesi istenir.
+     */
+    private void setChatStreamEnabled(boolean enabled) {
+        isChatStreamEnabled = enabled;
+        getSharedPreferences("app_settings", MODE_PRIVATE).edit().putBoolean("stream_chat", enabled).apply();
+        addLog("[AI] Akışlı yanıt " + (enabled ? "açıldı" : "kapatıldı"));
+        speak(enabled ? "Akışlı yanıt açıldı." : "Akışlı yanıt kapatıldı.");
+    }
+
     /**
      * Kullanıcı girdisini asenkron olarak yapay zeka sunucusuna iletir.
      * Yanıtı görselleştirmek ve seslendirmek için UI thread'ini günceller.
@@ -1321,55 +1709,85 @@ public class MainActivity extends Activity {
      * @param q Kullanıcı sorusu veya komutu
      */
     private void askAI(String q) {
+        // Aynı soru (aynı model ve arama modu ile) zaten yoldaysa ikinci isteği açma
+        // (Örn: mikrofona çift dokunma)
+        final boolean webSearch = isWebSearchEnabled;
+        final String requestKey = ResponseCache.key(q, selectedModel, webSearch);
+        AiRequestHandle inFlight = currentAiRequest.get();
+        if (inFlight != null && !inFlight.isFinished() && !inFlight.isAborted()
+                && inFlight.key.equals(requestKey)) {
+            addLog("[AI] Aynı istek zaten işleniyor (#" + inFlight.turnId + "), birleştirildi.");
+            return;
+        }
+
         // UI Geri Bildirimi: Kullanıcıya işlemin başladığını göster
         runOnUiThread(() -> {
             aiResponseContainer.setVisibility(View.VISIBLE);
             txtAIResponse.setText("Niko düşünüyor...");
         });
 
-        // Önceki görevi iptal et (Hızlı art arda isteklerde karışıklığı önler)
-        if (currentAiTask != null && !currentAiTask.isDone()) {
-            currentAiTask.cancel(true);
+        // Yeni tur: Önceki istek soketiyle birlikte iptal edilir, geç gelen yanıtı
+        // tur kimliği uyuşmadığı için UI'a, geçmişe veya TTS'e ulaşamaz
+        final AiRequestHandle request = new AiRequestHandle(aiTurnCounter.incrementAndGet(), requestKey);
+        AiRequestHandle previous = currentAiRequest.getAndSet(request);
+        if (previous != null && !previous.isFinished()) {
+            previous.abort(executorService);
+            addLog("[AI] Önceki istek #" + previous.turnId + " yeni tur nedeniyle iptal edildi.");
         }
 
+        // Akış modu istek anında sabitlenir (ayar değişse bile bu istek tutarlı kalır)
+        final boolean streamMode = isChatStreamEnabled;
+        final boolean useCache = isResponseCacheEnabled;
+
+        // Ağ kalitesine göre: Zayıf/kotalı hatta ses sunucudan indirilmez, yerel TTS okur.
+        // Akış modunda sunucu zaten ses üretmez.
+        networkQuality.updateLink(deviceState.isMetered(), deviceState.downstreamKbps());
+        final boolean serverAudio = !streamMode && networkQuality.shouldRequestServerAudio();
+        final int connectTimeoutMs = networkQuality.connectTimeoutMs();
+        final int readTimeoutMs = networkQuality.readTimeoutMs(serverAudio);
+
         // Görevi ExecutorService ile çalıştır (Thread yönetimi optimize edildi)
-        currentAiTask = executorService.submit(() -> {
+        request.attach(executorService.submit(() -> {
             HttpURLConnection conn = null;
+            long startedAt = System.currentTimeMillis();
             try {
-                // Sunucu URL'si (API_BASE_URL dinamik olarak güncellenir)
-                URL url = new URL(API_BASE_URL + "/chat");
+                if (!isCurrentTurn(request))
+                    return;
 
-                // HTTP bağlantı ayarları - Timeouts optimize edildi
-                conn = (HttpURLConnection) url.openConnection();
-                conn.setRequestMethod("POST");
-                conn.setRequestProperty("Content-Type", "application/json; charset=UTF-8");
-                conn.setRequestProperty("Accept", "application/json");
+                // Önbellek isabeti: Sunucuya gitmeden kayıtlı yanıtı (ve sesi) kullan
+                if (useCache && answerFromCache(request, startedAt))
+                    return;
 
-                // Kimlik Doğrulama
-                if (authToken != null) {
-                    conn.setRequestProperty("Authorization", "Bearer " + authToken);
-                } else {
-                    conn.setRequestProperty("x-api-key", "test");
-                }
-                conn.setDoOutput(true);
-                conn.setConnectTimeout(15000); // 15 saniye (Daha hızlı fail-fast)
-                conn.setReadTimeout(90000); // 90 saniye (LLM'ler bazen düşünebilir, sabırlı olalım)
+                // Paylaşımlı istemci: Havuzdaki açık soket, CHAT zaman aşımı profili ve
+                // kimlik doğrulama başlıkları (API_BASE_URL dinamik olarak güncellenir)
+                // Etkin adrese bağlanılamazsa yönetici isteği sıradaki canlı adrese aktarır
+                conn = endpointManager.connect("/chat", "POST", NikoHttpClient.Profile.CHAT,
+                        NikoHttpClient.Auth.USER_OR_API_KEY, c -> {
+                            request.bindConnection(c);
+                            c.setConnectTimeout(connectTimeoutMs);
+                            c.setReadTimeout(readTimeoutMs);
+                            c.setRequestProperty("Content-Type", "application/json; charset=UTF-8");
+                            c.setRequestProperty("Accept", streamMode ? "text/event-stream" : "application/json");
+                            c.setDoOutput(true);
+                        });
 
                 // JSON Veri Paketi
                 JSONObject payload = new JSONObject();
                 payload.put("message", q);
                 payload.put("session_id", sessionId);
                 payload.put("model", selectedModel);
-                payload.put("enable_audio", true);
-                payload.put("web_search", isWebSearchEnabled);
+                payload.put("enable_audio", serverAudio);
+                payload.put("web_search", webSearch);
                 payload.put("rag_search", false);
-                payload.put("stream", false);
+                payload.put("stream", streamMode);
                 payload.put("mode", "normal");
 
-                addLog("[AI] İstek gönderiliyor. Model: " + (selectedModel != null ? selectedModel : "Varsayılan"));
+                addLog("[AI] İstek #" + request.turnId + " gönderiliyor. Model: "
+                        + (selectedModel != null ? selectedModel : "Varsayılan") + " | Ağ: "
+                        + networkQuality.describe() + " | Ses: " + (serverAudio ? "sunucu" : "yerel"));
 
                 // İptal kontrolü (Ağ işleminden önce)
-                if (Thread.currentThread().isInterrupted())
+                if (!isCurrentTurn(request))
                     return;
 
                 // İsteği gönder
@@ -1379,42 +1797,61 @@ public class MainActivity extends Activity {
                 }
 
                 // İptal kontrolü (Yanıtı beklemeden önce)
-                if (Thread.currentThread().isInterrupted())
+                if (!isCurrentTurn(request))
                     return;
 
                 // Sunucudan gelen yanıt kodunu kontrol et
                 int code = conn.getResponseCode();
-                InputStream stream = (code >= 200 && code < 300) ? conn.getInputStream() : conn.getErrorStream();
-
-                // Yanıtı oku
-                BufferedReader br = new BufferedReader(new InputStreamReader(stream, "utf-8"));
-                StringBuilder response = new StringBuilder();
-                String responseLine;
-                while ((responseLine = br.readLine()) != null) {
-                    // İptal kontrolü (Okuma sırasında)
-                    if (Thread.currentThread().isInterrupted())
-                        return;
-                    response.append(responseLine.trim());
+
+                // Tünel kapanmış (Cloudflare 530/502): Sonraki istekler yedek adrese gitsin
+                if (code == 530 || code == 502) {
+                    endpointManager.markDown(conn.getURL().toString());
+                }
+
+                // Akışlı yanıt: Sunucu SSE döndürdüyse parçaları geldikçe işle
+                String contentType = conn.getContentType();
+                if (code == 200 && streamMode && contentType != null && contentType.startsWith("text/event-stream")) {
+                    String streamed = readChatStream(conn.getInputStream(), request, startedAt);
+                    if (useCache && streamed != null)
+                        responseCache.put(requestKey, streamed, null, 0, webSearch);
+                    return;
                 }
 
+                // Akışsız (JSON) yanıt: Akış kapalıysa veya sunucu JSON döndürdüyse yedek yol
                 if (code == 200) {
-                    // Başarılı yanıtta JSON verilerini ayrıştır
-                    JSONObject jsonResponse = new JSONObject(response.toString());
-                    String replyText = jsonResponse.optString("reply", "");
-                    String audioB64 = jsonResponse.optString("audio", "");
-                    String newSessionId = jsonResponse.optString("id", null);
+                    // Gövde token token ayrıştırılır: "reply" ve "id" küçük metinler olarak
+                    // alınır, "audio" ise metin olarak biriktirilmeden Base64 çözülüp
+                    // doğrudan oynatıcıya verilecek bellek tamponuna yazılır
+                    final AudioBuffer audioBuffer = new AudioBuffer();
+                    ChatResponseReader parsed;
+                    long bodyStart = System.currentTimeMillis();
+                    try (java.io.Reader reader = new InputStreamReader(conn.getInputStream(), "utf-8")) {
+                        parsed = new ChatResponseReader(reader);
+                        parsed.parse(() -> audioBuffer);
+                    }
+                    // JSON yanıtı üretim bittikten sonra gönderilir: Gövde süresi saf indirme süresidir
+                    // (ses Base64 olarak ~4/3 oranında büyümüş halde gelir)
+                    networkQuality.recordTransfer(parsed.audioBytes * 4 / 3 + parsed.reply.length(),
+                            System.currentTimeMillis() - bodyStart);
+                    String replyText = parsed.reply;
+                    String newSessionId = parsed.sessionId;
+
+                    // Bu arada yeni bir tur başladıysa eski yanıtı sessizce at
+                    if (!isCurrentTurn(request)) {
+                        addLog("[AI] Eski tur #" + request.turnId + " yanıtı yok sayıldı.");
+                        return;
+                    }
 
-                    addLog("[AI] Yanıt başarıyla alındı.");
+                    addLog("[AI] Yanıt başarıyla alındı. Ses: " + (parsed.audioBytes / 1024) + " KB");
 
                     // Yeni Oturum Kimliğini kaydet
-                    if (newSessionId != null && !newSessionId.equals(sessionId)) {
-                        sessionId = newSessionId;
-                        sessionPrefs.edit().putString("session_id", sessionId).apply();
-                    }
+                    updateSessionId(newSessionId);
 
                     // Arayüz (UI) güncellemeleri
                     final String finalReply = replyText;
                     runOnUiThread(() -> {
+                        if (!isCurrentTurn(request))
+                            return;
                         // "Düşünüyor..." yazısını kaldır ve gerçek yanıtı göster
                         if (txtAIResponse != null) {
                             txtAIResponse.setText(finalReply);
@@ -1423,39 +1860,313 @@ public class MainActivity extends Activity {
                         }
                     });
 
+                    if (useCache) {
+                        responseCache.put(requestKey, finalReply, audioBuffer.array(), audioBuffer.size(), webSearch);
+                    }
+
                     // Ses çalma işlemleri (Ses varsa öncelikli, yoksa TTS)
-                    if (!audioB64.isEmpty()) {
-                        playAudio(audioB64);
+                    if (parsed.audioBytes > 0) {
+                        playAudio(audioBuffer);
                     } else if (!finalReply.isEmpty()) {
                         speak(finalReply, false);
                     }
                 } else {
+                    // Hata gövdesi küçüktür, tamamen okunabilir
+                    StringBuilder response = new StringBuilder();
+                    InputStream errorStream = conn.getErrorStream();
+                    if (errorStream != null) {
+                        try (BufferedReader br = new BufferedReader(new InputStreamReader(errorStream, "utf-8"))) {
+                            String responseLine;
+                            while ((responseLine = br.readLine()) != null) {
+                                response.append(responseLine.trim());
+                            }
+                        }
+                    }
+
                     // Hatalı durumda kullanıcıyı uyar
                     addLog("[AI] Sunucu Hatası: " + code + " - " + response.toString());
-                    speak("Sunucu ile bağlantıda bir sorun oluştu. Hata kodu: " + code, false);
+                    if (isCurrentTurn(request))
+                        speak("Sunucu ile bağlantıda bir sorun oluştu. Hata kodu: " + code, false,
+                                UtteranceScheduler.Priority.ALERT);
                 }
 
-            } catch (java.net.SocketTimeoutException e) {
-                addLog("[AI] ZAMAN AŞIMI: Sunucu yanıt vermedi.");
-                speak("Sunucu şu an çok yoğun veya yanıt vermiyor. Lütfen tekrar dene.", false);
-            } catch (java.net.UnknownHostException e) {
-                addLog("[AI] BAĞLANTI YOK: " + e.getMessage());
-                speak("İnternet bağlantını kontrol et biraderim, sunucuya ulaşamıyorum.", false);
             } catch (Exception e) {
-                if (Thread.currentThread().isInterrupted()) {
-                    addLog("[AI] Görev iptal edildiği için hata yutuldu.");
+                if (!isCurrentTurn(request)) {
+                    // İptal edilen veya yerini yenisine bırakan turun hatası kullanıcıya yansımaz
+                    addLog("[AI] İstek #" + request.turnId + " iptal edildiği için hata yutuldu.");
+                } else if (e instanceof java.net.SocketTimeoutException) {
+                    addLog("[AI] ZAMAN AŞIMI: Sunucu yanıt vermedi.");
+                    speak("Sunucu şu an çok yoğun veya yanıt vermiyor. Lütfen tekrar dene.", false,
+                            UtteranceScheduler.Priority.ALERT);
+                } else if (e instanceof java.net.UnknownHostException) {
+                    addLog("[AI] BAĞLANTI YOK: " + e.getMessage());
+                    speak("İnternet bağlantını kontrol et biraderim, sunucuya ulaşamıyorum.", false,
+                            UtteranceScheduler.Priority.ALERT);
                 } else {
                     addLog("[AI] BEKLENMEYEN HATA: " + e.getMessage());
                     e.printStackTrace();
-                    speak("Bir hata oluştu: " + e.getMessage(), false);
+                    speak("Bir hata oluştu: " + e.getMessage(), false,
+                            UtteranceScheduler.Priority.ALERT);
+                }
+            } finally {
+                // disconnect() çağrılmaz: Soket ve TLS oturumu sonraki tur için havuzda kalır
+                request.finish();
+                currentAiRequest.compareAndSet(request, null); // Yalnızca kendi turunu temizler
+            }
+        }));
+    }
+
+    /**
+     * İsteğin hâlâ geçerli (iptal edilmemiş ve yerini yenisine bırakmamış) tur
+     * olup olmadığını döndürür. Yanıtın UI, geçmiş ve TTS'e dokunduğu her noktada
+     * kontrol edilir.
+     *
+     * currentAiRequest'e bakılmaz: Görev biterken referansı temizler, ama
+     * runOnUiThread ile gönderdiği güncellemeler ondan sonra çalışır. Son verilen
+     * tur kimliği ise yalnızca yeni bir tur açıldığında değişir.
+     */
+    private boolean isCurrentTurn(AiRequestHandle request) {
+        return !request.isAborted() && request.turnId == aiTurnCounter.get();
+    }
+
+    /**
+     * Turu yerel yanıt önbelleğinden yanıtlamayı dener. Arka plan thread'inden
+     * çağrılır (disk katmanı okunabilir).
+     *
+     * @return Önbellekte geçerli bir kayıt bulunup yanıt verildiyse true
+     */
+    private boolean answerFromCache(AiRequestHandle request, long startedAt) {
+        ResponseCache.Entry cached = responseCache.get(request.key);
+        if (cached == null)
+            return false;
+
+        addLog("[AI] Önbellekten yanıtlandı (" + (System.currentTimeMillis() - startedAt) + " ms)");
+        final String reply = cached.reply;
+        runOnUiThread(() -> {
+            if (txtAIResponse != null && isCurrentTurn(request)) {
+                txtAIResponse.setText(reply);
+                saveToHistory("Niko", reply);
+            }
+        });
+
+        if (cached.audio != null) {
+            addLog("[SES] Önbellekteki ses kuyruğa eklendi. Boyut: " + (cached.audio.length / 1024) + " KB");
+            audioEngine.enqueue(cached.audio, cached.audio.length);
+        } else {
+            speak(reply, false);
+        }
+        return true;
+    }
+
+    /**
+     * AI sunucusuna spekülatif olarak bağlantı açar: DNS çözümlemesi, TCP/TLS el
+     * sıkışması ve hafif bir /health isteği kullanıcı konuşurken yapılır. Yanıt
+     * okunup kapatıldığında soket keep-alive havuzuna döner ve transkript
+     * geldiğinde askAI doğrudan bu soketi kullanır.
+     */
+    private void preWarmAiConnection() {
+        if (API_BASE_URL == null || API_BASE_URL.isEmpty())
+            return;
+        if (System.currentTimeMillis() - lastWarmUpAt < WARM_UP_TTL_MS)
+            return; // Havuzdaki bağlantı hâlâ sıcak
+        if (warmUpTask != null && !warmUpTask.isDone())
+            return;
+        if (!isNetworkAvailable())
+            return;
+
+        final String baseUrl = API_BASE_URL;
+        warmUpTask = executorService.submit(() -> {
+            long start = System.currentTimeMillis();
+            HttpURLConnection conn = null;
+            try {
+                // 1. DNS: Tünel adresini önceden çözümle (sistem önbelleğine girer)
+                java.net.InetAddress.getAllByName(new URL(baseUrl).getHost());
+                if (Thread.currentThread().isInterrupted())
+                    return;
+
+                // 2. TCP + TLS + /health: Gövde okununca soket havuza döner
+                conn = httpClient.open(baseUrl + "/health", "GET", NikoHttpClient.Profile.WARMUP,
+                        NikoHttpClient.Auth.NONE);
+                warmUpConnection.set(conn);
+                long requestStart = System.currentTimeMillis();
+                int code = conn.getResponseCode();
+                networkQuality.recordRtt(System.currentTimeMillis() - requestStart);
+                try (InputStream in = code < 400 ? conn.getInputStream() : conn.getErrorStream()) {
+                    if (in != null) {
+                        byte[] buffer = new byte[256];
+                        while (in.read(buffer) != -1) {
+                            // Gövdeyi sonuna kadar tüket ki bağlantı yeniden kullanılabilsin
+                        }
+                    }
+                }
+
+                if (code < 500) {
+                    lastWarmUpAt = System.currentTimeMillis();
+                }
+                addLog("[AĞ] Bağlantı ön ısıtıldı (" + code + ", " + (System.currentTimeMillis() - start) + " ms)");
+            } catch (Exception e) {
+                if (!Thread.currentThread().isInterrupted()) {
+                    addLog("[AĞ] Ön ısıtma başarısız: " + e.getMessage());
                 }
             } finally {
-                if (conn != null) {
-                    conn.disconnect();
+                warmUpConnection.compareAndSet(conn, null);
+            }
+        });
+    }
+
+    /**
+     * Komut yerel olarak işlendiğinde süren ön ısıtmayı iptal eder. Yarıda kalan
+     * bağlantı kapatılır; tamamlanmış olanlar havuzun boşta bekleme süresiyle
+     * kendiliğinden kapanır. Ana thread'den (onResults) çağrılır; soket kapatma
+     * G/Ç içerebildiği için executor'da yapılır.
+     */
+    private void cancelAiConnectionWarmUp() {
+        if (warmUpTask == null || warmUpTask.isDone())
+            return;
+
+        warmUpTask.cancel(true);
+        HttpURLConnection conn = warmUpConnection.getAndSet(null);
+        if (conn != null) {
+            executorService.execute(conn::disconnect); // Yanıt beklenen soketi serbest bırak
+        }
+        addLog("[AĞ] Yerel komut: Ön ısıtma iptal edildi.");
+    }
+
+    /**
+     * /chat uç noktasının SSE (text/event-stream) yanıtını satır satır okur.
+     * "content" parçaları geldikçe yanıt alanına eklenir; böylece kullanıcı tüm
+     * yanıtın üretilmesini değil, yalnızca ilk token'ı bekler. Tamamlanan
+     * cümleler akış sürerken seslendirilir, "done" olayında yanıt geçmişe
+     * kaydedilir. Akış "done" gelmeden biterse (bağlantı koptu) yanıt eksik
+     * olarak işaretlenir; geçmişe kaydedilmez ve önbelleğe alınmaz.
+     *
+     * @param stream    Sunucudan gelen SSE akışı
+     * @param request   Akışın ait olduğu AI turu (eski turların parçaları atılır)
+     * @param startedAt İsteğin başladığı an (ilk token süresini loglamak için)
+     * @return Temizlenmiş nihai yanıt; tur iptal edildiyse veya yanıt eksikse null
+     */
+    private String readChatStream(InputStream stream, AiRequestHandle request, long startedAt) throws Exception {
+        try (BufferedReader br = new BufferedReader(new InputStreamReader(stream, "utf-8"))) {
+            return readChatStream(br, request, startedAt);
+        }
+    }
+
+    private String readChatStream(BufferedReader br, AiRequestHandle request, long startedAt) throws Exception {
+        StringBuilder reply = new StringBuilder();
+
+        // UI güncellemelerini birleştir: Bekleyen bir çizim varsa yenisini kuyruğa atma
+        AtomicReference<String> latestText = new AtomicReference<>("");
+        AtomicBoolean uiUpdatePending = new AtomicBoolean(false);
+
+        // Tamamlanan cümleler yanıtın geri kalanı beklenmeden seslendirilir
+        SpeechSegmenter segmenter = new SpeechSegmenter();
+        int segmentIndex = 0;
+        boolean done = false;
+
+        String line;
+        while ((line = br.readLine()) != null) {
+            // İptal kontrolü (Akış sırasında): Eski turun parçaları UI'a ve TTS'e gitmez
+            if (!isCurrentTurn(request))
+                return null;
+
+            // SSE: Olaylar "data: {...}" satırları halinde gelir, boş satırlar ayırıcıdır
+            if (!line.startsWith("data:"))
+                continue;
+            String data = line.substring(5).trim();
+            if (data.isEmpty())
+                continue;
+
+            JSONObject event;
+            try {
+                event = new JSONObject(data);
+            } catch (org.json.JSONException e) {
+                addLog("[AI] Geçersiz SSE olayı atlandı: " + data);
+                continue;
+            }
+
+            String type = event.optString("type", "");
+            if ("session_id".equals(type)) {
+                updateSessionId(event.optString("session_id", null));
+            } else if ("content".equals(type)) {
+                if (reply.length() == 0) {
+                    addLog("[AI] İlk parça alındı (" + (System.currentTimeMillis() - startedAt) + " ms)");
+                }
+                String content = event.optString("content", "");
+                reply.append(content);
+                latestText.set(reply.toString());
+
+                for (String segment : segmenter.append(content)) {
+                    if (segmentIndex == 0) {
+                        addLog("[TTS] İlk cümle seslendiriliyor (" + (System.currentTimeMillis() - startedAt) + " ms)");
+                    }
+                    speakSegment(segment, segmentIndex++);
                 }
-                currentAiTask = null; // Görev tamamlandı
+
+                if (uiUpdatePending.compareAndSet(false, true)) {
+                    runOnUiThread(() -> {
+                        uiUpdatePending.set(false);
+                        if (txtAIResponse != null && isCurrentTurn(request)) {
+                            txtAIResponse.setText(stripThinkBlocks(latestText.get()));
+                        }
+                    });
+                }
+            } else if ("done".equals(type)) {
+                done = true;
+                break;
+            }
+        }
+
+        if (!isCurrentTurn(request))
+            return null;
+
+        final String finalReply = stripThinkBlocks(reply.toString());
+        if (!done) {
+            // Sunucu her yanıtı "done" ile bitirir; gelmediyse akış yarıda kesilmiştir
+            addLog("[AI] Akış \"done\" olmadan kesildi (" + finalReply.length() + " karakter); yanıt eksik.");
+            runOnUiThread(() -> {
+                if (txtAIResponse != null && isCurrentTurn(request))
+                    txtAIResponse.setText(finalReply + (finalReply.isEmpty() ? "" : "\n\n")
+                            + "(Bağlantı kesildi, yanıt eksik)");
+            });
+            speak("Bağlantı kesildi, yanıtın devamı alınamadı.", false, UtteranceScheduler.Priority.ALERT);
+            return null;
+        }
+        addLog("[AI] Akışlı yanıt tamamlandı (" + (System.currentTimeMillis() - startedAt) + " ms, "
+                + finalReply.length() + " karakter)");
+
+        runOnUiThread(() -> {
+            if (txtAIResponse != null && isCurrentTurn(request)) {
+                txtAIResponse.setText(finalReply);
+                saveToHistory("Niko", finalReply);
             }
         });
+
+        // Akış modunda sunucu ses üretmez; kalan son parçayı da seslendir
+        String tail = segmenter.finish();
+        if (!tail.isEmpty()) {
+            speakSegment(tail, segmentIndex);
+        }
+        return finalReply;
+    }
+
+    /**
+     * Model yanıtındaki düşünce (<think>) bloklarını temizler.
+     * Kapanmamış bir blok (akış henüz sürerken) metnin sonuna kadar gizlenir.
+     */
+    private String stripThinkBlocks(String text) {
+        if (text.indexOf("<think>") < 0)
+            return text.trim();
+        return THINK_BLOCK_PATTERN.matcher(text).replaceAll("").trim();
+    }
+
+    /**
+     * Sunucunun döndürdüğü oturum kimliğini kaydeder (değiştiyse).
+     */
+    private void updateSessionId(String newSessionId) {
+        if (newSessionId != null && !newSessionId.isEmpty() && !newSessionId.equals(sessionId)) {
+            sessionId = newSessionId;
+            sessionPrefs.edit().putString("session_id", sessionId).apply();
+        }
     }
 
     /*
@@ -1588,17 +2299,10 @@ public class MainActivity extends Activity {
         new Thread(() -> {
             HttpURLConnection conn = null;
             try {
-                URL url = new URL(API_BASE_URL + "/me");
-                conn = (HttpURLConnection) url.openConnection();
-                conn.setRequestMethod("GET");
-                conn.setRequestProperty("Authorization", "Bearer " + authToken);
+                conn = httpClient.openApi("/me", "GET", NikoHttpClient.Profile.API, NikoHttpClient.Auth.BEARER);
                 conn.setRequestProperty("Accept", "application/json");
 
-                // Timeout ayarları ekle
-                conn.setConnectTimeout(15000); // 15 saniye bağlantı timeout
-                conn.setReadTimeout(15000); // 15 saniye okuma timeout
-
-                addLog("[PROFIL] Veriler çekiliyor... URL: " + url.toString());
+                addLog("[PROFIL] Veriler çekiliyor... URL: " + conn.getURL());
 
                 int code = conn.getResponseCode();
                 addLog("[PROFIL] Sunucu yanıt kodu: " + code);
@@ -1730,10 +2434,6 @@ public class MainActivity extends Activity {
                     Toast.makeText(MainActivity.this, "Profil yüklenirken hata oluştu: " + e.getMessage(),
                             Toast.LENGTH_SHORT).show();
                 });
-            } finally {
-                if (conn != null) {
-                    conn.disconnect();
-                }
             }
         }).start();
     }
@@ -1806,9 +2506,8 @@ public class MainActivity extends Activity {
         addLog("[GİRİŞ] Deneniyor: " + username);
         new Thread(() -> {
             try {
-                URL url = new URL(API_BASE_URL + "/login");
-                HttpURLConnection conn = (HttpURLConnection) url.openConnection();
-                conn.setRequestMethod("POST");
+                HttpURLConnection conn = httpClient.openApi("/login", "POST", NikoHttpClient.Profile.AUTH,
+                        NikoHttpClient.Auth.NONE);
                 conn.setRequestProperty("Content-Type", "application/json");
                 conn.setDoOutput(true);
 
@@ -1816,7 +2515,7 @@ public class MainActivity extends Activity {
                 payload.put("username", username);
                 payload.put("password", password);
 
-                addLog("[GİRİŞ] İstek gönderiliyor: " + url.toString());
+                addLog("[GİRİŞ] İstek gönderiliyor: " + conn.getURL());
                 try (OutputStream os = conn.getOutputStream()) {
                     os.write(payload.toString().getBytes("utf-8"));
                 }
@@ -1945,9 +2644,8 @@ public class MainActivity extends Activity {
         new Thread(() -> {
             try {
                 // E-posta Doğrulama Kodu Gönder (/email/send-verification)
-                URL url = new URL(API_BASE_URL + "/email/send-verification");
-                HttpURLConnection conn = (HttpURLConnection) url.openConnection();
-                conn.setRequestMethod("POST");
+                HttpURLConnection conn = httpClient.openApi("/email/send-verification", "POST",
+                        NikoHttpClient.Profile.AUTH, NikoHttpClient.Auth.NONE);
                 conn.setRequestProperty("Content-Type", "application/json");
                 conn.setDoOutput(true);
 
@@ -2043,12 +2741,10 @@ public class MainActivity extends Activity {
         animateResendCode(btnResendCode);
         new Thread(() -> {
             try {
-                URL url = new URL(API_BASE_URL + "/email/resend");
-                HttpURLConnection conn = (HttpURLConnection) url.openConnection();
-                conn.setRequestMethod("POST");
+                HttpURLConnection conn = httpClient.openApi("/email/resend", "POST", NikoHttpClient.Profile.AUTH,
+                        NikoHttpClient.Auth.NONE);
                 conn.setRequestProperty("Content-Type", "application/json");
                 conn.setDoOutput(true);
-                conn.setConnectTimeout(10000);
 
                 JSONObject payload = new JSONObject();
                 payload.put("email", pendingEmail);
@@ -2117,12 +2813,10 @@ public class MainActivity extends Activity {
         new Thread(() -> {
             try {
                 // 1. KOD DOĞRULAMA İSTEĞİ
-                URL urlVerify = new URL(API_BASE_URL + "/email/verify");
-                HttpURLConnection connVerify = (HttpURLConnection) urlVerify.openConnection();
-                connVerify.setRequestMethod("POST");
+                HttpURLConnection connVerify = httpClient.openApi("/email/verify", "POST",
+                        NikoHttpClient.Profile.AUTH, NikoHttpClient.Auth.NONE);
                 connVerify.setRequestProperty("Content-Type", "application/json");
                 connVerify.setDoOutput(true);
-                connVerify.setConnectTimeout(10000);
 
                 JSONObject payloadVerify = new JSONObject();
                 payloadVerify.put("email", pendingEmail);
@@ -2167,9 +2861,8 @@ public class MainActivity extends Activity {
                 // 2. KAYIT İSTEĞİ (Doğrulama başarılı)
                 addLog("[KAYIT] Doğrulama başarılı. Hesap oluşturuluyor...");
 
-                URL urlReg = new URL(API_BASE_URL + "/register");
-                HttpURLConnection connReg = (HttpURLConnection) urlReg.openConnection();
-                connReg.setRequestMethod("POST");
+                HttpURLConnection connReg = httpClient.openApi("/register", "POST", NikoHttpClient.Profile.AUTH,
+                        NikoHttpClient.Auth.NONE);
                 connReg.setRequestProperty("Content-Type", "application/json");
                 connReg.setDoOutput(true);
 
@@ -2195,9 +2888,8 @@ public class MainActivity extends Activity {
                     // Login request metodunu çağırmak yerine manuel token isteği yapıyoruz
                     // Çünkü loginRequest UI thread çağrıları içeriyor, çakışma olmasın
 
-                    URL urlLogin = new URL(API_BASE_URL + "/login");
-                    HttpURLConnection connLogin = (HttpURLConnection) urlLogin.openConnection();
-                    connLogin.setRequestMethod("POST");
+                    HttpURLConnection connLogin = httpClient.openApi("/login", "POST", NikoHttpClient.Profile.AUTH,
+                            NikoHttpClient.Auth.NONE);
                     connLogin.setRequestProperty("Content-Type", "application/json");
                     connLogin.setDoOutput(true);
 
@@ -2945,11 +3637,9 @@ public class MainActivity extends Activity {
         addLog("[PROFİL] Güncelleme isteği hazırlanıyor: " + username);
         new Thread(() -> {
             try {
-                URL url = new URL(API_BASE_URL + "/me");
-                HttpURLConnection conn = (HttpURLConnection) url.openConnection();
-                conn.setRequestMethod("PUT");
+                HttpURLConnection conn = httpClient.openApi("/me", "PUT", NikoHttpClient.Profile.API,
+                        NikoHttpClient.Auth.BEARER);
                 conn.setRequestProperty("Content-Type", "application/json");
-                conn.setRequestProperty("Authorization", "Bearer " + authToken);
                 conn.setDoOutput(true);
 
                 JSONObject payload = new JSONObject();
@@ -3455,13 +4145,8 @@ public class MainActivity extends Activity {
         new Thread(() -> {
             HttpURLConnection conn = null;
             try {
-                URL url = new URL(API_BASE_URL + "/me");
-                conn = (HttpURLConnection) url.openConnection();
-                conn.setRequestMethod("DELETE");
-                conn.setRequestProperty("Authorization", "Bearer " + authToken);
+                conn = httpClient.openApi("/me", "DELETE", NikoHttpClient.Profile.ACCOUNT, NikoHttpClient.Auth.BEARER);
                 conn.setRequestProperty("Content-Type", "application/json");
-                conn.setConnectTimeout(30000);
-                conn.setReadTimeout(30000);
 
                 int code = conn.getResponseCode();
                 addLog("[HESAP SİL] Sunucu yanıt kodu: " + code);
@@ -3557,10 +4242,6 @@ public class MainActivity extends Activity {
                 e.printStackTrace();
                 runOnUiThread(() -> Toast.makeText(this, "Bağlantı hatası. Lütfen internet bağlantınızı kontrol edin.",
                         Toast.LENGTH_SHORT).show());
-            } finally {
-                if (conn != null) {
-                    conn.disconnect();
-                }
             }
         }).start();
     }
@@ -3572,42 +4253,14 @@ public class MainActivity extends Activity {
      *********************************************************************************/
 
     /**
-     * Sunucudan gelen Base64 formatındaki ses verisini çözer ve cihazda oynatır.
+     * Yanıt okunurken Base64'ten çözülen ses verisini oynatma kuyruğuna ekler.
+     * Veri diske yazılmaz; oynatıcı doğrudan bellekteki tampondan okur.
      * 
-     * @param base64Sound Base64 ile kodlanmış ses verisi (mp3)
+     * @param audio Çözülmüş ses verisi (mp3)
      */
-    private void playAudio(String base64Sound) {
-        addLog("[SES] Base64 ses verisi oynatılıyor. Uzunluk: " + base64Sound.length());
-        try {
-            // Ses verisini geçici dosyaya yaz
-            byte[] decoded = Base64.decode(base64Sound, Base64.DEFAULT);
-            File tempMp3 = File.createTempFile("niko_voice", ".mp3", getCacheDir());
-            tempMp3.deleteOnExit();
-
-            FileOutputStream fos = new FileOutputStream(tempMp3);
-            fos.write(decoded);
-            fos.close();
-
-            // Medya oynatıcıyı arayüz iş parçacığında başlat
-            runOnUiThread(() -> {
-                try {
-                    MediaPlayer mp = new MediaPlayer();
-                    mp.setDataSource(tempMp3.getAbsolutePath());
-                    mp.prepare();
-                    mp.start();
-
-                    mp.setOnCompletionListener(mediaPlayer -> {
-                        mediaPlayer.release();
-                    });
-                } catch (Exception ex) {
-                    ex.printStackTrace();
-                }
-            });
-
-        } catch (Exception e) {
-            e.printStackTrace();
-            speak("Ses verisi işlenemedi.");
-        }
+    private void playAudio(AudioBuffer audio) {
+        addLog("[SES] Ses kuyruğa eklendi. Boyut: " + (audio.size() / 1024) + " KB");
+        audioEngine.enqueue(audio.array(), audio.size());
     }
 
     /*
@@ -3630,32 +4283,44 @@ public class MainActivity extends Activity {
                 } else {
                     // TTS başarıyla yüklendiğinde kendini tanıt
                     // speak("Merhaba, ben Niko. Emrinizdeyim.");
+
+                    // Sabit onayları açılış yükü geçtikten sonra, motor boştayken sentezle
+                    phraseCache.start(3000);
                 }
             }
         });
 
-        tts.setOnUtteranceProgressListener(new UtteranceProgressListener() {
-            public void onStart(String id) {
-                // Konuşma başlayınca yapılacaklar
-            }
-
-            public void onDone(String id) {
-                // Konuşma bittiğinde tetiklenir
-            }
-
-            public void onError(String id) {
-            }
-        });
+        // Kuyruk motorun onDone/onError olaylarıyla ilerler
+        ttsScheduler = new UtteranceScheduler(tts, this::addLog);
+        ttsScheduler.setActivityListener(this::updateBargeInMonitor);
+        phraseCache = new PhraseAudioCache(tts, new File(getCacheDir(), "tts_phrases"), ttsScheduler::isIdle,
+                this::addLog);
+        ttsScheduler.setPhraseCache(phraseCache);
     }
 
     /**
-     * Metni seslendirir.
+     * Yerel komut onayını seslendirir (sistem önceliği: uzun yanıtların önüne geçer).
      */
     private void speak(String t) {
-        speak(t, true);
+        speak(t, true, UtteranceScheduler.Priority.SYSTEM);
     }
 
+    /**
+     * AI yanıtını veya bilgi mesajını seslendirir (yanıt önceliği).
+     */
     private void speak(String t, boolean saveToHistory) {
+        speak(t, saveToHistory, UtteranceScheduler.Priority.REPLY);
+    }
+
+    private void speak(String t, boolean saveToHistory, UtteranceScheduler.Priority priority) {
+        // Birleşik komutun bir parçası: Onay tek özet halinde seslendirilecek
+        if (ActionPipeline.capture(t))
+            return;
+        // Eylem hattından gelen çağrılar: Zamanlayıcı ve geçmiş ana thread'e bağlıdır
+        if (Looper.myLooper() != Looper.getMainLooper()) {
+            runOnUiThread(() -> speak(t, saveToHistory, priority));
+            return;
+        }
         addLog("[TTS] Seslendiriliyor: " + (t.length() > 50 ? t.substring(0, 50) + "..." : t));
         // Sistem mesajlarını ve boş mesajları geçmişe kaydetme
         if (saveToHistory && !t.equals("Dinliyorum...") && !t.equals("Hazır")
@@ -3663,65 +4328,28 @@ public class MainActivity extends Activity {
             saveToHistory("Niko", t);
         }
 
-        // Seslendirme kuyruğuna ekle
-        ttsQueue.offer(t);
+        // Seslendirme kuyruğuna ekle (temizlik zamanlayıcıda yapılır)
+        if (ttsScheduler != null) {
+            ttsScheduler.enqueue(t, priority);
+        }
 
         runOnUiThread(() -> {
             aiResponseContainer.setVisibility(View.VISIBLE);
             txtAIResponse.setText(t);
-            speakNext();
         });
     }
 
     /**
-     * Metni seslendirmeden önce temizler (Emoji, Markdown sembolleri, :P vb.)
+     * Akışlı yanıttan gelen tamamlanmış bir cümleyi TTS kuyruğunun sonuna ekler.
+     * Zamanlayıcı motora iki cümle birden verdiği için önceki cümle bitmeden
+     * kesilmez, araya boşluk girmeden okunmaya devam eder.
+     *
+     * @param segment Seslendirilecek cümle veya yan cümle
+     * @param index   Yanıt içindeki sıra numarası (utterance kimliği için)
      */
-    private String cleanTextForTTS(String text) {
-        if (text == null)
-            return "";
-
-        // 1. Markdown Temizliği (Kalın, İtalik, Başlıklar)
-        String cleaned = text.replaceAll("\\*\\*", "")
-                .replaceAll("\\*", "")
-                .replaceAll("###", "")
-                .replaceAll("##", "")
-                .replaceAll("#", "")
-                .replaceAll("`", "");
-
-        // 2. Kod bloklarını tamamen temizle veya basitleştir
-        cleaned = cleaned.replaceAll("```[\\s\\S]*?```", "");
-
-        // 3. Yaygın İfade ve Sembol Temizliği (:P, :D, XD, :) vb.)
-        // Kullanıcı özellikle :P ve benzerlerinin okunmamasını istedi.
-        cleaned = cleaned.replaceAll("(?i):P", "")
-                .replaceAll("(?i):D", "")
-                .replaceAll("(?i)XD", "")
-                .replaceAll(":\\)", "")
-                .replaceAll(":\\(", "")
-                .replaceAll(";\\)", "")
-                .replaceAll("<3", "")
-                .replaceAll("[\\uD83C-\\uDBFF\\uDC00-\\uDFFF]+", ""); // Standart Emojiler
-
-        // 4. Bağlantıları temizle
-        cleaned = cleaned.replaceAll("https?://\\S+", "");
-
-        // 5. Fazla boşlukları düzelt
-        cleaned = cleaned.replaceAll("\\s+", " ").trim();
-
-        return cleaned;
-    }
-
-    private void speakNext() {
-        if (!tts.isSpeaking() && !ttsQueue.isEmpty()) {
-            String originalText = ttsQueue.poll();
-            String cleanedText = cleanTextForTTS(originalText);
-
-            if (!cleanedText.isEmpty()) {
-                tts.speak(cleanedText, TextToSpeech.QUEUE_FLUSH, null, "tts");
-            } else {
-                // Eğer temizlik sonrası metin boşsa bir sonrakine geç
-                speakNext();
-            }
+    private void speakSegment(String segment, int index) {
+        if (ttsScheduler != null) {
+            ttsScheduler.enqueue(segment, UtteranceScheduler.Priority.REPLY);
         }
     }
 
@@ -3771,7 +4399,8 @@ public class MainActivity extends Activity {
                 if (!isAccessibilityServiceEnabled()) {
                     speak(name
                             + " için mesaj hazırlandı. Tam otomatik gönderim için Erişilebilirlik izni vermen gerekiyor. Şimdilik gönder tuşuna kendin basmalısın.");
-                    Toast.makeText(this, "Otomatik gönderim için izin gerekli!", Toast.LENGTH_LONG).show();
+                    runOnUiThread(() -> Toast.makeText(this, "Otomatik gönderim için izin gerekli!",
+                            Toast.LENGTH_LONG).show());
                     // İzin ekranına yönlendir (Opsiyonel: Kullanıcıyı rahatsız etmemek için sadece
                     // ilk seferde yapılabilir)
                 } else {
@@ -3788,8 +4417,21 @@ public class MainActivity extends Activity {
 
     /**
      * Rehberde belirtilen ismi arar ve telefon numarasını döndürür.
+     * Konuşma sürerken spekülatif olarak çözülmüşse rehber tekrar sorgulanmaz.
      */
     private String findContactNumber(String name) {
+        String cached = speculativePipeline.cachedContact(name);
+        if (cached != null) {
+            addLog("[Contact] Önceden çözülmüş kişi kullanıldı: " + name);
+            return cached.isEmpty() ? null : cached;
+        }
+        return queryContactNumber(name);
+    }
+
+    /**
+     * Rehberi sorgular (arka plan thread'inden de çağrılabilir).
+     */
+    private String queryContactNumber(String name) {
         try (Cursor c = getContentResolver().query(ContactsContract.CommonDataKinds.Phone.CONTENT_URI, null,
                 ContactsContract.CommonDataKinds.Phone.DISPLAY_NAME + " LIKE ?", new String[] { "%" + name + "%" },
                 null)) {
@@ -3807,25 +4449,34 @@ public class MainActivity extends Activity {
      * WhatsApp mesaj atma komutlarını analiz eder.
      * Geliştirilmiş regex ve mantık ile daha esnek tanıma sağlar.
      */
-    private void handleWhatsAppCommand(String cmd) {
-        String clean = cmd.toLowerCase(new Locale("tr", "TR"));
+    private void handleWhatsAppCommand(CommandText command) {
         String name = "";
         String message = "";
 
         // Gereksiz anahtar kelimeleri temizle ama mesaj içeriğini bozma
-        String workingCmd = clean.replace("whatsapp'tan", "").replace("whatsapptan", "")
+        String workingCmd = command.text().replace("whatsapp'tan", "").replace("whatsapptan", "")
                 .replace("whatsapp", "").trim();
 
         try {
-            // 1. ADIM: İsim ve yönelme eki arama (ahmet'e, ahmete, ahmet ye vb.)
-            // Regex: Bir kelime + opsiyonel kesme + [e, a, ye, ya] + boşluk veya son
-            Pattern p = Pattern.compile("([^\\s']+)[']?([ae]|ye|ya)\\b");
-            Matcher m = p.matcher(workingCmd);
-
-            if (m.find()) {
-                name = m.group(1).trim();
-                // İsmin sonundaki eki ve ismin kendisini komuttan çıkararak mesajı bul
-                message = workingCmd.substring(m.end()).trim();
+            // 1. ADIM: Kesme işaretiyle ayrılmış yönelme eki (ahmet'e, ayşe'ye): Normalize
+            // aşaması eki zaten ayırdı, isim kökü ve mesaj doğrudan kelimelerden alınır
+            int recipient = command.dativeIndex("whatsapp");
+            if (recipient >= 0) {
+                name = command.stem(recipient);
+                int messageStart = command.offset(recipient) + command.token(recipient).length();
+                message = command.text().substring(messageStart).trim();
+            }
+
+            // Kesmesiz yazım (ahmete, ahmet ye vb.): Bir kelime + [e, a, ye, ya] + boşluk veya son
+            if (name.isEmpty()) {
+                Pattern p = Pattern.compile("([^\\s']+)[']?([ae]|ye|ya)\\b");
+                Matcher m = p.matcher(workingCmd);
+
+                if (m.find()) {
+                    name = m.group(1).trim();
+                    // İsmin sonundaki eki ve ismin kendisini komuttan çıkararak mesajı bul
+                    message = workingCmd.substring(m.end()).trim();
+                }
             }
 
             // 2. ADIM: Eğer yukarıdaki yapı tutmadıysa alternatif bölme
@@ -3875,165 +4526,62 @@ public class MainActivity extends Activity {
      * ALARM & REMINDERS
      *********************************************************************************/
 
+    /** Bu puanın altındaki zaman ifadeleri saat olarak kullanılmaz */
+    private static final float TIME_CONFIDENCE_MIN = 0.5f;
+
+    /** Hatırlatıcı başlığına alınmayan komut sözcükleri (kökler) */
+    private static final java.util.Set<String> REMINDER_COMMAND_WORDS = new java.util.HashSet<>(java.util.Arrays.asList("bana", "beni", "ekle",
+            "kur", "diye", "için", "günü", "hatırlatıcı", "hatırlatma", "alarm", "takvime", "not"));
+
     /**
-     * Sesli komuttaki zaman ifadelerini analiz ederek sistem alarmı kurar.
+     * Sesli komuttaki zaman ifadesine göre sistem alarmı kurar.
      * 
-     * @param cmd Kullanıcının sesli veya yazılı komutu
+     * @param command Normalize edilmiş komut
      */
-    private void setAlarm(String cmd) {
-        String clean = cmd.toLowerCase(new Locale("tr", "TR"));
-        int hour = -1;
-        int minute = 0;
-
-        // 1. GÖRELİ ZAMAN: "10 dakika sonra", "1 saat sonra"
-        Pattern pRel = Pattern.compile("(\\d+)\\s*(dakika|dk|saat)\\s*sonra");
-        Matcher mRel = pRel.matcher(clean);
-
-        if (mRel.find()) {
-            int val = Integer.parseInt(mRel.group(1));
-            boolean isHour = mRel.group(2).startsWith("saat");
-
-            Calendar cal = Calendar.getInstance();
-            if (isHour)
-                cal.add(Calendar.HOUR_OF_DAY, val);
-            else
-                cal.add(Calendar.MINUTE, val);
-
-            hour = cal.get(Calendar.HOUR_OF_DAY);
-            minute = cal.get(Calendar.MINUTE);
-        } else {
-            // 2. KESİN ZAMAN
-            boolean pm = clean.contains("akşam") || clean.contains("gece") || clean.contains("öğleden sonra");
-            boolean half = clean.contains("buçuk") || clean.contains("yarım");
-
-            // Formatlar: "07:30", "14.20", "19 45"
-            Pattern p1 = Pattern.compile("(\\d{1,2})[.:\\s](\\d{2})");
-            Matcher m1 = p1.matcher(clean);
-
-            if (m1.find()) {
-                hour = Integer.parseInt(m1.group(1));
-                minute = Integer.parseInt(m1.group(2));
-            } else {
-                // Formatlar: "saat 7", "7 buçuk"
-                Pattern p2 = Pattern.compile("saat\\s*(\\d{1,2})");
-                Matcher m2 = p2.matcher(clean);
-
-                if (m2.find()) {
-                    hour = Integer.parseInt(m2.group(1));
-                } else if (pm || half) {
-                    // "saat" demese bile "akşam 8" veya "9 buçuk" dediyse sayıyı al
-                    Pattern p3 = Pattern.compile("(\\d{1,2})");
-                    Matcher m3 = p3.matcher(clean);
-                    if (m3.find()) {
-                        hour = Integer.parseInt(m3.group(1));
-                    }
-                }
-
-                if (hour != -1 && half) {
-                    minute = 30;
-                }
-            }
-
-            // ÖS (Öğleden sonra) Düzeltmesi (12 saatlik formatı 24'e çevir)
-            if (pm && hour != -1 && hour < 12) {
-                hour += 12;
-            }
-        }
-
-        if (hour != -1) {
-            Intent i = new Intent(AlarmClock.ACTION_SET_ALARM);
-            i.putExtra(AlarmClock.EXTRA_HOUR, hour);
-            i.putExtra(AlarmClock.EXTRA_MINUTES, minute);
-            i.putExtra(AlarmClock.EXTRA_MESSAGE, "Niko Alarm");
-            i.putExtra(AlarmClock.EXTRA_SKIP_UI, true);
-            startActivity(i);
-            speak(String.format(Locale.getDefault(), "Alarm saat %02d:%02d için kuruldu", hour, minute));
-        } else {
+    private void setAlarm(CommandText command) {
+        TimeExpression time = TimeExpression.parse(command);
+        if (!time.hasTime() || time.confidence < TIME_CONFIDENCE_MIN) {
             // Saat anlaşılamazsa var olan alarmları göster
-            Intent i = new Intent(AlarmClock.ACTION_SHOW_ALARMS);
-            startActivity(i);
+            addLog("[ALARM] Zaman anlaşılamadı: " + command + " -> " + time);
+            startActivity(new Intent(AlarmClock.ACTION_SHOW_ALARMS));
             speak("Saati tam anlayamadım, alarm listesini açıyorum.");
+            return;
         }
-    }
-
-    private void setReminder(String cmd) {
-        String clean = cmd.toLowerCase(new Locale("tr", "TR"));
-        Calendar cal = Calendar.getInstance();
-        boolean timeFound = false;
-
-        // 1. GÜN: "yarın" kontrolü
-        if (clean.contains("yarın")) {
-            cal.add(Calendar.DAY_OF_YEAR, 1);
-        }
-
-        // 2. SAAT: Metin içinden saati bulma
-        int hour = -1;
-        int minute = 0;
-        boolean pm = clean.contains("akşam") || clean.contains("gece") || clean.contains("öğleden sonra");
-        boolean half = clean.contains("buçuk");
 
-        Pattern p1 = Pattern.compile("(\\d{1,2})[.:\\s](\\d{2})");
-        Matcher m1 = p1.matcher(clean);
-
-        if (m1.find()) {
-            hour = Integer.parseInt(m1.group(1));
-            minute = Integer.parseInt(m1.group(2));
-            timeFound = true;
+        Calendar now = Calendar.getInstance();
+        Calendar at = time.resolve(now);
+        int hour = at.get(Calendar.HOUR_OF_DAY);
+        int minute = at.get(Calendar.MINUTE);
+
+        Intent i = new Intent(AlarmClock.ACTION_SET_ALARM);
+        i.putExtra(AlarmClock.EXTRA_HOUR, hour);
+        i.putExtra(AlarmClock.EXTRA_MINUTES, minute);
+        i.putExtra(AlarmClock.EXTRA_MESSAGE, "Niko Alarm");
+        i.putExtra(AlarmClock.EXTRA_SKIP_UI, true);
+        startActivity(i);
+
+        // Saat uygulaması yalnızca saat/dakika alır: Alarm bu saatin ilk geldiği anda çalar
+        if (at.getTimeInMillis() - now.getTimeInMillis() > 24L * 60 * 60 * 1000) {
+            speak(String.format(Locale.getDefault(),
+                    "Alarm %02d:%02d için kuruldu. Saat uygulaması gün seçmeye izin vermediği için ilk %02d:%02d'de çalacak.",
+                    hour, minute, hour, minute));
         } else {
-            Pattern p2 = Pattern.compile("saat\\s*(\\d{1,2})");
-            Matcher m2 = p2.matcher(clean);
-            if (m2.find()) {
-                hour = Integer.parseInt(m2.group(1));
-                timeFound = true;
-            } else if (pm) {
-                // "akşam 8'de"
-                Pattern p3 = Pattern.compile("(\\d{1,2})");
-                Matcher m3 = p3.matcher(clean);
-                if (m3.find()) {
-                    hour = Integer.parseInt(m3.group(1));
-                    timeFound = true;
-                }
-            }
-        }
-
-        if (timeFound)
-
-        {
-            if (half)
-                minute = 30;
-            if (pm && hour < 12)
-                hour += 12;
-
-            cal.set(Calendar.HOUR_OF_DAY, hour);
-            cal.set(Calendar.MINUTE, minute);
-            cal.set(Calendar.SECOND, 0);
+            speak("Alarm " + describeTime(now, at) + " için kuruldu");
         }
+    }
 
-        // Başlık Temizliği (Komuttan sadece hatırlatılacak metni çıkarmaya çalışır)
-        String title = clean
-                .replace("hatırlatıcı", "")
-                .replace("hatırlat", "")
-                .replace("bana", "")
-                .replace("ekle", "")
-                .replace("anımsat", "")
-                .replace("kur", "")
-                .replace("yarın", "") // Tarih bilgisini başlıktan çıkar
-                .replace("bugün", "")
-                .replace("saat", "")
-                .replaceAll("\\d", "") // Sayıları da kabaca temizle
-                .replace("buçuk", "")
-                .replace("akşam", "")
-                .replace("gece", "")
-                .replace("sabah", "")
-                .replace("de", "").replace("da", "").replace(" te", "").replace(" ta", "")
-                .trim();
-
-        if (title.isEmpty())
-            title = "Hatırlatma";
-
-        // İlk harfi büyüt
-        if (title.length() > 0)
-            title = title.substring(0, 1).toUpperCase() + title.substring(1);
+    /**
+     * Komuttaki zaman ifadesi ve geri kalan kelimelerden takvim hatırlatıcısı
+     * oluşturur. Saat yoksa ama gün söylendiyse tüm gün etkinliği açılır.
+     * 
+     * @param command Normalize edilmiş komut
+     */
+    private void setReminder(CommandText command) {
+        TimeExpression time = TimeExpression.parse(command);
+        boolean timed = time.hasTime() && time.confidence >= TIME_CONFIDENCE_MIN;
+        Calendar now = Calendar.getInstance();
+        Calendar at = time.resolve(now);
+        String title = reminderTitle(command, time);
 
         try {
             Intent intent = new Intent(Intent.ACTION_INSERT)
@@ -4041,26 +4589,78 @@ public class MainActivity extends Activity {
                     .putExtra(CalendarContract.Events.TITLE, title)
                     .putExtra(CalendarContract.Events.DESCRIPTION, "Niko Asistan Eklemesi");
 
-            // Eğer saat bulunduysa o saate, bulunmadıysa tüm güne falan ayarlanabilir
-            // (burada saat
-            // şartı var)
-            if (timeFound) {
-                intent.putExtra(CalendarContract.EXTRA_EVENT_BEGIN_TIME, cal.getTimeInMillis());
-                intent.putExtra(CalendarContract.EXTRA_EVENT_END_TIME, cal.getTimeInMillis() + 60 * 60 * 1000); // Varsayılan
-                                                                                                                // 1
-                                                                                                                // saat
+            String when = "";
+            if (timed) {
+                int minutes = time.durationMinutes > 0 ? time.durationMinutes : 60; // Varsayılan 1 saat
+                intent.putExtra(CalendarContract.EXTRA_EVENT_BEGIN_TIME, at.getTimeInMillis());
+                intent.putExtra(CalendarContract.EXTRA_EVENT_END_TIME, at.getTimeInMillis() + minutes * 60_000L);
+                when = " " + describeTime(now, at);
+            } else if (time.dayExplicit) {
+                at.set(Calendar.HOUR_OF_DAY, 0);
+                at.set(Calendar.MINUTE, 0);
+                at.set(Calendar.SECOND, 0);
+                at.set(Calendar.MILLISECOND, 0);
+                intent.putExtra(CalendarContract.EXTRA_EVENT_ALL_DAY, true);
+                intent.putExtra(CalendarContract.EXTRA_EVENT_BEGIN_TIME, at.getTimeInMillis());
+                intent.putExtra(CalendarContract.EXTRA_EVENT_END_TIME, at.getTimeInMillis() + 24L * 60 * 60 * 1000);
+                when = " " + describeDay(now, at);
             }
             startActivity(intent);
-
-            String timeStr = timeFound ? String.format(Locale.getDefault(), " %02d:%02d", hour, minute) : "";
-            String dayStr = clean.contains("yarın") ? " yarın" : "";
-            speak("Hatırlatıcı" + dayStr + timeStr + " için açılıyor: " + title);
+            speak("Hatırlatıcı" + when + " için açılıyor: " + title);
 
         } catch (Exception e) {
             speak("Takvim uygulaması bulunamadı.");
         }
     }
 
+    /**
+     * Hatırlatıcı başlığı: Zaman ifadesine ait olmayan, komut sözcüğü veya
+     * dolgu olmayan kelimeler ("yarın saat 8'de ilaçlarımı hatırlat" ->
+     * "İlaçlarımı").
+     */
+    private static String reminderTitle(CommandText command, TimeExpression time) {
+        StringBuilder sb = new StringBuilder();
+        for (int i = 0; i < command.size(); i++) {
+            String stem = command.stem(i);
+            if (time.isConsumed(i) || command.isFiller(i) || REMINDER_COMMAND_WORDS.contains(stem)
+                    || stem.startsWith("hatırlat") || stem.startsWith("anımsat"))
+                continue;
+            if (sb.length() > 0)
+                sb.append(' ');
+            sb.append(command.token(i));
+        }
+        if (sb.length() == 0)
+            return "Hatırlatma";
+        Locale tr = new Locale("tr", "TR");
+        return sb.substring(0, 1).toUpperCase(tr) + sb.substring(1);
+    }
+
+    /** Konuşma için zaman: "14:30", "yarın 07:00", "cuma 09:00" */
+    private static String describeTime(Calendar now, Calendar at) {
+        String clock = String.format(Locale.getDefault(), "%02d:%02d", at.get(Calendar.HOUR_OF_DAY),
+                at.get(Calendar.MINUTE));
+        String day = describeDay(now, at);
+        return day.equals("bugün") ? clock : day + " " + clock;
+    }
+
+    /** Konuşma için gün: "bugün", "yarın", "öbür gün", hafta içindeyse gün adı, değilse tarih */
+    private static String describeDay(Calendar now, Calendar at) {
+        Calendar today = (Calendar) now.clone();
+        today.set(Calendar.HOUR_OF_DAY, 0);
+        today.set(Calendar.MINUTE, 0);
+        today.set(Calendar.SECOND, 0);
+        today.set(Calendar.MILLISECOND, 0);
+        long days = Math.floorDiv(at.getTimeInMillis() - today.getTimeInMillis(), 24L * 60 * 60 * 1000);
+        if (days <= 0)
+            return "bugün";
+        if (days == 1)
+            return "yarın";
+        if (days == 2)
+            return "öbür gün";
+        Locale tr = new Locale("tr", "TR");
+        return new SimpleDateFormat(days < 7 ? "EEEE" : "d MMMM EEEE", tr).format(at.getTime()).toLowerCase(tr);
+    }
+
     // ================= SİSTEM KONTROLLERİ (WIFI / BLUETOOTH / PARLAKLIK)
     // =================
 
@@ -4072,7 +4672,7 @@ public class MainActivity extends Activity {
             // Android 10 ve üzeri (SDK >= 29) için Panel açma
             // Android 10'da programatik Wi-Fi açma/kapama kısıtlandı.
             Intent panelIntent = new Intent(Settings.Panel.ACTION_INTERNET_CONNECTIVITY);
-            startActivityForResult(panelIntent, 0);
+            runOnUiThread(() -> startActivityForResult(panelIntent, 0));
             speak("Android 10 ve üzeri cihazlarda Wi-Fi ayarlar paneli açılıyor...");
         } else {
             // Eski sürümler için doğrudan WifiManager ile kontrol
@@ -4099,7 +4699,8 @@ public class MainActivity extends Activity {
         // Android 12 (SDK 31) ve üzeri için ekstra izin kontrolü
         if (Build.VERSION.SDK_INT >= 31) {
             if (checkSelfPermission(Manifest.permission.BLUETOOTH_CONNECT) != PackageManager.PERMISSION_GRANTED) {
-                requestPermissions(new String[] { Manifest.permission.BLUETOOTH_CONNECT }, PERMISSION_CODE);
+                runOnUiThread(() -> requestPermissions(new String[] { Manifest.permission.BLUETOOTH_CONNECT },
+                        PERMISSION_CODE));
                 speak("Bluetooth izni gerekli.");
                 return;
             }
@@ -4123,17 +4724,11 @@ public class MainActivity extends Activity {
     }
 
     /**
-     * İnternet bağlantısının olup olmadığını kontrol eder.
+     * İnternet bağlantısının olup olmadığını döndürür (NetworkCallback ile
+     * güncel tutulan önbellekten).
      */
     private boolean isNetworkAvailable() {
-        try {
-            ConnectivityManager cm = (ConnectivityManager) getSystemService(Context.CONNECTIVITY_SERVICE);
-            NetworkInfo activeNetwork = cm.getActiveNetworkInfo();
-            return activeNetwork != null && activeNetwork.isConnectedOrConnecting();
-        } catch (Exception e) {
-            // İzin hatası vs olursa varsayılan olarak true dön, askAI hata versin
-            return true;
-        }
+        return deviceState.isNetworkAvailable();
     }
 
     // ================= SOHBET GEÇMİŞİ (CHAT HISTORY) =================
@@ -5511,6 +6106,8 @@ public class MainActivity extends Activity {
             synchronized (historyLock) {
                 historyPrefs.edit().clear().apply();
             }
+            // Geçmişle birlikte önbelleğe alınmış yanıtlar da silinir
+            executorService.execute(responseCache::clear);
 
             // Arayüzü güncelle
             runOnUiThread(() -> {
@@ -5863,12 +6460,9 @@ public class MainActivity extends Activity {
     private void fetchModels() {
         new Thread(() -> {
             try {
-                URL url = new URL(API_BASE_URL + "/models");
-                HttpURLConnection conn = (HttpURLConnection) url.openConnection();
-                conn.setRequestMethod("GET");
+                HttpURLConnection conn = httpClient.openApi("/models", "GET", NikoHttpClient.Profile.API,
+                        NikoHttpClient.Auth.API_KEY);
                 conn.setRequestProperty("Accept", "application/json");
-                conn.setRequestProperty("x-api-key", "test");
-                conn.setConnectTimeout(10000);
 
                 if (conn.getResponseCode() == 200) {
                     BufferedReader br = new BufferedReader(new InputStreamReader(conn.getInputStream(), "utf-8"));
@@ -6139,57 +6733,72 @@ public class MainActivity extends Activity {
     }
 
     /**
-     * GitHub üzerindeki BENİOKU (README) dosyasından güncel API adresini (URL)
-     * çeker ve günceller.
+     * GitHub üzerindeki BENİOKU (README) dosyasından güncel API adreslerini (URL)
+     * çeker ve uç nokta yöneticisine aday olarak verir.
      * Bu sayede sunucu tünel adresi değişse bile uygulama otomatik ayak uydurur.
+     * README değişmediyse (ETag eşleşmesi, 304) dosya yeniden indirilmez.
      */
     private void updateApiUrlFromGithub() {
         new Thread(() -> {
+            SharedPreferences prefs = getSharedPreferences("app_settings", MODE_PRIVATE);
             try {
-                // GitHub üzerinden BENİOKU (README) dosyasının ham halini al
-                URL url = new URL("https://raw.githubusercontent.com/Memati8383/Niko-AI/main/README.md");
-                HttpURLConnection conn = (HttpURLConnection) url.openConnection();
-                conn.setRequestMethod("GET");
-                conn.setConnectTimeout(10000);
-                conn.setReadTimeout(10000);
-
-                BufferedReader reader = new BufferedReader(new InputStreamReader(conn.getInputStream()));
-                StringBuilder sb = new StringBuilder();
-                String line;
-                while ((line = reader.readLine()) != null) {
-                    sb.append(line).append("\n");
-                }
-                reader.close();
-
-                String content = sb.toString();
-                // Regex: Güncel Tünel/API Adresi satırındaki parantez içindeki adresi (URL)
-                // bulur
-                Pattern pattern = Pattern.compile("Güncel (?:Tünel|API) Adresi:.*?\\((https?://[^\\)]+)\\)");
-                Matcher matcher = pattern.matcher(content);
-
-                String latestUrl = null;
-                while (matcher.find()) {
-                    latestUrl = matcher.group(1); // En son eşleşeni al (genelde en alttaki en günceldir)
+                // GitHub üzerinden BENİOKU (README) dosyasının ham halini al (koşullu istek)
+                HttpURLConnection conn = httpClient.open(GITHUB_README_URL, "GET",
+                        NikoHttpClient.Profile.GITHUB, NikoHttpClient.Auth.NONE);
+                String etag = prefs.getString("readme_etag", null);
+                if (etag != null) {
+                    conn.setRequestProperty("If-None-Match", etag);
                 }
 
-                if (latestUrl != null && latestUrl.startsWith("http")) {
-                    final String fetchedUrl = latestUrl;
-                    API_BASE_URL = fetchedUrl;
-                    addLog("[CONFIG] API URL güncellendi (GitHub): " + fetchedUrl);
+                List<String> discovered;
+                int code = conn.getResponseCode();
+                if (code == HttpURLConnection.HTTP_NOT_MODIFIED) {
+                    discovered = splitUrlList(prefs.getString("api_url_candidates", ""));
+                    addLog("[CONFIG] README değişmemiş, kayıtlı " + discovered.size() + " aday kullanılıyor.");
+                } else if (code == HttpURLConnection.HTTP_OK) {
+                    // Regex: Güncel Tünel/API Adresi satırındaki parantez içindeki adresi (URL)
+                    // bulur. Tüm eşleşmeler aday olur; en alttaki (en güncel) en öncelikli
+                    Pattern pattern = Pattern.compile("Güncel (?:Tünel|API) Adresi:.*?\\((https?://[^\\)]+)\\)");
+                    discovered = new ArrayList<>();
+                    try (BufferedReader reader = new BufferedReader(
+                            new InputStreamReader(conn.getInputStream(), "utf-8"))) {
+                        String line;
+                        while ((line = reader.readLine()) != null) {
+                            Matcher matcher = pattern.matcher(line);
+                            while (matcher.find()) {
+                                discovered.add(0, matcher.group(1));
+                            }
+                        }
+                    }
 
-                    // Yerel belleğe kaydet ki bir sonraki açılışta internet olmasa da en son adresi
-                    // bilsin
-                    getSharedPreferences("app_settings", MODE_PRIVATE)
-                            .edit()
-                            .putString("api_url", fetchedUrl)
+                    prefs.edit()
+                            .putString("readme_etag", conn.getHeaderField("ETag"))
+                            .putString("api_url_candidates", android.text.TextUtils.join("\n", discovered))
                             .apply();
-
+                    addLog("[CONFIG] README'den " + discovered.size() + " API adresi bulundu.");
+                } else {
+                    return;
                 }
+
+                // Yeni adaylarla yarışı tekrarla; kazanan adres API_BASE_URL olur ve kaydedilir
+                endpointManager.setCandidates(API_BASE_URL, discovered, DEFAULT_API_BASE_URL);
+                endpointManager.probeAsync();
             } catch (Exception e) {
+                addLog("[CONFIG] README okunamadı: " + e.getMessage());
             }
         }).start();
     }
 
+    /** Satır sonlarıyla ayrılmış adres listesini çözer (boş satırlar atlanır). */
+    private static List<String> splitUrlList(String joined) {
+        List<String> urls = new ArrayList<>();
+        for (String url : joined.split("\n")) {
+            if (!url.trim().isEmpty())
+                urls.add(url.trim());
+        }
+        return urls;
+    }
+
     // ================= OTOMATİK GÜNCELLEME (PREMIUM) =================
 
     private static final String GITHUB_RELEASES_API = "https://api.github.com/repos/Memati8383/Niko-AI/releases/latest";
@@ -6205,10 +6814,8 @@ public class MainActivity extends Activity {
         new Thread(() -> {
             try {
                 // 1. Önce version.json'dan sadece sürüm numarasını al
-                URL versionUrl = new URL(GITHUB_VERSION_URL);
-                HttpURLConnection versionConn = (HttpURLConnection) versionUrl.openConnection();
-                versionConn.setConnectTimeout(10000);
-                versionConn.setReadTimeout(10000);
+                HttpURLConnection versionConn = httpClient.open(GITHUB_VERSION_URL, "GET",
+                        NikoHttpClient.Profile.GITHUB, NikoHttpClient.Auth.NONE);
                 versionConn.setRequestProperty("Cache-Control", "no-cache");
 
                 if (versionConn.getResponseCode() != 200) {
@@ -6251,10 +6858,8 @@ public class MainActivity extends Activity {
      */
     private void fetchReleaseDetails() {
         try {
-            URL releaseUrl = new URL(GITHUB_RELEASES_API);
-            HttpURLConnection releaseConn = (HttpURLConnection) releaseUrl.openConnection();
-            releaseConn.setConnectTimeout(10000);
-            releaseConn.setReadTimeout(10000);
+            HttpURLConnection releaseConn = httpClient.open(GITHUB_RELEASES_API, "GET",
+                    NikoHttpClient.Profile.GITHUB, NikoHttpClient.Auth.NONE);
             releaseConn.setRequestProperty("Accept", "application/vnd.github.v3+json");
             releaseConn.setRequestProperty("User-Agent", "NikoApp");
 
@@ -7087,10 +7692,8 @@ public class MainActivity extends Activity {
 
         new Thread(() -> {
             try {
-                URL url = new URL(GITHUB_APK_URL);
-                HttpURLConnection conn = (HttpURLConnection) url.openConnection();
-                conn.setConnectTimeout(30000);
-                conn.setReadTimeout(30000);
+                HttpURLConnection conn = httpClient.open(GITHUB_APK_URL, "GET", NikoHttpClient.Profile.DOWNLOAD,
+                        NikoHttpClient.Auth.NONE);
                 conn.connect();
 
                 int fileLength = conn.getContentLength();
@@ -7209,17 +7812,44 @@ public class MainActivity extends Activity {
         checkForUpdates();
     }
 
+    @Override
+    protected void onResume() {
+        super.onResume();
+        resumeHandsFree(0);
+    }
+
+    @Override
+    protected void onPause() {
+        super.onPause();
+        // Arka planda mikrofon tutulmaz
+        pauseHandsFree();
+        if (bargeInMonitor != null)
+            bargeInMonitor.stop();
+    }
+
     @Override
     protected void onDestroy() {
         super.onDestroy();
+        endpointManager.shutdown();
+        deviceState.stop();
+        actionPipeline.shutdown();
+        pauseHandsFree();
+        if (bargeInMonitor != null)
+            bargeInMonitor.stop();
+        if (orbVisualizer != null)
+            orbVisualizer.stop();
 
         // Tüm aktif animasyonları iptal et
         cancelAllAnimations();
 
-        if (speechRecognizer != null)
-            speechRecognizer.destroy();
+        if (recognizerManager != null)
+            recognizerManager.destroy();
         if (tts != null)
             tts.shutdown();
+        if (phraseCache != null)
+            phraseCache.release();
+        if (audioEngine != null)
+            audioEngine.release();
 
     }
 
@@ -7324,30 +7954,11 @@ public class MainActivity extends Activity {
     }
 
     /**
-     * Erişilebilirlik servisinin aktif olup olmadığını kontrol eder.
+     * Erişilebilirlik servisinin aktif olup olmadığını döndürür (ayar
+     * değiştikçe ContentObserver ile güncellenen önbellekten).
      */
     private boolean isAccessibilityServiceEnabled() {
-        android.content.ComponentName expectedComponentName = new android.content.ComponentName(this,
-                NikoAccessibilityService.class);
-        String enabledServicesSetting = Settings.Secure.getString(getContentResolver(),
-                Settings.Secure.ENABLED_ACCESSIBILITY_SERVICES);
-        if (enabledServicesSetting == null)
-            return false;
-
-        android.text.TextUtils.SimpleStringSplitter colonSplitter = new android.text.TextUtils.SimpleStringSplitter(
-                ':');
-        colonSplitter.setString(enabledServicesSetting);
-
-        while (colonSplitter.hasNext()) {
-            String componentNameString = colonSplitter.next();
-            android.content.ComponentName enabledService = android.content.ComponentName
-                    .unflattenFromString(componentNameString);
-
-            if (enabledService != null && enabledService.equals(expectedComponentName)) {
-                return true;
-            }
-        }
-        return false;
+        return deviceState.isAccessibilityEnabled();
     }
 
     /**
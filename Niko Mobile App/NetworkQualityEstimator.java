@@ -0,0 +1,133 @@
+package com.example.niko;
+
+import java.util.Locale; // Dil ve bölge ayarları
+
+/**
+ * Gerçek isteklerin zamanlamalarından beslenen pasif ağ kalitesi tahmincisi.
+ *
+ * Gidiş-dönüş süresi (RTT) /health yoklamalarından ve ön ısıtmadan, indirme
+ * hızı ise /chat yanıt gövdelerinden üstel ağırlıklı hareketli ortalama
+ * (EWMA) ile tahmin edilir. Bağlantının ölçülü (metered) olup olmadığı
+ * cihaz durumu önbelleğinden (NetworkCallback) okunur. Bu tahmin her istek için sunucu sesinin
+ * istenip istenmeyeceğini ve zaman aşımı sürelerini belirler.
+ *
+ * Sunucu sesi kararı yalnızca akış (SSE) kapalıyken geçerlidir: Akış modunda
+ * sunucu ses üretmez ve yanıtı yerel TTS okur. Hız örnekleri yalnızca ses
+ * içeren JSON yanıtlarından geldiği için "ses çok yavaş" kararı örnek akışını
+ * keser; bu yüzden ölçüm {@link #THROUGHPUT_TTL_MS} sonra bayatlar ve tahmin
+ * sistemin bildirdiği bant genişliğine döner, böylece ses yeniden denenir.
+ */
+final class NetworkQualityEstimator {
+    /** EWMA ağırlığı: Yeni örneğin ortalamaya katkısı */
+    private static final double ALPHA = 0.3;
+    /** Hız ölçümüne katılacak en küçük gövde (küçük gövdeler gecikmeye boğulur) */
+    private static final long MIN_THROUGHPUT_SAMPLE_BYTES = 16 * 1024;
+    /** Ortalama bir yanıtın Base64 ses boyutu (tahmini indirme süresi için) */
+    private static final long TYPICAL_AUDIO_BYTES = 160 * 1024;
+    /** Sunucu sesinin indirilmesine tanınan en uzun süre */
+    private static final long AUDIO_BUDGET_MS = 2500;
+    /** Ölçülü (kotalı) bağlantıda tanınan süre */
+    private static final long METERED_AUDIO_BUDGET_MS = 1200;
+    /** Ölçülen indirme hızının geçerli sayıldığı süre */
+    private static final long THROUGHPUT_TTL_MS = 5 * 60 * 1000;
+
+    private static final int MIN_CONNECT_TIMEOUT_MS = 4000;
+    private static final int MAX_CONNECT_TIMEOUT_MS = 15000;
+    /**
+     * Sunucunun yanıt üretmesi için her durumda tanınan süre. Modelin üretim
+     * süresi ağdan bağımsızdır; ağa bağlı pay bunun üzerine eklenir.
+     */
+    private static final int GENERATION_ALLOWANCE_MS = 90000;
+    /** RTT bilinmiyorken eklenen ağ payı */
+    private static final int DEFAULT_NETWORK_ALLOWANCE_MS = 15000;
+    private static final int MAX_READ_TIMEOUT_MS = 150000;
+
+    // Örnek yoksa NaN: Tahmin bilinmiyor, sabit üst sınırlar kullanılır
+    private double rttMs = Double.NaN;
+    private double measuredBytesPerSecond = Double.NaN;
+    private long measuredAt = 0;
+    /** Sistemin bildirdiği bant genişliği (ölçüm yokken veya bayatladığında) */
+    private double linkBytesPerSecond = Double.NaN;
+    private volatile boolean metered = false;
+
+    /** Tek bir gidiş-dönüş süresi örneği ekler. */
+    synchronized void recordRtt(long ms) {
+        rttMs = Double.isNaN(rttMs) ? ms : ALPHA * ms + (1 - ALPHA) * rttMs;
+    }
+
+    /** Bir yanıt gövdesinin indirilme süresini ekler. */
+    synchronized void recordTransfer(long bytes, long ms) {
+        if (bytes < MIN_THROUGHPUT_SAMPLE_BYTES || ms <= 0)
+            return;
+        double sample = bytes * 1000.0 / ms;
+        double previous = throughput();
+        measuredBytesPerSecond = Double.isNaN(previous) ? sample : ALPHA * sample + (1 - ALPHA) * previous;
+        measuredAt = System.nanoTime();
+    }
+
+    /**
+     * Etkin ağın ölçülü olup olmadığını ve sistemin bildirdiği bant
+     * genişliğini günceller. Bu değer, taze bir hız ölçümü yokken tahmin
+     * olarak kullanılır.
+     */
+    void updateLink(boolean isMetered, int downstreamKbps) {
+        metered = isMetered;
+        synchronized (this) {
+            linkBytesPerSecond = downstreamKbps > 0 ? downstreamKbps * 1000.0 / 8 : Double.NaN;
+        }
+    }
+
+    /** Geçerli hız tahmini: Taze ölçüm, yoksa bağlantının bildirdiği hız, o da yoksa NaN */
+    private double throughput() {
+        if (!Double.isNaN(measuredBytesPerSecond)
+                && System.nanoTime() - measuredAt <= THROUGHPUT_TTL_MS * 1_000_000L)
+            return measuredBytesPerSecond;
+        return linkBytesPerSecond;
+    }
+
+    /**
+     * Sunucu sesinin (Base64) indirilmesi yerel TTS'ten daha mı ucuz?
+     * Tahmini indirme süresi bütçeyi aşıyorsa yerel motor tercih edilir.
+     * Yalnızca akış kapalıyken sorulur.
+     */
+    synchronized boolean shouldRequestServerAudio() {
+        double bytesPerSecond = throughput();
+        if (Double.isNaN(bytesPerSecond))
+            return !metered; // Ölçüm yokken kotalı hatta ses indirme
+        long downloadMs = (long) (TYPICAL_AUDIO_BYTES * 1000 / bytesPerSecond);
+        return downloadMs <= (metered ? METERED_AUDIO_BUDGET_MS : AUDIO_BUDGET_MS);
+    }
+
+    /** Bağlantı kurulumu (TCP + TLS ≈ 3 RTT) için pay bırakan zaman aşımı */
+    synchronized int connectTimeoutMs() {
+        if (Double.isNaN(rttMs))
+            return MAX_CONNECT_TIMEOUT_MS;
+        return clamp((long) (rttMs * 4) + 2000, MIN_CONNECT_TIMEOUT_MS, MAX_CONNECT_TIMEOUT_MS);
+    }
+
+    /**
+     * Yanıt okuma zaman aşımı: Sabit üretim payı + ağ payı (8 RTT ve
+     * istenmişse sesin indirilme süresinin üç katı).
+     */
+    synchronized int readTimeoutMs(boolean withAudio) {
+        double bytesPerSecond = throughput();
+        if (Double.isNaN(rttMs) || (withAudio && Double.isNaN(bytesPerSecond)))
+            return clamp(GENERATION_ALLOWANCE_MS + DEFAULT_NETWORK_ALLOWANCE_MS * (withAudio ? 2L : 1L),
+                    GENERATION_ALLOWANCE_MS, MAX_READ_TIMEOUT_MS);
+        long transferMs = withAudio ? (long) (TYPICAL_AUDIO_BYTES * 1000 / bytesPerSecond) * 3 : 0;
+        return clamp(GENERATION_ALLOWANCE_MS + (long) (rttMs * 8) + transferMs, GENERATION_ALLOWANCE_MS,
+                MAX_READ_TIMEOUT_MS);
+    }
+
+    synchronized String describe() {
+        double bytesPerSecond = throughput();
+        return String.format(Locale.US, "RTT %s ms, %s KB/s%s",
+                Double.isNaN(rttMs) ? "?" : String.valueOf(Math.round(rttMs)),
+                Double.isNaN(bytesPerSecond) ? "?" : String.valueOf(Math.round(bytesPerSecond / 1024)),
+                metered ? ", ölçülü" : "");
+    }
+
+    private static int clamp(long value, int min, int max) {
+        return (int) Math.max(min, Math.min(max, value));
+    }
+}
@@ -0,0 +1,137 @@
+package com.example.niko;
+
+import java.io.IOException; // Giriş/Çıkış hata yönetimi
+import java.net.HttpURLConnection; // HTTP bağlantı yönetimi
+import java.net.URL; // Web adresi nesnesi
+import java.util.function.Supplier; // Değer sağlayıcı
+
+import javax.net.ssl.HttpsURLConnection; // HTTPS bağlantısı
+import javax.net.ssl.SSLContext; // TLS bağlamı
+import javax.net.ssl.SSLSocketFactory; // TLS soket üretici
+
+/**
+ * Uygulamadaki tüm HTTP çağrılarının geçtiği paylaşımlı istemci.
+ *
+ * - Keep-alive: Yanıt gövdesi sonuna kadar okunup kapatılan bağlantılar
+ * sistem havuzuna döner. disconnect() çağrılmadığı sürece aynı sunucuya
+ * yapılan sonraki istek TCP ve TLS el sıkışmasını atlar.
+ * - TLS oturumu: Tek bir SSLContext paylaşıldığı için oturum önbelleği tüm
+ * isteklerde ortaktır; yeni soket gerekse bile kısaltılmış el sıkışma yapılır.
+ * - Zaman aşımları uç nokta türüne göre {@link Profile} ile belirlenir.
+ * - Kimlik doğrulama başlıkları {@link Auth} ile tek yerden eklenir.
+ */
+final class NikoHttpClient {
+
+    /** Uç nokta türüne göre bağlantı ve okuma zaman aşımları (ms) */
+    enum Profile {
+        CHAT(15000, 90000), // Üst sınırlar; askAI bunları ağ kalitesi tahminiyle daraltır
+        API(15000, 15000), // Profil ve model listesi gibi kısa JSON çağrıları
+        AUTH(10000, 15000), // Giriş, kayıt ve e-posta doğrulama
+        ACCOUNT(30000, 30000), // Hesap silme gibi sunucuda uzun süren işlemler
+        GITHUB(10000, 10000), // Sürüm, README ve Releases sorguları
+        DOWNLOAD(30000, 30000), // APK indirme
+        WARMUP(5000, 5000), // Konuşma sırasında yapılan /health ön ısıtması
+        PROBE(3000, 3000); // Uç nokta yarışındaki /health yoklaması
+
+        final int connectTimeoutMs;
+        final int readTimeoutMs;
+
+        Profile(int connectTimeoutMs, int readTimeoutMs) {
+            this.connectTimeoutMs = connectTimeoutMs;
+            this.readTimeoutMs = readTimeoutMs;
+        }
+    }
+
+    /** İsteğe eklenecek kimlik doğrulama türü */
+    enum Auth {
+        NONE, // Kimlik bilgisi gönderilmez (giriş, kayıt, GitHub)
+        BEARER, // Oturum jetonu zorunlu
+        API_KEY, // Mobil test anahtarı
+        USER_OR_API_KEY // Oturum varsa jeton, yoksa test anahtarı
+    }
+
+    /** Havuzda bekletilecek en fazla boşta bağlantı sayısı */
+    private static final int MAX_IDLE_CONNECTIONS = 8;
+
+    private final Supplier<String> baseUrlSupplier;
+    private final Supplier<String> tokenSupplier;
+    private final SSLSocketFactory sslSocketFactory;
+
+    /**
+     * @param baseUrlSupplier Etkin API sunucu adresini döndürür (uç nokta değişebilir)
+     * @param tokenSupplier   Güncel oturum jetonunu döndürür (çıkış yapılmışsa null)
+     */
+    NikoHttpClient(Supplier<String> baseUrlSupplier, Supplier<String> tokenSupplier) {
+        this.baseUrlSupplier = baseUrlSupplier;
+        this.tokenSupplier = tokenSupplier;
+
+        // HttpURLConnection bağlantı havuzu ayarları (süreç geneli)
+        System.setProperty("http.keepAlive", "true");
+        System.setProperty("http.maxConnections", String.valueOf(MAX_IDLE_CONNECTIONS));
+
+        this.sslSocketFactory = createSharedSslFactory();
+    }
+
+    /**
+     * Oturum önbelleği paylaşılan tek bir TLS soket fabrikası oluşturur.
+     */
+    private static SSLSocketFactory createSharedSslFactory() {
+        try {
+            SSLContext context = SSLContext.getInstance("TLS");
+            context.init(null, null, null);
+            context.getClientSessionContext().setSessionCacheSize(32);
+            context.getClientSessionContext().setSessionTimeout(12 * 60 * 60); // 12 saat
+            return context.getSocketFactory();
+        } catch (Exception e) {
+            return (SSLSocketFactory) SSLSocketFactory.getDefault();
+        }
+    }
+
+    /**
+     * Niko API sunucusundaki bir uç noktaya bağlantı hazırlar.
+     *
+     * @param path    Etkin sunucu adresine eklenecek yol (örn. "/chat")
+     * @param method  HTTP metodu
+     * @param profile Zaman aşımı profili
+     * @param auth    Eklenecek kimlik doğrulama türü
+     */
+    HttpURLConnection openApi(String path, String method, Profile profile, Auth auth) throws IOException {
+        return open(baseUrlSupplier.get() + path, method, profile, auth);
+    }
+
+    /**
+     * Verilen adrese bağlantı hazırlar. Bağlantı henüz açılmaz; istek ilk
+     * yazma/okuma anında havuzdaki uygun soket üzerinden gönderilir.
+     */
+    HttpURLConnection open(String url, String method, Profile profile, Auth auth) throws IOException {
+        HttpURLConnection conn = (HttpURLConnection) new URL(url).openConnection();
+        if (conn instanceof HttpsURLConnection) {
+            ((HttpsURLConnection) conn).setSSLSocketFactory(sslSocketFactory);
+        }
+
+        conn.setRequestMethod(method);
+        conn.setConnectTimeout(profile.connectTimeoutMs);
+        conn.setReadTimeout(profile.readTimeoutMs);
+        conn.setRequestProperty("Connection", "keep-alive");
+
+        String token = tokenSupplier.get();
+        switch (auth) {
+            case BEARER:
+                conn.setRequestProperty("Authorization", "Bearer " + token);
+                break;
+            case API_KEY:
+                conn.setRequestProperty("x-api-key", "test");
+                break;
+            case USER_OR_API_KEY:
+                if (token != null) {
+                    conn.setRequestProperty("Authorization", "Bearer " + token);
+                } else {
+                    conn.setRequestProperty("x-api-key", "test");
+                }
+                break;
+            default:
+                break;
+        }
+        return conn;
+    }
+}
@@ -0,0 +1,104 @@
+package com.example.niko;
+
+import android.view.Choreographer; // Ekran yenileme karesi zamanlayıcısı
+import android.view.View; // Temel görsel yapı taşı
+
+/**
+ * Ses şiddetine (RMS) tepki veren küre görselleştiricisi.
+ *
+ * onRmsChanged saniyede onlarca kez gelir; her örnekte yeni animasyon
+ * başlatmak yerine örnekler sabit boyutlu bir float halka tamponuna yazılır.
+ * Choreographer her karede tampondaki yeni örneklerin tepe değerini alır,
+ * sabit maliyetli tek kutuplu bir süzgeçle (hızlı yükseliş, yavaş düşüş)
+ * yumuşatır ve küre ile haleye kare başına tek bir özellik güncellemesi
+ * uygular. Sıcak yolda hiç nesne oluşturulmaz; ses kesilip küre dinlenme
+ * haline dönünce kare geri çağrısı kendiliğinden durur.
+ * Tüm metotlar ana thread'den çağrılır.
+ */
+final class OrbVisualizer implements Choreographer.FrameCallback {
+    /** Halka tamponu boyutu (2'nin kuvveti: indeks maskeyle sarılır) */
+    private static final int RING_SIZE = 16;
+    /** Yükselme ve düşme zaman sabitleri (sn) */
+    private static final float ATTACK_SECONDS = 0.05f;
+    private static final float RELEASE_SECONDS = 0.12f;
+    /** Bu seviyenin altında küre dinlenmede sayılır (dB) */
+    private static final float REST_EPSILON_DB = 0.05f;
+
+    private final View orb;
+    private final View halo; // Düzende yoksa null
+    private final Choreographer choreographer = Choreographer.getInstance();
+
+    private final float[] ring = new float[RING_SIZE];
+    private int writeIndex = 0;
+    private int readIndex = 0;
+
+    private float levelDb = 0f;
+    private long lastFrameNanos = 0;
+    private boolean frameScheduled = false;
+
+    OrbVisualizer(View orb, View halo) {
+        this.orb = orb;
+        this.halo = halo;
+    }
+
+    /** Yeni RMS örneği ekler (onRmsChanged). */
+    void push(float rmsdB) {
+        ring[writeIndex] = Math.max(0f, rmsdB);
+        writeIndex = (writeIndex + 1) & (RING_SIZE - 1);
+        if (writeIndex == readIndex) {
+            // Tampon doldu (kare gecikti): En eski örneği feda et
+            readIndex = (readIndex + 1) & (RING_SIZE - 1);
+        }
+        if (!frameScheduled) {
+            frameScheduled = true;
+            lastFrameNanos = 0;
+            choreographer.postFrameCallback(this);
+        }
+    }
+
+    /** Bekleyen kare geri çağrısını kaldırır (Activity kapanırken). */
+    void stop() {
+        choreographer.removeFrameCallback(this);
+        frameScheduled = false;
+        readIndex = writeIndex;
+    }
+
+    @Override
+    public void doFrame(long frameTimeNanos) {
+        // Son kareden bu yana gelen örneklerin tepe değeri hedef seviyedir
+        float target = 0f;
+        while (readIndex != writeIndex) {
+            target = Math.max(target, ring[readIndex]);
+            readIndex = (readIndex + 1) & (RING_SIZE - 1);
+        }
+
+        float dt = lastFrameNanos == 0 ? 0.016f : (frameTimeNanos - lastFrameNanos) / 1e9f;
+        lastFrameNanos = frameTimeNanos;
+        float tau = target > levelDb ? ATTACK_SECONDS : RELEASE_SECONDS;
+        float coefficient = 1f - (float) Math.exp(-dt / tau);
+        levelDb += (target - levelDb) * coefficient;
+
+        apply();
+
+        if (levelDb > REST_EPSILON_DB) {
+            choreographer.postFrameCallback(this);
+        } else {
+            levelDb = 0f;
+            apply();
+            frameScheduled = false;
+        }
+    }
+
+    private void apply() {
+        // Küre en fazla 1.4, hale en fazla 1.6 kat büyür
+        float scale = Math.min(1.0f + levelDb / 20.0f, 1.4f);
+        orb.setScaleX(scale);
+        orb.setScaleY(scale);
+        if (halo != null) {
+            float haloScale = Math.min(1.0f + levelDb / 12.0f, 1.6f);
+            halo.setScaleX(haloScale);
+            halo.setScaleY(haloScale);
+            halo.setAlpha(Math.min(0.2f + levelDb / 25.0f, 1f));
+        }
+    }
+}
@@ -0,0 +1,264 @@
+package com.example.niko;
+
+import android.media.AudioAttributes; // Ses akışı özellikleri
+import android.media.SoundPool; // Kısa ses örneği oynatıcı
+import android.os.Bundle; // Ekran geçişlerinde veri taşıma
+import android.os.Handler; // İş parçacıkları arası mesajlaşma
+import android.os.Looper; // Mesaj döngüsü yönetimi
+import android.speech.tts.TextToSpeech; // Metni sese dönüştürme motoru
+import android.speech.tts.Voice; // Seslendirme sesi
+
+import java.io.File; // Dosya nesnesi
+import java.io.IOException; // Giriş/Çıkış hata yönetimi
+import java.io.RandomAccessFile; // Rastgele erişimli dosya
+import java.nio.charset.StandardCharsets; // UTF-8 karakter seti sabiti
+import java.util.HashMap; // Anahtar-değer eşleşmeleri
+import java.util.Locale; // Dil ve bölge ayarları
+import java.util.Map; // Harita arayüzü
+import java.util.function.BooleanSupplier; // Koşul sağlayıcı
+import java.util.function.Consumer; // Tek parametreli geri çağırım
+
+/**
+ * Sabit onay cümleleri için önceden sentezlenmiş ses önbelleği.
+ *
+ * Yerel komutların onayları ("Müzik başlatılıyor", "Fener açıldı" vb.)
+ * motor boştayken bir kez synthesizeToFile ile WAV dosyasına yazılır ve
+ * SoundPool'a yüklenir. Sonraki kullanımlarda TTS motorunun ısınma ve
+ * sentez süresi beklenmeden anında çalınır.
+ *
+ * Dosyalar sürüm, motor, ses (voice) ve dil bilgisini içeren bir klasörde
+ * tutulur; bunlardan biri değişince eski klasör silinip yeniden sentezlenir.
+ * Tüm metotlar ana thread'den çağrılır.
+ */
+final class PhraseAudioCache {
+    /** Sentez isteklerinin utterance kimliği öneki (zamanlayıcı bu kimlikleri buraya yönlendirir) */
+    static final String ID_PREFIX = "phrase_";
+
+    /** Cümle listesi veya sentez ayarları değişince artırılır */
+    private static final int CACHE_VERSION = 1;
+    /** Motor meşgulken bir sonraki deneme için bekleme */
+    private static final long BUSY_RETRY_MS = 2000;
+    /** İki sentez arasındaki boşluk (motoru tekelleştirmemek için) */
+    private static final long SYNTH_GAP_MS = 300;
+
+    private static final String[] PHRASES = {
+            "Kamera açılıyor", "Müzik başlatılıyor", "Müzik durduruldu", "Sonraki şarkı", "Önceki şarkı",
+            "Ayarlar açılıyor", "Ekran kilitleniyor.", "Ekran görüntüsü alınıyor.", "Geri gidiliyor.",
+            "Ana ekrana dönülüyor.", "Son uygulamalar açılıyor.", "Bildirimler açılıyor.", "Ses artırılıyor",
+            "Ses azaltılıyor", "Ses kapatıldı", "Fener açıldı", "Fener kapatıldı", "Bluetooth açılıyor",
+            "Bluetooth zaten açık", "Bluetooth kapatılıyor", "Bluetooth zaten kapalı",
+            "Güncelleme kontrol ediliyor...", "Tüm izinler gerekli"
+    };
+
+    /** SoundPool'a yüklenmiş, çalınmaya hazır kayıt */
+    static final class Clip {
+        final int soundId;
+        final long durationMs;
+
+        Clip(int soundId, long durationMs) {
+            this.soundId = soundId;
+            this.durationMs = durationMs;
+        }
+    }
+
+    private final Handler mainHandler = new Handler(Looper.getMainLooper());
+    private final TextToSpeech tts;
+    private final File rootDir;
+    private final BooleanSupplier engineIdle;
+    private final Consumer<String> logger;
+    private final SoundPool soundPool;
+
+    private final Map<String, Clip> clips = new HashMap<>();
+    private final Map<Integer, String> loading = new HashMap<>();
+    private final Map<Integer, Long> loadingDurations = new HashMap<>();
+
+    private File dir;
+    private int nextPhrase = 0;
+    private String pendingId;
+    private boolean released = false;
+
+    PhraseAudioCache(TextToSpeech tts, File rootDir, BooleanSupplier engineIdle,
+            Consumer<String> logger) {
+        this.tts = tts;
+        this.rootDir = rootDir;
+        this.engineIdle = engineIdle;
+        this.logger = logger;
+        this.soundPool = new SoundPool.Builder()
+                .setMaxStreams(2)
+                .setAudioAttributes(new AudioAttributes.Builder()
+                        .setUsage(AudioAttributes.USAGE_ASSISTANT)
+                        .setContentType(AudioAttributes.CONTENT_TYPE_SPEECH)
+                        .build())
+                .build();
+        soundPool.setOnLoadCompleteListener((pool, soundId, status) -> {
+            String text = loading.remove(soundId);
+            Long duration = loadingDurations.remove(soundId);
+            if (text != null && status == 0 && duration != null) {
+                clips.put(text, new Clip(soundId, duration));
+            }
+        });
+    }
+
+    /**
+     * Önbellek klasörünü etkin ses ve dile göre seçer, mevcut kayıtları yükler
+     * ve eksikleri boşta sentezlemeye başlar. TTS motoru hazır olduktan sonra
+     * çağrılmalıdır.
+     */
+    void start(long initialDelayMs) {
+        Voice voice = tts.getVoice();
+        Locale locale = voice != null ? voice.getLocale() : new Locale("tr", "TR");
+        String key = "v" + CACHE_VERSION + "_" + safeName(tts.getDefaultEngine()) + "_"
+                + safeName(voice != null ? voice.getName() : "default") + "_" + safeName(locale.toLanguageTag());
+        dir = new File(rootDir, key);
+
+        // Eski sürüm veya farklı sese ait kayıtları temizle
+        File[] stale = rootDir.listFiles();
+        if (stale != null) {
+            for (File old : stale) {
+                if (!old.getName().equals(key))
+                    deleteRecursively(old);
+            }
+        }
+        if (!dir.exists() && !dir.mkdirs()) {
+            logger.accept("[TTS] Cümle önbelleği klasörü oluşturulamadı");
+            return;
+        }
+
+        for (String phrase : PHRASES) {
+            File file = fileFor(TtsSanitizer.sanitize(phrase));
+            if (file.exists())
+                load(TtsSanitizer.sanitize(phrase), file);
+        }
+        mainHandler.postDelayed(this::synthesizeNext, initialDelayMs);
+    }
+
+    /** Temizlenmiş metin için hazır kayıt varsa döndürür. */
+    Clip find(String sanitizedText) {
+        return clips.get(sanitizedText);
+    }
+
+    /** @return Çalma akışı kimliği (başarısızsa 0) */
+    int play(Clip clip) {
+        return soundPool.play(clip.soundId, 1f, 1f, 1, 0, 1f);
+    }
+
+    void stop(int streamId) {
+        soundPool.stop(streamId);
+    }
+
+    void release() {
+        released = true;
+        mainHandler.removeCallbacksAndMessages(null);
+        soundPool.release();
+    }
+
+    /** Zamanlayıcıdan iletilen sentez sonucu (onDone/onError/onStop). */
+    void onSynthesisFinished(String id, boolean success) {
+        if (released || !id.equals(pendingId))
+            return;
+        pendingId = null;
+
+        String text = TtsSanitizer.sanitize(PHRASES[nextPhrase]);
+        File tmp = tempFileFor(text);
+        if (success && tmp.length() > 44 && tmp.renameTo(fileFor(text))) {
+            load(text, fileFor(text));
+            nextPhrase++;
+            mainHandler.postDelayed(this::synthesizeNext, SYNTH_GAP_MS);
+        } else {
+            // Sentez, araya giren konuşma (QUEUE_FLUSH) ile kesilmiş olabilir: Sonra tekrar dene
+            tmp.delete();
+            mainHandler.postDelayed(this::synthesizeNext, BUSY_RETRY_MS);
+        }
+    }
+
+    private void synthesizeNext() {
+        if (released || pendingId != null)
+            return;
+        while (nextPhrase < PHRASES.length && fileFor(TtsSanitizer.sanitize(PHRASES[nextPhrase])).exists())
+            nextPhrase++;
+        if (nextPhrase >= PHRASES.length) {
+            logger.accept("[TTS] Cümle önbelleği hazır (" + clips.size() + "/" + PHRASES.length + ")");
+            return;
+        }
+        if (!engineIdle.getAsBoolean()) {
+            mainHandler.postDelayed(this::synthesizeNext, BUSY_RETRY_MS);
+            return;
+        }
+
+        String text = TtsSanitizer.sanitize(PHRASES[nextPhrase]);
+        pendingId = ID_PREFIX + nextPhrase;
+        if (tts.synthesizeToFile(text, new Bundle(), tempFileFor(text), pendingId) == TextToSpeech.ERROR) {
+            pendingId = null;
+            mainHandler.postDelayed(this::synthesizeNext, BUSY_RETRY_MS);
+        }
+    }
+
+    private void load(String text, File file) {
+        long duration = wavDurationMs(file);
+        if (duration <= 0) {
+            file.delete(); // Bozuk dosya: Yeniden sentezlenecek
+            return;
+        }
+        int soundId = soundPool.load(file.getAbsolutePath(), 1);
+        loading.put(soundId, text);
+        loadingDurations.put(soundId, duration);
+    }
+
+    private File fileFor(String text) {
+        return new File(dir, Integer.toHexString(text.hashCode()) + ".wav");
+    }
+
+    private File tempFileFor(String text) {
+        return new File(dir, Integer.toHexString(text.hashCode()) + ".tmp");
+    }
+
+    /** WAV başlığından süreyi hesaplar (byteRate ve "data" bölümü boyutu). */
+    private static long wavDurationMs(File file) {
+        try (RandomAccessFile raf = new RandomAccessFile(file, "r")) {
+            byte[] header = new byte[12];
+            raf.readFully(header);
+            if (header[0] != 'R' || header[8] != 'W')
+                return -1;
+            long byteRate = -1;
+            byte[] chunk = new byte[8];
+            while (raf.getFilePointer() + 8 <= raf.length()) {
+                raf.readFully(chunk);
+                long size = littleEndianInt(chunk, 4);
+                String id = new String(chunk, 0, 4, StandardCharsets.US_ASCII);
+                if ("fmt ".equals(id)) {
+                    byte[] fmt = new byte[16];
+                    raf.readFully(fmt);
+                    byteRate = littleEndianInt(fmt, 8);
+                    raf.seek(raf.getFilePointer() + size - 16);
+                } else if ("data".equals(id)) {
+                    // Akışla yazılan dosyalarda boyut alanı 0 kalabilir: Dosya sonunu kullan
+                    long dataSize = size > 0 ? size : raf.length() - raf.getFilePointer();
+                    return byteRate > 0 ? dataSize * 1000 / byteRate : -1;
+                } else {
+                    raf.seek(raf.getFilePointer() + size);
+                }
+            }
+        } catch (IOException e) {
+            return -1;
+        }
+        return -1;
+    }
+
+    private static long littleEndianInt(byte[] b, int offset) {
+        return (b[offset] & 0xFFL) | (b[offset + 1] & 0xFFL) << 8 | (b[offset + 2] & 0xFFL) << 16
+                | (b[offset + 3] & 0xFFL) << 24;
+    }
+
+    private static String safeName(String value) {
+        return value == null ? "x" : value.replaceAll("[^A-Za-z0-9.-]", "_");
+    }
+
+    private static void deleteRecursively(File file) {
+        File[] children = file.listFiles();
+        if (children != null) {
+            for (File child : children)
+                deleteRecursively(child);
+        }
+        file.delete();
+    }
+}
@@ -0,0 +1,268 @@
+package com.example.niko;
+
+import android.content.Context; // Uygulama bağlamı
+import android.content.Intent; // Ekranlar arası geçiş ve mesajlaşma
+import android.os.Build; // Cihaz donanım ve sürüm bilgisi
+import android.os.Bundle; // Ekran geçişlerinde veri taşıma
+import android.os.Handler; // İş parçacıkları arası mesajlaşma
+import android.os.Looper; // Mesaj döngüsü yönetimi
+import android.os.SystemClock; // Monoton zaman ölçümü
+import android.speech.RecognitionListener; // Konuşma tanıma dinleyicisi
+import android.speech.RecognizerIntent; // Ses tanıma başlatma niyeti
+import android.speech.SpeechRecognizer; // Ses tanıma motoru
+
+import java.util.function.Consumer; // Tek parametreli geri çağırım
+
+/**
+ * Konuşma tanıyıcısının yaşam döngüsünü ve mod seçimini yöneten katman.
+ *
+ * - Platform destekliyorsa cihaz üzerindeki tanıyıcı
+ * (createOnDeviceSpeechRecognizer) tercih edilir; yoksa varsayılan servis
+ * kullanılır
+ * - Tanıyıcı önceden oluşturulup hazır tutulur; hata sonrası yenisi hemen
+ * arka planda hazırlanır, sonraki dinleme oluşturma maliyeti ödemez
+ * - Geçici hatalar (meşgul, istemci, sunucu kopması) artan beklemeyle yeniden
+ * denenir; kullanıcı konuşmaya başlamışsa ses kaybolduğu için denenmez
+ * - Modun kendisinden kaynaklanan hatalarda (dil paketi yok, ağ yok) diğer
+ * moda geçilir ve bir süre orada kalınır
+ * - Her mod için hazır olma ve sonuç süreleri ölçülür
+ *
+ * Tüm çağrılar ana thread'de yapılmalıdır (SpeechRecognizer kuralı).
+ */
+final class RecognizerManager {
+    enum Mode {
+        ON_DEVICE, // Cihaz üzerindeki model (API 31+)
+        SERVICE // Sistemin varsayılan tanıma servisi (çevrimdışı tercihli)
+    }
+
+    private static final int MAX_RETRIES = 3;
+    private static final long RETRY_BASE_MS = 250;
+    /** Geri dönüş modunda kalma süresi; sonra tercih edilen mod yeniden denenir */
+    private static final long FALLBACK_HOLD_MS = 5 * 60 * 1000;
+
+    /** Mod başına süre ölçümleri (üstel ortalama) */
+    private static final class ModeStats {
+        long sessions;
+        long errors;
+        double readyMs = -1;
+        double resultMs = -1;
+
+        static double ewma(double current, long sample) {
+            return current < 0 ? sample : current * 0.7 + sample * 0.3;
+        }
+    }
+
+    private final Context context;
+    private final RecognitionListener delegate;
+    private final Consumer<String> logger;
+    private final Handler mainHandler = new Handler(Looper.getMainLooper());
+    private final Intent baseIntent;
+    private final Mode preferredMode;
+    private final ModeStats[] stats = { new ModeStats(), new ModeStats() };
+
+    private Mode mode;
+    private long fallbackUntil = 0;
+    private SpeechRecognizer recognizer; // Hazır (sıcak) örnek
+    private Mode recognizerMode;
+
+    // Süren oturumun durumu
+    private boolean active = false;
+    private boolean speechStarted = false;
+    private int retries = 0;
+    private long sessionStartedAt;
+    private final Runnable retryTask = this::startSession;
+
+    RecognizerManager(Context context, Intent baseIntent, RecognitionListener delegate,
+            Consumer<String> logger) {
+        this.context = context;
+        this.baseIntent = baseIntent;
+        this.delegate = delegate;
+        this.logger = logger;
+        this.preferredMode = Build.VERSION.SDK_INT >= Build.VERSION_CODES.S
+                && SpeechRecognizer.isOnDeviceRecognitionAvailable(context) ? Mode.ON_DEVICE : Mode.SERVICE;
+        this.mode = preferredMode;
+        logger.accept("[STT] Tercih edilen tanıma modu: " + preferredMode);
+        warmUp();
+    }
+
+    /** Yeni bir dinleme oturumu başlatır. */
+    void start() {
+        mainHandler.removeCallbacks(retryTask);
+        if (mode != preferredMode && System.currentTimeMillis() > fallbackUntil) {
+            mode = preferredMode;
+            logger.accept("[STT] Tercih edilen moda dönülüyor: " + mode);
+        }
+        active = true;
+        retries = 0;
+        startSession();
+    }
+
+    /** Süren oturumu ve bekleyen yeniden denemeyi iptal eder. */
+    void cancel() {
+        active = false;
+        mainHandler.removeCallbacks(retryTask);
+        if (recognizer != null)
+            recognizer.cancel();
+    }
+
+    void destroy() {
+        cancel();
+        if (recognizer != null) {
+            recognizer.destroy();
+            recognizer = null;
+        }
+    }
+
+    /** Geçerli mod için bir tanıyıcı hazır değilse şimdi oluşturur. */
+    private void warmUp() {
+        if (recognizer != null && recognizerMode == mode)
+            return;
+        if (recognizer != null)
+            recognizer.destroy();
+        recognizer = mode == Mode.ON_DEVICE && Build.VERSION.SDK_INT >= Build.VERSION_CODES.S
+                ? SpeechRecognizer.createOnDeviceSpeechRecognizer(context)
+                : SpeechRecognizer.createSpeechRecognizer(context);
+        recognizerMode = mode;
+        recognizer.setRecognitionListener(listener);
+    }
+
+    /** Tanıyıcıyı atar ve yerine yenisini hazırlar (meşgul/istemci hatalarından sonra). */
+    private void recycle() {
+        if (recognizer != null) {
+            recognizer.destroy();
+            recognizer = null;
+        }
+        warmUp();
+    }
+
+    private void startSession() {
+        if (!active)
+            return;
+        warmUp();
+        speechStarted = false;
+        sessionStartedAt = SystemClock.elapsedRealtime();
+        stats[mode.ordinal()].sessions++;
+        Intent intent = new Intent(baseIntent);
+        // Her iki modda da mümkünse çevrimdışı çalışmayı tercih et (ses buluta
+        // yalnızca servis yerel modeli olmadığında gider)
+        intent.putExtra(RecognizerIntent.EXTRA_PREFER_OFFLINE, true);
+        recognizer.startListening(intent);
+    }
+
+    private void switchMode(String reason) {
+        Mode other = mode == Mode.ON_DEVICE ? Mode.SERVICE : Mode.ON_DEVICE;
+        if (other == Mode.ON_DEVICE && preferredMode != Mode.ON_DEVICE)
+            return; // Cihaz üzerinde tanıma desteklenmiyor
+        logger.accept("[STT] " + mode + " -> " + other + " (" + reason + ")");
+        mode = other;
+        fallbackUntil = other == preferredMode ? 0 : System.currentTimeMillis() + FALLBACK_HOLD_MS;
+    }
+
+    /** @return Hata yeniden denemeyle çözüldüyse true (dinleyiciye iletilmez) */
+    private boolean recover(int error) {
+        if (!active || speechStarted || retries >= MAX_RETRIES)
+            return false;
+
+        switch (error) {
+            case SpeechRecognizer.ERROR_RECOGNIZER_BUSY:
+            case SpeechRecognizer.ERROR_CLIENT:
+            case SpeechRecognizer.ERROR_SERVER_DISCONNECTED:
+            case SpeechRecognizer.ERROR_TOO_MANY_REQUESTS:
+                // Geçici: Aynı modda, temiz bir örnekle ve artan beklemeyle tekrar dene
+                recycle();
+                break;
+            case SpeechRecognizer.ERROR_NETWORK:
+            case SpeechRecognizer.ERROR_NETWORK_TIMEOUT:
+            case SpeechRecognizer.ERROR_SERVER:
+            case SpeechRecognizer.ERROR_LANGUAGE_NOT_SUPPORTED:
+            case SpeechRecognizer.ERROR_LANGUAGE_UNAVAILABLE:
+                // Mod kaynaklı: Diğer moda geç (yoksa vazgeç)
+                Mode before = mode;
+                switchMode("hata " + error);
+                if (mode == before)
+                    return false;
+                break;
+            default:
+                // Eşleşme yok, konuşma zaman aşımı vb.: Kullanıcıya ait, denenmez
+                return false;
+        }
+
+        long delay = RETRY_BASE_MS << retries;
+        retries++;
+        logger.accept("[STT] Hata " + error + ", " + delay + " ms sonra yeniden deneniyor (" + retries + "/"
+                + MAX_RETRIES + ")");
+        mainHandler.postDelayed(retryTask, delay);
+        return true;
+    }
+
+    private void logStats() {
+        StringBuilder sb = new StringBuilder("[STT] Süreler");
+        for (Mode m : Mode.values()) {
+            ModeStats st = stats[m.ordinal()];
+            if (st.sessions == 0)
+                continue;
+            sb.append(" | ").append(m).append(": hazır ").append(Math.round(st.readyMs)).append(" ms, sonuç ")
+                    .append(Math.round(st.resultMs)).append(" ms, ").append(st.errors).append('/')
+                    .append(st.sessions).append(" hata");
+        }
+        logger.accept(sb.toString());
+    }
+
+    private final RecognitionListener listener = new RecognitionListener() {
+        @Override
+        public void onReadyForSpeech(Bundle params) {
+            ModeStats st = stats[mode.ordinal()];
+            st.readyMs = ModeStats.ewma(st.readyMs, SystemClock.elapsedRealtime() - sessionStartedAt);
+            delegate.onReadyForSpeech(params);
+        }
+
+        @Override
+        public void onBeginningOfSpeech() {
+            speechStarted = true;
+            delegate.onBeginningOfSpeech();
+        }
+
+        @Override
+        public void onRmsChanged(float rmsdB) {
+            delegate.onRmsChanged(rmsdB);
+        }
+
+        @Override
+        public void onBufferReceived(byte[] buffer) {
+            delegate.onBufferReceived(buffer);
+        }
+
+        @Override
+        public void onEndOfSpeech() {
+            delegate.onEndOfSpeech();
+        }
+
+        @Override
+        public void onError(int error) {
+            stats[mode.ordinal()].errors++;
+            if (recover(error))
+                return;
+            active = false;
+            delegate.onError(error);
+        }
+
+        @Override
+        public void onResults(Bundle results) {
+            active = false;
+            ModeStats st = stats[mode.ordinal()];
+            st.resultMs = ModeStats.ewma(st.resultMs, SystemClock.elapsedRealtime() - sessionStartedAt);
+            logStats();
+            delegate.onResults(results);
+        }
+
+        @Override
+        public void onPartialResults(Bundle partialResults) {
+            delegate.onPartialResults(partialResults);
+        }
+
+        @Override
+        public void onEvent(int eventType, Bundle params) {
+            delegate.onEvent(eventType, params);
+        }
+    };
+}
@@ -0,0 +1,217 @@
+package com.example.niko;
+
+import java.io.BufferedInputStream; // Tamponlu okuma akışı
+import java.io.BufferedOutputStream; // Tamponlu yazma akışı
+import java.io.DataInputStream; // Ham veri okuma akışı
+import java.io.DataOutputStream; // Ham veri yazma akışı
+import java.io.File; // Dosya nesnesi
+import java.io.FileInputStream; // Dosya okuma akışı
+import java.io.FileOutputStream; // Dosya yazma akışı
+import java.io.IOException; // Giriş/Çıkış hata yönetimi
+import java.nio.charset.StandardCharsets; // UTF-8 karakter seti sabiti
+import java.security.MessageDigest; // Özet (hash) hesaplama
+import java.security.NoSuchAlgorithmException; // Desteklenmeyen özet algoritması
+import java.util.Arrays; // Dizi yardımcıları
+import java.util.Iterator; // Yineleyici
+import java.util.LinkedHashMap; // Sıralı harita (LRU)
+import java.util.Locale; // Dil ve bölge ayarları
+import java.util.Map; // Harita arayüzü
+
+/**
+ * Tekrarlanan AI sorguları için iki katmanlı (bellek + disk) LRU yanıt önbelleği.
+ *
+ * Anahtar; normalleştirilmiş soru, model ve web arama bayrağından oluşur.
+ * Her kayıt yanıt metnini ve (varsa) çözülmüş sesi birlikte tutar; isabet
+ * durumunda sunucuya hiç gidilmeden milisaniyeler içinde yanıt verilir.
+ * Web araması içeren yanıtlar güncelliğini daha çabuk yitirdiği için daha
+ * kısa sürede geçersiz olur.
+ *
+ * Disk işlemleri yapan tüm metotlar arka plan thread'inden çağrılmalıdır.
+ */
+final class ResponseCache {
+    /** Normal yanıtların geçerlilik süresi */
+    static final long TTL_MS = 24L * 60 * 60 * 1000;
+    /** Web aramalı yanıtların geçerlilik süresi */
+    static final long WEB_TTL_MS = 30L * 60 * 1000;
+
+    private static final int MEMORY_MAX_ENTRIES = 24;
+    private static final long MEMORY_MAX_BYTES = 4L * 1024 * 1024;
+    private static final long DISK_MAX_BYTES = 16L * 1024 * 1024;
+    private static final int FORMAT_VERSION = 1;
+
+    static final class Entry {
+        final String reply;
+        final byte[] audio; // Ses yoksa null
+        final long expiresAt;
+
+        Entry(String reply, byte[] audio, long expiresAt) {
+            this.reply = reply;
+            this.audio = audio;
+            this.expiresAt = expiresAt;
+        }
+
+        long weight() {
+            return reply.length() * 2L + (audio != null ? audio.length : 0);
+        }
+    }
+
+    private final File dir;
+    private final LinkedHashMap<String, Entry> memory = new LinkedHashMap<>(16, 0.75f, true);
+    private long memoryBytes = 0;
+
+    ResponseCache(File dir) {
+        this.dir = dir;
+    }
+
+    /**
+     * Önbellek anahtarını üretir. Büyük/küçük harf, fazla boşluk ve sondaki
+     * noktalama farkları aynı soru olarak kabul edilir.
+     */
+    static String key(String prompt, String model, boolean webSearch) {
+        String normalized = prompt.trim().toLowerCase(new Locale("tr", "TR")).replaceAll("\\s+", " ");
+        int end = normalized.length();
+        while (end > 0 && ".?!,;:".indexOf(normalized.charAt(end - 1)) >= 0)
+            end--;
+        return normalized.substring(0, end) + "|" + model + "|" + webSearch;
+    }
+
+    /** Geçerli bir kayıt varsa döndürür (önce bellek, sonra disk). */
+    synchronized Entry get(String key) {
+        long now = System.currentTimeMillis();
+        Entry entry = memory.get(key);
+        if (entry != null) {
+            if (entry.expiresAt > now)
+                return entry;
+            removeFromMemory(key);
+        }
+
+        File file = fileFor(key);
+        if (!file.exists())
+            return null;
+        entry = readEntry(file, key);
+        if (entry == null || entry.expiresAt <= now) {
+            file.delete();
+            return null;
+        }
+        file.setLastModified(now); // Disk katmanında LRU sırası için
+        putInMemory(key, entry);
+        return entry;
+    }
+
+    /** Yanıtı her iki katmana da yazar. */
+    synchronized void put(String key, String reply, byte[] audio, int audioLength, boolean webSearch) {
+        if (reply == null || reply.isEmpty())
+            return;
+        byte[] audioCopy = audio != null && audioLength > 0 ? Arrays.copyOf(audio, audioLength) : null;
+        Entry entry = new Entry(reply, audioCopy,
+                System.currentTimeMillis() + (webSearch ? WEB_TTL_MS : TTL_MS));
+        putInMemory(key, entry);
+        writeEntry(fileFor(key), key, entry);
+        trimDisk();
+    }
+
+    synchronized void clear() {
+        memory.clear();
+        memoryBytes = 0;
+        File[] files = dir.listFiles();
+        if (files != null) {
+            for (File f : files)
+                f.delete();
+        }
+    }
+
+    private void putInMemory(String key, Entry entry) {
+        removeFromMemory(key);
+        memory.put(key, entry);
+        memoryBytes += entry.weight();
+        // En uzun süredir kullanılmayan kayıtlar (erişim sırasının başı) atılır
+        Iterator<Map.Entry<String, Entry>> it = memory.entrySet().iterator();
+        while (it.hasNext() && (memory.size() > MEMORY_MAX_ENTRIES || memoryBytes > MEMORY_MAX_BYTES)) {
+            memoryBytes -= it.next().getValue().weight();
+            it.remove();
+        }
+    }
+
+    private void removeFromMemory(String key) {
+        Entry old = memory.remove(key);
+        if (old != null)
+            memoryBytes -= old.weight();
+    }
+
+    private File fileFor(String key) {
+        // Dosya adı anahtarın özetidir; çakışma durumunda anahtar dosyada ayrıca doğrulanır
+        try {
+            MessageDigest md = MessageDigest.getInstance("SHA-1");
+            byte[] digest = md.digest(key.getBytes(StandardCharsets.UTF_8));
+            StringBuilder sb = new StringBuilder(digest.length * 2);
+            for (byte b : digest)
+                sb.append(String.format(Locale.US, "%02x", b));
+            return new File(dir, sb.toString());
+        } catch (NoSuchAlgorithmException e) {
+            return new File(dir, Integer.toHexString(key.hashCode()));
+        }
+    }
+
+    private Entry readEntry(File file, String key) {
+        try (DataInputStream in = new DataInputStream(
+                new BufferedInputStream(new FileInputStream(file)))) {
+            if (in.readInt() != FORMAT_VERSION || !key.equals(in.readUTF()))
+                return null;
+            long expiresAt = in.readLong();
+            byte[] replyBytes = new byte[in.readInt()];
+            in.readFully(replyBytes);
+            int audioLength = in.readInt();
+            byte[] audio = null;
+            if (audioLength > 0) {
+                audio = new byte[audioLength];
+                in.readFully(audio);
+            }
+            return new Entry(new String(replyBytes, StandardCharsets.UTF_8), audio, expiresAt);
+        } catch (IOException e) {
+            return null; // Bozuk kayıt: Çağıran dosyayı siler
+        }
+    }
+
+    private void writeEntry(File file, String key, Entry entry) {
+        if (!dir.exists() && !dir.mkdirs())
+            return;
+        // Önce geçici dosyaya yazılır; yarım kalan yazma geçerli kaydı bozmaz
+        File tmp = new File(dir, file.getName() + ".tmp");
+        try (DataOutputStream out = new DataOutputStream(
+                new BufferedOutputStream(new FileOutputStream(tmp)))) {
+            byte[] replyBytes = entry.reply.getBytes(StandardCharsets.UTF_8);
+            out.writeInt(FORMAT_VERSION);
+            out.writeUTF(key);
+            out.writeLong(entry.expiresAt);
+            out.writeInt(replyBytes.length);
+            out.write(replyBytes);
+            out.writeInt(entry.audio != null ? entry.audio.length : 0);
+            if (entry.audio != null)
+                out.write(entry.audio);
+        } catch (IOException e) {
+            tmp.delete();
+            return;
+        }
+        if (!tmp.renameTo(file))
+            tmp.delete();
+    }
+
+    /** Disk katmanını boyut sınırına indirir: Önce süresi dolanlar, sonra en eski erişilenler. */
+    private void trimDisk() {
+        File[] files = dir.listFiles();
+        if (files == null)
+            return;
+        long total = 0;
+        for (File f : files)
+            total += f.length();
+        if (total <= DISK_MAX_BYTES)
+            return;
+        Arrays.sort(files, (a, b) -> Long.compare(a.lastModified(), b.lastModified()));
+        for (File f : files) {
+            if (total <= DISK_MAX_BYTES)
+                break;
+            total -= f.length();
+            f.delete();
+        }
+    }
+}
@@ -0,0 +1,145 @@
+package com.example.niko;
+
+import android.os.Handler; // İş parçacıkları arası mesajlaşma
+import android.os.Looper; // Mesaj döngüsü yönetimi
+
+import java.util.List; // Liste arayüzü
+import java.util.concurrent.ConcurrentHashMap; // Eşzamanlı harita
+import java.util.concurrent.ExecutorService; // İş parçacığı havuzu yönetimi
+import java.util.concurrent.atomic.AtomicLong; // Atomik sayaç
+import java.util.function.Consumer; // Tek parametreli geri çağırım
+import java.util.function.Function; // Dönüştürücü fonksiyon
+import java.util.regex.Matcher; // Düzenli ifade eşleştirici (Regex)
+import java.util.regex.Pattern; // Düzenli ifade kalıbı (Regex)
+
+/**
+ * Kısmi (henüz kesinleşmemiş) konuşma sonuçları üzerinde spekülatif ön hazırlık.
+ *
+ * Tanıyıcı kullanıcı konuşurken ara hipotezler üretir. Her hipotez kabaca
+ * sınıflandırılır:
+ * - Arama ("... ara") veya WhatsApp: Kişinin numarası rehberden önceden çözülür
+ * - Yerel komut: Hazırlanacak bir şey yoktur, yürütme zaten yereldir
+ * - Serbest soru: AI bağlantısı önceden ısıtılır
+ * Hipotezler kısa bir süre bekletilerek birleştirilir (debounce); değişen
+ * hipotezin işi, nesil (generation) sayacı eşleşmediği için başlamadan atılır.
+ * Sonuç kesinleştiğinde (onResults) önceden çözülen numaralar hazırdır.
+ */
+final class SpeculativePipeline {
+    /** Hipotez bu kadar süre değişmezse ön hazırlık başlar */
+    private static final long DEBOUNCE_MS = 150;
+
+    private static final Pattern WHATSAPP_NAME = Pattern.compile("([^\\s']+)[']?([ae]|ye|ya)\\b");
+    private static final String NOT_FOUND = "";
+
+    private final Handler mainHandler = new Handler(Looper.getMainLooper());
+    private final ExecutorService executor;
+    private final Function<String, String> contactLookup;
+    private final Runnable aiPreWarm;
+    private final Consumer<String> logger;
+
+    private final AtomicLong generation = new AtomicLong();
+    private final ConcurrentHashMap<String, String> resolvedContacts = new ConcurrentHashMap<>();
+    private String lastHypothesis = "";
+    private Runnable pending;
+
+    SpeculativePipeline(ExecutorService executor, Function<String, String> contactLookup,
+            Runnable aiPreWarm, Consumer<String> logger) {
+        this.executor = executor;
+        this.contactLookup = contactLookup;
+        this.aiPreWarm = aiPreWarm;
+        this.logger = logger;
+    }
+
+    /** Yeni dinleme oturumu: Önceki oturumun hipotezleri ve sonuçları atılır (ana thread). */
+    void reset() {
+        generation.incrementAndGet();
+        if (pending != null)
+            mainHandler.removeCallbacks(pending);
+        pending = null;
+        lastHypothesis = "";
+        resolvedContacts.clear();
+    }
+
+    /** Tanıyıcıdan gelen ara hipotez (ana thread). */
+    void onPartial(String text) {
+        CommandText hypothesis = CommandText.of(text);
+        if (hypothesis.size() == 0 || hypothesis.text().equals(lastHypothesis))
+            return;
+        lastHypothesis = hypothesis.text();
+
+        // Bekleyen hazırlık iptal: Yalnızca hipotezin son hali işlenir
+        final long gen = generation.incrementAndGet();
+        if (pending != null)
+            mainHandler.removeCallbacks(pending);
+        pending = () -> prepare(hypothesis, gen);
+        mainHandler.postDelayed(pending, DEBOUNCE_MS);
+    }
+
+    /**
+     * Kesinleşen sonucu bildirir; bekleyen hazırlıkları durdurur ve son
+     * hipotezin isabet edip etmediğini loglar (ana thread).
+     */
+    void onFinal(CommandText command) {
+        generation.incrementAndGet();
+        if (pending != null)
+            mainHandler.removeCallbacks(pending);
+        pending = null;
+        boolean hit = command.text().equals(lastHypothesis);
+        logger.accept("[STT] Spekülatif hipotez " + (hit ? "isabet etti" : "değişti") + ", hazır kişi: "
+                + resolvedContacts.size());
+    }
+
+    /**
+     * Önceden çözülmüş numarayı döndürür.
+     *
+     * @return Numara; kişi bulunamadıysa boş metin; hiç çözülmediyse null
+     */
+    String cachedContact(String name) {
+        return resolvedContacts.get(name.trim());
+    }
+
+    private void prepare(CommandText hypothesis, long gen) {
+        pending = null;
+        String contactName = contactNameFor(hypothesis);
+        if (contactName != null) {
+            if (contactName.isEmpty() || resolvedContacts.containsKey(contactName))
+                return;
+            executor.execute(() -> {
+                // Hipotez bu arada değiştiyse sorguyu hiç çalıştırma
+                if (generation.get() != gen)
+                    return;
+                String number = contactLookup.apply(contactName);
+                resolvedContacts.put(contactName, number != null ? number : NOT_FOUND);
+            });
+        } else if (!isLocal(hypothesis) && hypothesis.size() > 1) {
+            // En az iki kelimelik serbest soru: AI'ya gidecek, bağlantıyı hazırla
+            aiPreWarm.run();
+        }
+    }
+
+    /**
+     * Hipotez bir arama veya WhatsApp komutuysa rehberde aranacak ismi döndürür
+     * (processLocalCommand'ın çıkaracağı isimle aynı kuralla).
+     */
+    private static String contactNameFor(CommandText hypothesis) {
+        if (hypothesis.text().contains("whatsapp")) {
+            int recipient = hypothesis.dativeIndex("whatsapp");
+            if (recipient >= 0)
+                return hypothesis.stem(recipient);
+            String working = hypothesis.text().replace("whatsapp'tan", "").replace("whatsapptan", "")
+                    .replace("whatsapp", "").trim();
+            Matcher m = WHATSAPP_NAME.matcher(working);
+            return m.find() ? m.group(1).trim() : "";
+        }
+        // Yerel komutla aynı niyet otomatı: İsim, komutun arayacağı isimle aynıdır
+        List<IntentEngine.Candidate> candidates = LocalIntents.ENGINE.match(hypothesis);
+        if (!candidates.isEmpty() && candidates.get(0).intent.equals("call.name")) {
+            return candidates.get(0).remainderStems();
+        }
+        return null;
+    }
+
+    private static boolean isLocal(CommandText hypothesis) {
+        return !LocalIntents.ENGINE.match(hypothesis).isEmpty();
+    }
+}
@@ -0,0 +1,122 @@
+package com.example.niko;
+
+import java.util.ArrayList; // Dinamik dizi listesi
+import java.util.List; // Liste arayüzü
+
+/**
+ * Akışla gelen metni cümle ve yan cümle sınırlarından keserek seslendirilmeye
+ * hazır parçalar üretir.
+ *
+ * Kesim kuralları:
+ * - Satır sonu ve ardından boşluk gelen . ! ? … her zaman cümle sonudur
+ * - , ; : yalnızca bekleyen parça yeterince uzunsa kesilir (doğal tonlama için)
+ * - Çok uzun parçalar ilk boşlukta zorla kesilir
+ * - <think> blokları ve ``` kod blokları seslendirilmez
+ *
+ * Bir noktanın cümle sonu olup olmadığı ("3.5" gibi) bir sonraki karakter
+ * gelene kadar belirsiz olduğundan, son karakter her zaman bekletilir.
+ */
+final class SpeechSegmenter {
+    private static final String THINK_OPEN = "<think>";
+    private static final String THINK_CLOSE = "</think>";
+    private static final int MIN_CLAUSE_LENGTH = 40;
+    private static final int MAX_SEGMENT_LENGTH = 220;
+
+    private final StringBuilder pending = new StringBuilder();
+    private final StringBuilder thinkTail = new StringBuilder();
+    private boolean inThink = false;
+    private boolean inCodeFence = false;
+
+    /**
+     * Yeni gelen parçayı ekler ve tamamlanan segmentleri döndürür.
+     */
+    List<String> append(CharSequence chunk) {
+        List<String> out = new ArrayList<>();
+
+        if (inThink) {
+            thinkTail.append(chunk);
+            int close = thinkTail.indexOf(THINK_CLOSE);
+            if (close < 0) {
+                // Kapanış etiketi parçalara bölünmüş olabilir, sadece kuyruğu tut
+                int keep = Math.min(thinkTail.length(), THINK_CLOSE.length() - 1);
+                thinkTail.delete(0, thinkTail.length() - keep);
+                return out;
+            }
+            pending.append(thinkTail, close + THINK_CLOSE.length(), thinkTail.length());
+            thinkTail.setLength(0);
+            inThink = false;
+        } else {
+            pending.append(chunk);
+        }
+
+        // Tamamı gelmiş düşünce bloklarını at, kapanmamış olanı kuyruğa taşı
+        int open;
+        while ((open = pending.indexOf(THINK_OPEN)) >= 0) {
+            int close = pending.indexOf(THINK_CLOSE, open);
+            if (close >= 0) {
+                pending.delete(open, close + THINK_CLOSE.length());
+            } else {
+                thinkTail.append(pending, open + THINK_OPEN.length(), pending.length());
+                pending.setLength(open);
+                inThink = true;
+                break;
+            }
+        }
+
+        // Sonda yarım kalmış bir "<thi" varsa o kısmı kesme dışında bırak
+        int limit = pending.length() - partialTagLength();
+        int start = 0;
+        for (int i = 0; i < limit - 1; i++) {
+            char c = pending.charAt(i);
+            boolean nextIsSpace = Character.isWhitespace(pending.charAt(i + 1));
+            int length = i + 1 - start;
+
+            boolean cut = c == '\n'
+                    || ((c == '.' || c == '!' || c == '?' || c == '…') && nextIsSpace)
+                    || ((c == ',' || c == ';' || c == ':') && nextIsSpace && length >= MIN_CLAUSE_LENGTH)
+                    || (length >= MAX_SEGMENT_LENGTH && nextIsSpace);
+
+            if (cut) {
+                emit(pending.substring(start, i + 1), out);
+                start = i + 1;
+            }
+        }
+        pending.delete(0, start);
+        return out;
+    }
+
+    /**
+     * Akış bittiğinde kalan metni döndürür ve durumu sıfırlar.
+     */
+    String finish() {
+        List<String> out = new ArrayList<>();
+        if (!inThink) {
+            emit(pending.toString(), out);
+        }
+        pending.setLength(0);
+        thinkTail.setLength(0);
+        inThink = false;
+        inCodeFence = false;
+        return out.isEmpty() ? "" : out.get(0);
+    }
+
+    private void emit(String raw, List<String> out) {
+        String segment = raw.trim();
+        if (segment.startsWith("```")) {
+            // Kod bloğu açılışı/kapanışı: Arasındaki satırlar okunmaz
+            inCodeFence = !inCodeFence;
+            return;
+        }
+        if (inCodeFence || segment.isEmpty())
+            return;
+        out.add(segment);
+    }
+
+    private int partialTagLength() {
+        for (int len = Math.min(THINK_OPEN.length() - 1, pending.length()); len > 0; len--) {
+            if (THINK_OPEN.startsWith(pending.substring(pending.length() - len)))
+                return len;
+        }
+        return 0;
+    }
+}
@@ -0,0 +1,452 @@
+package com.example.niko;
+
+import java.util.Calendar; // Tarih ve saat hesaplamaları
+import java.util.Locale; // Dil ve bölge ayarları
+import java.util.regex.Matcher; // Kalıp eşleştirici
+import java.util.regex.Pattern; // Düzenli ifade kalıbı
+
+/**
+ * Türkçe zaman ifadesi ayrıştırıcı (alarm ve hatırlatıcı komutları için).
+ *
+ * {@link CommandText} çıktısı üzerinde çalışır: Sayı sözcükleri zaten rakama
+ * çevrilmiş, ekler kesme işaretiyle ayrılmıştır ("yediyi çeyrek geçe" ->
+ * "7'yi çeyrek geçe"). Dilbilgisi sınıf yüklenirken bir kez derlenen
+ * kalıplardan oluşur; ayrıştırma sırasında kalıp derlenmez.
+ *
+ * Tanınan ifadeler:
+ * - Göreli: "10 dakika sonra", "yarım saat sonra", "1 saat 20 dakika içinde",
+ * "bir buçuk saat sonra", "1.5 saat sonra"
+ * - Saat: "saat 7'de", "7 30'da", "7 buçukta", "öğlen", "gece yarısı"
+ * - Geçe/kala: "7'yi çeyrek geçe", "8'e 10 kala"
+ * - Gün: "bugün", "yarın", "öbür gün", "cumaya", "haftaya salı"
+ * - Dilim: "sabah", "öğleden sonra", "akşam", "gece" (12 saatlik düzeltme)
+ * - Aralık ve süre: "3'ten 5'e kadar", "3 ile 5 arası", "2 saatlik"
+ *
+ * Sonuç; zamanın türü, gün farkı, süre ve 0-1 arası bir güven puanı ile
+ * hangi kelimelerin zaman ifadesine ait olduğunu (başlık çıkarmak için) taşır.
+ * Android bağımlılığı yoktur; nesne değişmezdir.
+ */
+public final class TimeExpression {
+
+    /** Zaman türleri */
+    public static final int NONE = 0;
+    public static final int ABSOLUTE = 1;
+    public static final int RELATIVE = 2;
+
+    // --- Dilbilgisi (kelime sınırları: metin tek boşluklu olduğu için boşluk) ---
+    private static final String B = "(?<![^ ])";
+    private static final String E = "(?![^ ])";
+    private static final String LETTERS = "[a-zçğıöşüâîû']*";
+
+    private static final Pattern RELATIVE_TIME = Pattern.compile(B
+            + "(?:(?<h>\\d{1,3}(?:\\.\\d)?|yar[ıi]m|[çc]eyrek)(?<hb1> bu[çc]uk)? saat(?<hb> bu[çc]uk)?"
+            + "(?: (?<hm>\\d{1,3}) (?:dakika|dk))?"
+            + "|(?<m>\\d{1,4}(?:\\.\\d)?)(?<mb> bu[çc]uk)? (?:dakika|dk)(?: (?<ms>\\d{1,3}) saniye)?"
+            + "|(?<s>\\d{1,4}) saniye) (?:sonra|i[çc]inde)" + E);
+
+    private static final Pattern PAST_TO = Pattern.compile(B
+            + "(?:saat )?(?<h>\\d{1,2})'(?:y?[ıiuü]|y?[ae]) (?<m>[çc]eyrek|\\d{1,2})(?: (?:dakika|dk))? (?<dir>ge[çc]e|kala)"
+            + E);
+
+    private static final Pattern CLOCK = Pattern.compile(B
+            + "(?<saat>saat )?(?<h>\\d{1,2})(?:'(?<hs>[a-zçğıöşü]+))?(?: (?<m>\\d{2})(?:'[a-zçğıöşü]+)?)?"
+            + "(?: (?<half>bu[çc]uk)" + LETTERS + ")?" + E);
+
+    /** Saati kesinleştiren ekler: "7'de", "8'e", "9'a" */
+    private static final Pattern LOCATIVE = Pattern.compile("[dt][ae]|y?[ae]");
+
+    private static final Pattern DAY = Pattern.compile(B
+            + "(?:(?<rel>bug[üu]n|yar[ıi]ndan sonra|yar[ıi]n|[öo]b[üu]r ?g[üu]n|ertesi g[üu]n)" + LETTERS
+            + "|(?<week>haftaya )?(?<wd>pazartesi|sal[ıi]|[çc]ar[şs]amba|per[şs]embe|cumartesi|cuma|pazar)" + LETTERS
+            + "|(?<next>haftaya))" + E);
+
+    private static final Pattern PERIOD = Pattern.compile(B
+            + "(?<p>sabah|[öo][ğg]leden sonra|[öo][ğg]len?|ak[şs]am|gece yar[ıi]s[ıi]|gece)" + LETTERS + E);
+
+    private static final Pattern RANGE = Pattern.compile(B
+            + "(?:saat )?(?<h1>\\d{1,2})(?: (?<m1>\\d{2}))?(?:'(?:den|dan|ten|tan) (?:saat )?|"
+            + " ile (?:saat )?)(?<h2>\\d{1,2})(?: (?<m2>\\d{2}))?(?:'(?:y?[ae]) kadar| aras" + LETTERS + ")" + E);
+
+    private static final Pattern DURATION = Pattern.compile(B
+            + "(?<n>\\d{1,3}|yar[ıi]m) (?<u>saat|dakika)(?:l[ıi]k| s[üu]recek| s[üu]rs[üu]n)" + E);
+
+    /** Calendar.SUNDAY (1) sırasıyla, ASCII'ye indirgenmiş */
+    private static final String[] WEEKDAYS = { "pazar", "pazartesi", "sali", "carsamba", "persembe", "cuma",
+            "cumartesi" };
+
+    // --- Sonuç ---
+    public final int kind;
+    /** Mutlak saat (ABSOLUTE), yoksa -1 */
+    public final int hour;
+    public final int minute;
+    /** Saat sabah/akşam gibi bir dilimle veya 12'den büyük yazıldıysa true */
+    public final boolean periodExplicit;
+    /** Göreli süre (RELATIVE), saniye */
+    public final int relativeSeconds;
+    /** Gün farkı (bugün 0); haftanın günü verildiyse resolve() anında hesaplanır */
+    public final int dayOffset;
+    /** Calendar.SUNDAY..SATURDAY veya -1 */
+    public final int weekday;
+    public final boolean dayExplicit;
+    /** Aralık veya süre ifadesinden gelen süre (dakika), yoksa 0 */
+    public final int durationMinutes;
+    /** 0-1 arası güven puanı */
+    public final float confidence;
+    private final boolean[] consumed;
+
+    private TimeExpression(Builder b, boolean[] consumed) {
+        this.kind = b.kind;
+        this.hour = b.hour;
+        this.minute = b.minute;
+        this.periodExplicit = b.periodExplicit;
+        this.relativeSeconds = b.relativeSeconds;
+        this.dayOffset = b.dayOffset;
+        this.weekday = b.weekday;
+        this.dayExplicit = b.dayExplicit;
+        this.durationMinutes = b.durationMinutes;
+        this.confidence = Math.min(1f, b.confidence);
+        this.consumed = consumed;
+    }
+
+    /** Ayrıştırma sırasında doldurulan ara durum */
+    private static final class Builder {
+        int kind = NONE;
+        int hour = -1;
+        int minute = 0;
+        boolean periodExplicit = false;
+        int relativeSeconds = 0;
+        int dayOffset = 0;
+        int weekday = -1;
+        boolean dayExplicit = false;
+        int durationMinutes = 0;
+        float confidence = 0f;
+        final int[] spans = new int[16];
+        int spanCount = 0;
+
+        void consume(Matcher m) {
+            if (spanCount < spans.length) {
+                spans[spanCount++] = m.start();
+                spans[spanCount++] = m.end();
+            }
+        }
+
+        boolean overlaps(Matcher m) {
+            for (int i = 0; i < spanCount; i += 2) {
+                if (m.start() < spans[i + 1] && spans[i] < m.end())
+                    return true;
+            }
+            return false;
+        }
+    }
+
+    /** Komuttaki ilk zaman ifadesini ayrıştırır (ifade yoksa kind == NONE). */
+    public static TimeExpression parse(CommandText command) {
+        String text = command.text();
+        Builder b = new Builder();
+
+        parseDay(text, b);
+        boolean fixed = parseRelative(text, b) || parseRange(text, b) || parsePastTo(text, b);
+        // Dilim geçe/kala'dan sonra aranır: "geçe" ASCII'de "gece" ile aynı yazılır
+        String period = parsePeriod(text, b);
+        if (fixed) {
+            if (period != null && b.kind == ABSOLUTE)
+                applyPeriod(period, b);
+        } else {
+            parseClock(text, period, b);
+        }
+        parseDuration(text, b);
+
+        // Saat yok ama dilim var: Dilimin tipik saati ("akşam hatırlat" -> 19:00)
+        if (b.kind == NONE && period != null) {
+            b.kind = ABSOLUTE;
+            b.periodExplicit = true;
+            b.minute = 0;
+            switch (period) {
+                case "sabah":
+                    b.hour = 9;
+                    break;
+                case "ogle":
+                case "oglen":
+                    b.hour = 12;
+                    b.confidence += 0.3f; // "öğlen" tek başına kesin bir saattir
+                    break;
+                case "ogleden sonra":
+                    b.hour = 15;
+                    break;
+                case "aksam":
+                    b.hour = 19;
+                    break;
+                case "gece yarisi":
+                    b.hour = 0;
+                    b.confidence += 0.3f;
+                    if (!b.dayExplicit)
+                        b.dayOffset = 1;
+                    break;
+                default:
+                    b.hour = 22;
+                    break;
+            }
+            b.confidence += 0.5f;
+        }
+
+        boolean[] consumed = new boolean[command.size()];
+        for (int i = 0; i < command.size(); i++) {
+            int offset = command.offset(i);
+            for (int s = 0; s < b.spanCount; s += 2) {
+                if (offset >= b.spans[s] && offset < b.spans[s + 1]) {
+                    consumed[i] = true;
+                    break;
+                }
+            }
+        }
+        return new TimeExpression(b, consumed);
+    }
+
+    private static String group(Matcher m, String name) {
+        String g = m.group(name);
+        return g == null ? null : CommandText.fold(g);
+    }
+
+    private static void parseDay(String text, Builder b) {
+        Matcher m = DAY.matcher(text);
+        if (!m.find())
+            return;
+        b.consume(m);
+        b.dayExplicit = true;
+        b.confidence += 0.2f;
+        String rel = group(m, "rel");
+        String wd = group(m, "wd");
+        if (rel != null) {
+            b.dayOffset = rel.equals("bugun") ? 0 : rel.equals("yarin") || rel.equals("ertesi gun") ? 1 : 2;
+        } else if (wd != null) {
+            for (int i = 0; i < WEEKDAYS.length; i++) {
+                if (WEEKDAYS[i].equals(wd))
+                    b.weekday = Calendar.SUNDAY + i;
+            }
+            b.dayOffset = m.group("week") != null ? 7 : 0;
+        } else {
+            b.dayOffset = 7; // "haftaya"
+        }
+    }
+
+    private static String parsePeriod(String text, Builder b) {
+        Matcher m = PERIOD.matcher(text);
+        while (m.find()) {
+            if (b.overlaps(m))
+                continue;
+            b.consume(m);
+            return group(m, "p");
+        }
+        return null;
+    }
+
+    private static boolean parseRelative(String text, Builder b) {
+        Matcher m = RELATIVE_TIME.matcher(text);
+        if (!m.find())
+            return false;
+        int seconds;
+        String h = group(m, "h");
+        if (h != null) {
+            seconds = h.equals("yarim") ? 1800 : h.equals("ceyrek") ? 900 : (int) Math.round(Double.parseDouble(h) * 3600);
+            // "2 saat buçuk" ve "2 buçuk saat"
+            if (m.group("hb") != null || m.group("hb1") != null)
+                seconds += 1800;
+            if (m.group("hm") != null)
+                seconds += Integer.parseInt(m.group("hm")) * 60;
+        } else if (m.group("m") != null) {
+            seconds = (int) Math.round(Double.parseDouble(m.group("m")) * 60);
+            if (m.group("mb") != null)
+                seconds += 30;
+            if (m.group("ms") != null)
+                seconds += Integer.parseInt(m.group("ms"));
+        } else {
+            seconds = Integer.parseInt(m.group("s"));
+        }
+        b.consume(m);
+        b.kind = RELATIVE;
+        b.relativeSeconds = seconds;
+        b.confidence += 0.8f;
+        return true;
+    }
+
+    private static boolean parseRange(String text, Builder b) {
+        Matcher m = RANGE.matcher(text);
+        if (!m.find())
+            return false;
+        int start = Integer.parseInt(m.group("h1")) * 60 + (m.group("m1") != null ? Integer.parseInt(m.group("m1")) : 0);
+        int end = Integer.parseInt(m.group("h2")) * 60 + (m.group("m2") != null ? Integer.parseInt(m.group("m2")) : 0);
+        if (start / 60 > 23 || end / 60 > 24 || start % 60 > 59 || end % 60 > 59)
+            return false;
+        if (end <= start)
+            end += 12 * 60; // "11'den 1'e kadar"
+        b.consume(m);
+        b.kind = ABSOLUTE;
+        b.hour = start / 60;
+        b.minute = start % 60;
+        b.periodExplicit = b.hour > 12;
+        b.durationMinutes = end - start;
+        b.confidence += 0.7f;
+        return true;
+    }
+
+    private static boolean parsePastTo(String text, Builder b) {
+        Matcher m = PAST_TO.matcher(text);
+        if (!m.find())
+            return false;
+        int h = Integer.parseInt(m.group("h"));
+        String mm = group(m, "m");
+        int minutes = mm.equals("ceyrek") ? 15 : Integer.parseInt(mm);
+        if (h > 23 || minutes < 1 || minutes > 59)
+            return false;
+        if (group(m, "dir").equals("kala")) {
+            h = (h + 23) % 24;
+            minutes = 60 - minutes;
+        }
+        b.consume(m);
+        b.kind = ABSOLUTE;
+        b.hour = h;
+        b.minute = minutes;
+        b.periodExplicit = h > 12;
+        b.confidence += 0.7f;
+        return true;
+    }
+
+    private static void parseClock(String text, String period, Builder b) {
+        Matcher m = CLOCK.matcher(text);
+        while (m.find()) {
+            if (b.overlaps(m))
+                continue;
+            boolean saat = m.group("saat") != null;
+            String suffix = m.group("hs");
+            boolean locative = suffix != null && LOCATIVE.matcher(suffix).matches();
+            boolean minutes = m.group("m") != null;
+            boolean half = m.group("half") != null;
+            // Çıplak sayı ("3 tane") saat sayılmaz: En az bir kanıt gerekir
+            if (!saat && !locative && !minutes && !half && period == null)
+                continue;
+
+            int h = Integer.parseInt(m.group("h"));
+            int min = minutes ? Integer.parseInt(m.group("m")) : half ? 30 : 0;
+            if (h > 24 || min > 59)
+                continue;
+            b.consume(m);
+            b.kind = ABSOLUTE;
+            b.hour = h % 24;
+            b.minute = min;
+            b.periodExplicit = h > 12 || h == 0;
+            b.confidence += 0.4f + (saat ? 0.25f : 0) + (minutes || half ? 0.15f : 0) + (locative ? 0.1f : 0)
+                    + (period != null ? 0.15f : 0);
+            if (period != null)
+                applyPeriod(period, b);
+            return;
+        }
+    }
+
+    /** 12 saatlik söyleyişi dilime göre 24 saate çevirir. */
+    private static void applyPeriod(String period, Builder b) {
+        int h = b.hour;
+        switch (period) {
+            case "sabah":
+                if (h == 12)
+                    h = 0;
+                break;
+            case "ogle":
+            case "oglen":
+                if (h >= 1 && h <= 6)
+                    h += 12;
+                break;
+            case "ogleden sonra":
+            case "aksam":
+                if (h >= 1 && h < 12)
+                    h += 12;
+                break;
+            default: // gece
+                if (h >= 6 && h < 12)
+                    h += 12;
+                else if (h == 12)
+                    h = 0;
+                break;
+        }
+        b.hour = h;
+        b.periodExplicit = true;
+    }
+
+    private static void parseDuration(String text, Builder b) {
+        if (b.durationMinutes > 0)
+            return;
+        Matcher m = DURATION.matcher(text);
+        if (!m.find() || b.overlaps(m))
+            return;
+        String n = group(m, "n");
+        int value = n.equals("yarim") ? 30 : Integer.parseInt(n);
+        b.durationMinutes = n.equals("yarim") || m.group("u").equals("dakika") ? value : value * 60;
+        b.consume(m);
+    }
+
+    // ================= SONUÇ =================
+
+    /** Bir saat veya göreli süre bulundu mu? */
+    public boolean hasTime() {
+        return kind != NONE;
+    }
+
+    /** Kelime zaman ifadesinin parçası mı? (Hatırlatıcı başlığına alınmaz) */
+    public boolean isConsumed(int tokenIndex) {
+        return tokenIndex < consumed.length && consumed[tokenIndex];
+    }
+
+    /**
+     * İfadeyi verilen ana göre somut bir zamana çevirir.
+     *
+     * Gün belirtilmemiş ve saat geçmişse: Dilim söylenmediyse önce aynı günün
+     * 12 saat sonrası ("saat 3" öğleden sonra 15:00), o da geçmişse ertesi gün
+     * seçilir.
+     */
+    public Calendar resolve(Calendar now) {
+        Calendar cal = (Calendar) now.clone();
+        if (kind == RELATIVE) {
+            cal.add(Calendar.SECOND, relativeSeconds);
+            return cal;
+        }
+
+        int days = dayOffset;
+        if (weekday > 0) {
+            days += (weekday - now.get(Calendar.DAY_OF_WEEK) + 7) % 7;
+        }
+        cal.add(Calendar.DAY_OF_YEAR, days);
+        if (kind == NONE)
+            return cal;
+
+        cal.set(Calendar.HOUR_OF_DAY, hour);
+        cal.set(Calendar.MINUTE, minute);
+        cal.set(Calendar.SECOND, 0);
+        cal.set(Calendar.MILLISECOND, 0);
+        if (!cal.after(now) && days == 0) {
+            if (!periodExplicit && hour < 12) {
+                cal.add(Calendar.HOUR_OF_DAY, 12);
+            }
+            if (!cal.after(now)) {
+                cal.add(Calendar.DAY_OF_YEAR, weekday > 0 ? 7 : 1);
+                if (!periodExplicit && hour < 12)
+                    cal.add(Calendar.HOUR_OF_DAY, -12);
+            }
+        }
+        return cal;
+    }
+
+    /**
+     * Güven puanı olmadan kısa özet ("07:30 +1g", "+600s", "15:00 120dk");
+     * test/resources/time_corpus.tsv derlemindeki beklenen değerler bu biçimdedir.
+     */
+    public String summary() {
+        String base = kind == RELATIVE ? "+" + relativeSeconds + "s"
+                : kind == ABSOLUTE ? String.format(Locale.ROOT, "%02d:%02d", hour, minute) : "-";
+        return base + (dayOffset != 0 ? " +" + dayOffset + "g" : "") + (weekday > 0 ? " " + WEEKDAYS[weekday - 1] : "")
+                + (durationMinutes > 0 ? " " + durationMinutes + "dk" : "");
+    }
+
+    @Override
+    public String toString() {
+        return summary() + " (" + confidence + ")";
+    }
+}
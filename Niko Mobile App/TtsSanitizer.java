@@ -0,0 +1,158 @@
+package com.example.niko;
+
+/**
+ * Metni seslendirmeden önce temizleyen tek geçişli süzgeç.
+ *
+ * Metin kod noktası (code point) düzeyinde bir kez taranır ve sonuç tek bir
+ * tampona yazılır; ara String veya çalışma anında derlenen Regex yoktur.
+ * Temizlenenler:
+ * - ``` kod blokları (içerikleriyle birlikte) ve Markdown sembolleri (*, #, `)
+ * - Bağımsız ifadeler (:P, :D, XD, :), :(, ;), <3); kelime içindekiler korunur
+ * - Gerçek emoji aralıkları (birleştirici ZWJ, varyasyon seçicileri ve
+ * etiket karakterleri dahil)
+ * - http(s) bağlantıları
+ * Ardışık boşluklar tek boşluğa indirilir, baş ve sondaki boşluklar atılır.
+ *
+ * Android bağımlılığı yoktur; durum tutmaz ve thread-safe'tir.
+ */
+public final class TtsSanitizer {
+    private static final String[] EMOTICONS = { ":P", ":D", "XD", ":)", ":(", ";)", "<3" };
+
+    private TtsSanitizer() {
+    }
+
+    public static String sanitize(CharSequence text) {
+        if (text == null)
+            return "";
+
+        final int length = text.length();
+        StringBuilder out = new StringBuilder(length);
+        boolean pendingSpace = false;
+        int i = 0;
+        while (i < length) {
+            char c = text.charAt(i);
+
+            // 1. Kod blokları: Kapanış ``` (veya metnin sonu) dahil tamamen atlanır
+            if (c == '`' && startsWith(text, i, "```")) {
+                int close = indexOf(text, "```", i + 3);
+                i = close < 0 ? length : close + 3;
+                pendingSpace = true;
+                continue;
+            }
+
+            // 2. Markdown sembolleri
+            if (c == '*' || c == '#' || c == '`') {
+                i++;
+                continue;
+            }
+
+            // 3. Bağlantılar: Boşluğa kadar atlanır
+            if ((c == 'h' || c == 'H') && isTokenStart(text, i)
+                    && (startsWithIgnoreCase(text, i, "http://") || startsWithIgnoreCase(text, i, "https://"))) {
+                while (i < length && !Character.isWhitespace(text.charAt(i)))
+                    i++;
+                continue;
+            }
+
+            // 4. Yalnızca bağımsız duran ifadeler (":D" evet, "exdim" içindeki "xd" hayır)
+            int emoticon = matchEmoticon(text, i);
+            if (emoticon > 0) {
+                i += emoticon;
+                continue;
+            }
+
+            // 5. Emoji ve boşluk denetimi kod noktası üzerinden yapılır
+            int cp = Character.codePointAt(text, i);
+            int width = Character.charCount(cp);
+            if (isEmoji(cp)) {
+                i += width;
+                continue;
+            }
+            if (Character.isWhitespace(cp) || Character.isSpaceChar(cp)) {
+                pendingSpace = out.length() > 0;
+                i += width;
+                continue;
+            }
+
+            if (pendingSpace) {
+                out.append(' ');
+                pendingSpace = false;
+            }
+            out.appendCodePoint(cp);
+            i += width;
+        }
+        return out.toString();
+    }
+
+    /**
+     * Emoji, sembol-resim ve emoji dizilerini oluşturan yardımcı kod noktaları.
+     */
+    static boolean isEmoji(int cp) {
+        return (cp >= 0x1F000 && cp <= 0x1FAFF) // Mahjong, kartlar, bayraklar, ifadeler, ulaşım, ek semboller
+                || (cp >= 0x2600 && cp <= 0x27BF) // Çeşitli semboller ve Dingbats (☀, ✅, ❤)
+                || (cp >= 0x2300 && cp <= 0x23FF) // Teknik semboller (⌚, ⏰, ⏳)
+                || (cp >= 0x2B00 && cp <= 0x2BFF) // Oklar ve yıldızlar (⬆, ⭐)
+                || (cp >= 0xFE00 && cp <= 0xFE0F) // Varyasyon seçicileri
+                || (cp >= 0xE0020 && cp <= 0xE007F) // Etiket karakterleri (bölge bayrakları)
+                || cp == 0x200D // Sıfır genişlikli birleştirici (ZWJ)
+                || cp == 0x20E3 // Tuş kapağı birleştiricisi (1️⃣)
+                || cp == 0x3030 || cp == 0x303D || cp == 0x3297 || cp == 0x3299;
+    }
+
+    /**
+     * Konumda bir ifade varsa uzunluğunu, yoksa 0 döndürür. İfadenin ardından
+     * harf veya rakam gelemez ("10:Pazartesi" korunur); harfle başlayan
+     * ifadeler (XD) ayrıca kelime başında olmalıdır.
+     */
+    private static int matchEmoticon(CharSequence text, int i) {
+        char first = text.charAt(i);
+        if (first != ':' && first != ';' && first != '<' && first != 'x' && first != 'X')
+            return 0;
+        if (Character.isLetter(first) && !isTokenStart(text, i))
+            return 0;
+        for (String emoticon : EMOTICONS) {
+            int end = i + emoticon.length();
+            if (startsWithIgnoreCase(text, i, emoticon)
+                    && (end == text.length() || !Character.isLetterOrDigit(text.charAt(end))))
+                return emoticon.length();
+        }
+        return 0;
+    }
+
+    private static boolean isTokenStart(CharSequence text, int i) {
+        return i == 0 || Character.isWhitespace(text.charAt(i - 1)) || text.charAt(i - 1) == '(';
+    }
+
+    private static boolean startsWith(CharSequence text, int offset, String prefix) {
+        if (offset + prefix.length() > text.length())
+            return false;
+        for (int k = 0; k < prefix.length(); k++) {
+            if (text.charAt(offset + k) != prefix.charAt(k))
+                return false;
+        }
+        return true;
+    }
+
+    private static boolean startsWithIgnoreCase(CharSequence text, int offset, String prefix) {
+        if (offset + prefix.length() > text.length())
+            return false;
+        for (int k = 0; k < prefix.length(); k++) {
+            // Yalnızca ASCII öneklerle çağrılır; Türkçe İ/ı dönüşümü gerekmez
+            if (lowerAscii(text.charAt(offset + k)) != lowerAscii(prefix.charAt(k)))
+                return false;
+        }
+        return true;
+    }
+
+    private static char lowerAscii(char c) {
+        return c >= 'A' && c <= 'Z' ? (char) (c + ('a' - 'A')) : c;
+    }
+
+    private static int indexOf(CharSequence text, String needle, int from) {
+        for (int k = from; k + needle.length() <= text.length(); k++) {
+            if (startsWith(text, k, needle))
+                return k;
+        }
+        return -1;
+    }
+}
@@ -0,0 +1,328 @@
+package com.example.niko;
+
+import android.os.Handler; // İş parçacıkları arası mesajlaşma
+import android.os.Looper; // Mesaj döngüsü yönetimi
+import android.speech.tts.TextToSpeech; // Metni sese dönüştürme motoru
+import android.speech.tts.UtteranceProgressListener; // Okuma süreci takibi
+
+import java.util.ArrayDeque; // Çift uçlu kuyruk
+import java.util.Iterator; // Yineleyici
+import java.util.function.Consumer; // Tek parametreli geri çağırım
+import java.util.regex.Pattern; // Düzenli ifade kalıbı (Regex)
+
+/**
+ * TextToSpeech için olay güdümlü, öncelikli seslendirme zamanlayıcısı.
+ *
+ * Tüm durum ana thread'e hapsedilmiştir: Her giriş noktası (herhangi bir
+ * thread'den gelen enqueue, motorun binder thread'inden gelen onDone/onError)
+ * ana Handler'a aktarılır; bu yüzden kilide gerek yoktur. Motora aynı anda
+ * en fazla PIPELINE_DEPTH ifade verilir (QUEUE_ADD), böylece cümleler arası
+ * boşluk oluşmaz; kalan ifadeler öncelik sınıflarına göre bekletilir.
+ *
+ * Kısa sistem onayları (yerel komutlar) uzun bir AI yanıtının önüne geçer:
+ * Motorda az metin kaldıysa araya girer (birleştirme), uzun bir yanıt
+ * okunuyorsa onu keser ve bitince kesilen cümleden devam eder (öne alma).
+ * Kuyrukta bekleyen aynı ifade tekrar eklenmez; aynı kalıptaki durum
+ * satırları (yalnızca sayıları farklı) birbirinin yerine geçer.
+ */
+final class UtteranceScheduler {
+    /** Öncelik sınıfları (sıra = öncelik; ilk en yüksek) */
+    enum Priority {
+        SYSTEM, // Yerel komut onayları
+        ALERT, // Hata ve bağlantı uyarıları
+        REPLY // AI yanıtları (akışlı parçalar dahil)
+    }
+
+    /** Motorun kendi kuyruğuna aynı anda verilen en fazla ifade */
+    private static final int PIPELINE_DEPTH = 2;
+    /** Motorda bundan az metin kaldıysa öncelikli ifade kesmeden araya girer */
+    private static final int MERGE_MAX_CHARS = 80;
+    private static final Pattern DIGITS = Pattern.compile("\\d+");
+
+    private static final class Utterance {
+        final String text;
+        final Priority priority;
+        final String coalesceKey;
+        final long enqueuedAt = System.currentTimeMillis();
+        String engineId; // Her gönderimde yenilenir; eski geri çağrılar eşleşmez
+        int clipStreamId; // Önbellekten çalınıyorsa SoundPool akış kimliği, değilse 0
+
+        Utterance(String text, Priority priority) {
+            this.text = text;
+            this.priority = priority;
+            this.coalesceKey = priority == Priority.SYSTEM ? DIGITS.matcher(text).replaceAll("#") : null;
+        }
+    }
+
+    private final Handler mainHandler = new Handler(Looper.getMainLooper());
+    private final TextToSpeech tts;
+    private final Consumer<String> logger;
+
+    @SuppressWarnings("unchecked")
+    private final ArrayDeque<Utterance>[] waiting = new ArrayDeque[Priority.values().length];
+    private final ArrayDeque<Utterance> inEngine = new ArrayDeque<>();
+    private long idSequence = 0;
+    private PhraseAudioCache phraseCache;
+    private Runnable activityListener;
+
+    // Kuyruk boşalana kadar toplanan verim ölçümleri
+    private int spokenCount = 0;
+    private int coalescedCount = 0;
+    private int preemptCount = 0;
+    private long totalWaitMs = 0;
+
+    UtteranceScheduler(TextToSpeech tts, Consumer<String> logger) {
+        this.tts = tts;
+        this.logger = logger;
+        for (int i = 0; i < waiting.length; i++)
+            waiting[i] = new ArrayDeque<>();
+
+        tts.setOnUtteranceProgressListener(new UtteranceProgressListener() {
+            @Override
+            public void onStart(String id) {
+                mainHandler.post(() -> onEngineStart(id));
+            }
+
+            @Override
+            public void onDone(String id) {
+                mainHandler.post(() -> onEngineFinished(id, true));
+            }
+
+            @Override
+            public void onError(String id) {
+                mainHandler.post(() -> onEngineFinished(id, false));
+            }
+
+            @Override
+            public void onStop(String id, boolean interrupted) {
+                // Öne alma veya stop() ile kesilen ifade zaten kuyruğa geri alındı;
+                // yalnızca kesilen önbellek sentezinin haber alması gerekir
+                if (id.startsWith(PhraseAudioCache.ID_PREFIX))
+                    mainHandler.post(() -> onEngineFinished(id, false));
+            }
+        });
+    }
+
+    /** Sabit cümleler için hazır kayıtları kullanacak önbelleği bağlar (ana thread). */
+    void setPhraseCache(PhraseAudioCache cache) {
+        this.phraseCache = cache;
+    }
+
+    /** Kuyruk her değiştiğinde çağrılır; boşta/meşgul geçişlerini izlemek için (ana thread). */
+    void setActivityListener(Runnable listener) {
+        this.activityListener = listener;
+    }
+
+    /** Motorda ve kuyrukta hiçbir ifade yoksa true (ana thread). */
+    boolean isIdle() {
+        if (!inEngine.isEmpty())
+            return false;
+        for (ArrayDeque<Utterance> queue : waiting) {
+            if (!queue.isEmpty())
+                return false;
+        }
+        return true;
+    }
+
+    /**
+     * Bir AI yanıtı veya en az minChars uzunluğunda bir ifade okunuyor ya
+     * da bekliyorsa true (ana thread).
+     */
+    boolean hasLongSpeech(int minChars) {
+        if (containsLong(inEngine, minChars))
+            return true;
+        for (ArrayDeque<Utterance> queue : waiting) {
+            if (containsLong(queue, minChars))
+                return true;
+        }
+        return false;
+    }
+
+    private static boolean containsLong(ArrayDeque<Utterance> queue, int minChars) {
+        for (Utterance u : queue) {
+            if (u.priority == Priority.REPLY || u.text.length() >= minChars)
+                return true;
+        }
+        return false;
+    }
+
+    /** İfadeyi kuyruğa ekler; herhangi bir thread'den çağrılabilir. */
+    void enqueue(String rawText, Priority priority) {
+        String text = TtsSanitizer.sanitize(rawText);
+        if (text.isEmpty())
+            return;
+        mainHandler.post(() -> {
+            add(new Utterance(text, priority));
+            dispatch();
+        });
+    }
+
+    /** Konuşmayı keser ve bekleyen tüm ifadeleri atar. */
+    void stop() {
+        mainHandler.post(() -> {
+            for (ArrayDeque<Utterance> queue : waiting)
+                queue.clear();
+            silenceEngine();
+            inEngine.clear();
+            if (activityListener != null)
+                activityListener.run();
+        });
+    }
+
+    private void add(Utterance utterance) {
+        // Aynı durum/uyarı satırı zaten bekliyor veya okunuyorsa tekrar ekleme
+        // (AI yanıtında aynı cümlenin iki kez geçmesi meşrudur, ona dokunulmaz)
+        if (utterance.priority != Priority.REPLY && (containsText(inEngine, utterance.text)
+                || containsText(waiting[utterance.priority.ordinal()], utterance.text))) {
+            coalescedCount++;
+            return;
+        }
+
+        // Aynı kalıptaki bekleyen durum satırının yerine geç ("Ses %40" -> "Ses %50")
+        ArrayDeque<Utterance> queue = waiting[utterance.priority.ordinal()];
+        if (utterance.coalesceKey != null) {
+            Iterator<Utterance> it = queue.iterator();
+            while (it.hasNext()) {
+                if (utterance.coalesceKey.equals(it.next().coalesceKey)) {
+                    it.remove();
+                    coalescedCount++;
+                    break;
+                }
+            }
+        }
+        queue.addLast(utterance);
+
+        // Motordaki daha düşük öncelikli uzun metin: Kes ve öne geç
+        Utterance playing = inEngine.peekFirst();
+        if (playing != null && playing.priority.ordinal() > utterance.priority.ordinal()
+                && pendingEngineChars() > MERGE_MAX_CHARS) {
+            preempt();
+        }
+    }
+
+    /** Motordaki ifadeleri kendi kuyruklarının başına geri alır ve motoru susturur. */
+    private void preempt() {
+        Iterator<Utterance> it = inEngine.descendingIterator();
+        while (it.hasNext()) {
+            Utterance u = it.next();
+            waiting[u.priority.ordinal()].addFirst(u);
+        }
+        silenceEngine();
+        inEngine.clear();
+        preemptCount++;
+    }
+
+    /** TTS motorunu ve çalmakta olan önbellek kayıtlarını susturur. */
+    private void silenceEngine() {
+        for (Utterance u : inEngine) {
+            if (u.clipStreamId != 0 && phraseCache != null) {
+                phraseCache.stop(u.clipStreamId);
+                u.clipStreamId = 0;
+            }
+        }
+        tts.stop();
+    }
+
+    private void dispatch() {
+        while (inEngine.size() < PIPELINE_DEPTH) {
+            Utterance next = pollHighest();
+            if (next == null)
+                break;
+
+            // Sabit onay cümlesi önceden sentezlendiyse motor yerine kayıttan çalınır
+            PhraseAudioCache.Clip clip = phraseCache != null && next.priority == Priority.SYSTEM
+                    ? phraseCache.find(next.text)
+                    : null;
+
+            // Önceki ifade öncelik sınıfı farklıysa arkasına yığma: Öne alma kararı
+            // ancak motorda tek sınıf varken doğru verilebilir. Kayıt ve motor sesi
+            // de üst üste binmemesi için aynı anda verilmez.
+            Utterance last = inEngine.peekLast();
+            if (last != null && (last.priority != next.priority || clip != null || last.clipStreamId != 0)) {
+                waiting[next.priority.ordinal()].addFirst(next);
+                break;
+            }
+
+            next.engineId = "u" + (++idSequence);
+            if (clip != null) {
+                next.clipStreamId = phraseCache.play(clip);
+                if (next.clipStreamId != 0) {
+                    // SoundPool bitiş bildirmez: Kaydın süresi dolunca bitmiş sayılır
+                    inEngine.addLast(next);
+                    totalWaitMs += System.currentTimeMillis() - next.enqueuedAt;
+                    final String clipId = next.engineId;
+                    mainHandler.postDelayed(() -> onEngineFinished(clipId, true), clip.durationMs);
+                    continue;
+                }
+            }
+            int mode = inEngine.isEmpty() ? TextToSpeech.QUEUE_FLUSH : TextToSpeech.QUEUE_ADD;
+            inEngine.addLast(next);
+            if (tts.speak(next.text, mode, null, next.engineId) == TextToSpeech.ERROR) {
+                // Motor hazır değil: Geri çağrı gelmeyecek, ifadeyi atla
+                logger.accept("[TTS] Motor ifadeyi reddetti: " + next.engineId);
+                inEngine.removeLast();
+            }
+        }
+
+        if (inEngine.isEmpty() && spokenCount > 0) {
+            logger.accept("[TTS] Kuyruk boşaldı: " + spokenCount + " ifade, ort. bekleme "
+                    + (totalWaitMs / spokenCount) + " ms, " + coalescedCount + " birleştirme, "
+                    + preemptCount + " öne alma");
+            spokenCount = coalescedCount = preemptCount = 0;
+            totalWaitMs = 0;
+        }
+        if (activityListener != null)
+            activityListener.run();
+    }
+
+    private void onEngineStart(String id) {
+        for (Utterance u : inEngine) {
+            if (id.equals(u.engineId)) {
+                totalWaitMs += System.currentTimeMillis() - u.enqueuedAt;
+                return;
+            }
+        }
+    }
+
+    private void onEngineFinished(String id, boolean success) {
+        if (id.startsWith(PhraseAudioCache.ID_PREFIX)) {
+            if (phraseCache != null)
+                phraseCache.onSynthesisFinished(id, success);
+            return;
+        }
+
+        Iterator<Utterance> it = inEngine.iterator();
+        while (it.hasNext()) {
+            if (id.equals(it.next().engineId)) {
+                it.remove();
+                spokenCount++;
+                dispatch();
+                return;
+            }
+        }
+        // Eşleşmeyen kimlik: Kesilmiş eski bir gönderim, yok sayılır
+    }
+
+    private Utterance pollHighest() {
+        for (ArrayDeque<Utterance> queue : waiting) {
+            if (!queue.isEmpty())
+                return queue.pollFirst();
+        }
+        return null;
+    }
+
+    private int pendingEngineChars() {
+        int chars = 0;
+        for (Utterance u : inEngine)
+            chars += u.text.length();
+        return chars;
+    }
+
+    private static boolean containsText(ArrayDeque<Utterance> queue, String text) {
+        for (Utterance u : queue) {
+            if (u.text.equals(text))
+                return true;
+        }
+        return false;
+    }
+}
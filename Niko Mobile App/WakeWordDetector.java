@@ -0,0 +1,551 @@
+package com.example.niko;
+
+import java.io.DataInputStream; // Model okuma akışı
+import java.io.DataOutputStream; // Model yazma akışı
+import java.io.IOException; // Giriş/Çıkış hata yönetimi
+import java.io.InputStream; // Veri okuma akışı
+import java.util.ArrayList; // Dinamik dizi listesi
+import java.util.List; // Liste arayüzü
+
+/**
+ * "Niko" uyandırma kelimesi için cihaz üzerinde çalışan küçük anahtar kelime
+ * yakalayıcı.
+ *
+ * Android bağımlılığı yoktur: 16 kHz, 16 bit mono PCM örnekleri alır ve
+ * JVM üzerinde WAV dosyalarıyla test edilip ölçülebilir.
+ *
+ * İşleyiş:
+ * - Her 10 ms'lik adımda yalnızca enerji kapısı (EnergyVad) çalışır; sessiz
+ * ortamda işlemci maliyeti birkaç toplama/çarpmadan ibarettir
+ * - Ses algılanınca MFCC öznitelikleri (13 katsayı, 26 mel süzgeci) çıkarılır
+ * - Sessizlikle biten 0.25-1.2 sn'lik her bölüm, kullanıcının kaydettiği
+ * örnek söylenişlerle (şablonlar) DTW ile karşılaştırılır
+ * - "Model", bu şablonlar ve şablonların kendi aralarındaki uzaklıktan
+ * hesaplanan eşik değeridir
+ *
+ * Sıcak yolda nesne oluşturulmaz; tüm tamponlar kurucuda ayrılır. Sınıf
+ * thread-safe değildir, tek bir ses thread'inden kullanılmalıdır.
+ */
+public final class WakeWordDetector {
+
+    public static final int SAMPLE_RATE = 16000;
+    /** Analiz penceresi (25 ms) ve adım (10 ms) örnek cinsinden */
+    public static final int FRAME_SIZE = 400;
+    public static final int HOP_SIZE = 160;
+    public static final int MFCC_COUNT = 13;
+    /** Kaydedilebilecek en fazla şablon */
+    public static final int MAX_TEMPLATES = 5;
+    /** Algılamanın başlaması için gereken en az şablon */
+    public static final int MIN_TEMPLATES = 3;
+
+    /** process() dönüş değerleri */
+    public static final int RESULT_NONE = 0;
+    public static final int RESULT_DETECTED = 1;
+    public static final int RESULT_ENROLLED = 2;
+
+    private static final int FFT_SIZE = 512;
+    private static final int MEL_FILTERS = 26;
+    private static final int MIN_WORD_FRAMES = 25; // 0.25 sn
+    private static final int MAX_WORD_FRAMES = 120; // 1.2 sn
+    private static final int HANGOVER_FRAMES = 15; // 150 ms sessizlik bölümü bitirir
+    /** DTW arama bandı (uzun dizinin oranı olarak) */
+    private static final float DTW_BAND_RATIO = 0.25f;
+    /** Eşik = şablonlar arası ortalama uzaklık x bu katsayı */
+    private static final float THRESHOLD_SCALE = 1.35f;
+    /** Tek şablonla eşik hesaplanamadığında kullanılan değer */
+    private static final float FALLBACK_THRESHOLD = 12f;
+    private static final int MODEL_VERSION = 1;
+
+    // --- Önceden hesaplanan tablolar ---
+    private final float[] window = new float[FRAME_SIZE];
+    private final float[] cosTable = new float[FFT_SIZE / 2];
+    private final float[] sinTable = new float[FFT_SIZE / 2];
+    private final int[] bitReverse = new int[FFT_SIZE];
+    private final int[] filterStart = new int[MEL_FILTERS];
+    private final float[][] filterWeights = new float[MEL_FILTERS][];
+    private final float[][] dct = new float[MFCC_COUNT][MEL_FILTERS];
+
+    // --- Çalışma tamponları ---
+    private final float[] history = new float[FRAME_SIZE]; // Son 25 ms (halka tampon)
+    private int historyPos = 0; // Sıradaki yazma konumu = en eski örnek
+    private int historyFill = 0;
+    private int hopFill = 0;
+    private float hopEnergy = 0; // Son adımdaki örneklerin kare toplamı
+    private final float[] re = new float[FFT_SIZE];
+    private final float[] im = new float[FFT_SIZE];
+    private final float[] melEnergies = new float[MEL_FILTERS];
+    private final float[][] segment = new float[MAX_WORD_FRAMES + HANGOVER_FRAMES][MFCC_COUNT];
+    private final float[] dtwPrevious = new float[MAX_WORD_FRAMES + 1];
+    private final float[] dtwCurrent = new float[MAX_WORD_FRAMES + 1];
+
+    private final EnergyVad vad = new EnergyVad(9f);
+    private final List<float[][]> templates = new ArrayList<>();
+
+    private int segmentLength = 0;
+    private int silentFrames = 0;
+    private boolean inSegment = false;
+    private boolean overflow = false;
+    private boolean enrolling = false;
+    private float threshold = FALLBACK_THRESHOLD;
+    private float lastDistance = Float.NaN;
+
+    public WakeWordDetector() {
+        for (int i = 0; i < FRAME_SIZE; i++) {
+            window[i] = (float) (0.54 - 0.46 * Math.cos(2 * Math.PI * i / (FRAME_SIZE - 1)));
+        }
+        for (int i = 0; i < FFT_SIZE / 2; i++) {
+            cosTable[i] = (float) Math.cos(2 * Math.PI * i / FFT_SIZE);
+            sinTable[i] = (float) -Math.sin(2 * Math.PI * i / FFT_SIZE);
+        }
+        int bits = Integer.numberOfTrailingZeros(FFT_SIZE);
+        for (int i = 0; i < FFT_SIZE; i++) {
+            bitReverse[i] = Integer.reverse(i) >>> (32 - bits);
+        }
+        buildMelFilters();
+        for (int k = 0; k < MFCC_COUNT; k++) {
+            // c0 (toplam enerji) atlanır: Ses yüksekliğinden bağımsız karşılaştırma için
+            for (int m = 0; m < MEL_FILTERS; m++) {
+                dct[k][m] = (float) Math.cos(Math.PI * (k + 1) * (m + 0.5) / MEL_FILTERS);
+            }
+        }
+    }
+
+    /**
+     * Yeni PCM örneklerini işler.
+     *
+     * @return RESULT_DETECTED (uyandırma kelimesi), RESULT_ENROLLED (kayıt
+     *         modunda yeni şablon eklendi) veya RESULT_NONE
+     */
+    public int process(short[] pcm, int offset, int length) {
+        int result = RESULT_NONE;
+        for (int i = offset; i < offset + length; i++) {
+            pushSample(pcm[i] / 32768f);
+            if (++hopFill == HOP_SIZE) {
+                hopFill = 0;
+                int frameResult = processHop();
+                if (frameResult != RESULT_NONE)
+                    result = frameResult;
+            }
+        }
+        return result;
+    }
+
+    /** Kayıt modunda sessizlikle ayrılan her söyleniş şablon olarak eklenir. */
+    public void setEnrolling(boolean enrolling) {
+        this.enrolling = enrolling;
+        reset();
+    }
+
+    public boolean isEnrolling() {
+        return enrolling;
+    }
+
+    public int templateCount() {
+        return templates.size();
+    }
+
+    /** Algılama için yeterli şablon var mı? */
+    public boolean isReady() {
+        return templates.size() >= MIN_TEMPLATES;
+    }
+
+    public void clearTemplates() {
+        templates.clear();
+        threshold = FALLBACK_THRESHOLD;
+    }
+
+    /** Şu an bir söyleniş içinde miyiz? (Ses varken true; güç yönetimi için) */
+    public boolean isInSegment() {
+        return inSegment;
+    }
+
+    /** Son değerlendirilen bölümün en yakın şablona uzaklığı (ayarlama ve log için) */
+    public float lastDistance() {
+        return lastDistance;
+    }
+
+    public float threshold() {
+        return threshold;
+    }
+
+    /** Yarım kalan bölümü ve kayan pencereyi atar (mikrofon yeniden açıldığında). */
+    public void reset() {
+        historyFill = 0;
+        historyPos = 0;
+        hopFill = 0;
+        hopEnergy = 0;
+        inSegment = false;
+        overflow = false;
+        segmentLength = 0;
+        silentFrames = 0;
+    }
+
+    // ================= MODEL KAYDI =================
+
+    public void writeModel(DataOutputStream out) throws IOException {
+        out.writeInt(MODEL_VERSION);
+        out.writeInt(templates.size());
+        for (float[][] template : templates) {
+            out.writeInt(template.length);
+            for (float[] frame : template) {
+                for (float value : frame)
+                    out.writeFloat(value);
+            }
+        }
+    }
+
+    /** @return Model okunabildiyse true (sürüm uyuşmazsa şablonlar boş kalır) */
+    public boolean readModel(DataInputStream in) throws IOException {
+        clearTemplates();
+        if (in.readInt() != MODEL_VERSION)
+            return false;
+        int count = in.readInt();
+        for (int t = 0; t < count && t < MAX_TEMPLATES; t++) {
+            int frames = in.readInt();
+            if (frames < MIN_WORD_FRAMES || frames > MAX_WORD_FRAMES)
+                throw new IOException("Geçersiz şablon uzunluğu: " + frames);
+            float[][] template = new float[frames][MFCC_COUNT];
+            for (float[] frame : template) {
+                for (int k = 0; k < MFCC_COUNT; k++)
+                    frame[k] = in.readFloat();
+            }
+            templates.add(template);
+        }
+        recalibrate();
+        return true;
+    }
+
+    // ================= İŞLEME HATTI =================
+
+    private void pushSample(float sample) {
+        history[historyPos] = sample;
+        historyPos = historyPos + 1 == FRAME_SIZE ? 0 : historyPos + 1;
+        if (historyFill < FRAME_SIZE)
+            historyFill++;
+        hopEnergy += sample * sample;
+    }
+
+    private int processHop() {
+        // Enerji kapısı yalnızca son adımdaki yeni örneklere bakar (ucuz yol)
+        float db = EnergyVad.toDb(hopEnergy / HOP_SIZE);
+        hopEnergy = 0;
+        if (historyFill < FRAME_SIZE)
+            return RESULT_NONE;
+        boolean voiced = vad.isVoiced(db);
+
+        if (!inSegment) {
+            if (!voiced)
+                return RESULT_NONE;
+            inSegment = true;
+            overflow = false;
+            segmentLength = 0;
+            silentFrames = 0;
+        }
+
+        silentFrames = voiced ? 0 : silentFrames + 1;
+        if (segmentLength < segment.length) {
+            computeMfcc(segment[segmentLength++]);
+        } else {
+            overflow = true; // Kelime için fazla uzun: Sessizliğe kadar bekle ve at
+        }
+
+        if (silentFrames < HANGOVER_FRAMES)
+            return RESULT_NONE;
+
+        // Bölüm bitti: Sondaki sessiz kareleri çıkar ve değerlendir
+        inSegment = false;
+        int length = segmentLength - silentFrames;
+        if (overflow || length < MIN_WORD_FRAMES || length > MAX_WORD_FRAMES)
+            return RESULT_NONE;
+        normalizeCepstralMean(length);
+        return enrolling ? enroll(length) : match(length);
+    }
+
+    private int enroll(int length) {
+        if (templates.size() >= MAX_TEMPLATES)
+            templates.remove(0);
+        float[][] template = new float[length][];
+        for (int i = 0; i < length; i++)
+            template[i] = segment[i].clone();
+        templates.add(template);
+        recalibrate();
+        return RESULT_ENROLLED;
+    }
+
+    private int match(int length) {
+        if (!isReady())
+            return RESULT_NONE;
+        float best = Float.MAX_VALUE;
+        for (float[][] template : templates) {
+            best = Math.min(best, dtwDistance(segment, length, template, template.length, best));
+        }
+        lastDistance = best;
+        return best < threshold ? RESULT_DETECTED : RESULT_NONE;
+    }
+
+    /** Eşiği şablonların birbirine ortalama uzaklığından yeniden hesaplar. */
+    private void recalibrate() {
+        if (templates.size() < 2) {
+            threshold = FALLBACK_THRESHOLD;
+            return;
+        }
+        float sum = 0;
+        int pairs = 0;
+        for (int a = 0; a < templates.size(); a++) {
+            for (int b = a + 1; b < templates.size(); b++) {
+                float[][] ta = templates.get(a);
+                float[][] tb = templates.get(b);
+                sum += dtwDistance(ta, ta.length, tb, tb.length, Float.MAX_VALUE);
+                pairs++;
+            }
+        }
+        threshold = sum / pairs * THRESHOLD_SCALE;
+    }
+
+    /**
+     * Bantlı DTW uzaklığı (yol uzunluğuna göre normalize). Kısmi sonuç
+     * bilinen en iyi değeri aştığında erken çıkılır.
+     */
+    private float dtwDistance(float[][] a, int n, float[][] b, int m, float bestSoFar) {
+        int band = Math.max(Math.abs(n - m), (int) (Math.max(n, m) * DTW_BAND_RATIO));
+        float norm = n + m;
+        float[] previous = dtwPrevious;
+        float[] current = dtwCurrent;
+        java.util.Arrays.fill(previous, 0, m + 1, Float.MAX_VALUE);
+        previous[0] = 0;
+
+        for (int i = 1; i <= n; i++) {
+            java.util.Arrays.fill(current, 0, m + 1, Float.MAX_VALUE);
+            int center = (int) ((long) i * m / n);
+            int from = Math.max(1, center - band);
+            int to = Math.min(m, center + band);
+            float rowMin = Float.MAX_VALUE;
+            for (int j = from; j <= to; j++) {
+                float best = Math.min(previous[j - 1], Math.min(previous[j], current[j - 1]));
+                if (best == Float.MAX_VALUE)
+                    continue;
+                current[j] = best + euclidean(a[i - 1], b[j - 1]);
+                rowMin = Math.min(rowMin, current[j]);
+            }
+            if (rowMin / norm >= bestSoFar)
+                return Float.MAX_VALUE; // Bu şablon daha iyi olamaz
+            float[] swap = previous;
+            previous = current;
+            current = swap;
+        }
+        return previous[m] == Float.MAX_VALUE ? Float.MAX_VALUE : previous[m] / norm;
+    }
+
+    private static float euclidean(float[] x, float[] y) {
+        float sum = 0;
+        for (int k = 0; k < MFCC_COUNT; k++) {
+            float d = x[k] - y[k];
+            sum += d * d;
+        }
+        return (float) Math.sqrt(sum);
+    }
+
+    /** Kepstral ortalama çıkarma: Mikrofon ve oda etkisini azaltır. */
+    private void normalizeCepstralMean(int length) {
+        for (int k = 0; k < MFCC_COUNT; k++) {
+            float mean = 0;
+            for (int i = 0; i < length; i++)
+                mean += segment[i][k];
+            mean /= length;
+            for (int i = 0; i < length; i++)
+                segment[i][k] -= mean;
+        }
+    }
+
+    // ================= MFCC =================
+
+    private void computeMfcc(float[] out) {
+        // Ön vurgulama + Hamming penceresi, FFT_SIZE'a sıfırla doldurulur
+        float previous = 0;
+        for (int i = 0, pos = historyPos; i < FRAME_SIZE; i++, pos = pos + 1 == FRAME_SIZE ? 0 : pos + 1) {
+            float sample = history[pos];
+            re[i] = (sample - 0.97f * previous) * window[i];
+            im[i] = 0;
+            previous = sample;
+        }
+        for (int i = FRAME_SIZE; i < FFT_SIZE; i++) {
+            re[i] = 0;
+            im[i] = 0;
+        }
+        fft();
+
+        for (int m = 0; m < MEL_FILTERS; m++) {
+            float[] weights = filterWeights[m];
+            int start = filterStart[m];
+            float energy = 0;
+            for (int w = 0; w < weights.length; w++) {
+                int bin = start + w;
+                energy += weights[w] * (re[bin] * re[bin] + im[bin] * im[bin]);
+            }
+            melEnergies[m] = (float) Math.log(Math.max(energy, 1e-10f));
+        }
+
+        for (int k = 0; k < MFCC_COUNT; k++) {
+            float sum = 0;
+            float[] row = dct[k];
+            for (int m = 0; m < MEL_FILTERS; m++)
+                sum += row[m] * melEnergies[m];
+            out[k] = sum;
+        }
+    }
+
+    /** Yerinde, yinelemeli radix-2 FFT (tablolar kurucuda hazırlanır). */
+    private void fft() {
+        for (int i = 0; i < FFT_SIZE; i++) {
+            int j = bitReverse[i];
+            if (j > i) {
+                float tr = re[i];
+                re[i] = re[j];
+                re[j] = tr;
+                float ti = im[i];
+                im[i] = im[j];
+                im[j] = ti;
+            }
+        }
+        for (int size = 2; size <= FFT_SIZE; size <<= 1) {
+            int half = size >> 1;
+            int step = FFT_SIZE / size;
+            for (int start = 0; start < FFT_SIZE; start += size) {
+                for (int k = 0; k < half; k++) {
+                    float c = cosTable[k * step];
+                    float s = sinTable[k * step];
+                    int even = start + k;
+                    int odd = even + half;
+                    float tr = re[odd] * c - im[odd] * s;
+                    float ti = re[odd] * s + im[odd] * c;
+                    re[odd] = re[even] - tr;
+                    im[odd] = im[even] - ti;
+                    re[even] += tr;
+                    im[even] += ti;
+                }
+            }
+        }
+    }
+
+    private void buildMelFilters() {
+        double low = hzToMel(60);
+        double high = hzToMel(SAMPLE_RATE / 2.0);
+        int[] bins = new int[MEL_FILTERS + 2];
+        for (int i = 0; i < bins.length; i++) {
+            double hz = melToHz(low + (high - low) * i / (MEL_FILTERS + 1));
+            bins[i] = (int) Math.floor((FFT_SIZE + 1) * hz / SAMPLE_RATE);
+        }
+        for (int m = 0; m < MEL_FILTERS; m++) {
+            int left = bins[m];
+            int center = Math.max(bins[m + 1], left + 1);
+            int right = Math.max(bins[m + 2], center + 1);
+            right = Math.min(right, FFT_SIZE / 2);
+            filterStart[m] = left;
+            float[] weights = new float[right - left + 1];
+            for (int bin = left; bin <= right; bin++) {
+                weights[bin - left] = bin <= center
+                        ? (float) (bin - left) / (center - left)
+                        : (float) (right - bin) / Math.max(1, right - center);
+            }
+            filterWeights[m] = weights;
+        }
+    }
+
+    private static double hzToMel(double hz) {
+        return 2595 * Math.log10(1 + hz / 700);
+    }
+
+    private static double melToHz(double mel) {
+        return 700 * (Math.pow(10, mel / 2595) - 1);
+    }
+
+    // ================= YARDIMCILAR =================
+
+    /**
+     * 16 bit PCM WAV dosyasının örneklerini okur (JVM testleri ve ölçümler için).
+     * Çok kanallı dosyalarda yalnızca ilk kanal alınır.
+     */
+    public static short[] readPcm16Wav(InputStream stream) throws IOException {
+        DataInputStream in = new DataInputStream(stream);
+        byte[] id = new byte[4];
+        in.readFully(id);
+        if (id[0] != 'R' || id[1] != 'I' || id[2] != 'F' || id[3] != 'F')
+            throw new IOException("RIFF başlığı yok");
+        in.skipBytes(4);
+        in.readFully(id); // "WAVE"
+
+        int channels = 1;
+        while (true) {
+            in.readFully(id);
+            int size = Integer.reverseBytes(in.readInt());
+            String chunk = new String(id, "US-ASCII");
+            if ("fmt ".equals(chunk)) {
+                in.skipBytes(2); // Biçim
+                channels = Short.reverseBytes(in.readShort());
+                in.skipBytes(size - 4);
+            } else if ("data".equals(chunk)) {
+                int frames = size / (2 * channels);
+                short[] samples = new short[frames];
+                for (int i = 0; i < frames; i++) {
+                    samples[i] = Short.reverseBytes(in.readShort());
+                    in.skipBytes(2 * (channels - 1));
+                }
+                return samples;
+            } else {
+                in.skipBytes(size);
+            }
+        }
+    }
+
+    /**
+     * Uyarlanabilir gürültü tabanlı enerji kapısı (basit VAD).
+     *
+     * Gürültü tabanı sessizliğe hızlı iner, sese yavaş yükselir; böylece sürekli
+     * bir uğultu birkaç saniyede "sessizlik" kabul edilirken kısa konuşmalar
+     * tabanı etkilemez. Kare başına maliyet yalnızca bir kare toplamıdır.
+     */
+    public static final class EnergyVad {
+        private static final float MIN_FLOOR_DB = -90f;
+        private final float marginDb;
+        private float noiseFloorDb = -50f;
+
+        /** @param marginDb Sesin gürültü tabanını aşması gereken pay (dB) */
+        public EnergyVad(float marginDb) {
+            this.marginDb = marginDb;
+        }
+
+        /** Normalize ([-1, 1]) örneklerin ortalama karesinden güç (dB) */
+        public static float toDb(double meanSquare) {
+            return (float) (10 * Math.log10(meanSquare + 1e-9));
+        }
+
+        /** 16 bit PCM örneklerin ortalama gücü (dB, tam ölçeğe göre) */
+        public static float frameDb(short[] samples, int offset, int length) {
+            long sum = 0;
+            for (int i = offset; i < offset + length; i++)
+                sum += (long) samples[i] * samples[i];
+            return toDb(sum / (length * 1073741824.0));
+        }
+
+        /** Kareyi değerlendirir ve gürültü tabanını günceller. */
+        public boolean isVoiced(float db) {
+            boolean voiced = db > noiseFloorDb + marginDb;
+            float rate = db < noiseFloorDb ? 0.2f : (voiced ? 0.0005f : 0.01f);
+            noiseFloorDb = Math.max(MIN_FLOOR_DB, noiseFloorDb + (db - noiseFloorDb) * rate);
+            return voiced;
+        }
+
+        /**
+         * Kareyi koşulsuz gürültü sayar ve tabanı hızla ona çeker. Arka planda
+         * bilinen bir ses varken (ör. hoparlörden gelen yankı) tabanı ayarlamak
+         * için kullanılır.
+         */
+        public void train(float db) {
+            noiseFloorDb = Math.max(MIN_FLOOR_DB, noiseFloorDb + (db - noiseFloorDb) * 0.2f);
+        }
+
+        public float noiseFloorDb() {
+            return noiseFloorDb;
+        }
+    }
+}
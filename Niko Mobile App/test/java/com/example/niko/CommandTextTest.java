@@ -0,0 +1,66 @@
+package com.example.niko;
+
+import static org.junit.Assert.assertEquals; // Eşitlik doğrulaması
+import static org.junit.Assert.assertSame; // Aynı nesne doğrulaması
+
+import java.util.ArrayList; // Dinamik dizi listesi
+import java.util.Arrays; // Dizi yardımcıları
+import java.util.List; // Liste arayüzü
+
+import org.junit.Test; // Test işaretçisi
+
+/**
+ * Komut metninin yan cümlelere bölünmesi.
+ */
+public class CommandTextTest {
+
+    private static List<String> clauses(String raw) {
+        List<String> out = new ArrayList<>();
+        for (CommandText clause : CommandText.of(raw).clauses())
+            out.add(clause.text());
+        return out;
+    }
+
+    @Test
+    public void splitsOnConjunctionsAndPunctuation() {
+        assertEquals(Arrays.asList("sesi kıs", "feneri aç"), clauses("sesi kıs ve feneri aç"));
+        assertEquals(Arrays.asList("sesi kıs", "feneri aç", "müziği durdur"),
+                clauses("Sesi kıs, feneri aç ve müziği durdur."));
+        assertEquals(Arrays.asList("alarmı sabah 7'ye kur", "müziği çal"),
+                clauses("alarmı sabah yediye kur ardından müziği çal"));
+        assertEquals(Arrays.asList("feneri aç", "sesi kıs"), clauses("feneri aç; sesi kıs"));
+    }
+
+    @Test
+    public void singleClauseReturnsSameCommand() {
+        CommandText command = CommandText.of("feneri aç.");
+        assertSame(command, command.clauses().get(0));
+        assertEquals(1, command.clauses().size());
+    }
+
+    /** Sayılar içindeki nokta ve virgül ile boş parçalar bölmez */
+    @Test
+    public void keepsNumbersAndDropsEmptyClauses() {
+        assertEquals(Arrays.asList("saat 14 20'de alarm kur"), clauses("saat 14.20'de alarm kur"));
+        assertEquals(Arrays.asList("1.5 saat sonra hatırlat"), clauses("1.5 saat sonra hatırlat"));
+        assertEquals(Arrays.asList("feneri aç"), clauses("ve feneri aç ve"));
+        assertEquals(Arrays.asList("feneri aç", "sesi kıs"), clauses("feneri aç,, ve sesi kıs"));
+    }
+
+    /** Noktalamadan sonraki sayı sözcüğü önceki sayıya katılmaz */
+    @Test
+    public void numbersDoNotJoinAcrossPunctuation() {
+        assertEquals(Arrays.asList("saat 20", "3 dakika"), clauses("saat yirmi, üç dakika"));
+        assertEquals("saat 23 dakika", CommandText.of("saat yirmi üç dakika").text());
+    }
+
+    /** Yan cümleler kelimeleri yeniden normalize etmeden devralır */
+    @Test
+    public void clausesKeepStemsAndSuffixes() {
+        CommandText clause = CommandText.of("müziği aç ve ahmet'e whatsapp'tan yaz").clauses().get(1);
+        assertEquals("ahmet'e whatsapp'tan yaz", clause.raw());
+        assertEquals("ahmet", clause.stem(0));
+        assertEquals("e", clause.suffix(0));
+        assertEquals(0, clause.dativeIndex("whatsapp"));
+    }
+}
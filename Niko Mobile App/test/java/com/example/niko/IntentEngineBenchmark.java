@@ -0,0 +1,103 @@
+package com.example.niko;
+
+import java.io.IOException; // Giriş/çıkış hataları
+import java.util.ArrayList; // Dinamik dizi listesi
+import java.util.Arrays; // Dizi yardımcıları
+import java.util.List; // Liste arayüzü
+import java.util.Locale; // Türkçe küçük harf dönüşümü
+
+/**
+ * Niyet otomatını eski sıralı contains() zinciriyle (LegacyIntentChain)
+ * intent_corpus.tsv üzerinde karşılaştırır. Tablo yapay niyet satırlarıyla
+ * 0, 50, 200 ve 800 satır büyütülerek ölçülür: Otomatın komut başına süresi
+ * yaklaşık sabit kalmalı, zincirinki satır sayısıyla doğrusal artmalıdır.
+ * Ayrıca her iki yolun derlemde doğru bulduğu niyet sayısını yazar
+ * (sınıflandırıcı yedeği hariç).
+ *
+ * Test sınıf yolunda çalıştırılır:
+ * {@code java -cp <test+ana sınıflar> com.example.niko.IntentEngineBenchmark}
+ */
+public final class IntentEngineBenchmark {
+
+    private static final Locale TURKISH = new Locale("tr", "TR");
+    private static final int[] EXTRA_RULES = { 0, 50, 200, 800 };
+
+    private IntentEngineBenchmark() {
+    }
+
+    public static void main(String[] args) throws IOException {
+        List<String[]> corpus = TestCorpus.read("/intent_corpus.tsv");
+        List<String> texts = new ArrayList<>(corpus.size());
+        List<CommandText> commands = new ArrayList<>(corpus.size());
+        for (String[] fields : corpus) {
+            texts.add(fields[0]);
+            commands.add(CommandText.of(fields[0]));
+        }
+
+        reportAccuracy(corpus);
+
+        for (int extra : EXTRA_RULES) {
+            String[] nouns = new String[extra];
+            String[] verbs = new String[extra];
+            String[] table = Arrays.copyOf(LocalIntents.TABLE, LocalIntents.TABLE.length + extra);
+            for (int i = 0; i < extra; i++) {
+                nouns[i] = "zx" + syntheticWord(i);
+                verbs[i] = "qy" + syntheticWord(i);
+                table[LocalIntents.TABLE.length + i] = "bench." + i + ": " + nouns[i] + "* ; " + verbs[i] + "*";
+            }
+            IntentEngine engine = IntentEngine.compile(true, table);
+            LegacyIntentChain chain = new LegacyIntentChain(nouns, verbs);
+
+            System.out.println("== " + engine.ruleCount() + " niyet satırı, " + engine.stateCount() + " durum");
+            double legacy = MicroBenchmark.nanosPerOp("sıralı contains zinciri", texts.size(), () -> {
+                long sum = 0;
+                for (String text : texts) {
+                    String intent = chain.match(text.toLowerCase(TURKISH));
+                    sum += intent == null ? 0 : intent.length();
+                }
+                return sum;
+            });
+            MicroBenchmark.nanosPerOp("otomat (CommandText hazır)", commands.size(), () -> {
+                long sum = 0;
+                for (CommandText command : commands)
+                    sum += engine.match(command).size();
+                return sum;
+            });
+            double current = MicroBenchmark.nanosPerOp("CommandText.of + otomat", texts.size(), () -> {
+                long sum = 0;
+                for (String text : texts)
+                    sum += engine.match(CommandText.of(text)).size();
+                return sum;
+            });
+            MicroBenchmark.compare(extra + " yapay satır", legacy, current);
+        }
+    }
+
+    /** Derlemdeki beklenen niyetle eşleşen komut sayısı ("-": AI'ya gitmeli) */
+    private static void reportAccuracy(List<String[]> corpus) {
+        LegacyIntentChain chain = new LegacyIntentChain(new String[0], new String[0]);
+        int legacyHits = 0;
+        int engineHits = 0;
+        for (String[] fields : corpus) {
+            String legacy = chain.match(fields[0].toLowerCase(TURKISH));
+            List<IntentEngine.Candidate> candidates = LocalIntents.ENGINE.match(CommandText.of(fields[0]));
+            String current = candidates.isEmpty() ? IntentClassifier.OTHER : candidates.get(0).intent;
+            if (fields[1].equals(legacy == null ? IntentClassifier.OTHER : legacy))
+                legacyHits++;
+            if (fields[1].equals(current))
+                engineHits++;
+        }
+        System.out.println("Doğru niyet: zincir " + legacyHits + "/" + corpus.size() + ", otomat " + engineHits + "/"
+                + corpus.size());
+    }
+
+    /** Türkçe metinde geçmeyen, sayıdan türetilmiş harf dizisi */
+    private static String syntheticWord(int n) {
+        StringBuilder sb = new StringBuilder();
+        do {
+            sb.append((char) ('a' + n % 26));
+            n /= 26;
+        } while (n > 0);
+        return sb.toString();
+    }
+}
@@ -0,0 +1,141 @@
+package com.example.niko;
+
+/**
+ * Niyet otomatından önceki processLocalCommand'in sıralı contains() zinciri,
+ * işleyici çağrıları yerine niyet adlarını döndürecek şekilde olduğu gibi
+ * kopyalanmıştır (IntentEngineBenchmark karşılaştırması için). Erişilebilirlik
+ * servisinin açık olduğu varsayılır.
+ */
+final class LegacyIntentChain {
+
+    private final String[] extraNouns;
+    private final String[] extraVerbs;
+
+    /**
+     * @param extraNouns Zincirin başına eklenecek yapay niyetlerin isimleri
+     * @param extraVerbs Aynı niyetlerin eylemleri (isimlerle aynı uzunlukta)
+     */
+    LegacyIntentChain(String[] extraNouns, String[] extraVerbs) {
+        this.extraNouns = extraNouns;
+        this.extraVerbs = extraVerbs;
+    }
+
+    /**
+     * @param cmd Küçük harfe çevrilmiş komut (eski akıştaki cmdLower)
+     * @return Eşleşen niyet veya AI'ya devredilecekse null
+     */
+    String match(String cmd) {
+        // Tablo büyüdükçe eklenen her komut bir if bloğu daha demekti
+        for (int i = 0; i < extraNouns.length; i++) {
+            if (cmd.contains(extraNouns[i]) && cmd.contains(extraVerbs[i]))
+                return "bench." + i;
+        }
+
+        if (cmd.contains("adın ne") || cmd.contains("kimsin") || cmd.contains("kendini tanıt"))
+            return "identity";
+
+        if (cmd.contains("whatsapp")
+                && (cmd.contains("mesaj") || cmd.contains("yaz") || cmd.contains("yolla") || cmd.contains("gönder")))
+            return "whatsapp.send";
+        if (cmd.contains("son gelen"))
+            return "call.last_incoming";
+        if (cmd.contains("son aranan"))
+            return "call.last_outgoing";
+        if (cmd.contains("ara"))
+            return "call.name";
+
+        if (cmd.contains("saat") && !cmd.contains("kur") && !cmd.contains("alarm"))
+            return "time.now";
+        if (cmd.contains("tarih") || cmd.contains("bugün günlerden ne") || cmd.contains("hangi gündeyiz"))
+            return "date.today";
+
+        if (cmd.contains("kamera aç") || cmd.contains("fotoğraf çek"))
+            return "camera.open";
+
+        if (cmd.contains("müzik") || cmd.contains("müzi") || cmd.contains("şarkı") || cmd.contains("spotify")
+                || cmd.contains("parça")) {
+            if (cmd.contains("başlat") || cmd.contains("oynat") || cmd.contains("devam") || cmd.contains("çal")
+                    || cmd.contains("aç"))
+                return "music.play";
+            if (cmd.contains("durdur") || cmd.contains("duraklat") || cmd.contains("kapat"))
+                return "music.pause";
+            if (cmd.contains("sonraki") || cmd.contains("geç") || cmd.contains("değiştir") || cmd.contains("atla")
+                    || cmd.contains("sıradaki"))
+                return "music.next";
+            if (cmd.contains("önceki") || cmd.contains("başa") || cmd.contains("geri"))
+                return "music.previous";
+        }
+
+        if (cmd.contains("sesi")) {
+            if (cmd.contains("artır") || cmd.contains("arttır") || cmd.contains("yükselt") || cmd.contains("aç"))
+                return "volume.up";
+            if (cmd.contains("azalt") || cmd.contains("kıs") || cmd.contains("düşür"))
+                return "volume.down";
+            if (cmd.contains("kapat") || cmd.contains("sessize al"))
+                return "volume.mute";
+        }
+
+        if (cmd.contains("parlaklık") || cmd.contains("ışık")) {
+            if (cmd.contains("artır") || cmd.contains("arttır") || cmd.contains("yükselt") || cmd.contains("aç"))
+                return "brightness.up";
+            if (cmd.contains("azalt") || cmd.contains("kıs") || cmd.contains("düşür"))
+                return "brightness.down";
+        }
+
+        if (cmd.contains("fener") || cmd.contains("ışığı aç") || cmd.contains("flaşı aç")) {
+            if (cmd.contains("aç") || cmd.contains("yak"))
+                return "flashlight.on";
+            if (cmd.contains("kapat") || cmd.contains("söndür"))
+                return "flashlight.off";
+        }
+
+        if (cmd.contains("ayarları aç"))
+            return "settings.open";
+
+        if (cmd.contains("wifi") || cmd.contains("wi-fi") || cmd.contains("internet")) {
+            if (cmd.contains("aç"))
+                return "wifi.on";
+            if (cmd.contains("kapat"))
+                return "wifi.off";
+        }
+
+        if (cmd.contains("bluetooth")) {
+            if (cmd.contains("aç"))
+                return "bluetooth.on";
+            if (cmd.contains("kapat"))
+                return "bluetooth.off";
+        }
+
+        if (cmd.contains("güncelleme") || cmd.contains("sürüm")) {
+            if (cmd.contains("kontrol") || cmd.contains("var mı") || cmd.contains("bak"))
+                return "update.check";
+        }
+
+        if (cmd.contains("alarm"))
+            return "alarm.set";
+        if (cmd.contains("hatırlat") || cmd.contains("anımsat"))
+            return "reminder.set";
+
+        if (cmd.contains("geçmişi") || cmd.contains("sohbet geçmişini")) {
+            if (cmd.contains("göster") || cmd.contains("aç") || cmd.contains("oku"))
+                return "history.show";
+            if (cmd.contains("temizle") || cmd.contains("sil") || cmd.contains("kapat"))
+                return "history.clear";
+        }
+
+        if (cmd.contains("ekranı kilitle") || cmd.contains("telefonu kilitle"))
+            return "screen.lock";
+        if (cmd.contains("ekran görüntüsü") || cmd.contains("ekran resmi"))
+            return "screen.capture";
+        if (cmd.contains("geri git") || (cmd.contains("bir önceki") && cmd.contains("ekran")))
+            return "nav.back";
+        if (cmd.contains("ana ekrana") || cmd.contains("ana sayfaya") || cmd.contains("ev ekranına"))
+            return "nav.home";
+        if (cmd.contains("son uygulamalar") || cmd.contains("arka plandaki uygulamalar"))
+            return "nav.recents";
+        if (cmd.contains("bildirimleri göster") || cmd.contains("bildirim panelini aç"))
+            return "nav.notifications";
+
+        return null;
+    }
+}
@@ -0,0 +1,103 @@
+package com.example.niko;
+
+import static org.junit.Assert.assertEquals; // Eşitlik doğrulaması
+import static org.junit.Assert.assertNull; // Boş değer doğrulaması
+import static org.junit.Assert.assertTrue; // Koşul doğrulaması
+
+import java.io.FileInputStream; // Dosya girişi
+import java.io.IOException; // Giriş/çıkış hataları
+import java.io.InputStream; // Veri akışı girişi
+import java.util.ArrayList; // Dinamik dizi listesi
+import java.util.List; // Liste arayüzü
+
+import org.junit.BeforeClass; // Sınıf başına bir kez hazırlık
+import org.junit.Test; // Test işaretçisi
+
+/**
+ * Niyet tablosunu ve gömülü sınıflandırıcıyı intent_corpus.tsv derlemine
+ * karşı doğrular. Komutlar uygulamadaki sırayla çözülür: Önce otomatın en iyi
+ * adayı, otomat aday bulamazsa güven eşiğini geçen sınıflandırıcı tahmini.
+ */
+public class LocalIntentsTest {
+
+    /** Birim testleri modül dizininde çalışır */
+    private static final String MODEL_PATH = "res/raw/intent_model.bin";
+
+    private static IntentClassifier classifier;
+
+    @BeforeClass
+    public static void loadModel() throws IOException {
+        try (InputStream in = new FileInputStream(MODEL_PATH)) {
+            classifier = IntentClassifier.read(in);
+        }
+    }
+
+    @Test
+    public void corpusResolvesToExpectedIntents() throws IOException {
+        List<String[]> corpus = TestCorpus.read("/intent_corpus.tsv");
+        List<String> failures = new ArrayList<>();
+        for (String[] fields : corpus) {
+            CommandText command = CommandText.of(fields[0]);
+            List<IntentEngine.Candidate> candidates = LocalIntents.ENGINE.match(command);
+            String intent = candidates.isEmpty() ? IntentClassifier.OTHER : candidates.get(0).intent;
+            IntentClassifier.Prediction prediction = null;
+            if (candidates.isEmpty()) {
+                prediction = classifier.predict(command);
+                if (prediction.isLocal() && prediction.probability >= LocalIntents.CLASSIFIER_CONFIDENCE_MIN)
+                    intent = prediction.intent;
+            }
+            boolean pass = intent.equals(fields[1]) && (fields.length < 3
+                    || (!candidates.isEmpty() && candidates.get(0).remainderStems().equals(fields[2])));
+            if (!pass) {
+                failures.add("\"" + fields[0] + "\" -> " + (candidates.isEmpty() ? prediction : candidates)
+                        + ", beklenen " + fields[1] + (fields.length < 3 ? "" : " [" + fields[2] + "]"));
+            }
+        }
+        assertTrue(failures.size() + "/" + corpus.size() + " komut hatalı:\n" + String.join("\n", failures),
+                failures.isEmpty());
+    }
+
+    private static String compound(String raw) {
+        List<List<IntentEngine.Candidate>> clauses = LocalIntents.compoundActions(CommandText.of(raw));
+        if (clauses == null)
+            return null;
+        List<String> intents = new ArrayList<>();
+        for (List<IntentEngine.Candidate> clause : clauses)
+            intents.add(clause.get(0).intent);
+        return String.join(" + ", intents);
+    }
+
+    /** Her yan cümlesinde eylem fiili olan komutlar ayrı eylemlere bölünür */
+    @Test
+    public void compoundCommandsSplitIntoActions() {
+        assertEquals("volume.down + flashlight.on", compound("sesi kıs ve feneri aç"));
+        assertEquals("volume.down + flashlight.on + music.pause", compound("sesi kıs, feneri aç ve müziği durdur"));
+        assertEquals("alarm.set + music.play", compound("alarmı sabah yediye kur ardından müziği çal"));
+    }
+
+    /** Yalnızca isim ipucu taşıyan parça yan cümle sayılmaz; cümle bütün olarak eşleşir */
+    @Test
+    public void nounClausesKeepTheSentenceWhole() {
+        for (String raw : new String[] { "saat 8'de ilaç ve vitamin hatırlat", "saat 7 ve 8 arası toplantı hatırlat" }) {
+            assertNull(raw, compound(raw));
+            assertEquals(raw, "reminder.set", LocalIntents.ENGINE.match(CommandText.of(raw)).get(0).intent);
+        }
+        assertNull(compound("müziği aç ve saat kaç"));
+        assertNull(compound("ahmet'e selam ve iyi günler yaz"));
+        assertNull(compound("feneri aç"));
+    }
+
+    @Test
+    public void engineFoldsDiacritics() {
+        List<IntentEngine.Candidate> candidates = LocalIntents.ENGINE.match(CommandText.of("MUZIGI AC"));
+        assertEquals("music.play", candidates.get(0).intent);
+    }
+
+    @Test
+    public void chatStaysWithTheAssistant() {
+        assertTrue(LocalIntents.ENGINE.match(CommandText.of("ona mesaj yazacağım")).isEmpty());
+        IntentClassifier.Prediction prediction = classifier.predict(CommandText.of("bugün hava nasıl olacak"));
+        assertTrue(prediction.toString(),
+                !prediction.isLocal() || prediction.probability < LocalIntents.CLASSIFIER_CONFIDENCE_MIN);
+    }
+}
@@ -0,0 +1,52 @@
+package com.example.niko;
+
+import java.util.Arrays; // Dizi yardımcıları
+import java.util.Locale; // Sayı biçimlendirme
+import java.util.function.LongSupplier; // Ölçülen tur gövdesi
+
+/**
+ * Test ağacındaki karşılaştırmalı ölçüm araçları (*Benchmark) için küçük
+ * zamanlayıcı. JMH'nin yerini tutmaz; ısınma turlarından sonra her turu ayrı
+ * ölçer ve medyanı işlem başına süreye çevirir. Turlar bir sağlama değeri
+ * döndürür; bu değer tüketilerek JIT'in gövdeyi ölü kod sayıp atması önlenir.
+ */
+final class MicroBenchmark {
+
+    /** Tur sayıları komut satırından ayarlanabilir: -Dbench.warmup=…, -Dbench.rounds=… */
+    private static final int WARMUP_ROUNDS = Integer.getInteger("bench.warmup", 500);
+    private static final int MEASURED_ROUNDS = Integer.getInteger("bench.rounds", 100);
+
+    private static volatile long sink;
+
+    private MicroBenchmark() {
+    }
+
+    /**
+     * Turu ölçer ve "etiket: X ns/işlem" satırını yazar.
+     *
+     * @param label        Çıktıdaki ad
+     * @param opsPerRound  Bir turdaki işlem sayısı (ör. derlemdeki satır sayısı)
+     * @param round        Bir tur; sonuçlardan türetilmiş bir sağlama değeri döndürür
+     * @return Medyan tur süresinden hesaplanan işlem başına nanosaniye
+     */
+    static double nanosPerOp(String label, int opsPerRound, LongSupplier round) {
+        for (int i = 0; i < WARMUP_ROUNDS; i++)
+            sink += round.getAsLong();
+        long[] samples = new long[MEASURED_ROUNDS];
+        for (int i = 0; i < MEASURED_ROUNDS; i++) {
+            long start = System.nanoTime();
+            sink += round.getAsLong();
+            samples[i] = System.nanoTime() - start;
+        }
+        Arrays.sort(samples);
+        double perOp = samples[samples.length / 2] / (double) opsPerRound;
+        System.out.println(String.format(Locale.ROOT, "%-40s %12.1f ns/işlem  (%d işlem/tur, en iyi %.1f)",
+                label, perOp, opsPerRound, samples[0] / (double) opsPerRound));
+        return perOp;
+    }
+
+    /** Eski ve yeni yolun oranını yazar (>1 ise yeni yol daha hızlı). */
+    static void compare(String label, double legacyNanos, double currentNanos) {
+        System.out.println(String.format(Locale.ROOT, "%-40s %12.2fx", label + " hızlanma", legacyNanos / currentNanos));
+    }
+}
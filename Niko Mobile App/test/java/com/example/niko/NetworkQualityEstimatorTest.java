@@ -0,0 +1,60 @@
+package com.example.niko;
+
+import static org.junit.Assert.assertEquals; // Eşitlik doğrulaması
+import static org.junit.Assert.assertFalse; // Olumsuz koşul doğrulaması
+import static org.junit.Assert.assertTrue; // Koşul doğrulaması
+
+import org.junit.Test; // Test işaretçisi
+
+/**
+ * Ağ kalitesi tahmininin sunucu sesi ve zaman aşımı kararları.
+ */
+public class NetworkQualityEstimatorTest {
+
+    private static final int GENERATION_ALLOWANCE_MS = 90000;
+
+    @Test
+    public void unknownNetworkUsesUpperBounds() {
+        NetworkQualityEstimator estimator = new NetworkQualityEstimator();
+        assertTrue(estimator.shouldRequestServerAudio());
+        assertEquals(15000, estimator.connectTimeoutMs());
+        assertTrue(estimator.readTimeoutMs(false) >= GENERATION_ALLOWANCE_MS);
+
+        estimator.updateLink(true, 0);
+        assertFalse("Ölçüm yokken kotalı hatta ses indirilmemeli", estimator.shouldRequestServerAudio());
+    }
+
+    /** Hızlı ağda bile okuma süresi modelin üretim payının altına inmemeli */
+    @Test
+    public void readTimeoutKeepsGenerationAllowance() {
+        NetworkQualityEstimator estimator = new NetworkQualityEstimator();
+        for (int i = 0; i < 10; i++) {
+            estimator.recordRtt(20);
+            estimator.recordTransfer(1024 * 1024, 50);
+        }
+        assertEquals(4000, estimator.connectTimeoutMs());
+        assertTrue(estimator.readTimeoutMs(false) >= GENERATION_ALLOWANCE_MS);
+        assertTrue(estimator.readTimeoutMs(true) >= GENERATION_ALLOWANCE_MS);
+        assertTrue(estimator.readTimeoutMs(true) < GENERATION_ALLOWANCE_MS + 2000);
+    }
+
+    /** Yavaş ölçüm sesi kapatır; taze ölçüm sistemin bildirdiği hızdan önceliklidir */
+    @Test
+    public void slowTransferDisablesServerAudio() {
+        NetworkQualityEstimator estimator = new NetworkQualityEstimator();
+        estimator.recordRtt(300);
+        estimator.recordTransfer(32 * 1024, 4000); // 8 KB/s
+        assertFalse(estimator.shouldRequestServerAudio());
+
+        estimator.updateLink(false, 50000);
+        assertFalse(estimator.shouldRequestServerAudio());
+
+        // Küçük gövdeler hız örneği sayılmaz
+        estimator.recordTransfer(1024, 1);
+        assertFalse(estimator.shouldRequestServerAudio());
+
+        for (int i = 0; i < 10; i++)
+            estimator.recordTransfer(512 * 1024, 100);
+        assertTrue(estimator.shouldRequestServerAudio());
+    }
+}
@@ -0,0 +1,161 @@
+package com.example.niko;
+
+import java.io.ByteArrayOutputStream; // Bellek içi WAV tamponu
+import java.io.FileOutputStream; // Dosya çıkışı (derlem üretici)
+import java.io.IOException; // Giriş/çıkış hataları
+import java.util.Random; // Tekrarlanabilir gürültü
+
+/**
+ * Uyandırma kelimesi testleri için biçimlendirici (formant) sentezleyici.
+ *
+ * Bir kelime, her biri süre, üç formant frekansı, ötümlü genlik ve gürültü
+ * genliği taşıyan kesitlerden oluşur; formantlar kesitler arasında doğrusal
+ * kayar. Kaynak, hafif titreşimli bir testere dişi (ses telleri) ve
+ * gürültüdür (patlama/sürtünme). Kelimenin önünde ve arkasında 0.3 sn düşük
+ * seviyeli arka plan gürültüsü bulunur. Aynı parametreler aynı örnekleri üretir.
+ *
+ * test/resources/wakeword altındaki WAV dosyaları bu sınıfla üretilmiştir:
+ *
+ * <pre>
+ * java -cp ... com.example.niko.SyntheticSpeech test/resources/wakeword
+ * </pre>
+ */
+final class SyntheticSpeech {
+
+    /** "Niko": n - i - (k kapanışı) - k patlaması - o */
+    static final double[][] NIKO = {
+            { 0.07, 250, 1700, 2600, 0.3, 0 },
+            { 0.15, 280, 2250, 2900, 1.0, 0 },
+            { 0.05, 300, 1800, 2500, 0.0, 0 },
+            { 0.03, 400, 1500, 2500, 0.0, 0.5 },
+            { 0.22, 450, 800, 2500, 1.0, 0 },
+            { 0.05, 450, 800, 2500, 0.2, 0 } };
+
+    /** "Merhaba": m - e - r - h - a - b - a */
+    static final double[][] MERHABA = {
+            { 0.06, 300, 1200, 2400, 0.4, 0 },
+            { 0.10, 500, 1800, 2500, 1.0, 0 },
+            { 0.06, 400, 1400, 2300, 0.6, 0.1 },
+            { 0.06, 700, 1500, 2500, 0.0, 0.4 },
+            { 0.12, 750, 1200, 2500, 1.0, 0 },
+            { 0.04, 300, 900, 2300, 0.2, 0 },
+            { 0.14, 750, 1200, 2500, 1.0, 0 } };
+
+    private static final int SAMPLE_RATE = WakeWordDetector.SAMPLE_RATE;
+    private static final double PADDING_SECONDS = 0.3;
+    private static final double BACKGROUND_NOISE = 0.0005;
+
+    private SyntheticSpeech() {
+    }
+
+    /**
+     * Kelimeyi 16 bit PCM olarak üretir.
+     *
+     * @param segments Kesitler: {süre sn, F1, F2, F3, ötümlü genlik, gürültü genliği}
+     * @param pitchHz  Temel frekans
+     * @param tempo    Süre çarpanı (1'den büyük = daha yavaş)
+     * @param gain     Çıkış seviyesi
+     * @param seed     Gürültü tohumu
+     */
+    static short[] render(double[][] segments, double pitchHz, double tempo, double gain, long seed) {
+        Random random = new Random(seed);
+        double wordSeconds = 0;
+        for (double[] segment : segments)
+            wordSeconds += segment[0] * tempo;
+        int start = (int) (PADDING_SECONDS * SAMPLE_RATE);
+        int wordSamples = (int) (wordSeconds * SAMPLE_RATE);
+        short[] out = new short[start + wordSamples + start];
+
+        double phase = 0;
+        double[] y1 = new double[3];
+        double[] y2 = new double[3];
+        double[] formants = new double[3];
+        for (int i = 0; i < out.length; i++) {
+            double value = BACKGROUND_NOISE * random.nextGaussian();
+            int k = i - start;
+            if (k >= 0 && k < wordSamples) {
+                double t = k / (double) SAMPLE_RATE;
+                int s = 0;
+                double segmentStart = 0;
+                while (s < segments.length - 1 && segmentStart + segments[s][0] * tempo <= t) {
+                    segmentStart += segments[s][0] * tempo;
+                    s++;
+                }
+                double[] from = segments[s];
+                double[] to = segments[Math.min(s + 1, segments.length - 1)];
+                double fraction = (t - segmentStart) / (from[0] * tempo);
+                for (int j = 0; j < 3; j++)
+                    formants[j] = from[1 + j] + (to[1 + j] - from[1 + j]) * fraction;
+                double voicing = from[4] + (to[4] - from[4]) * fraction;
+
+                double pitch = pitchHz * (1 + 0.1 * Math.sin(2 * Math.PI * 1.5 * t));
+                phase += pitch / SAMPLE_RATE;
+                if (phase >= 1)
+                    phase -= 1;
+                double source = voicing * (2 * phase - 1) + from[5] * random.nextGaussian();
+
+                // Paralel ikinci derece rezonatörler; üst formantlar daha zayıf
+                double sum = 0;
+                for (int j = 0; j < 3; j++) {
+                    double radius = Math.exp(-Math.PI * (80 + 40 * j) / SAMPLE_RATE);
+                    double y = (1 - radius) * source + 2 * radius * Math.cos(2 * Math.PI * formants[j] / SAMPLE_RATE) * y1[j]
+                            - radius * radius * y2[j];
+                    y2[j] = y1[j];
+                    y1[j] = y;
+                    sum += y / (j + 1);
+                }
+                value += gain * sum;
+            }
+            out[i] = (short) Math.max(-32768, Math.min(32767, Math.round(value * 32767)));
+        }
+        return out;
+    }
+
+    /** 16 kHz mono 16 bit PCM WAV dosyası */
+    static byte[] toWav(short[] samples) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(44 + samples.length * 2);
+        int dataBytes = samples.length * 2;
+        writeAscii(out, "RIFF");
+        writeLittleEndian(out, 36 + dataBytes, 4);
+        writeAscii(out, "WAVE");
+        writeAscii(out, "fmt ");
+        writeLittleEndian(out, 16, 4);
+        writeLittleEndian(out, 1, 2); // PCM
+        writeLittleEndian(out, 1, 2); // Mono
+        writeLittleEndian(out, SAMPLE_RATE, 4);
+        writeLittleEndian(out, SAMPLE_RATE * 2, 4);
+        writeLittleEndian(out, 2, 2);
+        writeLittleEndian(out, 16, 2);
+        writeAscii(out, "data");
+        writeLittleEndian(out, dataBytes, 4);
+        for (short sample : samples)
+            writeLittleEndian(out, sample, 2);
+        return out.toByteArray();
+    }
+
+    private static void writeAscii(ByteArrayOutputStream out, String text) {
+        for (int i = 0; i < text.length(); i++)
+            out.write(text.charAt(i));
+    }
+
+    private static void writeLittleEndian(ByteArrayOutputStream out, int value, int bytes) {
+        for (int i = 0; i < bytes; i++)
+            out.write(value >>> (8 * i));
+    }
+
+    /** Test derlemini üretir: 3 kayıt söylenişi, bir olumlu ve bir olumsuz örnek. */
+    public static void main(String[] args) throws IOException {
+        String dir = args.length > 0 ? args[0] : ".";
+        write(dir + "/enroll_1.wav", render(NIKO, 125, 1.00, 0.8, 0));
+        write(dir + "/enroll_2.wav", render(NIKO, 118, 0.95, 1.0, 1));
+        write(dir + "/enroll_3.wav", render(NIKO, 132, 1.06, 0.6, 2));
+        write(dir + "/niko.wav", render(NIKO, 122, 1.02, 0.7, 3));
+        write(dir + "/merhaba.wav", render(MERHABA, 125, 1.00, 0.8, 4));
+    }
+
+    private static void write(String path, short[] samples) throws IOException {
+        try (FileOutputStream out = new FileOutputStream(path)) {
+            out.write(toWav(samples));
+        }
+    }
+}
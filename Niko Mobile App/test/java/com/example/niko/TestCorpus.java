@@ -0,0 +1,64 @@
+package com.example.niko;
+
+import java.io.BufferedReader; // Satır satır okuyucu
+import java.io.IOException; // Giriş/çıkış hataları
+import java.io.InputStream; // Veri akışı girişi
+import java.io.InputStreamReader; // Akış okuyucu
+import java.nio.charset.StandardCharsets; // Karakter seti
+import java.util.ArrayList; // Dinamik dizi listesi
+import java.util.List; // Liste arayüzü
+
+/**
+ * Test kaynaklarındaki derlemleri okur. Sekmeyle ayrılmış derlemlerde boş
+ * satırlar ve "#" ile başlayan yorumlar atlanır.
+ */
+final class TestCorpus {
+
+    private TestCorpus() {
+    }
+
+    static List<String[]> read(String resource) throws IOException {
+        InputStream in = TestCorpus.class.getResourceAsStream(resource);
+        if (in == null)
+            throw new IOException("Derlem bulunamadı: " + resource);
+        List<String[]> rows = new ArrayList<>();
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8))) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                if (line.isEmpty() || line.startsWith("#"))
+                    continue;
+                rows.add(line.split("\t"));
+            }
+        }
+        return rows;
+    }
+
+    /**
+     * Ayırıcı satırla bölünmüş çok satırlı kayıtları okur (ör. uzun yanıtlar).
+     * İlk ayırıcıdan önceki satırlar yorum sayılır.
+     */
+    static List<String> readBlocks(String resource, String separator) throws IOException {
+        InputStream in = TestCorpus.class.getResourceAsStream(resource);
+        if (in == null)
+            throw new IOException("Derlem bulunamadı: " + resource);
+        List<String> blocks = new ArrayList<>();
+        StringBuilder block = null;
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8))) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                if (line.equals(separator)) {
+                    if (block != null)
+                        blocks.add(block.toString());
+                    block = new StringBuilder();
+                } else if (block != null) {
+                    if (block.length() > 0)
+                        block.append('\n');
+                    block.append(line);
+                }
+            }
+        }
+        if (block != null)
+            blocks.add(block.toString());
+        return blocks;
+    }
+}
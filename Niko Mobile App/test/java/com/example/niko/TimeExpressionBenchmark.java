@@ -0,0 +1,49 @@
+package com.example.niko;
+
+import java.io.IOException; // Giriş/çıkış hataları
+import java.util.ArrayList; // Dinamik dizi listesi
+import java.util.List; // Liste arayüzü
+
+/**
+ * Zaman ayrıştırıcısının cümle başına maliyetini ölçer: time_corpus.tsv
+ * derlemi ve TimeExpressionTest'teki tohumlu rastgele cümleler üzerinde,
+ * yalnızca ayrıştırma (CommandText hazır) ve sözcüklere ayırma dahil olmak
+ * üzere iki ayrı satır yazar. Dilbilgisi büyüdükçe sürenin mikrosaniye
+ * düzeyinde kaldığını izlemek için kullanılır.
+ *
+ * Test sınıf yolunda çalıştırılır:
+ * {@code java -cp <test+ana sınıflar> com.example.niko.TimeExpressionBenchmark}
+ */
+public final class TimeExpressionBenchmark {
+
+    private TimeExpressionBenchmark() {
+    }
+
+    public static void main(String[] args) throws IOException {
+        List<String> corpus = new ArrayList<>();
+        for (String[] fields : TestCorpus.read("/time_corpus.tsv"))
+            corpus.add(fields[0]);
+
+        run("derlem", corpus);
+        run("rastgele cümleler", TimeExpressionTest.fuzzPhrases(1, 2000));
+    }
+
+    private static void run(String name, List<String> phrases) {
+        List<CommandText> commands = new ArrayList<>(phrases.size());
+        for (String phrase : phrases)
+            commands.add(CommandText.of(phrase));
+        System.out.println("== " + name + ": " + phrases.size() + " cümle");
+        MicroBenchmark.nanosPerOp("TimeExpression.parse", commands.size(), () -> {
+            long sum = 0;
+            for (CommandText command : commands)
+                sum += TimeExpression.parse(command).kind;
+            return sum;
+        });
+        MicroBenchmark.nanosPerOp("CommandText.of + parse", phrases.size(), () -> {
+            long sum = 0;
+            for (String phrase : phrases)
+                sum += TimeExpression.parse(CommandText.of(phrase)).kind;
+            return sum;
+        });
+    }
+}
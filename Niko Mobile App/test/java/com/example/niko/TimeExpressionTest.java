@@ -0,0 +1,133 @@
+package com.example.niko;
+
+import static org.junit.Assert.assertEquals; // Eşitlik doğrulaması
+import static org.junit.Assert.assertFalse; // Koşul doğrulaması
+import static org.junit.Assert.assertTrue; // Koşul doğrulaması
+
+import java.io.IOException; // Giriş/çıkış hataları
+import java.util.ArrayList; // Dinamik dizi listesi
+import java.util.Calendar; // Tarih ve saat hesaplamaları
+import java.util.GregorianCalendar; // Sabit başlangıç anı
+import java.util.List; // Liste arayüzü
+import java.util.Random; // Tekrarlanabilir rastgele cümleler
+
+import org.junit.Test; // Test işaretçisi
+
+/**
+ * Zaman ayrıştırıcısını time_corpus.tsv derlemine ve çözümleme kurallarına
+ * karşı doğrular.
+ */
+public class TimeExpressionTest {
+
+    private static TimeExpression parse(String text) {
+        return TimeExpression.parse(CommandText.of(text));
+    }
+
+    /** 2024-03-13 Çarşamba, verilen saat */
+    private static Calendar at(int hour, int minute) {
+        return new GregorianCalendar(2024, Calendar.MARCH, 13, hour, minute, 0);
+    }
+
+    @Test
+    public void corpusMatchesSummaries() throws IOException {
+        List<String[]> corpus = TestCorpus.read("/time_corpus.tsv");
+        List<String> failures = new ArrayList<>();
+        for (String[] fields : corpus) {
+            TimeExpression time = parse(fields[0]);
+            if (!time.summary().equals(fields[1]))
+                failures.add("\"" + fields[0] + "\" -> " + time + ", beklenen " + fields[1]);
+        }
+        assertTrue(failures.size() + "/" + corpus.size() + " ifade hatalı:\n" + String.join("\n", failures),
+                failures.isEmpty());
+    }
+
+    @Test
+    public void fractionalHoursAreRelative() {
+        for (String text : new String[] { "bir buçuk saat sonra uyandır", "1.5 saat sonra", "1,5 saat sonra" }) {
+            TimeExpression time = parse(text);
+            assertEquals(text, TimeExpression.RELATIVE, time.kind);
+            assertEquals(text, 5400, time.relativeSeconds);
+        }
+    }
+
+    @Test
+    public void relativeTimeIsAddedToNow() {
+        Calendar alarm = parse("10 dakika sonra alarm kur").resolve(at(23, 55));
+        assertEquals(14, alarm.get(Calendar.DAY_OF_MONTH));
+        assertEquals(0, alarm.get(Calendar.HOUR_OF_DAY));
+        assertEquals(5, alarm.get(Calendar.MINUTE));
+    }
+
+    @Test
+    public void pastHourWithoutPeriodMovesTwelveHoursAhead() {
+        TimeExpression time = parse("saat 3'te alarm kur");
+        Calendar afternoon = time.resolve(at(14, 0));
+        assertEquals(13, afternoon.get(Calendar.DAY_OF_MONTH));
+        assertEquals(15, afternoon.get(Calendar.HOUR_OF_DAY));
+
+        Calendar nextNight = time.resolve(at(16, 0));
+        assertEquals(14, nextNight.get(Calendar.DAY_OF_MONTH));
+        assertEquals(3, nextNight.get(Calendar.HOUR_OF_DAY));
+    }
+
+    @Test
+    public void weekdayResolvesToItsNextOccurrence() {
+        Calendar friday = parse("cuma akşam 8'de hatırlat").resolve(at(9, 0));
+        assertEquals(Calendar.FRIDAY, friday.get(Calendar.DAY_OF_WEEK));
+        assertEquals(15, friday.get(Calendar.DAY_OF_MONTH));
+        assertEquals(20, friday.get(Calendar.HOUR_OF_DAY));
+    }
+
+    @Test
+    public void timeWordsAreExcludedFromTitle() {
+        CommandText command = CommandText.of("yarın saat 7'de toplantıyı hatırlat");
+        TimeExpression time = TimeExpression.parse(command);
+        for (int i = 0; i < command.size(); i++) {
+            boolean timeWord = i < 3;
+            assertEquals(command.token(i), timeWord, time.isConsumed(i));
+        }
+    }
+
+    @Test
+    public void plainTextHasNoTime() {
+        TimeExpression time = parse("annemi aramayı hatırlat");
+        assertFalse(time.hasTime());
+        assertEquals("-", time.summary());
+    }
+
+    /**
+     * Zaman sözcüklerinden tohumla tekrarlanabilir rastgele cümleler üretir
+     * (bulanık test ve TimeExpressionBenchmark için).
+     */
+    static List<String> fuzzPhrases(long seed, int count) {
+        String[] vocabulary = { "saat", "7'de", "çeyrek", "geçe", "kala", "yarın", "öbür", "gün", "3'ten", "5'e",
+                "kadar", "ile", "arası", "buçuk", "sabah", "akşam", "gece", "yarısı", "24", "99", "0", "00", "sonra",
+                "dakika", "yarım", "haftaya", "cuma", "ahmet", "alarm", "10", "içinde", "saniye", "saatlik", "1.5",
+                "öğleden", "1'i", "60", "kırk", "beş" };
+        Random random = new Random(seed);
+        List<String> phrases = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            StringBuilder sb = new StringBuilder();
+            int words = 1 + random.nextInt(8);
+            for (int j = 0; j < words; j++)
+                sb.append(vocabulary[random.nextInt(vocabulary.length)]).append(' ');
+            phrases.add(sb.toString());
+        }
+        return phrases;
+    }
+
+    /** Rastgele zaman sözcüğü dizileri hiçbir zaman geçersiz bir saat üretmemeli */
+    @Test
+    public void randomPhrasesNeverYieldInvalidClock() {
+        Calendar now = at(12, 0);
+        for (String phrase : fuzzPhrases(1, 20000)) {
+            TimeExpression time = parse(phrase);
+            time.resolve(now);
+            if (time.kind == TimeExpression.ABSOLUTE) {
+                assertTrue(phrase + " -> " + time, time.hour >= 0 && time.hour <= 23);
+                assertTrue(phrase + " -> " + time, time.minute >= 0 && time.minute <= 59);
+            }
+            assertTrue(phrase + " -> " + time, time.confidence >= 0f && time.confidence <= 1f);
+        }
+    }
+}
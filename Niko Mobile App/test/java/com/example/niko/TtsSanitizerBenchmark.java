@@ -0,0 +1,53 @@
+package com.example.niko;
+
+import java.io.IOException; // Giriş/çıkış hataları
+import java.util.ArrayList; // Dinamik dizi listesi
+import java.util.List; // Liste arayüzü
+
+/**
+ * Seslendirme süzgecini eski Regex zinciriyle (TtsSanitizerTest.legacyClean)
+ * kayıtlı yanıtlar üzerinde karşılaştırır: kısa yanıtlar (tts_replies.tsv),
+ * birkaç KB'lık uzun yanıtlar (tts_long_replies.txt) ve bunların birleşimi.
+ *
+ * Test sınıf yolunda çalıştırılır:
+ * {@code java -cp <test+ana sınıflar> com.example.niko.TtsSanitizerBenchmark}
+ */
+public final class TtsSanitizerBenchmark {
+
+    private TtsSanitizerBenchmark() {
+    }
+
+    public static void main(String[] args) throws IOException {
+        List<String> shortReplies = new ArrayList<>();
+        for (String[] fields : TestCorpus.read("/tts_replies.tsv"))
+            shortReplies.add(TtsSanitizerTest.unescape(fields[0]));
+        List<String> longReplies = TestCorpus.readBlocks("/tts_long_replies.txt", "=====");
+        List<String> combined = new ArrayList<>();
+        combined.add(String.join("\n\n", longReplies));
+
+        run("kısa yanıtlar", shortReplies);
+        run("uzun yanıtlar", longReplies);
+        run("birleşik yanıt", combined);
+    }
+
+    private static void run(String name, List<String> replies) {
+        int chars = 0;
+        for (String reply : replies)
+            chars += reply.length();
+        System.out.println("== " + name + ": " + replies.size() + " yanıt, ort. "
+                + (chars / replies.size()) + " karakter");
+        double legacy = MicroBenchmark.nanosPerOp("eski Regex zinciri", replies.size(), () -> {
+            long sum = 0;
+            for (String reply : replies)
+                sum += TtsSanitizerTest.legacyClean(reply).length();
+            return sum;
+        });
+        double current = MicroBenchmark.nanosPerOp("TtsSanitizer.sanitize", replies.size(), () -> {
+            long sum = 0;
+            for (String reply : replies)
+                sum += TtsSanitizer.sanitize(reply).length();
+            return sum;
+        });
+        MicroBenchmark.compare(name, legacy, current);
+    }
+}
@@ -0,0 +1,98 @@
+package com.example.niko;
+
+import static org.junit.Assert.assertEquals; // Eşitlik doğrulaması
+import static org.junit.Assert.assertFalse; // Olumsuz koşul doğrulaması
+import static org.junit.Assert.assertTrue; // Koşul doğrulaması
+
+import java.io.IOException; // Giriş/çıkış hataları
+import java.util.ArrayList; // Dinamik dizi listesi
+import java.util.List; // Liste arayüzü
+
+import org.junit.Test; // Test işaretçisi
+
+/**
+ * Seslendirme süzgecinin kayıtlı yanıtlar (tts_replies.tsv) üzerindeki
+ * çıktısını sabitler ve eski Regex zinciriyle (cleanTextForTTS) davranışın
+ * bilerek değiştiği ve değişmediği durumları karşılaştırır.
+ */
+public class TtsSanitizerTest {
+
+    /** Süzgecin yerini aldığı eski Regex zinciri (karşılaştırma için, olduğu gibi) */
+    static String legacyClean(String text) {
+        String cleaned = text.replaceAll("\\*\\*", "").replaceAll("\\*", "").replaceAll("###", "")
+                .replaceAll("##", "").replaceAll("#", "").replaceAll("`", "");
+        cleaned = cleaned.replaceAll("```[\\s\\S]*?```", "");
+        cleaned = cleaned.replaceAll("(?i):P", "").replaceAll("(?i):D", "").replaceAll("(?i)XD", "")
+                .replaceAll(":\\)", "").replaceAll(":\\(", "").replaceAll(";\\)", "").replaceAll("<3", "")
+                .replaceAll("[\\uD83C-\\uDBFF\\uDC00-\\uDFFF]+", "");
+        cleaned = cleaned.replaceAll("https?://\\S+", "");
+        return cleaned.replaceAll("\\s+", " ").trim();
+    }
+
+    static String unescape(String field) {
+        return field.replace("\\n", "\n");
+    }
+
+    @Test
+    public void recordedRepliesArePinned() throws IOException {
+        List<String[]> replies = TestCorpus.read("/tts_replies.tsv");
+        List<String> failures = new ArrayList<>();
+        for (String[] fields : replies) {
+            String actual = TtsSanitizer.sanitize(unescape(fields[0]));
+            if (!actual.equals(unescape(fields[1])))
+                failures.add("\"" + fields[0] + "\"\n  -> \"" + actual + "\"\n  beklenen \"" + fields[1] + "\"");
+        }
+        assertTrue(failures.size() + "/" + replies.size() + " yanıt hatalı:\n" + String.join("\n", failures),
+                failures.isEmpty());
+    }
+
+    /** Uzun yanıtlarda Markdown işareti, kod bloğu ve bağlantı kalmaz */
+    @Test
+    public void longRepliesLeaveNoMarkup() throws IOException {
+        for (String reply : TestCorpus.readBlocks("/tts_long_replies.txt", "=====")) {
+            String spoken = TtsSanitizer.sanitize(reply);
+            assertTrue(spoken, spoken.length() > reply.length() / 3);
+            for (String markup : new String[] { "**", "##", "`", "http", "sayilar" })
+                assertFalse(markup + " kaldı: " + spoken, spoken.contains(markup));
+        }
+    }
+
+    /** Markdown, bağlantı ve sayılarda eski zincirle aynı sonuç */
+    @Test
+    public void matchesLegacyChainOnMarkdownLinksAndNumbers() {
+        String[] replies = { "**Kalın** ve *italik* yazı", "## Başlık\n### Alt başlık",
+                "Kaynak: https://example.com/a?b=c burada", "Saat 14:30, sıcaklık %65, fiyat 32,45 ₺",
+                "Pi 3.14159, nüfus 85.372.377", "  fazla    boşluk  \n\n  ", "Harika :D gerçekten :)" };
+        for (String reply : replies)
+            assertEquals(reply, legacyClean(reply), TtsSanitizer.sanitize(reply));
+    }
+
+    /** Eski zincirin bozduğu ve süzgecin bilerek farklı davrandığı durumlar */
+    @Test
+    public void fixesLegacyChainMistakes() {
+        // Ters tırnaklar önce silindiği için kod bloğu hiç eşleşmiyordu
+        String code = "Şöyle yaz:\n```\nx = 1\n```\nbitti";
+        assertEquals("Şöyle yaz: x = 1 bitti", legacyClean(code));
+        assertEquals("Şöyle yaz: bitti", TtsSanitizer.sanitize(code));
+
+        // ":P" ve "XD" kelime içinde de siliniyordu
+        assertEquals("10azartesi ve eim", legacyClean("10:Pazartesi ve exdim"));
+        assertEquals("10:Pazartesi ve exdim", TtsSanitizer.sanitize("10:Pazartesi ve exdim"));
+
+        // Vekil çift (surrogate) sınıfı BMP içindeki emojileri kaçırıyordu
+        assertEquals("Tamam ✅ ☀", legacyClean("Tamam ✅ ☀"));
+        assertEquals("Tamam", TtsSanitizer.sanitize("Tamam ✅ ☀"));
+    }
+
+    @Test
+    public void unterminatedCodeBlockDropsTheRest() {
+        assertEquals("Örnek:", TtsSanitizer.sanitize("Örnek: ```java\nint x = 1;"));
+    }
+
+    @Test
+    public void emptyInputs() {
+        assertEquals("", TtsSanitizer.sanitize(null));
+        assertEquals("", TtsSanitizer.sanitize(""));
+        assertEquals("", TtsSanitizer.sanitize(" 😊 🎉 "));
+    }
+}
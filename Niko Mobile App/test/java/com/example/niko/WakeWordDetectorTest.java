@@ -0,0 +1,149 @@
+package com.example.niko;
+
+import static org.junit.Assert.assertEquals; // Eşitlik doğrulaması
+import static org.junit.Assert.assertFalse; // Olumsuz koşul doğrulaması
+import static org.junit.Assert.assertTrue; // Koşul doğrulaması
+
+import java.io.ByteArrayInputStream; // Bellek içi model okuma
+import java.io.ByteArrayOutputStream; // Bellek içi model yazma
+import java.io.DataInputStream; // Model okuyucu
+import java.io.DataOutputStream; // Model yazıcı
+import java.io.IOException; // Giriş/çıkış hataları
+import java.io.InputStream; // Test kaynağı akışı
+import java.util.ArrayList; // Dinamik dizi listesi
+import java.util.List; // Liste arayüzü
+import java.util.Random; // Tekrarlanabilir rastgele kelimeler
+
+import org.junit.Before; // Her test öncesi hazırlık
+import org.junit.Test; // Test işaretçisi
+
+/**
+ * Uyandırma kelimesi dedektörünün kayıt, algılama ve yanlış kabul davranışı.
+ *
+ * Örnekler (test/resources/wakeword) SyntheticSpeech ile üretilmiş "Niko" ve
+ * "Merhaba" söylenişleridir; kayıt üç farklı perde/hız/seviyedeki "Niko" ile
+ * yapılır, olumlu örnek bunlardan farklı bir dördüncü söyleniştir.
+ */
+public class WakeWordDetectorTest {
+
+    private WakeWordDetector detector;
+
+    private static short[] fixture(String name) throws IOException {
+        try (InputStream in = WakeWordDetectorTest.class.getResourceAsStream("/wakeword/" + name)) {
+            if (in == null)
+                throw new IOException("Test kaynağı bulunamadı: " + name);
+            return WakeWordDetector.readPcm16Wav(in);
+        }
+    }
+
+    /** Örneği verilen parça boyutuyla işler; herhangi bir parçada dönen son sonucu verir */
+    private static int feed(WakeWordDetector detector, short[] pcm, int chunk) {
+        int result = WakeWordDetector.RESULT_NONE;
+        for (int offset = 0; offset < pcm.length; offset += chunk) {
+            int r = detector.process(pcm, offset, Math.min(chunk, pcm.length - offset));
+            if (r != WakeWordDetector.RESULT_NONE)
+                result = r;
+        }
+        return result;
+    }
+
+    private static WakeWordDetector enrolled() throws IOException {
+        WakeWordDetector detector = new WakeWordDetector();
+        detector.setEnrolling(true);
+        for (int i = 1; i <= WakeWordDetector.MIN_TEMPLATES; i++)
+            assertEquals("enroll_" + i, WakeWordDetector.RESULT_ENROLLED,
+                    feed(detector, fixture("enroll_" + i + ".wav"), WakeWordDetector.HOP_SIZE));
+        detector.setEnrolling(false);
+        detector.reset();
+        return detector;
+    }
+
+    @Before
+    public void setUp() throws IOException {
+        detector = enrolled();
+    }
+
+    @Test
+    public void enrollmentProducesReadyModel() {
+        assertTrue(detector.isReady());
+        assertEquals(WakeWordDetector.MIN_TEMPLATES, detector.templateCount());
+        assertTrue("eşik " + detector.threshold(), detector.threshold() > 0);
+    }
+
+    @Test
+    public void detectsWakeWord() throws IOException {
+        assertEquals(WakeWordDetector.RESULT_DETECTED,
+                feed(detector, fixture("niko.wav"), WakeWordDetector.HOP_SIZE));
+        assertTrue(detector.lastDistance() + " < " + detector.threshold(),
+                detector.lastDistance() < detector.threshold());
+    }
+
+    /** Mikrofon tamponu boyutu sonucu değiştirmemeli */
+    @Test
+    public void detectionIsIndependentOfChunkSize() throws IOException {
+        short[] pcm = fixture("niko.wav");
+        for (int chunk : new int[] { 37, 512, 4096, pcm.length }) {
+            detector.reset();
+            assertEquals("parça " + chunk, WakeWordDetector.RESULT_DETECTED, feed(detector, pcm, chunk));
+        }
+    }
+
+    @Test
+    public void rejectsOtherWord() throws IOException {
+        assertEquals(WakeWordDetector.RESULT_NONE, feed(detector, fixture("merhaba.wav"), WakeWordDetector.HOP_SIZE));
+        assertTrue(detector.lastDistance() + " > " + detector.threshold(),
+                detector.lastDistance() > detector.threshold());
+    }
+
+    /** Sessizlik ve kelimeden uzun kesintisiz ses bölüm olarak değerlendirilmemeli */
+    @Test
+    public void ignoresSilenceAndLongSounds() {
+        assertEquals(WakeWordDetector.RESULT_NONE,
+                feed(detector, new short[WakeWordDetector.SAMPLE_RATE * 2], WakeWordDetector.HOP_SIZE));
+        assertFalse(detector.isInSegment());
+
+        double[][] hum = { { 3.0, 500, 1500, 2500, 1.0, 0 }, { 0.01, 500, 1500, 2500, 1.0, 0 } };
+        assertEquals(WakeWordDetector.RESULT_NONE,
+                feed(detector, SyntheticSpeech.render(hum, 120, 1, 0.8, 7), WakeWordDetector.HOP_SIZE));
+    }
+
+    /** Rastgele formant dizilerinden oluşan 40 kelimede hiç yanlış kabul olmamalı */
+    @Test
+    public void noFalseAcceptsOnRandomWords() {
+        Random random = new Random(5);
+        List<String> accepted = new ArrayList<>();
+        for (int w = 0; w < 40; w++) {
+            double[][] word = new double[3 + random.nextInt(5)][];
+            for (int s = 0; s < word.length; s++) {
+                boolean burst = random.nextInt(5) == 0;
+                word[s] = new double[] { 0.04 + random.nextDouble() * 0.12, 250 + random.nextDouble() * 550,
+                        800 + random.nextDouble() * 1600, 2300 + random.nextDouble() * 700,
+                        burst ? 0 : 0.3 + random.nextDouble() * 0.7, burst ? 0.5 : 0 };
+            }
+            detector.reset();
+            if (feed(detector, SyntheticSpeech.render(word, 110 + random.nextInt(30), 1, 0.8, w),
+                    WakeWordDetector.HOP_SIZE) == WakeWordDetector.RESULT_DETECTED)
+                accepted.add("kelime " + w + " (uzaklık " + detector.lastDistance() + ")");
+        }
+        assertTrue("Yanlış kabul: " + accepted + ", eşik " + detector.threshold(), accepted.isEmpty());
+    }
+
+    /** Kaydedilen model yeniden yüklendiğinde aynı eşikle algılamayı sürdürmeli */
+    @Test
+    public void modelSurvivesRoundTrip() throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (DataOutputStream out = new DataOutputStream(bytes)) {
+            detector.writeModel(out);
+        }
+        WakeWordDetector restored = new WakeWordDetector();
+        try (DataInputStream in = new DataInputStream(new ByteArrayInputStream(bytes.toByteArray()))) {
+            assertTrue(restored.readModel(in));
+        }
+        assertTrue(restored.isReady());
+        assertEquals(detector.threshold(), restored.threshold(), 0f);
+        assertEquals(WakeWordDetector.RESULT_DETECTED,
+                feed(restored, fixture("niko.wav"), WakeWordDetector.HOP_SIZE));
+        assertEquals(WakeWordDetector.RESULT_NONE,
+                feed(restored, fixture("merhaba.wav"), WakeWordDetector.HOP_SIZE));
+    }
+}
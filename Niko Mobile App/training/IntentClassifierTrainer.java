@@ -0,0 +1,169 @@
+package com.example.niko;
+
+import java.io.BufferedReader; // Satır satır okuyucu
+import java.io.ByteArrayInputStream; // Yazılan modeli geri okuma
+import java.io.ByteArrayOutputStream; // Model baytları
+import java.io.DataOutputStream; // İkili model yazıcı
+import java.io.FileInputStream; // Dosya girişi
+import java.io.FileOutputStream; // Dosya çıkışı
+import java.io.IOException; // Giriş/çıkış hataları
+import java.io.InputStream; // Veri akışı girişi
+import java.io.InputStreamReader; // Akış okuyucu
+import java.io.OutputStream; // Veri akışı çıkışı
+import java.nio.charset.StandardCharsets; // Karakter seti
+import java.util.ArrayList; // Dinamik dizi listesi
+import java.util.List; // Liste arayüzü
+import java.util.Random; // Karıştırma
+
+/**
+ * IntentClassifier için çevrimdışı eğitim aracı: intent_training.tsv ->
+ * res/raw/intent_model.bin. Uygulamaya girmez; modül dizininde çalıştırılır:
+ *
+ * <pre>
+ * javac -encoding UTF-8 -d /tmp/nikoc CommandText.java IntentClassifier.java training/IntentClassifierTrainer.java
+ * java -cp /tmp/nikoc com.example.niko.IntentClassifierTrainer training/intent_training.tsv res/raw/intent_model.bin
+ * </pre>
+ */
+final class IntentClassifierTrainer {
+
+    private static final int BUCKET_BITS = 12;
+    private static final int EPOCHS = 40;
+    private static final long SEED = 42;
+
+    private IntentClassifierTrainer() {
+    }
+
+    public static void main(String[] args) throws IOException {
+        if (args.length < 2) {
+            System.err.println("Kullanım: IntentClassifierTrainer <eğitim.tsv> <model.bin>");
+            System.exit(2);
+        }
+        List<String[]> examples;
+        try (InputStream in = new FileInputStream(args[0])) {
+            examples = readExamples(in);
+        }
+        byte[] bytes = train(examples, BUCKET_BITS, EPOCHS, SEED);
+
+        // Eğitim doğruluğu uygulamanın okuyacağı nicemlenmiş modelle ölçülür
+        IntentClassifier model = IntentClassifier.read(new ByteArrayInputStream(bytes));
+        int correct = 0;
+        for (String[] example : examples) {
+            if (model.predict(CommandText.of(example[0])).intent.equals(example[1]))
+                correct++;
+        }
+        try (OutputStream out = new FileOutputStream(args[1])) {
+            out.write(bytes);
+        }
+        System.out.println(examples.size() + " örnek, " + model.labelCount() + " sınıf, eğitim doğruluğu "
+                + correct + "/" + examples.size() + ", " + model.sizeBytes() + " byte");
+    }
+
+    /** Sekmeyle ayrılmış eğitim dosyasını okur (# ile başlayan satırlar yorumdur). */
+    static List<String[]> readExamples(InputStream in) throws IOException {
+        List<String[]> examples = new ArrayList<>();
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8))) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                if (line.isEmpty() || line.startsWith("#"))
+                    continue;
+                String[] fields = line.split("\t");
+                if (fields.length >= 2)
+                    examples.add(new String[] { fields[0], fields[1] });
+            }
+        }
+        return examples;
+    }
+
+    /**
+     * Etiketli örneklerden ([cümle, etiket]) modeli eğitir: Softmax kaybı
+     * üzerinde L2 düzenlemeli stokastik gradyan inişi, ardından byte
+     * nicemleme. Aynı tohum aynı modeli üretir.
+     *
+     * @return IntentClassifier.read ile okunabilen model dosyası
+     */
+    static byte[] train(List<String[]> examples, int bucketBits, int epochs, long seed) throws IOException {
+        List<String> labelList = new ArrayList<>();
+        int[] y = new int[examples.size()];
+        int[][] x = new int[examples.size()][];
+        int mask = (1 << bucketBits) - 1;
+        for (int i = 0; i < examples.size(); i++) {
+            String label = examples.get(i)[1];
+            if (!labelList.contains(label))
+                labelList.add(label);
+            y[i] = labelList.indexOf(label);
+            x[i] = IntentClassifier.features(IntentClassifier.content(CommandText.of(examples.get(i)[0])), mask);
+        }
+        int classes = labelList.size();
+        float[] w = new float[(1 << bucketBits) * classes];
+        float[] bias = new float[classes];
+        float[] p = new float[classes];
+        final float l2 = 1e-5f;
+
+        int[] order = new int[examples.size()];
+        for (int i = 0; i < order.length; i++)
+            order[i] = i;
+        Random random = new Random(seed);
+        for (int epoch = 0; epoch < epochs; epoch++) {
+            float rate = 0.5f / (1 + epoch * 0.1f);
+            for (int i = order.length - 1; i > 0; i--) {
+                int j = random.nextInt(i + 1);
+                int t = order[i];
+                order[i] = order[j];
+                order[j] = t;
+            }
+            for (int index : order) {
+                int[] f = x[index];
+                float value = (float) (1.0 / Math.sqrt(f.length));
+                float max = Float.NEGATIVE_INFINITY;
+                for (int c = 0; c < classes; c++) {
+                    float s = bias[c];
+                    for (int feature : f)
+                        s += w[feature * classes + c] * value;
+                    p[c] = s;
+                    max = Math.max(max, s);
+                }
+                float sum = 0;
+                for (int c = 0; c < classes; c++) {
+                    p[c] = (float) Math.exp(p[c] - max);
+                    sum += p[c];
+                }
+                for (int c = 0; c < classes; c++) {
+                    float gradient = p[c] / sum - (c == y[index] ? 1 : 0);
+                    bias[c] -= rate * gradient;
+                    for (int feature : f) {
+                        int k = feature * classes + c;
+                        w[k] -= rate * (gradient * value + l2 * w[k]);
+                    }
+                }
+            }
+        }
+
+        float maxAbs = 1e-6f;
+        for (float v : w)
+            maxAbs = Math.max(maxAbs, Math.abs(v));
+        float scale = maxAbs / 127f;
+        byte[] quantized = new byte[w.length];
+        for (int i = 0; i < w.length; i++)
+            quantized[i] = (byte) Math.round(w[i] / scale);
+        return write(labelList, bucketBits, scale, bias, quantized);
+    }
+
+    /** IntentClassifier.read'in okuduğu biçimde model dosyası üretir. */
+    private static byte[] write(List<String> labels, int bucketBits, float scale, float[] bias, byte[] weights)
+            throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(weights.length + 256);
+        DataOutputStream data = new DataOutputStream(bytes);
+        data.writeInt(IntentClassifier.MAGIC);
+        data.writeInt(IntentClassifier.VERSION);
+        data.writeInt(bucketBits);
+        data.writeInt(labels.size());
+        for (String label : labels)
+            data.writeUTF(label);
+        data.writeFloat(scale);
+        for (float b : bias)
+            data.writeFloat(b);
+        data.write(weights);
+        data.flush();
+        return bytes.toByteArray();
+    }
+}